@@ -0,0 +1,120 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import teetime.framework.pipe.BoundedSynchedPipe;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Measures the cost per element of an active consumer stage which sums up its input elements, either one element after another or in batches.
+ * Each invocation of the stage additionally consumes a fixed amount of CPU time, e.g., for a flush or a database round trip. The stage is invoked
+ * directly in the same way as by its thread, so that the producer side is not measured.
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="AbstractBatchConsumerStageBenchmark"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AbstractBatchConsumerStageBenchmark {
+
+	private static final int NUM_ELEMENTS = 1024;
+	private static final int PER_CALL_TOKENS = 64;
+
+	private final Integer[] elements = new Integer[NUM_ELEMENTS];
+
+	private SingleSum singleSum;
+	private IPipe<Integer> singleSumPipe;
+	private BatchSum batchSum;
+	private IPipe<Integer> batchSumPipe;
+
+	@Setup
+	public void setup() {
+		for (int i = 0; i < NUM_ELEMENTS; i++) {
+			elements[i] = i;
+		}
+		singleSum = new SingleSum();
+		singleSumPipe = new BoundedSynchedPipe<>(new OutputPort<Integer>(), singleSum.getInputPort(), NUM_ELEMENTS);
+		batchSum = new BatchSum();
+		batchSumPipe = new BoundedSynchedPipe<>(new OutputPort<Integer>(), batchSum.getInputPort(), NUM_ELEMENTS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_ELEMENTS)
+	public long singleElements() {
+		return run(singleSum, singleSumPipe);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_ELEMENTS)
+	public long batches() {
+		return run(batchSum, batchSumPipe);
+	}
+
+	private long run(final AbstractStage consumer, final IPipe<Integer> pipe) {
+		for (Integer element : elements) {
+			pipe.add(element);
+		}
+		while (!pipe.isEmpty()) {
+			consumer.executeByFramework();
+		}
+		return pipe.size();
+	}
+
+	private static class SingleSum extends AbstractConsumerStage<Integer> {
+		long sum;
+
+		@Override
+		protected void execute(final Integer element) {
+			Blackhole.consumeCPU(PER_CALL_TOKENS);
+			sum += element;
+		}
+	}
+
+	private static class BatchSum extends AbstractListBatchConsumerStage<Integer> {
+		long sum;
+
+		@Override
+		protected void execute(final List<Integer> batch) {
+			Blackhole.consumeCPU(PER_CALL_TOKENS);
+			for (int i = 0; i < batch.size(); i++) {
+				sum += batch.get(i);
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teetime.framework.pipe.BoundedSynchedPipe;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Measures the cost of an execution of an active consumer stage which alternates between the active and the blocked state, without and with
+ * performance logging, and with performance logging that samples only every 16th execution.
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="PerformanceLoggingBenchmark"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class PerformanceLoggingBenchmark {
+
+	private static final int NUM_ELEMENTS = 1024;
+
+	private final Integer[] elements = new Integer[NUM_ELEMENTS];
+
+	private ToggleStage stage;
+	private IPipe<Integer> pipe;
+
+	@Setup
+	public void setup() {
+		for (int i = 0; i < NUM_ELEMENTS; i++) {
+			elements[i] = i;
+		}
+		stage = new ToggleStage();
+		pipe = new BoundedSynchedPipe<>(new OutputPort<Integer>(), stage.getInputPort(), NUM_ELEMENTS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_ELEMENTS)
+	@Fork(1)
+	public long disabled() {
+		return run();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_ELEMENTS)
+	@Fork(value = 1, jvmArgsAppend = "-Dperformance.logging.enabled=true")
+	public long enabled() {
+		return run();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_ELEMENTS)
+	@Fork(value = 1, jvmArgsAppend = { "-Dperformance.logging.enabled=true", "-Dperformance.logging.sampling=16" })
+	public long enabledWithSampling() {
+		return run();
+	}
+
+	private long run() {
+		for (Integer element : elements) {
+			pipe.add(element);
+		}
+		while (!pipe.isEmpty()) {
+			stage.executeByFramework();
+		}
+		return stage.sum;
+	}
+
+	private static class ToggleStage extends AbstractConsumerStage<Integer> {
+		long sum;
+
+		@Override
+		protected void execute(final Integer element) {
+			sum += element;
+			if ((element & 1) == 0) {
+				StateStatisticsUtils.sendingFailed(this);
+			} else {
+				StateStatisticsUtils.sendingSucceeded(this);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jctools.queues.SpscLinkedQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.util.framework.concurrent.queue.PCBlockingQueue;
+import teetime.util.framework.concurrent.queue.putstrategy.YieldPutStrategy;
+import teetime.util.framework.concurrent.queue.takestrategy.SCParkTakeStrategy;
+
+/**
+ * Compares the construction cost of the signal queue each synched pipe allocated up to 3.1 with the one of its replacement {@link SignalChannel}, and
+ * measures the resulting construction cost of complete synched pipes. Run it with <code>-prof gc</code> to also compare the allocated bytes per pipe:
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="PipeCreationBenchmark -prof gc"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipeCreationBenchmark {
+
+	private final OutputPort<Object> sourcePort = new OutputPort<>();
+	private final InputPort<Object> targetPort = new InputPort<>();
+
+	@Benchmark
+	public Object previousSignalQueue() {
+		return new PCBlockingQueue<>(new SpscLinkedQueue<>(), new YieldPutStrategy<>(), new SCParkTakeStrategy<>());
+	}
+
+	@Benchmark
+	public Object signalChannel() {
+		return new SignalChannel();
+	}
+
+	@Benchmark
+	public Object boundedSynchedPipe() {
+		return new BoundedSynchedPipe<>(sourcePort, targetPort, 512);
+	}
+
+	@Benchmark
+	public Object unboundedSynchedPipe() {
+		return new UnboundedSynchedPipe<>(sourcePort, targetPort);
+	}
+
+}
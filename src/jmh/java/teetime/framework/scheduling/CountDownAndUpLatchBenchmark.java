@@ -0,0 +1,115 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link CountDownAndUpLatch} with its previous, monitor-based implementation under contention. The <code>poll</code> benchmarks mimic
+ * the main loop of the global task pool workers, which read the current count once per iteration. Vary the number of threads with <code>-t</code>:
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="CountDownAndUpLatchBenchmark -t 8"
+ * ./gradlew jmh -PjmhArgs="CountDownAndUpLatchBenchmark -t 64"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class CountDownAndUpLatchBenchmark {
+
+	private CountDownAndUpLatch latch;
+	private SynchronizedCountDownAndUpLatch synchronizedLatch;
+
+	@Setup
+	public void setup() {
+		latch = new CountDownAndUpLatch();
+		latch.countUp();
+		synchronizedLatch = new SynchronizedCountDownAndUpLatch();
+		synchronizedLatch.countUp();
+	}
+
+	@Benchmark
+	public int poll() {
+		return latch.getCurrentCount();
+	}
+
+	@Benchmark
+	public int pollSynchronized() {
+		return synchronizedLatch.getCurrentCount();
+	}
+
+	@Benchmark
+	public void countUpAndDown() {
+		latch.countUp();
+		latch.countDown();
+	}
+
+	@Benchmark
+	public void countUpAndDownSynchronized() {
+		synchronizedLatch.countUp();
+		synchronizedLatch.countDown();
+	}
+
+	/**
+	 * The implementation up to 3.1.
+	 */
+	private static class SynchronizedCountDownAndUpLatch {
+
+		private final Object lock = new Object();
+		private int counter;
+
+		void countUp() {
+			synchronized (lock) {
+				counter++;
+			}
+		}
+
+		void countDown() {
+			synchronized (lock) {
+				counter--;
+				if (counter == 0) {
+					lock.notifyAll();
+				}
+			}
+		}
+
+		int getCurrentCount() {
+			synchronized (lock) {
+				return counter;
+			}
+		}
+	}
+
+}
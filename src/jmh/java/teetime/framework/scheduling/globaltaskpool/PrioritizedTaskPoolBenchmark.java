@@ -0,0 +1,148 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.globaltaskpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jctools.maps.NonBlockingHashSet;
+import org.jctools.queues.MpmcArrayQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.StageFacade;
+import teetime.stage.NoopFilter;
+
+/**
+ * Measures scheduling and removing a stage from the {@link PrioritizedTaskPool} under contention and compares it with the previous implementation,
+ * which tracked the membership of each stage in a {@link NonBlockingHashSet} and scanned all levels. Vary the number of threads with <code>-t</code>:
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="PrioritizedTaskPoolBenchmark -t 8"
+ * ./gradlew jmh -PjmhArgs="PrioritizedTaskPoolBenchmark -t 64"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class PrioritizedTaskPoolBenchmark {
+
+	private static final int NUM_STAGES = 256;
+
+	@Param({ "8", "100" })
+	private int numLevels;
+
+	private AbstractStage[] stages;
+	private PrioritizedTaskPool taskPool;
+	private LegacyTaskPool legacyTaskPool;
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+		private int nextIndex;
+
+		@Setup
+		public void setup() {
+			nextIndex = (int) Thread.currentThread().getId();
+		}
+
+		int nextStageIndex() {
+			return (nextIndex++ & 0x7FFFFFFF) % NUM_STAGES;
+		}
+	}
+
+	@Setup
+	public void setup() {
+		stages = new AbstractStage[NUM_STAGES];
+		for (int i = 0; i < NUM_STAGES; i++) {
+			stages[i] = new NoopFilter<>();
+			StageFacade.INSTANCE.setLevelIndex(stages[i], i % numLevels);
+		}
+		taskPool = new PrioritizedTaskPool(numLevels, NUM_STAGES);
+		legacyTaskPool = new LegacyTaskPool(numLevels, NUM_STAGES);
+	}
+
+	@Benchmark
+	public AbstractStage scheduleAndRemove(final ThreadState threadState) {
+		taskPool.scheduleStage(stages[threadState.nextStageIndex()]);
+		return taskPool.removeNextStage();
+	}
+
+	@Benchmark
+	public AbstractStage legacyScheduleAndRemove(final ThreadState threadState) {
+		legacyTaskPool.scheduleStage(stages[threadState.nextStageIndex()]);
+		return legacyTaskPool.removeNextStage();
+	}
+
+	/**
+	 * The implementation up to 3.1.
+	 */
+	private static class LegacyTaskPool {
+
+		private final List<Queue<AbstractStage>> levels;
+		private final Set<AbstractStage> addedStages = new NonBlockingHashSet<>();
+
+		LegacyTaskPool(final int numLevels, final int capacity) {
+			levels = new ArrayList<>(numLevels);
+			for (int i = 0; i < numLevels; i++) {
+				levels.add(new MpmcArrayQueue<>(capacity)); // NOPMD (initialization)
+			}
+		}
+
+		boolean scheduleStage(final AbstractStage stage) {
+			if (!addedStages.add(stage)) {
+				return true;
+			}
+			Queue<AbstractStage> stages = levels.get(StageFacade.INSTANCE.getLevelIndex(stage));
+			if (!stages.offer(stage)) {
+				addedStages.remove(stage);
+				return false;
+			}
+			return true;
+		}
+
+		AbstractStage removeNextStage() {
+			for (int i = levels.size() - 1; i >= 0; i--) {
+				AbstractStage stage = levels.get(i).poll();
+				if (null != stage) {
+					addedStages.remove(stage);
+					return stage;
+				}
+			}
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+
+/**
+ * Measures the latency of running a small job, i.e., a pipeline of two threads processing a few elements, either by re-arming one
+ * {@link Execution} or by creating a new configuration and execution for each job.
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="ExecutionRearmBenchmark"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExecutionRearmBenchmark {
+
+	private static final int NUM_ELEMENTS = 16;
+
+	private JobConfig rearmableConfig;
+	private Execution<JobConfig> rearmableExecution;
+
+	@Setup
+	public void setup() {
+		rearmableConfig = new JobConfig();
+		PushPullScheduling scheduling = new PushPullScheduling(rearmableConfig,
+				new PushPullSchedulingOptions().idleStrategy(SpinYieldParkIdleStrategy::new).reusableThreads());
+		rearmableExecution = new Execution<>(rearmableConfig, true, scheduling);
+		rearmableExecution.executeBlocking();
+	}
+
+	@TearDown
+	public void tearDown() {
+		rearmableExecution.shutdown();
+	}
+
+	@Benchmark
+	public int rearmedExecution() {
+		rearmableExecution.rearm();
+		rearmableConfig.sink.getElements().clear();
+		rearmableExecution.executeBlocking();
+		return rearmableConfig.sink.getElements().size();
+	}
+
+	@Benchmark
+	public int newExecution() {
+		JobConfig config = new JobConfig();
+		PushPullScheduling scheduling = new PushPullScheduling(config, SpinYieldParkIdleStrategy::new);
+		new Execution<>(config, true, scheduling).executeBlocking();
+		return config.sink.getElements().size();
+	}
+
+	private static class JobConfig extends Configuration {
+		final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		JobConfig() {
+			List<Integer> elements = new ArrayList<>();
+			for (int i = 0; i < NUM_ELEMENTS; i++) {
+				elements.add(i);
+			}
+			InitialElementProducer<Integer> producer = new InitialElementProducer<>(elements);
+			NoopFilter<Integer> filter = new NoopFilter<>();
+			connectPorts(producer.getOutputPort(), filter.getInputPort());
+			connectPorts(filter.getOutputPort(), sink.getInputPort());
+			filter.declareActive();
+		}
+	}
+}
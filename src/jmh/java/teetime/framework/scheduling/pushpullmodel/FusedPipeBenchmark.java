@@ -0,0 +1,176 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teetime.framework.AbstractConsumerStage;
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.FusedPipe;
+import teetime.framework.OutputPort;
+
+/**
+ * Measures the latency of passing one element through a passive chain of eight different stage types, either connected by the pipes of the
+ * {@link A3PipeInstantiation} or by {@link FusedPipe}s. Since the chain consists of different stage types, the shared call sites of the
+ * unfused path become megamorphic.
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="FusedPipeBenchmark"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FusedPipeBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean fused;
+
+	private ChainConfig config;
+	private InlineScheduling<Integer> scheduling;
+	private Execution<ChainConfig> execution;
+	private int element;
+
+	@Setup
+	public void setup() {
+		System.setProperty(FusedPipe.ENABLED_PROPERTY, String.valueOf(fused));
+		try {
+			config = new ChainConfig();
+			scheduling = new InlineScheduling<>(config, config.first.getInputPort());
+			execution = new Execution<>(config, true, scheduling);
+		} finally {
+			System.clearProperty(FusedPipe.ENABLED_PROPERTY);
+		}
+		execution.executeNonBlocking();
+	}
+
+	@TearDown
+	public void tearDown() {
+		execution.waitForTermination();
+	}
+
+	@Benchmark
+	public int passThroughChain() {
+		scheduling.executeInline(element++);
+		return config.sink.sum;
+	}
+
+	private static class ChainConfig extends Configuration {
+		final Add1 first = new Add1();
+		final Sum sink = new Sum();
+
+		ChainConfig() {
+			Add2 add2 = new Add2();
+			Add3 add3 = new Add3();
+			Negate negate = new Negate();
+			Mask mask = new Mask();
+			Shift shift = new Shift();
+			Square square = new Square();
+			connect(first.outputPort, add2);
+			connect(add2.outputPort, add3);
+			connect(add3.outputPort, negate);
+			connect(negate.outputPort, mask);
+			connect(mask.outputPort, shift);
+			connect(shift.outputPort, square);
+			connect(square.outputPort, sink);
+		}
+
+		private void connect(final OutputPort<Integer> outputPort, final AbstractConsumerStage<Integer> stage) {
+			connectPorts(outputPort, stage.getInputPort());
+		}
+	}
+
+	private abstract static class IntFilter extends AbstractConsumerStage<Integer> {
+		final OutputPort<Integer> outputPort = createOutputPort();
+	}
+
+	private static class Add1 extends IntFilter {
+		@Override
+		protected void execute(final Integer element) {
+			outputPort.send(element + 1);
+		}
+	}
+
+	private static class Add2 extends IntFilter {
+		@Override
+		protected void execute(final Integer element) {
+			outputPort.send(element + 2);
+		}
+	}
+
+	private static class Add3 extends IntFilter {
+		@Override
+		protected void execute(final Integer element) {
+			outputPort.send(element + 3);
+		}
+	}
+
+	private static class Negate extends IntFilter {
+		@Override
+		protected void execute(final Integer element) {
+			outputPort.send(-element);
+		}
+	}
+
+	private static class Mask extends IntFilter {
+		@Override
+		protected void execute(final Integer element) {
+			outputPort.send(element & 0xFFFF);
+		}
+	}
+
+	private static class Shift extends IntFilter {
+		@Override
+		protected void execute(final Integer element) {
+			outputPort.send(element >>> 1);
+		}
+	}
+
+	private static class Square extends IntFilter {
+		@Override
+		protected void execute(final Integer element) {
+			outputPort.send(element * element);
+		}
+	}
+
+	private static class Sum extends AbstractConsumerStage<Integer> {
+		int sum;
+
+		@Override
+		protected void execute(final Integer element) {
+			sum += element;
+		}
+	}
+}
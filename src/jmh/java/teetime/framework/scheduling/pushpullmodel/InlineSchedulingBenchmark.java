@@ -0,0 +1,110 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+
+/**
+ * Measures the latency of processing a single request by a passive chain of three filters, either inline on the calling thread or by a new
+ * {@link Execution} per request.
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="InlineSchedulingBenchmark"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InlineSchedulingBenchmark {
+
+	private ChainConfig inlineConfig;
+	private InlineScheduling<Integer> inlineScheduling;
+	private Execution<ChainConfig> inlineExecution;
+	private int request;
+
+	@Setup
+	public void setup() {
+		inlineConfig = new ChainConfig();
+		inlineScheduling = new InlineScheduling<>(inlineConfig, inlineConfig.getInputPort());
+		inlineExecution = new Execution<>(inlineConfig, true, inlineScheduling);
+		inlineExecution.executeNonBlocking();
+	}
+
+	@TearDown
+	public void tearDown() {
+		inlineExecution.waitForTermination();
+	}
+
+	@Benchmark
+	public int inlineExecution() {
+		inlineConfig.sink.getElements().clear();
+		inlineScheduling.executeInline(request++);
+		return inlineConfig.sink.getElements().size();
+	}
+
+	@Benchmark
+	public int newExecution() {
+		ChainConfig config = new ChainConfig();
+		InitialElementProducer<Integer> producer = new InitialElementProducer<>(request++);
+		config.connectPorts(producer.getOutputPort(), config.getInputPort(), 1);
+		new Execution<>(config, true, new PushPullScheduling(config)).executeBlocking();
+		return config.sink.getElements().size();
+	}
+
+	private static class ChainConfig extends Configuration {
+		final NoopFilter<Integer> first = new NoopFilter<>();
+		final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		ChainConfig() {
+			OutputPort<Integer> outputPort = first.getOutputPort();
+			for (int i = 0; i < 2; i++) {
+				NoopFilter<Integer> filter = new NoopFilter<>();
+				connectPorts(outputPort, filter.getInputPort());
+				outputPort = filter.getOutputPort();
+			}
+			connectPorts(outputPort, sink.getInputPort());
+		}
+
+		InputPort<Integer> getInputPort() {
+			return first.getInputPort();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.ConfigurationFacade;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+import teetime.stage.basic.Sink;
+
+/**
+ * Measures the startup analysis of very large configurations in the {@link PushPullScheduling}, i.e., the thread assignment, the pipe
+ * instantiation, and the collection of the stages of each thread. It invokes the scheduler's (private) initialization without starting any
+ * thread so that it runs unchanged on the commit before the single-pass {@code TopologyAnalysis} as well:
+ *
+ * <pre>
+ * ./gradlew jmh -PjmhArgs="TopologyAnalysisBenchmark"
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TopologyAnalysisBenchmark {
+
+	private static final int NUM_STAGES_PER_PRODUCER = 100;
+	private static final int ACTIVE_DISTANCE = 10;
+
+	@Param({ "10000", "100000" })
+	private int numStages;
+
+	private Method initializeMethod;
+	private PushPullScheduling scheduling;
+	private Collection<AbstractStage> startStages;
+
+	@Setup(Level.Trial)
+	public void setupTrial() throws NoSuchMethodException {
+		initializeMethod = PushPullScheduling.class.getDeclaredMethod("initialize", Collection.class);
+		initializeMethod.setAccessible(true);
+	}
+
+	@Setup(Level.Invocation)
+	public void setup() {
+		// the analysis replaces the pipes, so that each invocation requires a new configuration
+		ChainsConfig configuration = new ChainsConfig(numStages);
+		scheduling = new PushPullScheduling(configuration);
+		startStages = ConfigurationFacade.INSTANCE.getStartStages(configuration);
+	}
+
+	@Benchmark
+	public Object initialize() throws ReflectiveOperationException {
+		return initializeMethod.invoke(scheduling, startStages);
+	}
+
+	/**
+	 * Consists of independent chains of {@value #NUM_STAGES_PER_PRODUCER} stages each, in which every {@value #ACTIVE_DISTANCE}th stage is active.
+	 */
+	private static class ChainsConfig extends Configuration {
+
+		ChainsConfig(final int numStages) {
+			for (int c = 0; c < numStages / NUM_STAGES_PER_PRODUCER; c++) {
+				InitialElementProducer<Integer> producer = new InitialElementProducer<>(c);
+				NoopFilter<Integer> lastFilter = new NoopFilter<>();
+				connectPorts(producer.getOutputPort(), lastFilter.getInputPort());
+				for (int i = 2; i < NUM_STAGES_PER_PRODUCER - 1; i++) {
+					NoopFilter<Integer> filter = new NoopFilter<>();
+					connectPorts(lastFilter.getOutputPort(), filter.getInputPort());
+					if (i % ACTIVE_DISTANCE == 0) {
+						filter.declareActive();
+					}
+					lastFilter = filter;
+				}
+				connectPorts(lastFilter.getOutputPort(), new Sink<Integer>().getInputPort());
+			}
+		}
+	}
+}
@@ -27,7 +27,7 @@ import teetime.framework.pipe.IPipe;
 /**
  * Checks for invalid thread assignments
  *
- * @deprecated since 3.0. Use {@link teetime.framework.scheduling.pushpullmodel.A2InvalidThreadAssignmentCheck} instead.
+ * @deprecated since 3.0. The {@link teetime.framework.scheduling.pushpullmodel.PushPullScheduling} checks the thread assignment itself.
  */
 @Deprecated
 public class A2InvalidThreadAssignmentCheck {
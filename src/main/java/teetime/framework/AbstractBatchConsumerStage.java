@@ -0,0 +1,144 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Represents a consumer stage which receives all currently available elements of its (only) input port in one go, bounded by a maximum batch
+ * size. In this way, stages with little work per element pay the cost of being invoked by the framework only once per batch, and are able to
+ * process the whole batch at once, e.g., by a bulk insert.
+ * <p>
+ * The batch is passed as array to {@link #execute(Object[], int)} so that it can be iterated without an interface call per element. Since the
+ * compiler casts the batch array to the concrete element type of the overriding method, e.g., to <code>Integer[]</code>, a subclass must pass
+ * this type to the constructor. A subclass which prefers to receive the batch as list extends {@link AbstractListBatchConsumerStage} instead.
+ * <p>
+ * Batches of more than one element arise only if the input pipe is able to buffer elements, i.e., if this stage is active. A passive stage is
+ * invoked for each element and thus receives batches of exactly one element.
+ *
+ * @param <I>
+ *            the type of the input port
+ *
+ * @since 3.1.1
+ */
+public abstract class AbstractBatchConsumerStage<I> extends AbstractStage {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 512;
+
+	// Creation of this input port requires to use super and null for both parameters
+	// in order to invoke the original AbstractStage.createInputPort() instead of
+	// the one overridden in this stage.
+	protected final InputPort<I> inputPort = super.createInputPort(null, null);
+
+	private final int maxBatchSize;
+	/** reused for each batch */
+	private final I[] batch;
+	private final Consumer<I> batchAppender;
+	private int batchSize;
+
+	/**
+	 * @param elementType
+	 *            the component type of the array passed to {@link #execute(Object[], int)}
+	 */
+	public AbstractBatchConsumerStage(final Class<I> elementType) {
+		this(elementType, DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * @param elementType
+	 *            the component type of the array passed to {@link #execute(Object[], int)}
+	 * @param maxBatchSize
+	 *            the maximum number of elements passed to {@link #execute(Object[], int)} at once
+	 */
+	@SuppressWarnings("unchecked")
+	public AbstractBatchConsumerStage(final Class<I> elementType, final int maxBatchSize) {
+		this((I[]) Array.newInstance(elementType, checkMaxBatchSize(maxBatchSize)));
+	}
+
+	/**
+	 * Is used by {@link AbstractListBatchConsumerStage} only, which never casts the batch array to a concrete element type.
+	 */
+	@SuppressWarnings("unchecked")
+	/* default */ AbstractBatchConsumerStage(final int maxBatchSize) {
+		this((I[]) new Object[checkMaxBatchSize(maxBatchSize)]);
+	}
+
+	private AbstractBatchConsumerStage(final I[] batch) {
+		super();
+		this.maxBatchSize = batch.length;
+		this.batch = batch;
+		this.batchAppender = this::appendToBatch;
+	}
+
+	private static int checkMaxBatchSize(final int maxBatchSize) {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("maxBatchSize must be positive, but was " + maxBatchSize);
+		}
+		return maxBatchSize;
+	}
+
+	public final InputPort<I> getInputPort() {
+		return this.inputPort;
+	}
+
+	public final int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	@Override
+	protected final void execute() throws Exception {
+		final int numElements = this.inputPort.receiveBatch(maxBatchSize, batchAppender);
+		if (numElements == 0) {
+			return;
+		}
+
+		try {
+			this.execute(batch, numElements);
+		} finally {
+			Arrays.fill(batch, 0, batchSize, null); // do not retain the elements until the next batch
+			batchSize = 0;
+		}
+	}
+
+	private void appendToBatch(final I element) {
+		batch[batchSize++] = element;
+	}
+
+	/**
+	 * Contains the logic of this stage and is invoked (possibly multiple times) by the framework.
+	 *
+	 * @param batch
+	 *            the next non-empty batch of elements from the (only) input port of this stage in FIFO order at the indices <code>[0, n)</code>.
+	 *            The array is reused for the next batch. Hence, it may neither be modified nor be referenced after this method has returned.
+	 * @param n
+	 *            the number of elements in the batch
+	 *
+	 * @throws Exception
+	 *             arbitrary exception triggered by the logic of this stage
+	 */
+	protected abstract void execute(I[] batch, int n) throws Exception;
+
+	@Override
+	protected <T> InputPort<T> createInputPort(final Class<T> type, final String name) {
+		String message = String.format("A subtype of %s cannot have more than one input port. Extend %s instead.",
+				AbstractBatchConsumerStage.class.getName(),
+				AbstractStage.class.getName());
+		throw new IllegalStateException(message);
+	}
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import java.util.function.DoubleConsumer;
+
+import org.slf4j.Logger;
+
+/**
+ * The <code>double</code> counterpart of {@link AbstractConsumerStage}. It receives values without boxing them if its input port is connected to a
+ * {@link DoubleOutputPort}.
+ *
+ * @since 3.1.1
+ */
+public abstract class AbstractDoubleConsumerStage extends AbstractStage {
+
+	protected final DoubleInputPort inputPort = super.createDoubleInputPort();
+
+	private final DoubleConsumer receiver = element -> this.receivedElement = element;
+	private double receivedElement;
+
+	public AbstractDoubleConsumerStage() {
+		super();
+	}
+
+	/**
+	 * @param logger
+	 *            a custom logger (potentially shared by multiple stage instances)
+	 */
+	public AbstractDoubleConsumerStage(final Logger logger) {
+		super(logger);
+	}
+
+	public final DoubleInputPort getInputPort() {
+		return this.inputPort;
+	}
+
+	@Override
+	protected final void execute() throws Exception {
+		if (this.inputPort.receiveDouble(receiver)) {
+			this.execute(receivedElement);
+		}
+	}
+
+	/**
+	 * Contains the logic of this stage and is invoked (possibly multiple times) by the framework.
+	 *
+	 * @param element
+	 *            the next value from the (only) input port of this stage
+	 *
+	 * @throws Exception
+	 *             arbitrary exception triggered by the logic of this stage
+	 */
+	protected abstract void execute(double element) throws Exception;
+
+	@Override
+	protected <T> InputPort<T> createInputPort(final Class<T> type, final String name) {
+		String message = String.format("A subtype of %s cannot have more than one input port. Extend %s instead.",
+				AbstractDoubleConsumerStage.class.getName(),
+				AbstractStage.class.getName());
+		throw new IllegalStateException(message);
+	}
+
+}
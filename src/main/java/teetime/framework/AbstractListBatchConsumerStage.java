@@ -0,0 +1,92 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Represents a batch consumer stage which receives its batches as list. In contrast to {@link AbstractBatchConsumerStage}, it does not need to know
+ * the element type and thus also fits generic stages.
+ *
+ * @param <I>
+ *            the type of the input port
+ *
+ * @since 3.1.1
+ */
+public abstract class AbstractListBatchConsumerStage<I> extends AbstractBatchConsumerStage<I> {
+
+	/** a read-only view on the current batch which is passed to {@link #execute(List)} */
+	private final BatchList<I> batchList = new BatchList<>();
+
+	public AbstractListBatchConsumerStage() {
+		this(DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * @param maxBatchSize
+	 *            the maximum number of elements passed to {@link #execute(List)} at once
+	 */
+	public AbstractListBatchConsumerStage(final int maxBatchSize) {
+		super(maxBatchSize);
+	}
+
+	@Override
+	protected final void execute(final I[] batch, final int n) throws Exception {
+		batchList.elements = batch;
+		batchList.size = n;
+		this.execute(batchList);
+	}
+
+	/**
+	 * Contains the logic of this stage and is invoked (possibly multiple times) by the framework.
+	 *
+	 * @param batch
+	 *            the next non-empty batch of elements from the (only) input port of this stage in FIFO order. The read-only list is reused for the
+	 *            next batch. Hence, it may not be referenced after this method has returned.
+	 *
+	 * @throws Exception
+	 *             arbitrary exception triggered by the logic of this stage
+	 */
+	protected abstract void execute(List<I> batch) throws Exception;
+
+	/**
+	 * A read-only list of the first <code>size</code> elements of the batch array.
+	 */
+	private static final class BatchList<I> extends AbstractList<I> {
+
+		private I[] elements;
+		private int size;
+
+		BatchList() {
+			super();
+		}
+
+		@Override
+		public I get(final int index) {
+			if (index >= size) {
+				throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+			}
+			return elements[index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+/**
+ * A producer stage which sends <code>long</code> values without boxing them via {@link LongOutputPort#sendLong(long)}.
+ *
+ * @since 3.1.1
+ */
+public abstract class AbstractLongProducerStage extends AbstractProducerStage<Long> {
+
+	public AbstractLongProducerStage() {
+		super(AbstractStage::createLongOutputPort);
+	}
+
+	/**
+	 * @return the output port of this stage, typed to send <code>long</code> values without boxing them
+	 */
+	public final LongOutputPort getLongOutputPort() {
+		return (LongOutputPort) this.outputPort;
+	}
+
+}
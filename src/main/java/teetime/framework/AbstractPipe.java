@@ -70,6 +70,30 @@ public abstract class AbstractPipe<T> implements IPipe<T> {
 		this.cachedTargetStage = targetPort.getOwningStage();
 	}
 
+	/**
+	 * Connects the given input port with this pipe, but leaves the output port of the given pipe connected with the given pipe. Only pipes which
+	 * forward the elements of the given pipe to a further consumer may use this constructor.
+	 *
+	 * @param sourcePipe
+	 *            whose output port is shared with this pipe
+	 *
+	 * @since 3.1.1
+	 */
+	protected AbstractPipe(final AbstractPipe<T> sourcePipe, final InputPort<T> targetPort) {
+		if (sourcePipe == null) {
+			throw new IllegalArgumentException("sourcePipe may not be null");
+		}
+		if (targetPort == null) {
+			throw new IllegalArgumentException("targetPort may not be null");
+		}
+
+		targetPort.setPipe(this);
+
+		this.sourcePort = sourcePipe.getSourcePort();
+		this.targetPort = targetPort;
+		this.cachedTargetStage = targetPort.getOwningStage();
+	}
+
 	@Override
 	public final OutputPort<? extends T> getSourcePort() {
 		return sourcePort;
@@ -80,6 +104,21 @@ public abstract class AbstractPipe<T> implements IPipe<T> {
 		return targetPort;
 	}
 
+	/**
+	 * Connects an additional output port with this pipe. Only pipes which are able to handle concurrent producers may use this method.
+	 *
+	 * @param sourcePort
+	 *            to connect in addition to the one passed to the constructor
+	 *
+	 * @since 3.1.1
+	 */
+	protected final void connectAdditionalSourcePort(final OutputPort<? extends T> sourcePort) {
+		if (sourcePort == null) {
+			throw new IllegalArgumentException("sourcePort may not be null");
+		}
+		sourcePort.setPipe(this);
+	}
+
 	@Override
 	public final boolean hasMore() {
 		return !isEmpty();
@@ -96,6 +135,15 @@ public abstract class AbstractPipe<T> implements IPipe<T> {
 		return cachedTargetStage;
 	}
 
+	/**
+	 * Allows pipes which do not store all elements in the same way (e.g., primitive pipes) to recognize the terminate element.
+	 *
+	 * @since 3.1.1
+	 */
+	protected static boolean isTerminateElement(final Object element) {
+		return AbstractPort.TERMINATE_ELEMENT == element;
+	}
+
 	protected PipeScheduler getScheduler() {
 		return scheduler;
 	}
@@ -15,6 +15,8 @@
  */
 package teetime.framework;
 
+import java.util.function.Function;
+
 import org.slf4j.Logger;
 
 /**
@@ -28,10 +30,11 @@ import org.slf4j.Logger;
  */
 public abstract class AbstractProducerStage<O> extends AbstractStage {
 
-	protected final OutputPort<O> outputPort = this.createOutputPort();
+	protected final OutputPort<O> outputPort;
 
 	public AbstractProducerStage() {
 		super();
+		this.outputPort = this.createOutputPort();
 	}
 
 	/**
@@ -40,6 +43,15 @@ public abstract class AbstractProducerStage<O> extends AbstractStage {
 	 */
 	public AbstractProducerStage(final Logger logger) {
 		super(logger);
+		this.outputPort = this.createOutputPort();
+	}
+
+	/**
+	 * Used by the primitive producer stages to create a specialized output port.
+	 */
+	AbstractProducerStage(final Function<AbstractStage, OutputPort<O>> outputPortFactory) {
+		super();
+		this.outputPort = outputPortFactory.apply(this);
 	}
 
 	public final OutputPort<O> getOutputPort() {
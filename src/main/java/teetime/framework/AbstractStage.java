@@ -15,7 +15,7 @@
  */
 package teetime.framework;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -35,6 +35,7 @@ import teetime.framework.exceptionHandling.AbstractExceptionListener.FurtherExec
 import teetime.framework.exceptionHandling.TerminateException;
 import teetime.framework.performancelogging.StateChange;
 import teetime.framework.performancelogging.StateChange.StageActivationState;
+import teetime.framework.performancelogging.StateLog;
 import teetime.framework.signal.ISignal;
 import teetime.framework.signal.StartingSignal;
 import teetime.framework.signal.TerminatingSignal;
@@ -52,7 +53,11 @@ public abstract class AbstractStage {
 
 	private static final Marker ON_STATE_CHANGE_MARKER = MarkerFactory.getMarker("ON_STATE_CHANGE_MARKER");
 
-	private static final boolean PERFORMANCE_LOGGING_ENABLED = Boolean.getBoolean("performance.logging.enabled");
+	/* default */ static final boolean PERFORMANCE_LOGGING_ENABLED = Boolean.getBoolean("performance.logging.enabled");
+	/** the maximum number of activation state changes retained per stage */
+	private static final int PERFORMANCE_LOGGING_CAPACITY = Integer.getInteger("performance.logging.capacity", 1 << 16);
+	/** measures the active waiting time of only every n-th execution and extrapolates it */
+	private static final int PERFORMANCE_LOGGING_SAMPLING_INTERVAL = Math.max(1, Integer.getInteger("performance.logging.sampling", 1));
 
 	/** This stage's unique logger */
 	@SuppressWarnings("PMD.LoggerIsNotStaticFinal")
@@ -65,8 +70,8 @@ public abstract class AbstractStage {
 	 * The owning thread of this stage if this stage is directly executed by an
 	 * {@link AbstractRunnableStage}, <code>null</code> otherwise.
 	 */
-	private Thread owningThread;
-	private boolean isActive;
+	private volatile Thread owningThread; // may change at runtime if this stage is migrated to another thread
+	private volatile boolean isActive;
 	/** the scheduler used for this stage and all of the other stages */
 	private TeeTimeScheduler scheduler;
 
@@ -85,8 +90,8 @@ public abstract class AbstractStage {
 	private int numOpenedInputPorts;
 
 	// used only for performance measuring
-	private long beforeExecuteTime;
 	private long lastTimeAfterExecute;
+	private int numExecutionsUntilSample;
 
 	// for GlobalTaskQueueScheduling only
 	/**
@@ -96,16 +101,18 @@ public abstract class AbstractStage {
 	// TODO used only by global task pool scheduling so far
 	private final AtomicBoolean atomicBeingExecuted = new AtomicBoolean(false);
 	private final AtomicBoolean atomicPaused = new AtomicBoolean(false);
+	/** whether this stage is contained in the task pool */
+	private final AtomicBoolean atomicScheduled = new AtomicBoolean(false);
+
+	// for WorkStealingScheduling only
+	/** the task which executes this stage; <code>null</code> if this stage is not executed by a task */
+	private Runnable task;
 
 	/**
-	 * A list which save a timestamp and an associated state (active or inactive).
-	 * This Information can be used for Bottleneck analysis.
+	 * A ring buffer which saves a timestamp and an associated state (active or inactive).
+	 * This Information can be used for Bottleneck analysis. Is <code>null</code> if performance logging is disabled.
 	 */
-	private final List<StateChange> states = new ArrayList<>();
-
-	private StateChange lastState = new StateChange(StageActivationState.INITIALIZED, System.nanoTime());
-
-	private long activeWaitingTime;
+	private final StateLog stateLog = PERFORMANCE_LOGGING_ENABLED ? new StateLog(getClass().getSimpleName(), PERFORMANCE_LOGGING_CAPACITY) : null;
 	/**
 	 * indicates that this stage has no state and can thus be easily executed in
 	 * parallel
@@ -134,6 +141,14 @@ public abstract class AbstractStage {
 		return levelIndex;
 	}
 
+	void setTask(final Runnable task) {
+		this.task = task;
+	}
+
+	Runnable getTask() {
+		return task;
+	}
+
 	public boolean isBeingExecuted() {
 		return atomicBeingExecuted.get();
 	}
@@ -142,6 +157,22 @@ public abstract class AbstractStage {
 		return atomicBeingExecuted.compareAndSet(!newValue, newValue);
 	}
 
+	/**
+	 * @since 3.1.1
+	 */
+	public boolean isScheduled() {
+		return atomicScheduled.get();
+	}
+
+	/**
+	 * @return <code>true</code> iff the scheduled flag has been changed to the given value by this invocation
+	 *
+	 * @since 3.1.1
+	 */
+	public boolean compareAndSetScheduled(final boolean newValue) {
+		return atomicScheduled.compareAndSet(!newValue, newValue);
+	}
+
 	public void setPaused(final boolean newValue) {
 		atomicPaused.set(newValue);
 	}
@@ -204,14 +235,30 @@ public abstract class AbstractStage {
 	 */
 	public final void executeByFramework() throws TerminateException {
 		if (PERFORMANCE_LOGGING_ENABLED) {
-			beforeExecuteTime = System.nanoTime();
+			executeAndSampleActiveWaitingTime();
+		} else {
 			executeWithCatchedExceptions();
-			if (lastState.getStageActivationState() == StageActivationState.ACTIVE) {
-				this.addActiveWaitingTime(beforeExecuteTime - lastTimeAfterExecute);
+		}
+	}
+
+	/**
+	 * Measures the time between the end of the previous and the start of this execution only for every n-th execution, and extrapolates it.
+	 */
+	private void executeAndSampleActiveWaitingTime() throws TerminateException {
+		if (numExecutionsUntilSample == 0) {
+			final long beforeExecuteTime = System.nanoTime();
+			if (lastTimeAfterExecute != 0 && stateLog.getLastState() == StageActivationState.ACTIVE) {
+				stateLog.addActiveWaitingTime((beforeExecuteTime - lastTimeAfterExecute) * PERFORMANCE_LOGGING_SAMPLING_INTERVAL);
 			}
-			lastTimeAfterExecute = System.nanoTime();
+			numExecutionsUntilSample = PERFORMANCE_LOGGING_SAMPLING_INTERVAL - 1;
 		} else {
-			executeWithCatchedExceptions();
+			numExecutionsUntilSample--;
+		}
+
+		executeWithCatchedExceptions();
+
+		if (numExecutionsUntilSample == 0) { // the next execution is sampled
+			lastTimeAfterExecute = System.nanoTime();
 		}
 	}
 
@@ -221,10 +268,22 @@ public abstract class AbstractStage {
 		} catch (TerminateException e) {
 			throw e;
 		} catch (Exception e) {
-			final FurtherExecution furtherExecution = this.exceptionListener.reportException(e, this);
-			if (furtherExecution == FurtherExecution.TERMINATE) {
-				throw TerminateException.INSTANCE;
-			}
+			handleException(e);
+		}
+	}
+
+	/**
+	 * Reports the given exception to this stage's exception listener.
+	 *
+	 * @throws TerminateException
+	 *             if the listener decides to terminate the execution
+	 *
+	 * @since 3.1.1
+	 */
+	/* default */ final void handleException(final Exception e) throws TerminateException {
+		final FurtherExecution furtherExecution = this.exceptionListener.reportException(e, this);
+		if (furtherExecution == FurtherExecution.TERMINATE) {
+			throw TerminateException.INSTANCE;
 		}
 	}
 
@@ -280,14 +339,16 @@ public abstract class AbstractStage {
 	}
 
 	/**
-	 * Declares this stage to be executed by an own thread.
+	 * Declares this stage to be executed by an own thread. If this stage has already been started, the scheduler migrates it to a new thread. Since the
+	 * migration is performed at the next point in time the current thread does not execute any stage, {@link #isActive()} may return
+	 * <code>false</code> for a short while.
 	 */
 	public void declareActive() {
 		if (getCurrentState() == StageState.STARTED) {
-			// TODO implement so that active/passive can be changed even at runtime
-			// requires: volatile isActive
-			// requires: to declare further stages active (cascading)
-			throw new UnsupportedOperationException("Declaring a stage 'active' at runtime is not yet supported.");
+			if (!isActive) {
+				scheduler.declareActiveAtRuntime(this); // declares this stage active after the migration
+			}
+			return;
 		}
 
 		// serves as acknowledgement and thus must be set at the end
@@ -295,14 +356,29 @@ public abstract class AbstractStage {
 	}
 
 	/**
-	 * Declares this stage to be executed by the thread of its predecessor stage.
+	 * Declares this stage to be executed by the thread of its predecessor stage. If this stage has already been started, the scheduler migrates it to
+	 * the thread of its predecessor. Since the migration is performed at the next point in time the predecessor's thread does not execute any stage,
+	 * {@link #isActive()} may return <code>true</code> for a short while.
 	 */
 	public void declarePassive() {
-		// TODO implement so that active/passive can be changed even at runtime
-		// requires: to check whether this stage may be declared passive (a merger,
-		// e.g., is not allowed to do so in most cases)
-		throw new UnsupportedOperationException("Declaring a stage 'passive' at runtime is not yet supported.");
-		// this.isActive = false;
+		if (getCurrentState() == StageState.STARTED) {
+			if (isActive) {
+				scheduler.declarePassiveAtRuntime(this); // declares this stage passive after the migration
+			}
+			return;
+		}
+		if (getCurrentState() != StageState.CREATED) {
+			throw new UnsupportedOperationException("Declaring a stage 'passive' is not supported in the state " + getCurrentState());
+		}
+		if (isProducer()) {
+			throw new IllegalStateException("A producer stage cannot be declared passive: " + getId());
+		}
+
+		this.isActive = false;
+	}
+
+	/* default */ void setActive(final boolean active) {
+		this.isActive = active;
 	}
 
 	protected List<InputPort<?>> getInputPorts() {
@@ -568,7 +644,82 @@ public abstract class AbstractStage {
 	 * @return the newly added InputPort
 	 */
 	protected <T> InputPort<T> createInputPort(final Class<T> type, final String name) {
-		final InputPort<T> inputPort = new InputPort<>(type, this, name);
+		return addInputPort(new InputPort<>(type, this, name));
+	}
+
+	/**
+	 * Creates and adds an {@link IntInputPort} to the stage
+	 *
+	 * @return the newly added IntInputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected IntInputPort createIntInputPort() {
+		return createIntInputPort(null);
+	}
+
+	/**
+	 * Creates and adds an {@link IntInputPort} to the stage
+	 *
+	 * @param name a specific name for the new port
+	 *
+	 * @return the newly added IntInputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected IntInputPort createIntInputPort(final String name) {
+		return addInputPort(new IntInputPort(this, name));
+	}
+
+	/**
+	 * Creates and adds a {@link LongInputPort} to the stage
+	 *
+	 * @return the newly added LongInputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected LongInputPort createLongInputPort() {
+		return createLongInputPort(null);
+	}
+
+	/**
+	 * Creates and adds a {@link LongInputPort} to the stage
+	 *
+	 * @param name a specific name for the new port
+	 *
+	 * @return the newly added LongInputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected LongInputPort createLongInputPort(final String name) {
+		return addInputPort(new LongInputPort(this, name));
+	}
+
+	/**
+	 * Creates and adds a {@link DoubleInputPort} to the stage
+	 *
+	 * @return the newly added DoubleInputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected DoubleInputPort createDoubleInputPort() {
+		return createDoubleInputPort(null);
+	}
+
+	/**
+	 * Creates and adds a {@link DoubleInputPort} to the stage
+	 *
+	 * @param name a specific name for the new port
+	 *
+	 * @return the newly added DoubleInputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected DoubleInputPort createDoubleInputPort(final String name) {
+		return addInputPort(new DoubleInputPort(this, name));
+	}
+
+	private <P extends InputPort<?>> P addInputPort(final P inputPort) {
 		inputPorts.add(inputPort);
 		// numOpenedInputPorts.incrementAndGet();
 		numOpenedInputPorts++;
@@ -631,7 +782,82 @@ public abstract class AbstractStage {
 	 * @return the newly added OutputPort
 	 */
 	protected <T> OutputPort<T> createOutputPort(final Class<T> type, final String name) {
-		final OutputPort<T> outputPort = new OutputPort<>(type, this, name);
+		return addOutputPort(new OutputPort<>(type, this, name));
+	}
+
+	/**
+	 * Creates and adds an {@link IntOutputPort} to the stage
+	 *
+	 * @return the newly added IntOutputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected IntOutputPort createIntOutputPort() {
+		return createIntOutputPort(null);
+	}
+
+	/**
+	 * Creates and adds an {@link IntOutputPort} to the stage
+	 *
+	 * @param name a specific name for the new port
+	 *
+	 * @return the newly added IntOutputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected IntOutputPort createIntOutputPort(final String name) {
+		return addOutputPort(new IntOutputPort(this, name));
+	}
+
+	/**
+	 * Creates and adds a {@link LongOutputPort} to the stage
+	 *
+	 * @return the newly added LongOutputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected LongOutputPort createLongOutputPort() {
+		return createLongOutputPort(null);
+	}
+
+	/**
+	 * Creates and adds a {@link LongOutputPort} to the stage
+	 *
+	 * @param name a specific name for the new port
+	 *
+	 * @return the newly added LongOutputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected LongOutputPort createLongOutputPort(final String name) {
+		return addOutputPort(new LongOutputPort(this, name));
+	}
+
+	/**
+	 * Creates and adds a {@link DoubleOutputPort} to the stage
+	 *
+	 * @return the newly added DoubleOutputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected DoubleOutputPort createDoubleOutputPort() {
+		return createDoubleOutputPort(null);
+	}
+
+	/**
+	 * Creates and adds a {@link DoubleOutputPort} to the stage
+	 *
+	 * @param name a specific name for the new port
+	 *
+	 * @return the newly added DoubleOutputPort
+	 *
+	 * @since 3.1.1
+	 */
+	protected DoubleOutputPort createDoubleOutputPort(final String name) {
+		return addOutputPort(new DoubleOutputPort(this, name));
+	}
+
+	private <P extends OutputPort<?>> P addOutputPort(final P outputPort) {
 		outputPorts.add(outputPort);
 		return outputPort;
 	}
@@ -679,9 +905,29 @@ public abstract class AbstractStage {
 		changeState(StageState.TERMINATING);
 	}
 
+	/**
+	 * Resets the framework-related state of this terminated stage so that it can be started again, e.g., by another run of a re-armable
+	 * {@link Execution}. The validation is not repeated. The user-defined state of this stage is left untouched.
+	 *
+	 * @since 3.1.1
+	 */
+	/* default */ void rearm() {
+		signalMap.clear();
+		triggeredSignalTypes.clear();
+		calledOnStarting = false;
+		calledOnTerminating = false;
+		numOpenedInputPorts = inputPorts.getOpenedPorts().size();
+		if (currentState.isAfter(StageState.VALIDATED)) {
+			currentState = StageState.VALIDATED; // bypasses changeState() since the state goes back
+		}
+	}
+
 	protected void abort() { // invoked by ThreadService for all threadable stages
 		this.terminateStageByFramework();
-		this.getOwningThread().interrupt();
+		final Thread owningThread = this.getOwningThread();
+		if (owningThread != null) { // is null if a pool-based scheduler does currently not execute this stage
+			owningThread.interrupt();
+		}
 	}
 
 	protected boolean shouldBeTerminated() {
@@ -744,20 +990,25 @@ public abstract class AbstractStage {
 	// invalidPortConnections);
 
 	List<StateChange> getStates() {
-		return states;
+		return (stateLog == null) ? Collections.<StateChange> emptyList() : stateLog.toStateChanges();
+	}
+
+	/**
+	 * @return the state log of this stage, or <code>null</code> if performance logging is disabled.
+	 */
+	StateLog getStateLog() {
+		return stateLog;
 	}
 
 	private boolean newStateRequired(final StageActivationState state) {
 		if (!PERFORMANCE_LOGGING_ENABLED) {
 			return false;
 		}
-		return (this.lastState.getStageActivationState() != state);
+		return (this.stateLog.getLastState() != state);
 	}
 
 	private void addState(final StageActivationState stateCode, final long timestamp) {
-		StateChange state = new StateChange(stateCode, timestamp);
-		this.states.add(state);
-		this.lastState = state;
+		this.stateLog.add(stateCode, timestamp);
 	}
 
 	void sendingFailed() {
@@ -773,11 +1024,7 @@ public abstract class AbstractStage {
 	}
 
 	long getActiveWaitingTime() {
-		return this.activeWaitingTime;
-	}
-
-	void addActiveWaitingTime(final long time) {
-		activeWaitingTime += time;
+		return (stateLog == null) ? 0 : stateLog.getActiveWaitingTime();
 	}
 
 	/**
@@ -19,6 +19,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import teetime.framework.pipe.DummyPipe;
+import teetime.framework.pipe.MpscSynchedPipe;
+import teetime.framework.pipe.SpmcSynchedPipe;
 
 /**
  * Represents a minimal stage that composes several other stages.
@@ -82,6 +84,74 @@ public class CompositeStage {
 		new InstantiationPipe<>(sourcePort, targetPort, capacity);
 	}
 
+	/**
+	 * Connects the given output port with all given input ports by a single {@link SpmcSynchedPipe}. Each element is received by exactly one of the input
+	 * ports, namely by the first one that is ready to process it. The stages of the <code>targetPorts</code> are declared active.
+	 *
+	 * @param sourcePort
+	 *            {@link OutputPort} of the sending stage
+	 * @param targetPorts
+	 *            {@link InputPort}s of the receiving stages
+	 * @param capacity
+	 *            the capacity of the shared pipe
+	 * @param <T>
+	 *            the type of elements to be sent
+	 *
+	 * @since 3.1.1
+	 */
+	protected <T> void connectPorts(final OutputPort<? extends T> sourcePort, final List<? extends InputPort<T>> targetPorts, final int capacity) {
+		if (sourcePort == null) {
+			throw new IllegalArgumentException("1002 - SourcePort may not be null");
+		}
+		if (sourcePort.getPipe() != DummyPipe.INSTANCE) {
+			throw new IllegalStateException("1005 - Ports may not be reconnected");
+		}
+		for (InputPort<T> targetPort : targetPorts) {
+			if (targetPort == null) {
+				throw new IllegalArgumentException("1003 - TargetPort may not be null");
+			}
+			if (targetPort.getPipe() != null) {
+				throw new IllegalStateException("1005 - Ports may not be reconnected");
+			}
+			targetPort.getOwningStage().declareActive(); // the pipe is synched
+		}
+		new SpmcSynchedPipe<>(sourcePort, targetPorts, capacity);
+	}
+
+	/**
+	 * Connects all given output ports with the given input port by a single {@link MpscSynchedPipe}. Use this method instead of a merger stage if the order
+	 * in which the elements of the different producers arrive does not matter. The stage of the <code>targetPort</code> is declared active.
+	 *
+	 * @param sourcePorts
+	 *            {@link OutputPort}s of the sending stages
+	 * @param targetPort
+	 *            {@link InputPort} of the receiving stage
+	 * @param capacity
+	 *            the capacity of the shared pipe
+	 * @param <T>
+	 *            the type of elements to be sent
+	 *
+	 * @since 3.1.1
+	 */
+	protected <T> void connectPorts(final List<? extends OutputPort<? extends T>> sourcePorts, final InputPort<T> targetPort, final int capacity) {
+		for (OutputPort<? extends T> sourcePort : sourcePorts) {
+			if (sourcePort == null) {
+				throw new IllegalArgumentException("1002 - SourcePort may not be null");
+			}
+			if (sourcePort.getPipe() != DummyPipe.INSTANCE) {
+				throw new IllegalStateException("1005 - Ports may not be reconnected");
+			}
+		}
+		if (targetPort == null) {
+			throw new IllegalArgumentException("1003 - TargetPort may not be null");
+		}
+		if (targetPort.getPipe() != null) {
+			throw new IllegalStateException("1005 - Ports may not be reconnected");
+		}
+		targetPort.getOwningStage().declareActive(); // the pipe is synched
+		new MpscSynchedPipe<>(sourcePorts, targetPort, capacity);
+	}
+
 	protected <T> InputPort<T> createInputPort(final InputPort<T> subStageInputPort) {
 		// InputPort<T> inputPort = new InputPort<>(inputPort.getType(), this, inputPort.getName());
 		inputPorts.add(subStageInputPort);
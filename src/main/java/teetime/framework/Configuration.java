@@ -17,6 +17,7 @@ package teetime.framework;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import teetime.framework.exceptionHandling.AbstractExceptionListenerFactory;
@@ -109,6 +110,20 @@ public class Configuration extends CompositeStage {
 		super.connectPorts(sourcePort, targetPort, capacity);
 	}
 
+	@Override
+	public <T> void connectPorts(final OutputPort<? extends T> sourcePort, final List<? extends InputPort<T>> targetPorts, final int capacity) {
+		super.connectPorts(sourcePort, targetPorts, capacity);
+		startStages.add(sourcePort.getOwningStage()); // memorize all source stages as starting point for traversing
+	}
+
+	@Override
+	public <T> void connectPorts(final List<? extends OutputPort<? extends T>> sourcePorts, final InputPort<T> targetPort, final int capacity) {
+		super.connectPorts(sourcePorts, targetPort, capacity);
+		for (OutputPort<? extends T> sourcePort : sourcePorts) {
+			startStages.add(sourcePort.getOwningStage()); // memorize all source stages as starting point for traversing
+		}
+	}
+
 	public <T> void connectPorts(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final IPipeFactory pipeFactory) {
 		IPipe<T> pipe = pipeFactory.newPipe(sourcePort, targetPort);
 		startStages.add(pipe.getSourcePort().getOwningStage()); // memorize all source stages as starting point for traversing
@@ -0,0 +1,74 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import teetime.framework.pipe.IDoublePipe;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * An output port which sends <code>double</code> values without boxing them if it is connected to a {@link DoubleInputPort}. Otherwise, it falls back to
+ * {@link #send(Object)}.
+ *
+ * @since 3.1.1
+ */
+public class DoubleOutputPort extends OutputPort<Double> {
+
+	// no initializer, since it is already set by the super constructor
+	private IDoublePipe doublePipe;
+
+	DoubleOutputPort(final AbstractStage owningStage, final String portName) {
+		super(Double.class, owningStage, portName);
+	}
+
+	/**
+	 *
+	 * Guarantees the delivery of the given <code>element</code>.
+	 *
+	 * @param element
+	 *            to be sent
+	 */
+	public void sendDouble(final double element) {
+		final IDoublePipe doublePipe = this.doublePipe;
+		if (doublePipe != null) {
+			doublePipe.addDouble(element);
+		} else {
+			send(element);
+		}
+	}
+
+	/**
+	 *
+	 * @param element
+	 *            to be sent
+	 *
+	 * @return <code>true</code> iff the <code>element</code> was sent;
+	 *         <code>false</code> otherwise.
+	 */
+	public boolean sendDoubleNonBlocking(final double element) {
+		final IDoublePipe doublePipe = this.doublePipe;
+		if (doublePipe != null) {
+			return doublePipe.addDoubleNonBlocking(element);
+		}
+		return sendNonBlocking(element);
+	}
+
+	@Override
+	/* default */ void setPipe(final IPipe<?> pipe) {
+		super.setPipe(pipe);
+		this.doublePipe = (pipe instanceof IDoublePipe) ? (IDoublePipe) pipe : null;
+	}
+
+}
@@ -16,7 +16,7 @@
 package teetime.framework;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -164,12 +164,11 @@ public final class Execution<T extends Configuration> {
 			this.state = ExecutionState.COMPLETED;
 		}
 
-		final Map<Thread, List<Exception>> threadExceptionsMap = this.configuration.getFactory().getThreadExceptionsMap();
-		final Iterator<Entry<Thread, List<Exception>>> iterator = threadExceptionsMap.entrySet().iterator();
-		while (iterator.hasNext()) {
-			final Entry<Thread, List<Exception>> entry = iterator.next();
-			if (entry.getValue().isEmpty()) {
-				iterator.remove();
+		// copy the non-empty lists since the threads and their exception lists are reused if this execution is re-armed
+		final Map<Thread, List<Exception>> threadExceptionsMap = new HashMap<>();
+		for (Entry<Thread, List<Exception>> entry : this.configuration.getFactory().getThreadExceptionsMap().entrySet()) {
+			if (!entry.getValue().isEmpty()) {
+				threadExceptionsMap.put(entry.getKey(), new ArrayList<>(entry.getValue()));
 			}
 		}
 
@@ -218,6 +217,46 @@ public final class Execution<T extends Configuration> {
 		this.waitForTermination();
 	}
 
+	/**
+	 * Prepares this terminated execution for another run of the same configuration, so that {@link #executeBlocking()} or
+	 * {@link #executeNonBlocking()} can be invoked again. In contrast to executing a new configuration, re-arming reuses all stages, pipes, and
+	 * threads, and skips the initialization and validation. It resets the framework-related state of each stage and discards the remaining elements
+	 * and signals of each pipe. The user-defined state of the stages, e.g., the input of a producer or the results collected by a sink, is left
+	 * untouched and may be adapted for the next run.
+	 * <p>
+	 * Requires a scheduler which keeps its threads between runs, e.g., a {@link PushPullScheduling} with reusable threads. Call {@link #shutdown()}
+	 * as soon as the execution is not needed anymore.
+	 *
+	 * @throws IllegalStateException
+	 *             if the previous run has not yet terminated, i.e., if {@link #waitForTermination()} has not yet returned
+	 * @throws UnsupportedOperationException
+	 *             if the scheduler does not support re-arming
+	 *
+	 * @since 3.1.1
+	 */
+	public void rearm() {
+		if (this.state != ExecutionState.COMPLETED && this.state != ExecutionState.CANCELED) {
+			throw new IllegalStateException("3005 - Only a terminated execution can be re-armed, but it is " + this.state);
+		}
+		this.scheduler.onRearm();
+
+		for (List<Exception> exceptions : this.configuration.getFactory().getThreadExceptionsMap().values()) {
+			exceptions.clear();
+		}
+		this.configuration.setExecuted(false);
+		this.state = ExecutionState.INITIALIZED;
+	}
+
+	/**
+	 * Releases the threads which the scheduler keeps for another run. Afterwards, this execution cannot be re-armed anymore. Has no effect if the
+	 * scheduler does not keep its threads.
+	 *
+	 * @since 3.1.1
+	 */
+	public void shutdown() {
+		this.scheduler.onShutdown();
+	}
+
 	/**
 	 * Retrieves the Configuration which was used to add and arrange all stages needed for this execution.
 	 *
@@ -0,0 +1,173 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import teetime.framework.exceptionHandling.TerminateException;
+import teetime.framework.pipe.AbstractUnsynchedPipe;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Represents an unsynchronized pipe which passes each element directly to {@link AbstractConsumerStage#execute(Object)} of its target stage. In
+ * contrast to the {@link teetime.framework.pipe.UnsynchedPipe}, it neither stores the element nor goes through its pipe scheduler and
+ * {@link AbstractStage#executeByFramework()}.
+ * <p>
+ * For each class of target stages, a subclass of this pipe is generated at runtime whose {@link #add(Object)} contains the call of the target
+ * stage. In this way, each generated class owns its call site so that the JIT compiler sees a monomorphic call and is able to inline the target
+ * stage, regardless of how many stage types the JVM hosts. The terminate element is still stored and reported to the pipe scheduler so that the
+ * target stage handles it as usual.
+ * <p>
+ * Pipe fusion is disabled by default. It is enabled by setting the system property {@value #ENABLED_PROPERTY} to <code>true</code>.
+ *
+ * @param <T>
+ *            the type of the elements which this pipe should transfer.
+ *
+ * @since 3.1.1
+ */
+public abstract class FusedPipe<T> extends AbstractUnsynchedPipe<T> {
+
+	public static final String ENABLED_PROPERTY = "teetime.pipe.fusion.enabled";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FusedPipe.class);
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, OutputPort.class, InputPort.class);
+
+	private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+		@Override
+		protected MethodHandle computeValue(final Class<?> stageClass) {
+			return generatePipeClass(stageClass);
+		}
+	};
+
+	private Object controlElement;
+
+	protected FusedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort) {
+		super(sourcePort, targetPort);
+	}
+
+	/**
+	 * @return <code>true</code> iff a fused pipe can connect the given ports.
+	 */
+	public static boolean isFusable(final OutputPort<?> sourcePort, final InputPort<?> targetPort) {
+		AbstractStage targetStage = targetPort.getOwningStage();
+		return !AbstractStage.PERFORMANCE_LOGGING_ENABLED // performance logging requires executeByFramework()
+				&& targetStage instanceof AbstractConsumerStage
+				&& targetPort.getClass() == InputPort.class // primitive ports use primitive pipes
+				&& sourcePort.getOwningStage() != targetStage; // NOPMD reflexive pipes are left to the scheduler
+	}
+
+	/**
+	 * @return a new fused pipe which connects the given ports, or <code>null</code> if the pipe class could not be generated.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the ports are not {@link #isFusable(OutputPort, InputPort) fusable}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> IPipe<T> newInstance(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort) {
+		if (!isFusable(sourcePort, targetPort)) {
+			throw new IllegalArgumentException("The ports " + sourcePort + " and " + targetPort + " cannot be connected by a fused pipe.");
+		}
+		MethodHandle constructor = CONSTRUCTORS.get(targetPort.getOwningStage().getClass());
+		if (constructor == null) {
+			return null;
+		}
+		try {
+			return (IPipe<T>) constructor.invokeExact(sourcePort, targetPort);
+		} catch (RuntimeException | Error e) { // NOPMD rethrow as is
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MethodHandle generatePipeClass(final Class<?> stageClass) {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			byte[] classBytes = FusedPipeClassWriter.write(stageClass);
+			Class<?> pipeClass = lookup.defineClass(classBytes);
+			return lookup.findConstructor(pipeClass, CONSTRUCTOR_TYPE)
+					.asType(MethodType.methodType(IPipe.class, OutputPort.class, InputPort.class));
+		} catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+			LOGGER.warn("Could not generate a fused pipe for {}. Falling back to an unsynched pipe.", stageClass.getName(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Invoked by the generated {@link #add(Object)} before passing the given element to the target stage.
+	 *
+	 * @return <code>true</code> iff the given element is a data element; <code>false</code> if it is the terminate element.
+	 */
+	protected final boolean isDataElement(final Object element) {
+		if (null == element) {
+			throw new IllegalArgumentException("Parameter 'element' is null, but must be non-null.");
+		}
+		return !isTerminateElement(element);
+	}
+
+	/**
+	 * Invoked by the generated {@link #add(Object)} to let the target stage receive the terminate element via its input port.
+	 */
+	protected final void addControlElement(final Object element) {
+		this.controlElement = element;
+		getScheduler().onElementAdded(this);
+	}
+
+	/**
+	 * Invoked by the generated {@link #add(Object)} if the target stage has thrown an exception.
+	 */
+	protected final void onException(final Exception exception) {
+		if (exception instanceof TerminateException) {
+			throw (TerminateException) exception;
+		}
+		cachedTargetStage.handleException(exception);
+	}
+
+	@Override
+	public boolean addNonBlocking(final Object element) {
+		add(element);
+		return true;
+	}
+
+	@Override
+	public Object removeLast() {
+		final Object temp = this.controlElement;
+		this.controlElement = null; // NOPMD
+		return temp;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.controlElement == null;
+	}
+
+	@Override
+	public int size() {
+		return (this.controlElement == null) ? 0 : 1;
+	}
+
+	@Override
+	public int capacity() {
+		return 1;
+	}
+
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the class file of a {@link FusedPipe} subclass for a particular class of target stages. The generated class has the following form:
+ *
+ * <pre>
+ * final class FusedPipe$&lt;StageName&gt;$&lt;n&gt; extends FusedPipe {
+ *
+ * 	public FusedPipe$&lt;StageName&gt;$&lt;n&gt;(OutputPort sourcePort, InputPort targetPort) {
+ * 		super(sourcePort, targetPort);
+ * 	}
+ *
+ * 	public final void add(Object element) {
+ * 		if (!isDataElement(element)) {
+ * 			addControlElement(element);
+ * 			return;
+ * 		}
+ * 		try {
+ * 			((AbstractConsumerStage) cachedTargetStage).execute(element);
+ * 		} catch (Exception e) {
+ * 			onException(e);
+ * 		}
+ * 	}
+ * }
+ * </pre>
+ *
+ * The class file is written by hand since its shape is fixed and the framework should not depend on a bytecode library.
+ *
+ * @since 3.1.1
+ */
+final class FusedPipeClassWriter {
+
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final int JAVA_11_VERSION = 55;
+
+	private static final int ACC_PUBLIC = 0x0001;
+	private static final int ACC_FINAL = 0x0010;
+	private static final int ACC_SUPER = 0x0020;
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+	private static final int ITEM_OBJECT = 7;
+
+	private static final String SUPER_CLASS = "teetime/framework/FusedPipe";
+
+	private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+
+	private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+	private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+	private int numConstants = 1; // index 0 is not used
+
+	private FusedPipeClassWriter() {
+		// use write(Class) instead
+	}
+
+	/**
+	 * @return the class file of a fused pipe which calls stages of the given class
+	 */
+	public static byte[] write(final Class<?> stageClass) {
+		try {
+			return new FusedPipeClassWriter().writeClass(newClassName(stageClass));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // cannot happen since we write to memory only
+		}
+	}
+
+	private static String newClassName(final Class<?> stageClass) {
+		String stageName = stageClass.getSimpleName().replaceAll("[^A-Za-z0-9_]", "");
+		if (stageName.isEmpty()) { // anonymous class
+			stageName = "Stage";
+		}
+		return SUPER_CLASS + "$" + stageName + "$" + CLASS_COUNTER.getAndIncrement();
+	}
+
+	private byte[] writeClass(final String className) throws IOException {
+		int thisClass = addClass(className);
+		int superClass = addClass(SUPER_CLASS);
+		int code = addUtf8("Code");
+		int stackMapTable = addUtf8("StackMapTable");
+
+		int constructorName = addUtf8("<init>");
+		int constructorDescriptor = addUtf8("(Lteetime/framework/OutputPort;Lteetime/framework/InputPort;)V");
+		int superConstructor = addMethodref(superClass, constructorName, constructorDescriptor);
+
+		int addName = addUtf8("add");
+		int addDescriptor = addUtf8("(Ljava/lang/Object;)V");
+		int isDataElement = addMethodref(superClass, addUtf8("isDataElement"), addUtf8("(Ljava/lang/Object;)Z"));
+		int addControlElement = addMethodref(superClass, addUtf8("addControlElement"), addDescriptor);
+		int cachedTargetStage = addFieldref(superClass, addUtf8("cachedTargetStage"), addUtf8("Lteetime/framework/AbstractStage;"));
+		int consumerStageClass = addClass("teetime/framework/AbstractConsumerStage");
+		int execute = addMethodref(consumerStageClass, addUtf8("execute"), addDescriptor);
+		int exceptionClass = addClass("java/lang/Exception");
+		int onException = addMethodref(superClass, addUtf8("onException"), addUtf8("(Ljava/lang/Exception;)V"));
+
+		ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(classBytes);
+		out.writeInt(MAGIC);
+		out.writeShort(0);
+		out.writeShort(JAVA_11_VERSION);
+		out.writeShort(numConstants);
+		constantPool.flush();
+		constantPoolBytes.writeTo(out);
+		out.writeShort(ACC_FINAL | ACC_SUPER);
+		out.writeShort(thisClass);
+		out.writeShort(superClass);
+		out.writeShort(0); // interfaces
+		out.writeShort(0); // fields
+		out.writeShort(2); // methods
+
+		// constructor
+		out.writeShort(ACC_PUBLIC);
+		out.writeShort(constructorName);
+		out.writeShort(constructorDescriptor);
+		out.writeShort(1); // attributes
+		ByteArrayOutputStream constructorCode = new ByteArrayOutputStream();
+		DataOutputStream c = new DataOutputStream(constructorCode);
+		c.writeByte(0x2a); // aload_0
+		c.writeByte(0x2b); // aload_1
+		c.writeByte(0x2c); // aload_2
+		c.writeByte(0xb7); // invokespecial
+		c.writeShort(superConstructor);
+		c.writeByte(0xb1); // return
+		writeCode(out, code, 3, 3, constructorCode.toByteArray(), new byte[0], new byte[0]);
+
+		// add(Object)
+		out.writeShort(ACC_PUBLIC | ACC_FINAL);
+		out.writeShort(addName);
+		out.writeShort(addDescriptor);
+		out.writeShort(1); // attributes
+		ByteArrayOutputStream addCode = new ByteArrayOutputStream();
+		DataOutputStream a = new DataOutputStream(addCode);
+		a.writeByte(0x2a); // 0: aload_0
+		a.writeByte(0x2b); // 1: aload_1
+		a.writeByte(0xb6); // 2: invokevirtual isDataElement
+		a.writeShort(isDataElement);
+		a.writeByte(0x9a); // 5: ifne 14
+		a.writeShort(9);
+		a.writeByte(0x2a); // 8: aload_0
+		a.writeByte(0x2b); // 9: aload_1
+		a.writeByte(0xb6); // 10: invokevirtual addControlElement
+		a.writeShort(addControlElement);
+		a.writeByte(0xb1); // 13: return
+		a.writeByte(0x2a); // 14: aload_0
+		a.writeByte(0xb4); // 15: getfield cachedTargetStage
+		a.writeShort(cachedTargetStage);
+		a.writeByte(0xc0); // 18: checkcast AbstractConsumerStage
+		a.writeShort(consumerStageClass);
+		a.writeByte(0x2b); // 21: aload_1
+		a.writeByte(0xb6); // 22: invokevirtual execute
+		a.writeShort(execute);
+		a.writeByte(0xb1); // 25: return
+		a.writeByte(0x4d); // 26: astore_2
+		a.writeByte(0x2a); // 27: aload_0
+		a.writeByte(0x2c); // 28: aload_2
+		a.writeByte(0xb6); // 29: invokevirtual onException
+		a.writeShort(onException);
+		a.writeByte(0xb1); // 32: return
+
+		ByteArrayOutputStream exceptionTable = new ByteArrayOutputStream();
+		DataOutputStream e = new DataOutputStream(exceptionTable);
+		e.writeShort(14); // start
+		e.writeShort(26); // end
+		e.writeShort(26); // handler
+		e.writeShort(exceptionClass);
+
+		ByteArrayOutputStream stackMapFrames = new ByteArrayOutputStream();
+		DataOutputStream f = new DataOutputStream(stackMapFrames);
+		f.writeShort(stackMapTable);
+		f.writeInt(7);
+		f.writeShort(2); // entries
+		f.writeByte(14); // same_frame at 14
+		f.writeByte(64 + 11); // same_locals_1_stack_item_frame at 14 + 11 + 1 = 26
+		f.writeByte(ITEM_OBJECT);
+		f.writeShort(exceptionClass);
+
+		writeCode(out, code, 2, 3, addCode.toByteArray(), exceptionTable.toByteArray(), stackMapFrames.toByteArray());
+
+		out.writeShort(0); // class attributes
+		out.flush();
+		return classBytes.toByteArray();
+	}
+
+	private static void writeCode(final DataOutputStream out, final int codeName, final int maxStack, final int maxLocals, final byte[] code,
+			final byte[] exceptionTable, final byte[] stackMapTable) throws IOException {
+		int numAttributes = (stackMapTable.length == 0) ? 0 : 1;
+		out.writeShort(codeName);
+		out.writeInt(2 + 2 + 4 + code.length + 2 + exceptionTable.length + 2 + stackMapTable.length);
+		out.writeShort(maxStack);
+		out.writeShort(maxLocals);
+		out.writeInt(code.length);
+		out.write(code);
+		out.writeShort(exceptionTable.length / 8);
+		out.write(exceptionTable);
+		out.writeShort(numAttributes);
+		out.write(stackMapTable);
+	}
+
+	private int addUtf8(final String value) throws IOException {
+		constantPool.writeByte(CONSTANT_UTF8);
+		constantPool.writeUTF(value);
+		return numConstants++;
+	}
+
+	private int addClass(final String internalName) throws IOException {
+		int name = addUtf8(internalName);
+		constantPool.writeByte(CONSTANT_CLASS);
+		constantPool.writeShort(name);
+		return numConstants++;
+	}
+
+	private int addNameAndType(final int name, final int descriptor) throws IOException {
+		constantPool.writeByte(CONSTANT_NAME_AND_TYPE);
+		constantPool.writeShort(name);
+		constantPool.writeShort(descriptor);
+		return numConstants++;
+	}
+
+	private int addMethodref(final int owner, final int name, final int descriptor) throws IOException {
+		int nameAndType = addNameAndType(name, descriptor);
+		constantPool.writeByte(CONSTANT_METHODREF);
+		constantPool.writeShort(owner);
+		constantPool.writeShort(nameAndType);
+		return numConstants++;
+	}
+
+	private int addFieldref(final int owner, final int name, final int descriptor) throws IOException {
+		int nameAndType = addNameAndType(name, descriptor);
+		constantPool.writeByte(CONSTANT_FIELDREF);
+		constantPool.writeShort(owner);
+		constantPool.writeShort(nameAndType);
+		return numConstants++;
+	}
+
+}
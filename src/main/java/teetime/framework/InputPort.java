@@ -15,6 +15,8 @@
  */
 package teetime.framework;
 
+import java.util.function.Consumer;
+
 /**
  *
  * @author Christian Wulf
@@ -26,6 +28,9 @@ package teetime.framework;
  */
 public class InputPort<T> extends AbstractPort<T> {
 
+	/** reused by the consumer for each batch */
+	private final BatchReceiver<T> batchReceiver = new BatchReceiver<>();
+
 	InputPort(final Class<T> type, final AbstractStage owningStage, final String portName) {
 		super(type, owningStage, portName);
 	}
@@ -45,27 +50,57 @@ public class InputPort<T> extends AbstractPort<T> {
 	public T receive() {
 		Object element = this.pipe.removeLast();
 		if (TERMINATE_ELEMENT == element) {
-			pipe.close();// TODO remove volatile from isClosed
-			int size = pipe.size();
-			if (size > 0) {
-				throw new IllegalStateException("Pipe " + pipe + " should be empty, but has a size of " + size);
-			}
-			AbstractStage owningStage = getOwningStage();
-
-			// TODO let the input port trigger the (TERM) signal for the stage
-			// ISignal signal = pipe.removeNextSignal();
-			// owningStage.onSignal(signal, this);
-
-			int numOpenedInputPorts = owningStage.decNumOpenedInputPorts();
-			owningStage.logger.trace("numOpenedInputPorts (dec): {}", numOpenedInputPorts);
-			if (numOpenedInputPorts == 0) {
-				owningStage.terminateStageByFramework();
-			}
+			handleTerminateElement();
 			return null; // NOPMD (two returns)
 		}
 		return (T) element;
 	}
 
+	/**
+	 * Removes up to <code>maxElements</code> elements from the connected pipe in one go and passes them one after another to the given
+	 * <code>consumer</code>. The terminate element is handled in the same way as by {@link #receive()}, i.e., it is never passed to the
+	 * <code>consumer</code>.
+	 *
+	 * @param maxElements
+	 *            the maximum number of elements to receive
+	 * @param consumer
+	 *            which is invoked for each received element
+	 *
+	 * @return the number of elements passed to the <code>consumer</code>; <code>0</code> if the pipe is currently empty.
+	 *
+	 * @since 3.1.1
+	 */
+	public int receiveBatch(final int maxElements, final Consumer<? super T> consumer) {
+		batchReceiver.reset(consumer);
+		int numElements = this.pipe.removeBatch(batchReceiver, maxElements);
+		boolean terminateElementReceived = batchReceiver.isTerminateElementReceived();
+		batchReceiver.reset(null);
+		if (terminateElementReceived) {
+			numElements--;
+			handleTerminateElement();
+		}
+		return numElements;
+	}
+
+	private void handleTerminateElement() {
+		pipe.close();// TODO remove volatile from isClosed
+		int size = pipe.size();
+		if (size > 0) {
+			throw new IllegalStateException("Pipe " + pipe + " should be empty, but has a size of " + size);
+		}
+		AbstractStage owningStage = getOwningStage();
+
+		// TODO let the input port trigger the (TERM) signal for the stage
+		// ISignal signal = pipe.removeNextSignal();
+		// owningStage.onSignal(signal, this);
+
+		int numOpenedInputPorts = owningStage.decNumOpenedInputPorts();
+		owningStage.logger.trace("numOpenedInputPorts (dec): {}", numOpenedInputPorts);
+		if (numOpenedInputPorts == 0) {
+			owningStage.terminateStageByFramework();
+		}
+	}
+
 	public boolean isClosed() { // FIXME remove: only used by divide and conquer
 		return pipe.isClosed() && !pipe.hasMore();
 	}
@@ -74,4 +109,32 @@ public class InputPort<T> extends AbstractPort<T> {
 		pipe.waitForStartSignal();
 	}
 
+	/**
+	 * Forwards each received element to the current consumer, but swallows the terminate element.
+	 */
+	private static final class BatchReceiver<T> implements Consumer<Object> {
+
+		private Consumer<? super T> consumer;
+		private boolean terminateElementReceived;
+
+		void reset(final Consumer<? super T> consumer) {
+			this.consumer = consumer;
+			this.terminateElementReceived = false;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void accept(final Object element) {
+			if (TERMINATE_ELEMENT == element) {
+				terminateElementReceived = true;
+			} else {
+				consumer.accept((T) element);
+			}
+		}
+
+		boolean isTerminateElementReceived() {
+			return terminateElementReceived;
+		}
+	}
+
 }
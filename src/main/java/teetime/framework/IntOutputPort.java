@@ -0,0 +1,74 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import teetime.framework.pipe.IIntPipe;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * An output port which sends <code>int</code> values without boxing them if it is connected to a {@link IntInputPort}. Otherwise, it falls back to
+ * {@link #send(Object)}.
+ *
+ * @since 3.1.1
+ */
+public class IntOutputPort extends OutputPort<Integer> {
+
+	// no initializer, since it is already set by the super constructor
+	private IIntPipe intPipe;
+
+	IntOutputPort(final AbstractStage owningStage, final String portName) {
+		super(Integer.class, owningStage, portName);
+	}
+
+	/**
+	 *
+	 * Guarantees the delivery of the given <code>element</code>.
+	 *
+	 * @param element
+	 *            to be sent
+	 */
+	public void sendInt(final int element) {
+		final IIntPipe intPipe = this.intPipe;
+		if (intPipe != null) {
+			intPipe.addInt(element);
+		} else {
+			send(element);
+		}
+	}
+
+	/**
+	 *
+	 * @param element
+	 *            to be sent
+	 *
+	 * @return <code>true</code> iff the <code>element</code> was sent;
+	 *         <code>false</code> otherwise.
+	 */
+	public boolean sendIntNonBlocking(final int element) {
+		final IIntPipe intPipe = this.intPipe;
+		if (intPipe != null) {
+			return intPipe.addIntNonBlocking(element);
+		}
+		return sendNonBlocking(element);
+	}
+
+	@Override
+	/* default */ void setPipe(final IPipe<?> pipe) {
+		super.setPipe(pipe);
+		this.intPipe = (pipe instanceof IIntPipe) ? (IIntPipe) pipe : null;
+	}
+
+}
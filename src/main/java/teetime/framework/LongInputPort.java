@@ -0,0 +1,64 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import java.util.function.LongConsumer;
+
+import teetime.framework.pipe.ILongPipe;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * An input port which receives <code>long</code> values without boxing them if it is connected to a {@link LongOutputPort}. Otherwise, it falls back to
+ * {@link #receive()}.
+ *
+ * @since 3.1.1
+ */
+public class LongInputPort extends InputPort<Long> {
+
+	private ILongPipe longPipe;
+
+	LongInputPort(final AbstractStage owningStage, final String portName) {
+		super(Long.class, owningStage, portName);
+	}
+
+	/**
+	 *
+	 * @param consumer
+	 *            receives the next value from the connected pipe, if any
+	 *
+	 * @return <code>true</code> iff a value was passed to the <code>consumer</code>; <code>false</code> if the pipe is currently empty.
+	 */
+	public boolean receiveLong(final LongConsumer consumer) {
+		final ILongPipe longPipe = this.longPipe;
+		if (longPipe != null && longPipe.removeLong(consumer)) {
+			return true;
+		}
+		// handles both the terminate element and pipes which are not specialized
+		final Long element = receive();
+		if (null == element) {
+			return false;
+		}
+		consumer.accept(element);
+		return true;
+	}
+
+	@Override
+	/* default */ void setPipe(final IPipe<?> pipe) {
+		super.setPipe(pipe);
+		this.longPipe = (pipe instanceof ILongPipe) ? (ILongPipe) pipe : null;
+	}
+
+}
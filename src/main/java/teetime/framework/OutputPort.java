@@ -15,6 +15,9 @@
  */
 package teetime.framework;
 
+import java.util.Arrays;
+import java.util.List;
+
 import teetime.framework.pipe.DummyPipe;
 import teetime.framework.signal.ISignal;
 import teetime.framework.signal.TerminatingSignal;
@@ -68,6 +71,41 @@ public class OutputPort<T> extends AbstractPort<T> {
 		return this.pipe.addNonBlocking(element);
 	}
 
+	/**
+	 *
+	 * Guarantees the delivery of all given <code>elements</code> in their list order. In contrast to calling {@link #send(Object)} for each element, the
+	 * connected pipe inserts the elements in bulk and notifies its scheduler only once.
+	 *
+	 * @param elements
+	 *            to be sent; May not contain <code>null</code>.
+	 *
+	 * @since 3.1.1
+	 */
+	public void sendBatch(final List<? extends T> elements) {
+		if (elements.isEmpty()) {
+			return;
+		}
+		this.pipe.addBatch(elements);
+	}
+
+	/**
+	 *
+	 * @param elements
+	 *            to be sent at the indices <code>[0, n)</code>; May not contain <code>null</code> in this range.
+	 * @param n
+	 *            the number of elements to send
+	 *
+	 * @see #sendBatch(List)
+	 *
+	 * @since 3.1.1
+	 */
+	public void sendBatch(final T[] elements, final int n) {
+		if (n == 0) {
+			return;
+		}
+		this.pipe.addBatch(Arrays.asList(elements).subList(0, n));
+	}
+
 	/**
 	 *
 	 * @param signal
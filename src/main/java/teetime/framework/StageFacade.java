@@ -16,6 +16,7 @@
 package teetime.framework;
 
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 import teetime.framework.exceptionHandling.AbstractExceptionListener;
 import teetime.framework.exceptionHandling.TerminateException;
@@ -54,6 +55,22 @@ public final class StageFacade {
 		stage.setOwningThread(newThread);
 	}
 
+	/**
+	 * Sets the active flag without migrating the stage. Used by schedulers to acknowledge a migration at runtime.
+	 *
+	 * @since 3.1.1
+	 */
+	public void setActive(final AbstractStage stage, final boolean active) {
+		stage.setActive(active);
+	}
+
+	/**
+	 * @since 3.1.1
+	 */
+	public void rearm(final AbstractStage stage) {
+		stage.rearm();
+	}
+
 	public void setExceptionHandler(final AbstractStage stage, final AbstractExceptionListener exceptionHandler) {
 		stage.setExceptionHandler(exceptionHandler);
 	}
@@ -81,6 +98,50 @@ public final class StageFacade {
 		}
 	}
 
+	/**
+	 * Runs the given stage like {@link #runStage(AbstractStage)}, but invokes the given callback after each execution.
+	 *
+	 * @param afterEachExecution
+	 *            e.g., to let the executing thread idle if the stage has no more input
+	 *
+	 * @since 3.1.1
+	 */
+	public void runStage(final AbstractStage stage, final Runnable afterEachExecution) {
+		try {
+			while (!stage.shouldBeTerminated()) {
+				stage.executeByFramework();
+				afterEachExecution.run();
+			}
+		} catch (TerminateException e) {
+			stage.abort();
+			stage.getScheduler().onTerminate();
+		}
+	}
+
+	/**
+	 * Runs the given stage like {@link #runStage(AbstractStage, Runnable)}, but returns as soon as the given condition is no longer met, even if the
+	 * stage has not yet terminated.
+	 *
+	 * @param shouldContinue
+	 *            is checked after each execution, e.g., to hand over the stage to another thread
+	 *
+	 * @since 3.1.1
+	 */
+	public void runStage(final AbstractStage stage, final Runnable afterEachExecution, final BooleanSupplier shouldContinue) {
+		try {
+			while (!stage.shouldBeTerminated()) {
+				stage.executeByFramework();
+				afterEachExecution.run();
+				if (!shouldContinue.getAsBoolean()) {
+					return;
+				}
+			}
+		} catch (TerminateException e) {
+			stage.abort();
+			stage.getScheduler().onTerminate();
+		}
+	}
+
 	public void runStage(final AbstractStage stage, final int numOfExecutions) {
 		try {
 			for (int i = 0; i < numOfExecutions; i++) {
@@ -122,6 +183,20 @@ public final class StageFacade {
 		stage.setLevelIndex(levelIndex);
 	}
 
+	/**
+	 * @since 3.1.1
+	 */
+	public Runnable getTask(final AbstractStage stage) {
+		return stage.getTask();
+	}
+
+	/**
+	 * @since 3.1.1
+	 */
+	public void setTask(final AbstractStage stage, final Runnable task) {
+		stage.setTask(task);
+	}
+
 	public void onStarting(final AbstractStage stage) {
 		stage.onStarting();
 	}
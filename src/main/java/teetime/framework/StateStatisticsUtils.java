@@ -15,9 +15,12 @@
  */
 package teetime.framework;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import teetime.framework.performancelogging.StateChange;
+import teetime.framework.performancelogging.StateLog;
 
 /**
  * Provides access to package-private statistics methods of the {@link teetime.framework.AbstractStage}.
@@ -39,6 +42,29 @@ public final class StateStatisticsUtils {
 		return stage.getStates();
 	}
 
+	/**
+	 * @return the state log of the given stage, or an empty state log if performance logging is disabled.
+	 *
+	 * @since 3.1.1
+	 */
+	public static StateLog getStateLog(final AbstractStage stage) {
+		StateLog stateLog = stage.getStateLog();
+		return (stateLog == null) ? new StateLog(stage.getClass().getSimpleName(), 1) : stateLog;
+	}
+
+	/**
+	 * @return the state logs of the given stages in the same order
+	 *
+	 * @since 3.1.1
+	 */
+	public static List<StateLog> getStateLogs(final Collection<AbstractStage> stages) {
+		List<StateLog> stateLogs = new ArrayList<>(stages.size());
+		for (AbstractStage stage : stages) {
+			stateLogs.add(getStateLog(stage));
+		}
+		return stateLogs;
+	}
+
 	/**
 	 * This method is called by Pipes if the sending of the next element needs to be delayed because of full Queue.
 	 */
@@ -47,4 +47,51 @@ public interface TeeTimeScheduler {
 	 * @since 3.0
 	 */
 	abstract void startStageAtRuntime(final AbstractStage stage);
+
+	/**
+	 * Lets the given passive stage be executed by an own thread from now on. The migration may be performed asynchronously. The scheduler declares the
+	 * stage active as soon as the migration has completed.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if this scheduler does not support migrating stages at runtime
+	 *
+	 * @since 3.1.1
+	 */
+	default void declareActiveAtRuntime(final AbstractStage stage) {
+		throw new UnsupportedOperationException("Declaring a stage 'active' at runtime is not supported by " + getClass().getSimpleName());
+	}
+
+	/**
+	 * Lets the given active stage be executed by the thread of its predecessors from now on. The migration may be performed asynchronously. The
+	 * scheduler declares the stage passive as soon as the migration has completed.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if this scheduler does not support migrating stages at runtime
+	 *
+	 * @since 3.1.1
+	 */
+	default void declarePassiveAtRuntime(final AbstractStage stage) {
+		throw new UnsupportedOperationException("Declaring a stage 'passive' at runtime is not supported by " + getClass().getSimpleName());
+	}
+
+	/**
+	 * Prepares the terminated execution for another run of the same configuration. Is invoked only after {@link #onFinish()} has returned.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if this scheduler does not support re-arming an execution
+	 *
+	 * @since 3.1.1
+	 */
+	default void onRearm() {
+		throw new UnsupportedOperationException("Re-arming an execution is not supported by " + getClass().getSimpleName());
+	}
+
+	/**
+	 * Releases the resources which have been kept for another run, e.g., parked threads.
+	 *
+	 * @since 3.1.1
+	 */
+	default void onShutdown() {
+		// do nothing by default
+	}
 }
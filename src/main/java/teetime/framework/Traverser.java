@@ -101,9 +101,15 @@ public class Traverser {
 		VisitorBehavior behavior = traverserVisitor.visit(port);
 
 		if (behavior != VisitorBehavior.STOP) {
-			AbstractPort<?> nextPort = (direction == VisitorBehavior.CONTINUE_FORWARD) ? port.getPipe().getTargetPort() : port.getPipe().getSourcePort();
-
-			traverse(nextPort.getOwningStage()); // recursive call
+			if (direction == VisitorBehavior.CONTINUE_FORWARD) {
+				for (AbstractPort<?> targetPort : port.getPipe().getTargetPorts()) { // a pipe may have multiple consumers
+					traverse(targetPort.getOwningStage()); // recursive call
+				}
+			} else {
+				for (AbstractPort<?> sourcePort : port.getPipe().getSourcePorts()) { // a pipe may have multiple producers
+					traverse(sourcePort.getOwningStage()); // recursive call
+				}
+			}
 		}
 	}
 
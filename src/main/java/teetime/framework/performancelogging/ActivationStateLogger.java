@@ -15,20 +15,35 @@
  */
 package teetime.framework.performancelogging;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import teetime.framework.AbstractStage;
+import teetime.framework.StateStatisticsUtils;
 import teetime.framework.performancelogging.formatstrategy.CumulativeActivePassivTime;
 
 /**
@@ -40,6 +55,13 @@ import teetime.framework.performancelogging.formatstrategy.CumulativeActivePassi
  */
 public class ActivationStateLogger {
 
+	/** "TTSL" */
+	private static final int DUMP_MAGIC = 0x5454534C;
+	private static final int DUMP_VERSION = 2;
+	private static final byte DUMP_END = 0;
+	private static final byte DUMP_SEGMENT = 1;
+	private static final byte DUMP_STATE_LOG = 2;
+
 	/**
 	 * Singleton Instance Holder
 	 */
@@ -55,6 +77,9 @@ public class ActivationStateLogger {
 
 	private IFormatingStrategy formatingStrategy = new CumulativeActivePassivTime(stages);
 
+	/** the writer of the running dump, or <code>null</code> if no dump has been started (synchronized by this logger) */
+	private DumpWriter dumpWriter;
+
 	private ActivationStateLogger() {
 		// singleton
 	}
@@ -71,7 +96,11 @@ public class ActivationStateLogger {
 	 */
 	public void register(final AbstractStage stage) {
 		this.setLongestName(stage.getClass().getSimpleName().length());
-		stages.add(stage);
+		synchronized (this) {
+			if (stages.add(stage) && dumpWriter != null) {
+				streamStateLog(stage, stages.size() - 1);
+			}
+		}
 	}
 
 	public void logToFile() throws UnsupportedEncodingException, FileNotFoundException {
@@ -117,6 +146,109 @@ public class ActivationStateLogger {
 		ps.close();
 		System.out.println("Log saved to File: " + file.getAbsolutePath()); // NOPMD
 	}
+
+	/**
+	 * Writes the state logs of all registered stages to the given file in a compact binary format. In contrast to {@link #logToFile(File)}, the
+	 * state changes are streamed to the file without formatting them. The file can be read back by {@link #readDump(File)}.
+	 * <p>
+	 * This method writes only the state changes which are still retained by the state logs. Use {@link #startDump(File)} before the execution
+	 * to also keep the state changes which would be overwritten otherwise.
+	 *
+	 * @since 3.1.1
+	 */
+	public void dumpToFile(final File file) throws IOException {
+		startDump(file);
+		finishDump();
+	}
+
+	/**
+	 * Starts a dump of the state logs of all (also later) registered stages to the given file. From now on, each state log hands its buffer over
+	 * to a single writer thread each time it becomes full, so that no state change is overwritten. The stage thread does not perform any I/O, but
+	 * swaps in a spare buffer. The spare buffers are reused once written; if the file cannot keep up, new ones are allocated. Should be called
+	 * before the execution of the stages. {@link #finishDump()} writes the remaining state changes and closes the file.
+	 *
+	 * @since 3.1.1
+	 */
+	public synchronized void startDump(final File file) throws IOException {
+		if (dumpWriter != null) {
+			throw new IllegalStateException("A dump has already been started.");
+		}
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())));
+		output.writeInt(DUMP_MAGIC);
+		output.writeShort(DUMP_VERSION);
+		dumpWriter = new DumpWriter(output);
+		dumpWriter.start();
+
+		int stageIndex = 0;
+		for (AbstractStage stage : stages) {
+			streamStateLog(stage, stageIndex++);
+		}
+	}
+
+	private void streamStateLog(final AbstractStage stage, final int stageIndex) {
+		StateStatisticsUtils.getStateLog(stage).setSegmentSink(new SegmentHandoff(dumpWriter, stageIndex));
+	}
+
+	/**
+	 * Writes the remaining state changes of all registered stages to the file of the dump started by {@link #startDump(File)} and closes it.
+	 * Should be called after the execution of the stages.
+	 *
+	 * @since 3.1.1
+	 */
+	public synchronized void finishDump() throws IOException {
+		if (dumpWriter == null) {
+			throw new IllegalStateException("No dump has been started.");
+		}
+		for (AbstractStage stage : stages) {
+			StateStatisticsUtils.getStateLog(stage).setSegmentSink(null);
+		}
+		try (DataOutputStream output = dumpWriter.finish()) {
+			int stageIndex = 0;
+			for (AbstractStage stage : stages) {
+				StateLog stateLog = StateStatisticsUtils.getStateLog(stage);
+				output.writeByte(DUMP_STATE_LOG);
+				output.writeInt(stageIndex++);
+				stateLog.writeTo(output);
+			}
+			output.writeByte(DUMP_END);
+		} finally {
+			dumpWriter = null;
+		}
+	}
+
+	/**
+	 * Reads the state logs from a file written by {@link #dumpToFile(File)} or {@link #startDump(File)} and {@link #finishDump()}. The
+	 * segments streamed during the execution are merged with the remaining state changes of the same stage. The returned state logs can be formatted by passing them to the
+	 * formatting strategies, e.g., {@code new CumulativeActivePassivTime(() -> stateLogs)}.
+	 *
+	 * @since 3.1.1
+	 */
+	public static List<StateLog> readDump(final File file) throws IOException {
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (input.readInt() != DUMP_MAGIC) {
+				throw new IOException("The file " + file + " is not a state log dump.");
+			}
+			int version = input.readShort();
+			if (version != DUMP_VERSION) {
+				throw new IOException("Unsupported version " + version + " of the state log dump " + file);
+			}
+			Map<Integer, List<StateLog>> segmentsByStage = new HashMap<>();
+			List<StateLog> stateLogs = new ArrayList<>();
+			for (byte tag = input.readByte(); tag != DUMP_END; tag = input.readByte()) {
+				int stageIndex = input.readInt();
+				if (tag == DUMP_SEGMENT) {
+					segmentsByStage.computeIfAbsent(stageIndex, i -> new ArrayList<>()).add(StateLog.readSegmentFrom(input));
+				} else if (tag == DUMP_STATE_LOG) {
+					List<StateLog> segments = segmentsByStage.remove(stageIndex);
+					stateLogs.add(StateLog.readFrom(input, (segments == null) ? Collections.<StateLog> emptyList() : segments));
+				} else {
+					throw new IOException("Invalid record " + tag + " in the state log dump " + file);
+				}
+			}
+			return stateLogs;
+		}
+	}
+
 	// getter and setter:
 
 	public Set<AbstractStage> getStages() {
@@ -154,4 +286,107 @@ public class ActivationStateLogger {
 		public String formatData();
 	}
 
+	/**
+	 * Hands the full buffer of a state log over to the dump writer by swapping in a spare buffer. Is called by the thread of the log's stage only.
+	 */
+	private static final class SegmentHandoff implements StateLog.SegmentSink {
+
+		private final DumpWriter dumpWriter;
+		private final int stageIndex;
+		/** the segments which have been written by the dump writer and can thus be reused */
+		private final Queue<StateLog> spareSegments = new ConcurrentLinkedQueue<>();
+
+		SegmentHandoff(final DumpWriter dumpWriter, final int stageIndex) {
+			this.dumpWriter = dumpWriter;
+			this.stageIndex = stageIndex;
+		}
+
+		@Override
+		public void onFullSegment(final StateLog stateLog) {
+			StateLog segment = spareSegments.poll();
+			if (segment == null) {
+				segment = new StateLog(stateLog.getStageName(), stateLog.capacity());
+			}
+			stateLog.swapBuffers(segment);
+			dumpWriter.submit(this, segment);
+		}
+	}
+
+	/**
+	 * Writes the submitted segments in their submission order. Stops on the first {@link IOException}, which is then thrown by {@link #finish()}.
+	 */
+	private static final class DumpWriter extends Thread {
+
+		private static final PendingSegment END = new PendingSegment(null, null);
+
+		private final DataOutputStream output;
+		private final BlockingQueue<PendingSegment> segments = new LinkedBlockingQueue<>();
+		private IOException exception;
+
+		DumpWriter(final DataOutputStream output) {
+			super("StateLogDumpWriter");
+			this.output = output;
+			setDaemon(true);
+		}
+
+		void submit(final SegmentHandoff handoff, final StateLog segment) {
+			segments.add(new PendingSegment(handoff, segment));
+		}
+
+		@Override
+		public void run() {
+			try {
+				for (PendingSegment pending = segments.take(); pending != END; pending = segments.take()) {
+					if (exception == null) {
+						writeSegment(pending.handoff.stageIndex, pending.segment);
+					}
+					pending.handoff.spareSegments.add(pending.segment);
+				}
+			} catch (InterruptedException e) { // NOPMD the dump is aborted
+				exception = new InterruptedIOException("The dump writer has been interrupted.");
+			}
+		}
+
+		private void writeSegment(final int stageIndex, final StateLog segment) {
+			try {
+				output.writeByte(DUMP_SEGMENT);
+				output.writeInt(stageIndex);
+				segment.flushTo(output);
+			} catch (IOException e) {
+				exception = e;
+			}
+		}
+
+		/**
+		 * Waits until all submitted segments have been written.
+		 *
+		 * @return the output, so that the caller can write the remaining state changes and close it
+		 */
+		DataOutputStream finish() throws IOException {
+			segments.add(END);
+			try {
+				join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for the dump writer.");
+			}
+			if (exception != null) {
+				output.close();
+				throw exception;
+			}
+			return output;
+		}
+	}
+
+	private static final class PendingSegment {
+
+		private final SegmentHandoff handoff;
+		private final StateLog segment;
+
+		PendingSegment(final SegmentHandoff handoff, final StateLog segment) {
+			this.handoff = handoff;
+			this.segment = segment;
+		}
+	}
+
 }
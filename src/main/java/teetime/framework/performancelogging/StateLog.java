@@ -0,0 +1,315 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.performancelogging;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import teetime.framework.performancelogging.StateChange.StageActivationState;
+
+/**
+ * Stores the activation state changes of one stage in a fixed-size ring buffer of primitive timestamps and state codes. Adding a state change
+ * does not allocate any objects. If the buffer is full, the oldest state change is overwritten. The number of overwritten state changes is
+ * available via {@link #getNumDropped()}. To keep all state changes, a {@link SegmentSink} can be set which receives the buffer each time it
+ * becomes full, e.g., to stream it to a file (see {@link ActivationStateLogger#startDump(java.io.File)}).
+ *
+ * @since 3.1.1
+ */
+public final class StateLog {
+
+	private static final StageActivationState[] STATES = StageActivationState.values();
+
+	private final String stageName;
+	/** exchanged by {@link #swapBuffers(StateLog)} */
+	private long[] timestamps;
+	/** exchanged by {@link #swapBuffers(StateLog)} */
+	private byte[] states;
+	private final int mask;
+
+	/** the index of the next state change */
+	private int head;
+	private int size;
+	private long numDropped;
+	private StageActivationState lastState = StageActivationState.INITIALIZED;
+	private long activeWaitingTime;
+	/** receives the full buffer before it is overwritten; is <code>null</code> if the oldest state changes should be dropped */
+	private volatile SegmentSink segmentSink;
+
+	/**
+	 * @param stageName
+	 *            the name of the stage which is used by the formatting strategies
+	 * @param capacity
+	 *            the maximum number of retained state changes; is rounded up to the next power of two
+	 */
+	public StateLog(final String stageName, final int capacity) {
+		if (capacity < 1 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("capacity must be within [1, 2^30], but was " + capacity);
+		}
+		int powerOfTwoCapacity = Integer.highestOneBit(capacity);
+		if (powerOfTwoCapacity < capacity) {
+			powerOfTwoCapacity <<= 1;
+		}
+		this.stageName = stageName;
+		this.timestamps = new long[powerOfTwoCapacity];
+		this.states = new byte[powerOfTwoCapacity];
+		this.mask = powerOfTwoCapacity - 1;
+	}
+
+	public void add(final StageActivationState state, final long timestamp) {
+		timestamps[head] = timestamp;
+		states[head] = (byte) state.ordinal();
+		head = (head + 1) & mask;
+		if (size < timestamps.length) {
+			size++;
+		} else {
+			numDropped++;
+		}
+		lastState = state;
+		if (size == timestamps.length) {
+			final SegmentSink sink = this.segmentSink;
+			if (sink != null) {
+				sink.onFullSegment(this);
+			}
+		}
+	}
+
+	/**
+	 * @param segmentSink
+	 *            receives this log each time its buffer becomes full and is expected to call {@link #flushTo(DataOutput)} or
+	 *            {@link #swapBuffers(StateLog)}; or <code>null</code> to overwrite the oldest state changes again
+	 */
+	public void setSegmentSink(final SegmentSink segmentSink) {
+		this.segmentSink = segmentSink;
+	}
+
+	/**
+	 * @return the most recently added state, or {@link StageActivationState#INITIALIZED} if no state has been added so far.
+	 */
+	public StageActivationState getLastState() {
+		return lastState;
+	}
+
+	/**
+	 * @return the number of retained state changes
+	 */
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return timestamps.length;
+	}
+
+	/**
+	 * @return the number of state changes which have been overwritten since the buffer was full
+	 */
+	public long getNumDropped() {
+		return numDropped;
+	}
+
+	/**
+	 * @param index
+	 *            the index of a retained state change, where <code>0</code> is the oldest one
+	 */
+	public StageActivationState getState(final int index) {
+		return STATES[states[toBufferIndex(index)]];
+	}
+
+	/**
+	 * @param index
+	 *            the index of a retained state change, where <code>0</code> is the oldest one
+	 */
+	public long getTimestamp(final int index) {
+		return timestamps[toBufferIndex(index)];
+	}
+
+	private int toBufferIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+		}
+		return (head - size + index) & mask;
+	}
+
+	/**
+	 * @return a new list of the retained state changes in chronological order
+	 */
+	public List<StateChange> toStateChanges() {
+		final List<StateChange> stateChanges = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			stateChanges.add(new StateChange(getState(i), getTimestamp(i)));
+		}
+		return stateChanges;
+	}
+
+	public String getStageName() {
+		return stageName;
+	}
+
+	public long getActiveWaitingTime() {
+		return activeWaitingTime;
+	}
+
+	public void addActiveWaitingTime(final long time) {
+		activeWaitingTime += time;
+	}
+
+	/**
+	 * Writes this log in the following binary format:
+	 *
+	 * <pre>
+	 * UTF  stage name
+	 * long active waiting time
+	 * long number of dropped state changes
+	 * int  number of retained state changes n
+	 * n x (byte state code, long timestamp)
+	 * </pre>
+	 */
+	public void writeTo(final DataOutput output) throws IOException {
+		output.writeUTF(stageName);
+		output.writeLong(activeWaitingTime);
+		output.writeLong(numDropped);
+		writeStateChangesTo(output);
+	}
+
+	/**
+	 * Writes the retained state changes in the following binary format and removes them from this log afterwards:
+	 *
+	 * <pre>
+	 * int  number of retained state changes n
+	 * n x (byte state code, long timestamp)
+	 * </pre>
+	 */
+	public void flushTo(final DataOutput output) throws IOException {
+		writeStateChangesTo(output);
+		size = 0;
+	}
+
+	/**
+	 * Exchanges the retained state changes of this log with those of the given log without copying them. Is used to hand a full buffer over to
+	 * another thread, which then writes the given log by {@link #flushTo(DataOutput)}, while this log continues with the (empty) buffer of the
+	 * given log.
+	 *
+	 * @param segment
+	 *            a log of the same capacity
+	 */
+	public void swapBuffers(final StateLog segment) {
+		if (segment.capacity() != capacity()) {
+			throw new IllegalArgumentException("The capacity of the segment must be " + capacity() + ", but was " + segment.capacity());
+		}
+		final long[] otherTimestamps = segment.timestamps;
+		final byte[] otherStates = segment.states;
+		final int otherHead = segment.head;
+		final int otherSize = segment.size;
+		segment.timestamps = timestamps;
+		segment.states = states;
+		segment.head = head;
+		segment.size = size;
+		timestamps = otherTimestamps;
+		states = otherStates;
+		head = otherHead;
+		size = otherSize;
+	}
+
+	private void writeStateChangesTo(final DataOutput output) throws IOException {
+		output.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			final int index = toBufferIndex(i);
+			output.writeByte(states[index]);
+			output.writeLong(timestamps[index]);
+		}
+	}
+
+	/**
+	 * @return a new log which contains the state changes written by {@link #writeTo(DataOutput)}
+	 */
+	public static StateLog readFrom(final DataInput input) throws IOException {
+		return readFrom(input, Collections.<StateLog> emptyList());
+	}
+
+	/**
+	 * @param flushedSegments
+	 *            the segments of the same stage previously written by {@link #flushTo(DataOutput)} and read by {@link #readSegmentFrom(DataInput)}
+	 *
+	 * @return a new log which contains the state changes of the given segments followed by the state changes written by
+	 *         {@link #writeTo(DataOutput)}
+	 */
+	public static StateLog readFrom(final DataInput input, final List<StateLog> flushedSegments) throws IOException {
+		final String stageName = input.readUTF();
+		final long activeWaitingTime = input.readLong();
+		final long numDropped = input.readLong();
+		final StateLog lastSegment = readSegmentFrom(input, stageName);
+
+		int totalSize = lastSegment.size;
+		for (StateLog segment : flushedSegments) {
+			totalSize += segment.size;
+		}
+
+		final StateLog stateLog = new StateLog(stageName, Math.max(totalSize, 1));
+		stateLog.activeWaitingTime = activeWaitingTime;
+		for (StateLog segment : flushedSegments) {
+			stateLog.addAll(segment);
+		}
+		stateLog.addAll(lastSegment);
+		stateLog.numDropped = numDropped;
+		return stateLog;
+	}
+
+	/**
+	 * @return a new log without a stage name which contains the state changes written by {@link #flushTo(DataOutput)}
+	 */
+	public static StateLog readSegmentFrom(final DataInput input) throws IOException {
+		return readSegmentFrom(input, "");
+	}
+
+	private static StateLog readSegmentFrom(final DataInput input, final String stageName) throws IOException {
+		final int size = input.readInt();
+
+		final StateLog stateLog = new StateLog(stageName, Math.max(size, 1));
+		for (int i = 0; i < size; i++) {
+			final byte stateCode = input.readByte();
+			if (stateCode < 0 || stateCode >= STATES.length) {
+				throw new IOException("Invalid state code " + stateCode + " in the state log of " + stageName);
+			}
+			stateLog.add(STATES[stateCode], input.readLong());
+		}
+		return stateLog;
+	}
+
+	private void addAll(final StateLog stateLog) {
+		for (int i = 0; i < stateLog.size; i++) {
+			add(stateLog.getState(i), stateLog.getTimestamp(i));
+		}
+	}
+
+	/**
+	 * Receives a state log each time its buffer becomes full.
+	 *
+	 * @since 3.1.1
+	 */
+	public interface SegmentSink {
+
+		/**
+		 * Is called by the thread which executes the log's stage. An implementation should call {@link StateLog#flushTo(DataOutput)} or
+		 * {@link StateLog#swapBuffers(StateLog)}; otherwise the oldest state change is overwritten by the next one.
+		 */
+		void onFullSegment(StateLog stateLog);
+	}
+
+}
@@ -16,30 +16,41 @@
 package teetime.framework.performancelogging.formatstrategy;
 
 import java.util.Collection;
+import java.util.function.Supplier;
 
 import teetime.framework.AbstractStage;
 import teetime.framework.StateStatisticsUtils;
 import teetime.framework.performancelogging.ActivationStateLogger.IFormatingStrategy;
-import teetime.framework.performancelogging.StateChange;
 import teetime.framework.performancelogging.StateChange.StageActivationState;
+import teetime.framework.performancelogging.StateLog;
 
 public class CumulativeActivePassivTime implements IFormatingStrategy {
 
-	private final Collection<AbstractStage> stages;
+	private final Supplier<? extends Iterable<StateLog>> stateLogs;
 
 	public CumulativeActivePassivTime(final Collection<AbstractStage> stages) {
-		this.stages = stages;
+		this(() -> StateStatisticsUtils.getStateLogs(stages));
+	}
+
+	/**
+	 * @param stateLogs
+	 *            supplies the state logs to format, e.g., the ones read from a binary dump
+	 *
+	 * @since 3.1.1
+	 */
+	public CumulativeActivePassivTime(final Supplier<? extends Iterable<StateLog>> stateLogs) {
+		this.stateLogs = stateLogs;
 	}
 
 	/**
 	 * Will return the simple name of the given stage and added enough spaces to match the longest name.
 	 *
-	 * @param stage
-	 *            Stage which name should be formated.
+	 * @param stateLog
+	 *            State log of the stage which name should be formated.
 	 * @return Simple name of the given stage plus spaces to match the longest name.
 	 */
-	String formateName(final AbstractStage stage) {
-		return stage.getClass().getSimpleName() + ";";
+	String formateName(final StateLog stateLog) {
+		return stateLog.getStageName() + ";";
 	}
 
 	@Override
@@ -49,21 +60,21 @@ public class CumulativeActivePassivTime implements IFormatingStrategy {
 		result += "name;total time;cumulative blocked time;cumulative active waiting time time;active time\n";
 
 		// go through all the stages
-		for (AbstractStage stage : stages) {
+		for (StateLog stateLog : stateLogs.get()) {
 			// first add a formated version of their names to the line.
-			result += formateName(stage);
+			result += formateName(stateLog);
 
 			long earliestTimeStamp = Long.MAX_VALUE;
 			long latestTimeStamp = Long.MIN_VALUE;
 			long lastTimeStamp = 0;
 			StageActivationState lastState = StageActivationState.INITIALIZED;
 			long cumulativeActiveTime = 0;
-			long cumulativeActiveWaitingTime = StateStatisticsUtils.getActiveWaitingTime(stage);
+			long cumulativeActiveWaitingTime = stateLog.getActiveWaitingTime();
 			long cumulativeBlockedTime = 0;
 
 			// go through all states of this stage and sum up the active times while counting the number of active timestamp
-			for (StateChange state : StateStatisticsUtils.getStates(stage)) {
-				long actualTimeStamp = state.getTimeStamp();
+			for (int i = 0; i < stateLog.size(); i++) {
+				long actualTimeStamp = stateLog.getTimestamp(i);
 
 				// update earliest and latest timeStamp if necessary
 				if (actualTimeStamp < earliestTimeStamp) {
@@ -91,7 +102,7 @@ public class CumulativeActivePassivTime implements IFormatingStrategy {
 				}
 
 				lastTimeStamp = actualTimeStamp;
-				lastState = state.getStageActivationState();
+				lastState = stateLog.getState(i);
 			}
 
 			// The ActiveWaiting time was counted into active time till now. So it it subtracted now.
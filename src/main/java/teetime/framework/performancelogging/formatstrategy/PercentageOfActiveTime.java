@@ -16,12 +16,13 @@
 package teetime.framework.performancelogging.formatstrategy;
 
 import java.util.Collection;
+import java.util.function.Supplier;
 
 import teetime.framework.AbstractStage;
 import teetime.framework.StateStatisticsUtils;
 import teetime.framework.performancelogging.ActivationStateLogger.IFormatingStrategy;
-import teetime.framework.performancelogging.StateChange;
 import teetime.framework.performancelogging.StateChange.StageActivationState;
+import teetime.framework.performancelogging.StateLog;
 
 /**
  * Formating strategy to apply for percentage of active time.
@@ -31,21 +32,31 @@ import teetime.framework.performancelogging.StateChange.StageActivationState;
  */
 public class PercentageOfActiveTime implements IFormatingStrategy {
 
-	private final Collection<AbstractStage> stages;
+	private final Supplier<? extends Iterable<StateLog>> stateLogs;
 
 	public PercentageOfActiveTime(final Collection<AbstractStage> stages) {
-		this.stages = stages;
+		this(() -> StateStatisticsUtils.getStateLogs(stages));
+	}
+
+	/**
+	 * @param stateLogs
+	 *            supplies the state logs to format, e.g., the ones read from a binary dump
+	 *
+	 * @since 3.1.1
+	 */
+	public PercentageOfActiveTime(final Supplier<? extends Iterable<StateLog>> stateLogs) {
+		this.stateLogs = stateLogs;
 	}
 
 	/**
 	 * Will return the simple name of the given stage and added enough spaces to match the longest name.
 	 *
-	 * @param stage
-	 *            Stage which name should be formated.
+	 * @param stateLog
+	 *            State log of the stage which name should be formated.
 	 * @return Simple name of the given stage plus spaces to match the longest name.
 	 */
-	String formateName(final AbstractStage stage) {
-		return stage.getClass().getSimpleName() + ";";
+	String formateName(final StateLog stateLog) {
+		return stateLog.getStageName() + ";";
 	}
 
 	@Override
@@ -54,8 +65,8 @@ public class PercentageOfActiveTime implements IFormatingStrategy {
 
 		result += "name;% active time\n";
 
-		for (AbstractStage stage : stages) {
-			result += formateName(stage);
+		for (StateLog stateLog : stateLogs.get()) {
+			result += formateName(stateLog);
 
 			boolean lastActive = false;
 			long lastActiveTimestamp = Long.MAX_VALUE;
@@ -63,20 +74,22 @@ public class PercentageOfActiveTime implements IFormatingStrategy {
 			long firstTimestamp = Long.MAX_VALUE;
 			long lastTimestamp = Long.MIN_VALUE;
 
-			for (StateChange state : StateStatisticsUtils.getStates(stage)) {
-				if (state.getTimeStamp() < firstTimestamp) {
-					firstTimestamp = state.getTimeStamp();
+			for (int i = 0; i < stateLog.size(); i++) {
+				final long timestamp = stateLog.getTimestamp(i);
+				final StageActivationState state = stateLog.getState(i);
+				if (timestamp < firstTimestamp) {
+					firstTimestamp = timestamp;
 				}
-				if (state.getTimeStamp() > lastTimestamp) {
-					lastTimestamp = state.getTimeStamp();
+				if (timestamp > lastTimestamp) {
+					lastTimestamp = timestamp;
 				}
-				if (!lastActive && state.getStageActivationState() == StageActivationState.ACTIVE) {
+				if (!lastActive && state == StageActivationState.ACTIVE) {
 					lastActive = true;
-					lastActiveTimestamp = state.getTimeStamp();
+					lastActiveTimestamp = timestamp;
 				}
-				if (lastActive && state.getStageActivationState() != StageActivationState.ACTIVE && lastActiveTimestamp != Long.MAX_VALUE) {
+				if (lastActive && state != StageActivationState.ACTIVE && lastActiveTimestamp != Long.MAX_VALUE) {
 					lastActive = false;
-					cumulativeActiveTime += (state.getTimeStamp() - lastActiveTimestamp);
+					cumulativeActiveTime += (timestamp - lastActiveTimestamp);
 				}
 			}
 
@@ -16,12 +16,13 @@
 package teetime.framework.performancelogging.formatstrategy;
 
 import java.util.Collection;
+import java.util.function.Supplier;
 
 import teetime.framework.AbstractStage;
 import teetime.framework.StateStatisticsUtils;
 import teetime.framework.performancelogging.ActivationStateLogger.IFormatingStrategy;
-import teetime.framework.performancelogging.StateChange;
 import teetime.framework.performancelogging.StateChange.StageActivationState;
+import teetime.framework.performancelogging.StateLog;
 
 /**
  * Formating Strategy to apply the data to the Bottleneck Detection Approach of Roser, Nakano and Tanaka.
@@ -31,21 +32,31 @@ import teetime.framework.performancelogging.StateChange.StageActivationState;
  */
 public class RNTFormating implements IFormatingStrategy {
 
-	private final Collection<AbstractStage> stages;
+	private final Supplier<? extends Iterable<StateLog>> stateLogs;
 
 	public RNTFormating(final Collection<AbstractStage> stages) {
-		this.stages = stages;
+		this(() -> StateStatisticsUtils.getStateLogs(stages));
+	}
+
+	/**
+	 * @param stateLogs
+	 *            supplies the state logs to format, e.g., the ones read from a binary dump
+	 *
+	 * @since 3.1.1
+	 */
+	public RNTFormating(final Supplier<? extends Iterable<StateLog>> stateLogs) {
+		this.stateLogs = stateLogs;
 	}
 
 	/**
 	 * Will return the simple name of the given stage and added enough spaces to match the longest name.
 	 *
-	 * @param stage
-	 *            Stage which name should be formated.
+	 * @param stateLog
+	 *            State log of the stage which name should be formated.
 	 * @return Simple name of the given stage plus spaces to match the longest name.
 	 */
-	String formateName(final AbstractStage stage) {
-		return stage.getClass().getSimpleName() + ";";
+	String formateName(final StateLog stateLog) {
+		return stateLog.getStageName() + ";";
 	}
 
 	@Override
@@ -55,9 +66,9 @@ public class RNTFormating implements IFormatingStrategy {
 		result += "name;Average ActiveTime (ns)\n";
 
 		// go through all the stages
-		for (AbstractStage stage : stages) {
+		for (StateLog stateLog : stateLogs.get()) {
 			// first add a formated version of their names to the line.
-			result += formateName(stage);
+			result += formateName(stateLog);
 
 			// will count the number of activeTimes
 			double counter = 0;
@@ -69,13 +80,15 @@ public class RNTFormating implements IFormatingStrategy {
 			boolean lastActive = false;
 
 			// go through all states of this stage and sum up the active times while counting the number of active times
-			for (StateChange state : StateStatisticsUtils.getStates(stage)) {
-				if (state.getStageActivationState() == StageActivationState.ACTIVE && !lastActive) {
-					lastActiveTimeStamp = state.getTimeStamp();
+			for (int i = 0; i < stateLog.size(); i++) {
+				final long timestamp = stateLog.getTimestamp(i);
+				final StageActivationState state = stateLog.getState(i);
+				if (state == StageActivationState.ACTIVE && !lastActive) {
+					lastActiveTimeStamp = timestamp;
 					lastActive = true;
 				} else {
 					if (lastActive && lastActiveTimeStamp != 0) {
-						cummulativeActiveTime += (state.getTimeStamp() - lastActiveTimeStamp);
+						cummulativeActiveTime += (timestamp - lastActiveTimeStamp);
 						counter++;
 					}
 					lastActive = false;
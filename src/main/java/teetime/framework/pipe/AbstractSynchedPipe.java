@@ -15,22 +15,12 @@
  */
 package teetime.framework.pipe;
 
-import java.util.Queue;
-import java.util.concurrent.BlockingQueue;
-
-import org.jctools.queues.SpscLinkedQueue;
-
 import teetime.framework.AbstractPipe;
 import teetime.framework.InputPort;
 import teetime.framework.OutputPort;
 import teetime.framework.signal.ISignal;
 import teetime.framework.signal.StartingSignal;
 import teetime.framework.signal.ValidatingSignal;
-import teetime.util.framework.concurrent.queue.PCBlockingQueue;
-import teetime.util.framework.concurrent.queue.putstrategy.PutStrategy;
-import teetime.util.framework.concurrent.queue.putstrategy.YieldPutStrategy;
-import teetime.util.framework.concurrent.queue.takestrategy.SCParkTakeStrategy;
-import teetime.util.framework.concurrent.queue.takestrategy.TakeStrategy;
 
 /**
  *
@@ -41,21 +31,26 @@ import teetime.util.framework.concurrent.queue.takestrategy.TakeStrategy;
  */
 public abstract class AbstractSynchedPipe<T> extends AbstractPipe<T> {
 
-	private final BlockingQueue<ISignal> signalQueue;
+	private final SignalChannel signalChannel = new SignalChannel();
 
 	private volatile boolean closed;
 
 	protected AbstractSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort) {
 		super(sourcePort, targetPort);
-		final Queue<ISignal> localSignalQueue =  new SpscLinkedQueue<>();
-		final PutStrategy<ISignal> putStrategy = new YieldPutStrategy<>();
-		final TakeStrategy<ISignal> takeStrategy = new SCParkTakeStrategy<>();
-		signalQueue = new PCBlockingQueue<>(localSignalQueue, putStrategy, takeStrategy);
+	}
+
+	/**
+	 * @see AbstractPipe#AbstractPipe(AbstractPipe, InputPort)
+	 *
+	 * @since 3.1.1
+	 */
+	protected AbstractSynchedPipe(final AbstractSynchedPipe<T> sourcePipe, final InputPort<T> targetPort) {
+		super(sourcePipe, targetPort);
 	}
 
 	@Override
 	public void sendSignal(final ISignal signal) {
-		this.signalQueue.offer(signal);
+		this.signalChannel.offer(signal);
 	}
 
 	/**
@@ -64,7 +59,7 @@ public abstract class AbstractSynchedPipe<T> extends AbstractPipe<T> {
 	 * @return Head of signal queue, <code>null</code> if signal queue is empty.
 	 */
 	public ISignal getSignal() {
-		return this.signalQueue.poll();
+		return this.signalChannel.poll();
 	}
 
 	/**
@@ -78,7 +73,7 @@ public abstract class AbstractSynchedPipe<T> extends AbstractPipe<T> {
 
 	@Override
 	public final void waitForStartSignal() throws InterruptedException {
-		final ISignal signal = signalQueue.take();
+		final ISignal signal = signalChannel.take();
 		if (signal instanceof ValidatingSignal) {
 			this.waitForStartSignal(); // recursive call
 			return;
@@ -99,4 +94,13 @@ public abstract class AbstractSynchedPipe<T> extends AbstractPipe<T> {
 	public final void close() {
 		closed = true;
 	}
+
+	@Override
+	public void rearm() {
+		super.rearm();
+		while (getSignal() != null) { // NOPMD (empty loop body)
+			// discard the signal, e.g., the terminating signal of the previous run
+		}
+		closed = false;
+	}
 }
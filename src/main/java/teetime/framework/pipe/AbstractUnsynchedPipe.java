@@ -57,6 +57,12 @@ public abstract class AbstractUnsynchedPipe<T> extends AbstractPipe<T> {
 		closed = true;
 	}
 
+	@Override
+	public void rearm() {
+		super.rearm();
+		closed = false;
+	}
+
 	@SuppressWarnings("PMD.EmptyMethodInAbstractClassShouldBeAbstract")
 	@Override
 	public void waitForStartSignal() throws InterruptedException {
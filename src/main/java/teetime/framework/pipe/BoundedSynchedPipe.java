@@ -15,11 +15,16 @@
  */
 package teetime.framework.pipe;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.jctools.queues.SpscArrayQueue;
 
 import teetime.framework.InputPort;
 import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.PipeElementInsertionStrategy;
 import teetime.framework.pipe.strategy.SleepIfFullStrategy;
+import teetime.util.framework.concurrent.queue.ListSupplier;
 
 /**
  *
@@ -30,16 +35,32 @@ import teetime.framework.pipe.strategy.SleepIfFullStrategy;
 public class BoundedSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMonitorablePipe {
 
 	private final SpscArrayQueue<Object> queue;
-	private final SleepIfFullStrategy strategy;
+	private final PipeElementInsertionStrategy strategy;
+	/** reused by the producer for each batch */
+	private final ListSupplier<Object> batchSupplier = new ListSupplier<>();
 
 	private transient long lastProducerIndex;
 	private transient long lastConsumerIndex;
 
+	/** <code>null</code> if disabled */
+	private QueueingDelaySampler queueingDelaySampler;
+
 	public BoundedSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort,
 			final int capacity) {
+		this(sourcePort, targetPort, capacity, new SleepIfFullStrategy());
+	}
+
+	/**
+	 * @param strategy
+	 *            defines how the producer waits if this pipe is full; must not be shared with other pipes
+	 *
+	 * @since 3.1.1
+	 */
+	public BoundedSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort,
+			final int capacity, final PipeElementInsertionStrategy strategy) {
 		super(sourcePort, targetPort);
 		this.queue = new SpscArrayQueue<>(capacity);
-		this.strategy = new SleepIfFullStrategy();
+		this.strategy = strategy;
 	}
 
 	@Override
@@ -48,8 +69,26 @@ public class BoundedSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMo
 		getScheduler().onElementAdded(this);
 	}
 
+	/**
+	 * Enables the measurement of the queueing delay of every <code>sampleInterval</code>-th element. May only be called before the execution has started.
+	 *
+	 * @param sampleInterval
+	 *            a power of two; <code>1</code> to measure each element
+	 *
+	 * @see #getQueueingDelayHistogram()
+	 *
+	 * @since 3.1.1
+	 */
+	public void enableQueueingDelaySampling(final int sampleInterval) {
+		this.queueingDelaySampler = new QueueingDelaySampler(sampleInterval, capacity() / sampleInterval + 2);
+	}
+
 	@Override
 	public boolean addNonBlocking(final Object element) {
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		if (sampler != null) {
+			sampler.beforeAdd(queue.currentProducerIndex(), 1);
+		}
 		boolean offered = this.queue.offer(element);
 		if (offered) {
 			getScheduler().onElementAdded(this);
@@ -59,9 +98,55 @@ public class BoundedSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMo
 		return offered;
 	}
 
+	@Override
+	public void addBatch(final List<?> elements) {
+		batchSupplier.reset(elements);
+		int numRemainingElements = elements.size();
+		while (numRemainingElements > 0) {
+			final QueueingDelaySampler sampler = this.queueingDelaySampler;
+			if (sampler != null) {
+				sampler.beforeAdd(queue.currentProducerIndex(), numRemainingElements);
+			}
+			int numAddedElements = queue.fill(batchSupplier, numRemainingElements);
+			if (numAddedElements == 0) { // the queue is full
+				getScheduler().onElementAdded(this); // wake up the consumer, since it is the only one who can make room
+				if (!strategy.awaitFreeSlot(this)) {
+					batchSupplier.get(); // the strategy drops the next element
+					numAddedElements = 1;
+				}
+			}
+			numRemainingElements -= numAddedElements;
+		}
+		batchSupplier.reset(null);
+		getScheduler().onElementAdded(this);
+	}
+
 	@Override
 	public Object removeLast() {
-		return this.queue.poll();
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		final long sequence = (sampler != null) ? queue.currentConsumerIndex() : 0;
+		Object element = this.queue.poll();
+		if (element != null) {
+			strategy.onElementRemoved(this);
+			if (sampler != null) {
+				sampler.afterRemove(sequence, 1);
+			}
+		}
+		return element;
+	}
+
+	@Override
+	public int removeBatch(final Consumer<Object> consumer, final int maxElements) {
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		final long firstSequence = (sampler != null) ? queue.currentConsumerIndex() : 0;
+		int numElements = this.queue.drain(consumer::accept, maxElements);
+		if (numElements > 0) {
+			strategy.onElementRemoved(this);
+			if (sampler != null) {
+				sampler.afterRemove(firstSequence, numElements);
+			}
+		}
+		return numElements;
 	}
 
 	@Override
@@ -79,6 +164,17 @@ public class BoundedSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMo
 		return strategy.getNumWaits();
 	}
 
+	@Override
+	public long getWaitingTimeInNs() {
+		return strategy.getWaitingTimeInNs();
+	}
+
+	@Override
+	public LatencyHistogram getQueueingDelayHistogram() {
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		return (sampler != null) ? sampler.getHistogram() : null;
+	}
+
 	@Override
 	public long getPushThroughput() {
 		final long currentProducerIndex = getNumPushesSinceAppStart();
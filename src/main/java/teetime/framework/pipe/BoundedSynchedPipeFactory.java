@@ -15,8 +15,12 @@
  */
 package teetime.framework.pipe;
 
+import java.util.function.Supplier;
+
 import teetime.framework.InputPort;
 import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.PipeElementInsertionStrategy;
+import teetime.framework.pipe.strategy.SleepIfFullStrategy;
 
 public final class BoundedSynchedPipeFactory implements IPipeFactory {
 
@@ -24,7 +28,23 @@ public final class BoundedSynchedPipeFactory implements IPipeFactory {
 
 	private static final int DEFAULT_CAPACITY = 1024;
 
-	private BoundedSynchedPipeFactory() {}
+	private final Supplier<? extends PipeElementInsertionStrategy> strategySupplier;
+
+	private BoundedSynchedPipeFactory() {
+		this(SleepIfFullStrategy::new);
+	}
+
+	/**
+	 * Creates a factory whose pipes use the given insertion strategy, e.g., <code>new BoundedSynchedPipeFactory(SpinYieldParkIfFullStrategy::new)</code>.
+	 *
+	 * @param strategySupplier
+	 *            is called once per new pipe since a strategy holds per-pipe state
+	 *
+	 * @since 3.1.1
+	 */
+	public BoundedSynchedPipeFactory(final Supplier<? extends PipeElementInsertionStrategy> strategySupplier) {
+		this.strategySupplier = strategySupplier;
+	}
 
 	/**
 	 * Uses a default capacity of {@value #DEFAULT_CAPACITY}.
@@ -36,7 +56,7 @@ public final class BoundedSynchedPipeFactory implements IPipeFactory {
 
 	@Override
 	public <T> IPipe<T> newPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int capacity) {
-		return new BoundedSynchedPipe<>(sourcePort, targetPort, capacity);
+		return new BoundedSynchedPipe<>(sourcePort, targetPort, capacity, strategySupplier.get());
 	}
 
 }
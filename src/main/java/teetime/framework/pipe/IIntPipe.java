@@ -0,0 +1,48 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A pipe which additionally transports <code>int</code> values without boxing them. It is used by {@link teetime.framework.IntOutputPort} and
+ * {@link teetime.framework.IntInputPort} if both ports are connected to each other.
+ *
+ * @since 3.1.1
+ */
+public interface IIntPipe extends IPipe<Integer> {
+
+	/**
+	 * Like {@link #add(Object)}, but without boxing.
+	 */
+	void addInt(int element);
+
+	/**
+	 * Like {@link #addNonBlocking(Object)}, but without boxing.
+	 */
+	boolean addIntNonBlocking(int element);
+
+	/**
+	 * Retrieves and removes the next <code>int</code> value from this pipe, if any. In contrast to {@link #removeLast()}, this method never returns the
+	 * terminate element.
+	 *
+	 * @param consumer
+	 *            receives the removed value
+	 *
+	 * @return <code>true</code> iff a value was passed to the <code>consumer</code>
+	 */
+	boolean removeInt(IntConsumer consumer);
+}
@@ -46,4 +46,26 @@ public interface IMonitorablePipe {
 	 * @return the number of pauses of the pushing stage
 	 */
 	int getNumWaits();
+
+	/**
+	 *
+	 * @return the accumulated time in nanoseconds the pushing stage has waited for a free slot
+	 *
+	 * @since 3.1.1
+	 */
+	default long getWaitingTimeInNs() {
+		return 0;
+	}
+
+	/**
+	 * The histogram can be read at any time, even while the pipeline is running.
+	 *
+	 * @return the histogram of the sampled queueing delays in nanoseconds, i.e., of the time between the insertion and the removal of an element; or
+	 *         <code>null</code> if this pipe does not sample them (the default)
+	 *
+	 * @since 3.1.1
+	 */
+	default LatencyHistogram getQueueingDelayHistogram() {
+		return null;
+	}
 }
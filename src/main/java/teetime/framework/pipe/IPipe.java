@@ -15,6 +15,10 @@
  */
 package teetime.framework.pipe;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
 import teetime.framework.InputPort;
 import teetime.framework.OutputPort;
 import teetime.framework.scheduling.PipeScheduler;
@@ -49,6 +53,23 @@ public interface IPipe<T> {
 	 */
 	boolean addNonBlocking(Object element);
 
+	/**
+	 * Adds all of the given elements to the pipe in their list order. Like {@link #add(Object)}, this method guarantees the delivery of each element.
+	 * <p>
+	 * The default implementation adds one element after another. Queue-based pipes should override this method to insert the elements in bulk and to notify
+	 * their scheduler only once per batch.
+	 *
+	 * @param elements
+	 *            to be added; may not contain <code>null</code>
+	 *
+	 * @since 3.1.1
+	 */
+	default void addBatch(final List<?> elements) {
+		for (int i = 0; i < elements.size(); i++) {
+			add(elements.get(i));
+		}
+	}
+
 	/**
 	 * Checks whether the pipe is empty or not.
 	 *
@@ -73,6 +94,33 @@ public interface IPipe<T> {
 	 */
 	Object removeLast();
 
+	/**
+	 * Retrieves and removes up to <code>maxElements</code> elements from the pipe and passes them one after another to the given <code>consumer</code>.
+	 * <p>
+	 * The default implementation removes one element after another. Queue-based pipes should override this method to remove the elements in bulk.
+	 *
+	 * @param consumer
+	 *            which receives the removed elements in FIFO order
+	 * @param maxElements
+	 *            the maximum number of elements to remove
+	 *
+	 * @return the number of elements passed to the <code>consumer</code>
+	 *
+	 * @since 3.1.1
+	 */
+	default int removeBatch(final Consumer<Object> consumer, final int maxElements) {
+		int numElements = 0;
+		while (numElements < maxElements) {
+			final Object element = removeLast();
+			if (null == element) {
+				break;
+			}
+			consumer.accept(element);
+			numElements++;
+		}
+		return numElements;
+	}
+
 	/**
 	 * @return the output port that is connected to the pipe.
 	 */
@@ -83,6 +131,24 @@ public interface IPipe<T> {
 	 */
 	InputPort<T> getTargetPort();
 
+	/**
+	 * @return all output ports that are connected to the pipe. By default, this is only the {@link #getSourcePort() source port}.
+	 *
+	 * @since 3.1.1
+	 */
+	default List<OutputPort<? extends T>> getSourcePorts() {
+		return Collections.singletonList(getSourcePort());
+	}
+
+	/**
+	 * @return all input ports that are connected to the pipe. By default, this is only the {@link #getTargetPort() target port}.
+	 *
+	 * @since 3.1.1
+	 */
+	default List<InputPort<T>> getTargetPorts() {
+		return Collections.singletonList(getTargetPort());
+	}
+
 	/**
 	 * A stage can pass on a signal by executing this method. The signal will be sent to the receiving stage.
 	 *
@@ -116,6 +182,18 @@ public interface IPipe<T> {
 	 */
 	void close();// FIXME remove if migration to TERM element has finished
 
+	/**
+	 * Prepares this pipe for another run of its configuration by discarding all remaining elements. Synched pipes additionally discard their
+	 * remaining signals, and all pipes are reopened. May only be invoked while neither the source nor the target stage is being executed.
+	 *
+	 * @since 3.1.1
+	 */
+	default void rearm() {
+		while (removeLast() != null) { // NOPMD (empty loop body)
+			// discard the element
+		}
+	}
+
 	// "signal" handling
 
 	void waitForStartSignal() throws InterruptedException;
@@ -0,0 +1,140 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.util.function.IntConsumer;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.PipeElementInsertionStrategy;
+import teetime.framework.pipe.strategy.SleepIfFullStrategy;
+import teetime.util.framework.concurrent.queue.IntSpscRingBuffer;
+
+/**
+ * The <code>int</code> counterpart of {@link BoundedSynchedPipe}. The values are stored in a primitive ring buffer. The terminate element is not stored in the
+ * ring buffer, but is published after the last value.
+ *
+ * @since 3.1.1
+ */
+public final class IntBoundedSynchedPipe extends AbstractSynchedPipe<Integer> implements IIntPipe {
+
+	private final IntSpscRingBuffer ringBuffer;
+	private final PipeElementInsertionStrategy strategy;
+	/** reused by the consumer to box the removed value in {@link #removeLast()} */
+	private final IntConsumer removedElementHolder = element -> this.removedElement = element;
+
+	private volatile Object terminateElement;
+	private boolean terminateElementRemoved;
+	private int removedElement;
+
+	public IntBoundedSynchedPipe(final OutputPort<? extends Integer> sourcePort, final InputPort<Integer> targetPort, final int capacity) {
+		this(sourcePort, targetPort, capacity, new SleepIfFullStrategy());
+	}
+
+	public IntBoundedSynchedPipe(final OutputPort<? extends Integer> sourcePort, final InputPort<Integer> targetPort, final int capacity,
+			final PipeElementInsertionStrategy strategy) {
+		super(sourcePort, targetPort);
+		this.ringBuffer = new IntSpscRingBuffer(capacity);
+		this.strategy = strategy;
+	}
+
+	@Override
+	public void add(final Object element) {
+		if (element instanceof Integer) {
+			addInt((Integer) element);
+		} else if (isTerminateElement(element)) {
+			this.terminateElement = element; // published after all previously added values
+			getScheduler().onElementAdded(this);
+		} else {
+			throw new IllegalArgumentException("Parameter 'element' must be a non-null Integer, but was " + element);
+		}
+	}
+
+	@Override
+	public boolean addNonBlocking(final Object element) {
+		if (element instanceof Integer) {
+			return addIntNonBlocking((Integer) element);
+		}
+		add(element);
+		return true;
+	}
+
+	@Override
+	public void addInt(final int element) {
+		if (ringBuffer.offer(element)) {
+			getScheduler().onElementAdded(this);
+		} else {
+			strategy.add(this, element); // boxes only if the pipe is full; notifies the scheduler via addNonBlocking
+		}
+	}
+
+	@Override
+	public boolean addIntNonBlocking(final int element) {
+		boolean offered = ringBuffer.offer(element);
+		if (offered) {
+			getScheduler().onElementAdded(this);
+		} else {
+			getScheduler().onElementNotAdded(this);
+		}
+		return offered;
+	}
+
+	@Override
+	public boolean removeInt(final IntConsumer consumer) {
+		boolean removed = ringBuffer.poll(consumer);
+		if (removed) {
+			strategy.onElementRemoved(this);
+		}
+		return removed;
+	}
+
+	@Override
+	public Object removeLast() {
+		// read the terminate element before polling: if it is set and the ring buffer is empty, then all values have been removed
+		final Object terminateElement = this.terminateElement;
+		if (removeInt(removedElementHolder)) {
+			return removedElement;
+		}
+		if (terminateElement != null && !terminateElementRemoved) {
+			terminateElementRemoved = true;
+			return terminateElement;
+		}
+		return null;
+	}
+
+	@Override
+	public void rearm() {
+		super.rearm(); // discards the remaining elements and signals
+		terminateElement = null;
+		terminateElementRemoved = false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return ringBuffer.isEmpty() && (terminateElement == null || terminateElementRemoved);
+	}
+
+	@Override
+	public int size() {
+		return ringBuffer.size();
+	}
+
+	@Override
+	public int capacity() {
+		return ringBuffer.capacity();
+	}
+
+}
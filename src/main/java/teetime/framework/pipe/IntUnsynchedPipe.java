@@ -0,0 +1,105 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.util.function.IntConsumer;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+
+/**
+ * The <code>int</code> counterpart of {@link UnsynchedPipe}.
+ *
+ * @since 3.1.1
+ */
+public final class IntUnsynchedPipe extends AbstractUnsynchedPipe<Integer> implements IIntPipe {
+
+	private int element;
+	private boolean hasElement;
+	private Object terminateElement;
+
+	public IntUnsynchedPipe(final OutputPort<? extends Integer> sourcePort, final InputPort<Integer> targetPort) {
+		super(sourcePort, targetPort);
+	}
+
+	@Override
+	public void add(final Object element) {
+		if (element instanceof Integer) {
+			addInt((Integer) element);
+		} else if (isTerminateElement(element)) {
+			this.terminateElement = element;
+			getScheduler().onElementAdded(this);
+		} else {
+			throw new IllegalArgumentException("Parameter 'element' must be a non-null Integer, but was " + element);
+		}
+	}
+
+	@Override
+	public boolean addNonBlocking(final Object element) {
+		add(element);
+		return true;
+	}
+
+	@Override
+	public void addInt(final int element) {
+		this.element = element;
+		this.hasElement = true;
+		getScheduler().onElementAdded(this);
+	}
+
+	@Override
+	public boolean addIntNonBlocking(final int element) {
+		addInt(element);
+		return true;
+	}
+
+	@Override
+	public boolean removeInt(final IntConsumer consumer) {
+		if (!hasElement) {
+			return false;
+		}
+		hasElement = false;
+		consumer.accept(element);
+		return true;
+	}
+
+	@Override
+	public Object removeLast() {
+		if (hasElement) {
+			hasElement = false;
+			return element;
+		}
+		final Object temp = this.terminateElement;
+		this.terminateElement = null; // NOPMD
+		return temp;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return !hasElement && terminateElement == null;
+	}
+
+	@Override
+	public int size() {
+		return isEmpty() ? 0 : 1;
+	}
+
+	@Override
+	public int capacity() {
+		return 1;
+	}
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-memory histogram of non-negative <code>long</code> values, e.g., latencies in nanoseconds. It partitions each power-of-two range into
+ * {@value #NUM_SUB_BUCKETS} linear sub-buckets so that each reported value is at most 1/{@value #NUM_SUB_BUCKETS} larger than the actual value (log-linear
+ * bucketing). Its memory footprint is independent of the number and range of recorded values.
+ * <p>
+ * Values may only be recorded by a single thread. All other methods may be called by any thread at any time, e.g., by a monitoring thread while the pipeline
+ * is running. They then reflect a recent (but not necessarily atomic) state.
+ * </p>
+ *
+ * @since 3.1.1
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int NUM_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * NUM_SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+	private volatile long totalCount;
+	private volatile long maxValue;
+
+	/**
+	 * May only be called by a single thread.
+	 *
+	 * @param value
+	 *            to record; negative values are recorded as <code>0</code>
+	 */
+	public void record(final long value) {
+		final long nonNegativeValue = Math.max(0, value);
+		final int index = indexOf(nonNegativeValue);
+		counts.lazySet(index, counts.get(index) + 1);
+		if (nonNegativeValue > maxValue) {
+			maxValue = nonNegativeValue;
+		}
+		totalCount++; // NOPMD only written by a single thread
+	}
+
+	static int indexOf(final long value) {
+		if (value < NUM_SUB_BUCKETS) {
+			return (int) value;
+		}
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (NUM_SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * NUM_SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @return the highest value which falls into the bucket with the given index
+	 */
+	static long highestValueOf(final int index) {
+		if (index < NUM_SUB_BUCKETS) {
+			return index;
+		}
+		final int shift = index / NUM_SUB_BUCKETS - 1;
+		final long lowestValue = (long) (NUM_SUB_BUCKETS + index % NUM_SUB_BUCKETS) << shift;
+		return lowestValue + (1L << shift) - 1;
+	}
+
+	/**
+	 * @param percentile
+	 *            between <code>0</code> and <code>100</code>, e.g., <code>99.9</code>
+	 *
+	 * @return an upper bound of the value below which the given percentage of all recorded values fall; <code>0</code> if no value has been recorded yet
+	 */
+	public long getValueAtPercentile(final double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("percentile must be between 0 and 100, but was " + percentile);
+		}
+		final long currentTotalCount = totalCount;
+		if (currentTotalCount == 0) {
+			return 0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * currentTotalCount));
+		final long currentMaxValue = maxValue;
+
+		long cumulativeCount = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			cumulativeCount += counts.get(i);
+			if (cumulativeCount >= rank) {
+				return Math.min(highestValueOf(i), currentMaxValue);
+			}
+		}
+		return currentMaxValue; // concurrently recorded values are not yet visible in the buckets
+	}
+
+	/**
+	 * @return the median
+	 */
+	public long getP50() {
+		return getValueAtPercentile(50);
+	}
+
+	public long getP99() {
+		return getValueAtPercentile(99);
+	}
+
+	public long getP999() {
+		return getValueAtPercentile(99.9);
+	}
+
+	public long getMaxValue() {
+		return maxValue;
+	}
+
+	public long getTotalCount() {
+		return totalCount;
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + getTotalCount() + ", p50=" + getP50() + ", p99=" + getP99() + ", p999=" + getP999() + ", max=" + getMaxValue();
+	}
+
+}
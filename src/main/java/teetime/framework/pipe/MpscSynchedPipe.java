@@ -0,0 +1,205 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.jctools.queues.MpscArrayQueue;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.PipeElementInsertionStrategy;
+import teetime.framework.pipe.strategy.SleepIfFullStrategy;
+import teetime.framework.signal.ISignal;
+import teetime.framework.signal.TerminatingSignal;
+
+/**
+ * A bounded synched pipe which connects multiple output ports with a single input port. Thus, it can replace a merger stage (and its thread) if the order in
+ * which the elements of the different producers arrive does not matter.
+ * <p>
+ * The terminate element and the {@link TerminatingSignal} are forwarded to the consumer only after <i>all</i> producers have sent them. Any other signal is
+ * forwarded only the first time it arrives.
+ * </p>
+ *
+ * @param <T>
+ *            the type of the elements which this pipe should transfer.
+ *
+ * @since 3.1.1
+ */
+public class MpscSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMonitorablePipe {
+
+	private final MpscArrayQueue<Object> queue;
+	private final PipeElementInsertionStrategy strategy;
+	private final List<OutputPort<? extends T>> sourcePorts;
+
+	private final AtomicInteger numOpenedSourcePorts;
+	private final AtomicInteger numTerminatingSignals = new AtomicInteger();
+	private final Set<Class<? extends ISignal>> forwardedSignalTypes = ConcurrentHashMap.newKeySet();
+
+	private transient long lastProducerIndex;
+	private transient long lastConsumerIndex;
+
+	public MpscSynchedPipe(final List<? extends OutputPort<? extends T>> sourcePorts, final InputPort<T> targetPort, final int capacity) {
+		this(sourcePorts, targetPort, capacity, new SleepIfFullStrategy());
+	}
+
+	/**
+	 * @param sourcePorts
+	 *            all output ports to connect; must contain at least one port
+	 * @param strategy
+	 *            defines how a producer waits if this pipe is full; it is shared by all producers and must therefore not assume a single producer
+	 */
+	public MpscSynchedPipe(final List<? extends OutputPort<? extends T>> sourcePorts, final InputPort<T> targetPort, final int capacity,
+			final PipeElementInsertionStrategy strategy) {
+		super(firstOf(sourcePorts), targetPort);
+		for (int i = 1; i < sourcePorts.size(); i++) {
+			connectAdditionalSourcePort(sourcePorts.get(i));
+		}
+		this.sourcePorts = Collections.unmodifiableList(new ArrayList<>(sourcePorts));
+		this.numOpenedSourcePorts = new AtomicInteger(sourcePorts.size());
+		this.queue = new MpscArrayQueue<>(capacity);
+		this.strategy = strategy;
+	}
+
+	private static <P> P firstOf(final List<? extends P> sourcePorts) {
+		if (sourcePorts == null || sourcePorts.isEmpty()) {
+			throw new IllegalArgumentException("sourcePorts may not be empty");
+		}
+		return sourcePorts.get(0);
+	}
+
+	@Override
+	public List<OutputPort<? extends T>> getSourcePorts() {
+		return sourcePorts;
+	}
+
+	@Override
+	public void add(final Object element) {
+		// only the last producer passes on its terminate element; all elements of the other producers have already been added at this point
+		if (isTerminateElement(element) && numOpenedSourcePorts.decrementAndGet() > 0) {
+			return;
+		}
+		strategy.add(this, element); // notifies the scheduler via addNonBlocking
+	}
+
+	@Override
+	public boolean addNonBlocking(final Object element) {
+		boolean offered = this.queue.offer(element);
+		if (offered) {
+			getScheduler().onElementAdded(this);
+		} else {
+			getScheduler().onElementNotAdded(this);
+		}
+		return offered;
+	}
+
+	@Override
+	public void sendSignal(final ISignal signal) {
+		final boolean forward;
+		if (signal instanceof TerminatingSignal) {
+			forward = numTerminatingSignals.incrementAndGet() == sourcePorts.size();
+		} else {
+			forward = forwardedSignalTypes.add(signal.getClass());
+		}
+		if (forward) {
+			super.sendSignal(signal);
+		}
+	}
+
+	@Override
+	public Object removeLast() {
+		Object element = this.queue.poll();
+		if (element != null) {
+			strategy.onElementRemoved(this);
+		}
+		return element;
+	}
+
+	@Override
+	public int removeBatch(final Consumer<Object> consumer, final int maxElements) {
+		int numElements = this.queue.drain(consumer::accept, maxElements);
+		if (numElements > 0) {
+			strategy.onElementRemoved(this);
+		}
+		return numElements;
+	}
+
+	@Override
+	public void rearm() {
+		super.rearm(); // discards the remaining elements and signals
+		numOpenedSourcePorts.set(sourcePorts.size());
+		numTerminatingSignals.set(0);
+		forwardedSignalTypes.clear();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.queue.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return this.queue.size();
+	}
+
+	@Override
+	public int capacity() {
+		return this.queue.capacity();
+	}
+
+	@Override
+	public int getNumWaits() {
+		return strategy.getNumWaits();
+	}
+
+	@Override
+	public long getWaitingTimeInNs() {
+		return strategy.getWaitingTimeInNs();
+	}
+
+	@Override
+	public long getPushThroughput() {
+		final long currentProducerIndex = getNumPushesSinceAppStart();
+		long diff = currentProducerIndex - lastProducerIndex;
+		lastProducerIndex = currentProducerIndex;
+		return diff;
+	}
+
+	@Override
+	public long getPullThroughput() {
+		final long currentConsumerIndex = getNumPullsSinceAppStart();
+		long diff = currentConsumerIndex - lastConsumerIndex;
+		lastConsumerIndex = currentConsumerIndex;
+		return diff;
+	}
+
+	@Override
+	public long getNumPushesSinceAppStart() {
+		return queue.currentProducerIndex();
+	}
+
+	@Override
+	public long getNumPullsSinceAppStart() {
+		return queue.currentConsumerIndex();
+	}
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.PipeElementInsertionStrategy;
+import teetime.framework.pipe.strategy.SleepIfFullStrategy;
+import teetime.util.framework.concurrent.queue.ByteRecordSpscRingBuffer;
+import teetime.util.io.TemporaryFiles;
+
+/**
+ * A bounded synched pipe for <code>byte[]</code> and {@link ByteBuffer} elements. It copies each element into an off-heap ring buffer (direct or
+ * memory-mapped) so that queued elements do not occupy the heap.
+ * <p>
+ * A {@link ByteBuffer} element is delivered to the consumer as a read-only view on the ring buffer. The view is only valid until the consumer receives the next
+ * element from this pipe. Afterwards, its space is recycled. A <code>byte[]</code> element is delivered as a fresh copy whose space is recycled immediately.
+ * Hence, only a pipeline of {@link ByteBuffer} stages, e.g., {@link teetime.stage.io.File2ByteBuffer}, {@link teetime.stage.ZipByteBuffer},
+ * {@link teetime.stage.ByteBufferCipherStage}, and {@link teetime.stage.io.ByteBufferFileWriter}, passes its elements without allocating heap memory per
+ * element.
+ * <p>
+ * Since the elements have variable lengths, {@link #size()} and {@link #capacity()} are given in bytes.
+ *
+ * @param <T>
+ *            either <code>byte[]</code> or {@link ByteBuffer}
+ *
+ * @see OffHeapRingBufferPipeFactory
+ *
+ * @since 3.1.1
+ */
+public final class OffHeapRingBufferPipe<T> extends AbstractSynchedPipe<T> {
+
+	private final ByteRecordSpscRingBuffer ringBuffer;
+	private final PipeElementInsertionStrategy strategy;
+	/** the memory-mapped file or <code>null</code> */
+	private final File file;
+
+	private volatile Object terminateElement;
+	private boolean terminateElementRemoved;
+
+	/**
+	 * @param storage
+	 *            the (usually direct or memory-mapped) memory to store the elements in
+	 */
+	public OffHeapRingBufferPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final ByteBuffer storage) {
+		this(sourcePort, targetPort, storage, new SleepIfFullStrategy());
+	}
+
+	public OffHeapRingBufferPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final ByteBuffer storage,
+			final PipeElementInsertionStrategy strategy) {
+		this(sourcePort, targetPort, storage, strategy, null);
+	}
+
+	/**
+	 * @param file
+	 *            which is mapped by the given storage and which is deleted as soon as this pipe has terminated; <code>null</code> if there is none
+	 */
+	/* default */ OffHeapRingBufferPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final ByteBuffer storage,
+			final PipeElementInsertionStrategy strategy, final File file) {
+		super(sourcePort, targetPort);
+		this.ringBuffer = new ByteRecordSpscRingBuffer(storage);
+		this.strategy = strategy;
+		this.file = file;
+	}
+
+	@Override
+	public void add(final Object element) {
+		if (isTerminateElement(element)) {
+			this.terminateElement = element; // published after all previously added elements
+			getScheduler().onElementAdded(this);
+		} else {
+			strategy.add(this, element); // notifies the scheduler via addNonBlocking
+		}
+	}
+
+	@Override
+	public boolean addNonBlocking(final Object element) {
+		final boolean offered;
+		if (element instanceof byte[]) {
+			offered = ringBuffer.offer((byte[]) element, true);
+		} else if (element instanceof ByteBuffer) {
+			offered = ringBuffer.offer((ByteBuffer) element, false);
+		} else if (isTerminateElement(element)) {
+			add(element);
+			return true;
+		} else {
+			throw new IllegalArgumentException("Parameter 'element' must be a non-null byte[] or ByteBuffer, but was " + element);
+		}
+
+		if (offered) {
+			getScheduler().onElementAdded(this);
+		} else {
+			getScheduler().onElementNotAdded(this);
+		}
+		return offered;
+	}
+
+	@Override
+	public Object removeLast() {
+		// read the terminate element before polling: if it is set and the ring buffer is empty, then all elements have been removed
+		final Object terminateElement = this.terminateElement;
+		final ByteBuffer record = ringBuffer.poll();
+		if (record != null) {
+			final Object element;
+			if (ringBuffer.getLastPolledFlag()) {
+				byte[] bytes = new byte[record.remaining()];
+				record.get(bytes);
+				ringBuffer.release();
+				element = bytes;
+			} else {
+				element = record;
+			}
+			strategy.onElementRemoved(this);
+			return element;
+		}
+		if (terminateElement != null && !terminateElementRemoved) {
+			terminateElementRemoved = true;
+			if (file != null) {
+				TemporaryFiles.delete(file); // the mapping remains valid, e.g., for a re-armed execution
+			}
+			return terminateElement;
+		}
+		return null;
+	}
+
+	@Override
+	public void rearm() {
+		super.rearm(); // discards the remaining elements and signals
+		ringBuffer.release(); // the view returned last is not used anymore
+		terminateElement = null;
+		terminateElementRemoved = false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return ringBuffer.isEmpty() && (terminateElement == null || terminateElementRemoved);
+	}
+
+	/**
+	 * @return the number of bytes in use; equals the {@link #capacity()} while the producer waits for room for its next element
+	 */
+	@Override
+	public int size() {
+		return ringBuffer.size();
+	}
+
+	/**
+	 * @return the capacity in bytes
+	 */
+	@Override
+	public int capacity() {
+		return ringBuffer.capacity();
+	}
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.SleepIfFullStrategy;
+import teetime.util.io.TemporaryFiles;
+
+/**
+ * Creates {@link OffHeapRingBufferPipe}s. The capacity is given in bytes. Use {@link #DIRECT} to allocate direct memory, or
+ * {@link #OffHeapRingBufferPipeFactory(File)} to memory-map a new temporary file per pipe.
+ *
+ * @since 3.1.1
+ */
+public final class OffHeapRingBufferPipeFactory implements IPipeFactory {
+
+	public static final OffHeapRingBufferPipeFactory DIRECT = new OffHeapRingBufferPipeFactory(null);
+
+	private static final int DEFAULT_CAPACITY_IN_BYTES = 16 * 1024 * 1024;
+
+	private final File directory;
+
+	/**
+	 * @param directory
+	 *            in which the memory-mapped files are created; <code>null</code> to allocate direct memory instead
+	 */
+	public OffHeapRingBufferPipeFactory(final File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Uses a default capacity of {@value #DEFAULT_CAPACITY_IN_BYTES} bytes.
+	 */
+	@Override
+	public <T> IPipe<T> newPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort) {
+		return newPipe(sourcePort, targetPort, DEFAULT_CAPACITY_IN_BYTES);
+	}
+
+	/**
+	 * If this factory memory-maps files, the file of the new pipe is deleted as soon as the pipe has terminated.
+	 */
+	@Override
+	public <T> IPipe<T> newPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int capacity) {
+		if (directory == null) {
+			return new OffHeapRingBufferPipe<>(sourcePort, targetPort, ByteBuffer.allocateDirect(capacity));
+		}
+
+		try {
+			File file = TemporaryFiles.create("teetime-pipe-", ".ring", directory);
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				ByteBuffer storage = channel.map(MapMode.READ_WRITE, 0, capacity); // the mapping remains valid after closing the channel
+				return new OffHeapRingBufferPipe<>(sourcePort, targetPort, storage, new SleepIfFullStrategy(), file);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import teetime.framework.DoubleInputPort;
+import teetime.framework.DoubleOutputPort;
+import teetime.framework.InputPort;
+import teetime.framework.IntInputPort;
+import teetime.framework.IntOutputPort;
+import teetime.framework.LongInputPort;
+import teetime.framework.LongOutputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.PipeElementInsertionStrategy;
+
+/**
+ * Creates primitive pipes if both ports are primitive ports of the same type, and the corresponding generic pipes otherwise. Unbounded synched pipes are not
+ * specialized; they always box their elements.
+ *
+ * @since 3.1.1
+ */
+public final class PrimitivePipes {
+
+	private PrimitivePipes() {
+		// utility class
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> IPipe<T> newUnsynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort) {
+		if (sourcePort instanceof IntOutputPort && targetPort instanceof IntInputPort) {
+			return (IPipe<T>) new IntUnsynchedPipe((IntOutputPort) sourcePort, (IntInputPort) targetPort);
+		}
+		if (sourcePort instanceof LongOutputPort && targetPort instanceof LongInputPort) {
+			return (IPipe<T>) new LongUnsynchedPipe((LongOutputPort) sourcePort, (LongInputPort) targetPort);
+		}
+		if (sourcePort instanceof DoubleOutputPort && targetPort instanceof DoubleInputPort) {
+			return (IPipe<T>) new DoubleUnsynchedPipe((DoubleOutputPort) sourcePort, (DoubleInputPort) targetPort);
+		}
+		return new UnsynchedPipe<>(sourcePort, targetPort);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> IPipe<T> newBoundedSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int capacity) {
+		if (sourcePort instanceof IntOutputPort && targetPort instanceof IntInputPort) {
+			return (IPipe<T>) new IntBoundedSynchedPipe((IntOutputPort) sourcePort, (IntInputPort) targetPort, capacity);
+		}
+		if (sourcePort instanceof LongOutputPort && targetPort instanceof LongInputPort) {
+			return (IPipe<T>) new LongBoundedSynchedPipe((LongOutputPort) sourcePort, (LongInputPort) targetPort, capacity);
+		}
+		if (sourcePort instanceof DoubleOutputPort && targetPort instanceof DoubleInputPort) {
+			return (IPipe<T>) new DoubleBoundedSynchedPipe((DoubleOutputPort) sourcePort, (DoubleInputPort) targetPort, capacity);
+		}
+		return new BoundedSynchedPipe<>(sourcePort, targetPort, capacity);
+	}
+
+	/**
+	 * @param strategy
+	 *            defines how the producer waits if the pipe is full
+	 *
+	 * @since 3.1.1
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> IPipe<T> newBoundedSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int capacity,
+			final PipeElementInsertionStrategy strategy) {
+		if (sourcePort instanceof IntOutputPort && targetPort instanceof IntInputPort) {
+			return (IPipe<T>) new IntBoundedSynchedPipe((IntOutputPort) sourcePort, (IntInputPort) targetPort, capacity, strategy);
+		}
+		if (sourcePort instanceof LongOutputPort && targetPort instanceof LongInputPort) {
+			return (IPipe<T>) new LongBoundedSynchedPipe((LongOutputPort) sourcePort, (LongInputPort) targetPort, capacity, strategy);
+		}
+		if (sourcePort instanceof DoubleOutputPort && targetPort instanceof DoubleInputPort) {
+			return (IPipe<T>) new DoubleBoundedSynchedPipe((DoubleOutputPort) sourcePort, (DoubleInputPort) targetPort, capacity, strategy);
+		}
+		return new BoundedSynchedPipe<>(sourcePort, targetPort, capacity, strategy);
+	}
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures the queueing delay of every n-th element of a single-producer single-consumer pipe. The producer stamps the sampled elements with their
+ * insertion time, the consumer computes their delay on removal and records it in a {@link LatencyHistogram}. Elements are identified by their sequence number,
+ * i.e., by the number of elements added before them. The timestamps are held in a fixed-size ring; if more samples are in flight than the ring can hold, the
+ * oldest ones are skipped instead of recorded.
+ *
+ * @since 3.1.1
+ */
+final class QueueingDelaySampler {
+
+	private static final long INVALID_SEQUENCE = -1;
+
+	private final int sampleIntervalBits;
+	private final long sampleMask;
+	private final int slotMask;
+	/** pairs of sequence number and timestamp, written by the producer and read by the consumer like a seqlock */
+	private final AtomicLongArray slots;
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	/**
+	 * @param sampleInterval
+	 *            a power of two
+	 * @param maxSamplesInFlight
+	 *            the number of samples to hold at most
+	 */
+	QueueingDelaySampler(final int sampleInterval, final int maxSamplesInFlight) {
+		if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+			throw new IllegalArgumentException("sampleInterval must be a power of two, but was " + sampleInterval);
+		}
+		this.sampleIntervalBits = Integer.numberOfTrailingZeros(sampleInterval);
+		this.sampleMask = sampleInterval - 1;
+		final int numSlots = Integer.highestOneBit(Math.max(1, maxSamplesInFlight) * 2 - 1); // next power of two
+		this.slotMask = numSlots - 1;
+		this.slots = new AtomicLongArray(numSlots * 2);
+		for (int i = 0; i < numSlots; i++) {
+			slots.set(i * 2, INVALID_SEQUENCE);
+		}
+	}
+
+	/**
+	 * May only be called by the producer <b>before</b> the elements become visible to the consumer. Calling it again for the same sequence numbers (e.g.,
+	 * after an unsuccessful insertion) overrides the previous timestamps.
+	 *
+	 * @param firstSequence
+	 *            the sequence number of the first element to add
+	 * @param numElements
+	 *            the number of elements to add
+	 */
+	void beforeAdd(final long firstSequence, final int numElements) {
+		long sequence = (firstSequence + sampleMask) & ~sampleMask;
+		final long endSequence = firstSequence + numElements;
+		if (sequence >= endSequence) {
+			return;
+		}
+		final long timestamp = System.nanoTime();
+		do {
+			final int index = slotIndexOf(sequence);
+			slots.set(index, INVALID_SEQUENCE);
+			slots.set(index + 1, timestamp);
+			slots.lazySet(index, sequence);
+			sequence += sampleMask + 1;
+		} while (sequence < endSequence);
+	}
+
+	/**
+	 * May only be called by the consumer <b>after</b> it has removed the elements.
+	 *
+	 * @param firstSequence
+	 *            the sequence number of the first removed element
+	 * @param numElements
+	 *            the number of removed elements
+	 */
+	void afterRemove(final long firstSequence, final int numElements) {
+		long sequence = (firstSequence + sampleMask) & ~sampleMask;
+		final long endSequence = firstSequence + numElements;
+		if (sequence >= endSequence) {
+			return;
+		}
+		final long now = System.nanoTime();
+		do {
+			final int index = slotIndexOf(sequence);
+			if (slots.get(index) == sequence) {
+				final long timestamp = slots.get(index + 1);
+				if (slots.get(index) == sequence) { // re-read to detect a concurrent override
+					histogram.record(now - timestamp);
+				}
+			}
+			sequence += sampleMask + 1;
+		} while (sequence < endSequence);
+	}
+
+	private int slotIndexOf(final long sequence) {
+		return (int) ((sequence >>> sampleIntervalBits) & slotMask) * 2;
+	}
+
+	LatencyHistogram getHistogram() {
+		return histogram;
+	}
+
+}
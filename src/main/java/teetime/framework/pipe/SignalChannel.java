@@ -0,0 +1,133 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+import teetime.framework.signal.ISignal;
+
+/**
+ * A lock-free, unbounded multi-producer single-consumer channel for the few signals which travel through a synched pipe. In contrast to a blocking queue
+ * built from a linked array queue and separate put/take strategies, it only allocates a single stub node on construction and one node per signal. The
+ * consumer may wait for the next signal by {@link #take()}.
+ *
+ * @since 3.1.1
+ */
+final class SignalChannel {
+
+	private static final VarHandle TAIL;
+	private static final VarHandle NEXT;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			TAIL = lookup.findVarHandle(SignalChannel.class, "tail", Node.class);
+			NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** only accessed by the consumer */
+	private Node head;
+	/** swapped by the producers */
+	@SuppressWarnings("unused")
+	private volatile Node tail;
+	/** the consumer thread if it waits in {@link #take()} */
+	private volatile Thread waitingConsumer;
+
+	SignalChannel() {
+		final Node stub = new Node(null);
+		this.head = stub;
+		this.tail = stub;
+	}
+
+	/**
+	 * May be called by any thread.
+	 */
+	void offer(final ISignal signal) {
+		final Node node = new Node(signal);
+		final Node previousTail = (Node) TAIL.getAndSet(this, node);
+		// publishes the signal to the consumer; must be a volatile store so that the following read of waitingConsumer is not reordered before it
+		NEXT.setVolatile(previousTail, node);
+
+		final Thread consumer = waitingConsumer;
+		if (consumer != null) {
+			LockSupport.unpark(consumer);
+		}
+	}
+
+	/**
+	 * May only be called by the consumer.
+	 *
+	 * @return the next signal, or <code>null</code> if there is currently none
+	 */
+	ISignal poll() {
+		return remove((Node) NEXT.getAcquire(head));
+	}
+
+	private ISignal remove(final Node next) {
+		if (next == null) {
+			return null;
+		}
+		final ISignal signal = next.signal;
+		next.signal = null; // next becomes the new stub
+		head = next;
+		return signal;
+	}
+
+	/**
+	 * May only be called by the consumer. Waits until the next signal is available.
+	 *
+	 * @return the next signal
+	 *
+	 * @throws InterruptedException
+	 *             if the consumer was interrupted while waiting
+	 */
+	ISignal take() throws InterruptedException {
+		ISignal signal = poll();
+		if (signal != null) {
+			return signal;
+		}
+
+		waitingConsumer = Thread.currentThread();
+		try {
+			// must be a volatile load so that it is not reordered before the store to waitingConsumer; otherwise, the wake-up could be lost
+			while ((signal = remove((Node) NEXT.getVolatile(head))) == null) { // NOPMD (assignment in operand)
+				LockSupport.park(this);
+				if (Thread.interrupted()) {
+					throw new InterruptedException("Interrupted while waiting for the next signal.");
+				}
+			}
+		} finally {
+			waitingConsumer = null;
+		}
+		return signal;
+	}
+
+	private static final class Node {
+		ISignal signal;
+		@SuppressWarnings("unused")
+		volatile Node next;
+
+		Node(final ISignal signal) {
+			this.signal = signal;
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jctools.queues.SpmcArrayQueue;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.PipeElementInsertionStrategy;
+import teetime.framework.pipe.strategy.SleepIfFullStrategy;
+import teetime.framework.signal.ISignal;
+
+/**
+ * A bounded synched pipe which connects a single output port with multiple input ports. All consumers pull from the same queue so that each element is
+ * processed by exactly one of them (work sharing). In contrast to a distributor with one pipe per consumer, a slow consumer does not accumulate a backlog
+ * while the others idle.
+ * <p>
+ * This pipe is the pipe of the output port and of the first input port. Each further input port is connected by an own lightweight endpoint pipe which shares
+ * the queue of this pipe. Every signal is broadcast to all consumers and each consumer receives its own terminate element after the queue has been drained.
+ * </p>
+ *
+ * @param <T>
+ *            the type of the elements which this pipe should transfer.
+ *
+ * @since 3.1.1
+ */
+public class SpmcSynchedPipe<T> extends AbstractSynchedPipe<T> {
+
+	private final SpmcArrayQueue<Object> queue;
+	private final PipeElementInsertionStrategy strategy;
+	private final List<InputPort<T>> targetPorts;
+	private final List<Endpoint<T>> endpoints;
+	private final ConsumerSide consumerSide = new ConsumerSide(this);
+
+	private volatile Object terminateElement;
+
+	public SpmcSynchedPipe(final OutputPort<? extends T> sourcePort, final List<? extends InputPort<T>> targetPorts, final int capacity) {
+		this(sourcePort, targetPorts, capacity, new SleepIfFullStrategy());
+	}
+
+	/**
+	 * @param targetPorts
+	 *            all input ports to connect; must contain at least one port
+	 * @param strategy
+	 *            defines how the producer waits if this pipe is full; it is notified by all consumers and must therefore not assume a single consumer
+	 */
+	public SpmcSynchedPipe(final OutputPort<? extends T> sourcePort, final List<? extends InputPort<T>> targetPorts, final int capacity,
+			final PipeElementInsertionStrategy strategy) {
+		super(sourcePort, firstOf(targetPorts));
+		this.queue = new SpmcArrayQueue<>(capacity);
+		this.strategy = strategy;
+		this.targetPorts = Collections.unmodifiableList(new ArrayList<>(targetPorts));
+		this.endpoints = new ArrayList<>(targetPorts.size() - 1);
+		for (int i = 1; i < targetPorts.size(); i++) {
+			endpoints.add(new Endpoint<>(this, targetPorts.get(i)));
+		}
+	}
+
+	private static <P> P firstOf(final List<? extends P> targetPorts) {
+		if (targetPorts == null || targetPorts.isEmpty()) {
+			throw new IllegalArgumentException("targetPorts may not be empty");
+		}
+		return targetPorts.get(0);
+	}
+
+	@Override
+	public List<InputPort<T>> getTargetPorts() {
+		return targetPorts;
+	}
+
+	@Override
+	public void add(final Object element) {
+		if (isTerminateElement(element)) {
+			this.terminateElement = element; // published after all previously added elements
+			notifyElementAdded();
+		} else {
+			strategy.add(this, element); // notifies the scheduler and the endpoints via addNonBlocking
+		}
+	}
+
+	@Override
+	public boolean addNonBlocking(final Object element) {
+		boolean offered = this.queue.offer(element);
+		if (offered) {
+			notifyElementAdded();
+		} else {
+			getScheduler().onElementNotAdded(this);
+		}
+		return offered;
+	}
+
+	private void notifyElementAdded() {
+		getScheduler().onElementAdded(this);
+		for (int i = 0; i < endpoints.size(); i++) {
+			endpoints.get(i).notifyElementAdded();
+		}
+	}
+
+	@Override
+	public void sendSignal(final ISignal signal) {
+		super.sendSignal(signal);
+		for (int i = 0; i < endpoints.size(); i++) {
+			endpoints.get(i).sendSignal(signal);
+		}
+	}
+
+	@Override
+	public Object removeLast() {
+		return consumerSide.removeLast();
+	}
+
+	/**
+	 * Also resets the terminate element of the endpoints. Their remaining signals are discarded by their own {@link #rearm()}.
+	 */
+	@Override
+	public void rearm() {
+		super.rearm(); // discards the remaining elements and signals
+		terminateElement = null;
+		consumerSide.rearm();
+		for (int i = 0; i < endpoints.size(); i++) {
+			endpoints.get(i).consumerSide.rearm();
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return consumerSide.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return queue.size();
+	}
+
+	@Override
+	public int capacity() {
+		return queue.capacity();
+	}
+
+	/**
+	 * Holds the consumer-local state of one of the connected input ports.
+	 */
+	private static final class ConsumerSide {
+
+		private final SpmcSynchedPipe<?> pipe;
+		private boolean terminateElementRemoved;
+
+		ConsumerSide(final SpmcSynchedPipe<?> pipe) {
+			this.pipe = pipe;
+		}
+
+		Object removeLast() {
+			// read the terminate element before polling: if it is set and the queue is empty, then all elements have been removed
+			final Object terminateElement = pipe.terminateElement;
+
+			final Object element = pipe.queue.poll();
+			if (element != null) {
+				pipe.strategy.onElementRemoved(pipe);
+				return element;
+			}
+
+			if (terminateElement != null && !terminateElementRemoved) {
+				terminateElementRemoved = true;
+				return terminateElement;
+			}
+			return null;
+		}
+
+		boolean isEmpty() {
+			return pipe.queue.isEmpty() && (pipe.terminateElement == null || terminateElementRemoved);
+		}
+
+		void rearm() {
+			terminateElementRemoved = false;
+		}
+	}
+
+	/**
+	 * Connects one further input port with the queue of the enclosing pipe.
+	 */
+	private static final class Endpoint<T> extends AbstractSynchedPipe<T> {
+
+		private final SpmcSynchedPipe<T> pipe;
+		private final ConsumerSide consumerSide;
+
+		Endpoint(final SpmcSynchedPipe<T> pipe, final InputPort<T> targetPort) {
+			super(pipe, targetPort); // the source port remains connected with the enclosing pipe
+			this.pipe = pipe;
+			this.consumerSide = new ConsumerSide(pipe);
+		}
+
+		void notifyElementAdded() {
+			getScheduler().onElementAdded(this);
+		}
+
+		@Override
+		public void add(final Object element) {
+			pipe.add(element);
+		}
+
+		@Override
+		public boolean addNonBlocking(final Object element) {
+			return pipe.addNonBlocking(element);
+		}
+
+		@Override
+		public Object removeLast() {
+			return consumerSide.removeLast();
+		}
+
+		@Override
+		public void rearm() {
+			super.rearm(); // discards the remaining elements and signals
+			consumerSide.rearm();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return consumerSide.isEmpty();
+		}
+
+		@Override
+		public int size() {
+			return pipe.size();
+		}
+
+		@Override
+		public int capacity() {
+			return pipe.capacity();
+		}
+	}
+
+}
@@ -15,30 +15,75 @@
  */
 package teetime.framework.pipe;
 
-import java.util.Queue;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.jctools.queues.SpscLinkedQueue;
 
 import teetime.framework.InputPort;
 import teetime.framework.OutputPort;
+import teetime.util.framework.concurrent.queue.ListSupplier;
 
 public class UnboundedSynchedPipe<T> extends AbstractSynchedPipe<T> {
 
-	private final Queue<Object> queue;
+	private static final int MAX_SAMPLES_IN_FLIGHT = 1024;
+
+	private final SpscLinkedQueue<Object> queue;
+	/** reused by the producer for each batch */
+	private final ListSupplier<Object> batchSupplier = new ListSupplier<>();
+
+	/** <code>null</code> if disabled */
+	private QueueingDelaySampler queueingDelaySampler;
+	/** only maintained if the sampling is enabled */
+	private long numAddedElements;
+	/** only maintained if the sampling is enabled */
+	private long numRemovedElements;
 
 	public UnboundedSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort) {
 		super(sourcePort, targetPort);
 		this.queue = new SpscLinkedQueue<>();
 	}
 
+	/**
+	 * Enables the measurement of the queueing delay of every <code>sampleInterval</code>-th element. May only be called before the execution has started.
+	 *
+	 * @param sampleInterval
+	 *            a power of two; <code>1</code> to measure each element
+	 *
+	 * @see #getQueueingDelayHistogram()
+	 *
+	 * @since 3.1.1
+	 */
+	public void enableQueueingDelaySampling(final int sampleInterval) {
+		this.queueingDelaySampler = new QueueingDelaySampler(sampleInterval, MAX_SAMPLES_IN_FLIGHT);
+	}
+
+	/**
+	 * @return the histogram of the sampled queueing delays in nanoseconds, or <code>null</code> if the sampling is disabled
+	 *
+	 * @since 3.1.1
+	 */
+	public LatencyHistogram getQueueingDelayHistogram() {
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		return (sampler != null) ? sampler.getHistogram() : null;
+	}
+
 	@Override
 	public void add(final Object element) {
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		if (sampler != null) {
+			sampler.beforeAdd(numAddedElements++, 1);
+		}
 		this.queue.add(element);
 		getScheduler().onElementAdded(this);
 	}
 
 	@Override
 	public boolean addNonBlocking(final Object element) {
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		if (sampler != null) {
+			sampler.beforeAdd(numAddedElements++, 1); // always succeeds since the queue is unbounded
+		}
 		boolean offered = this.queue.offer(element);
 		if (offered) {
 			getScheduler().onElementAdded(this);
@@ -48,9 +93,38 @@ public class UnboundedSynchedPipe<T> extends AbstractSynchedPipe<T> {
 		return offered;
 	}
 
+	@Override
+	public void addBatch(final List<?> elements) {
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		if (sampler != null) {
+			sampler.beforeAdd(numAddedElements, elements.size());
+			numAddedElements += elements.size();
+		}
+		batchSupplier.reset(elements);
+		this.queue.fill(batchSupplier, elements.size()); // always succeeds since the queue is unbounded
+		batchSupplier.reset(null);
+		getScheduler().onElementAdded(this);
+	}
+
 	@Override
 	public Object removeLast() {
-		return this.queue.poll();
+		final Object element = this.queue.poll();
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		if (sampler != null && element != null) {
+			sampler.afterRemove(numRemovedElements++, 1);
+		}
+		return element;
+	}
+
+	@Override
+	public int removeBatch(final Consumer<Object> consumer, final int maxElements) {
+		final int numElements = this.queue.drain(consumer::accept, maxElements);
+		final QueueingDelaySampler sampler = this.queueingDelaySampler;
+		if (sampler != null && numElements > 0) {
+			sampler.afterRemove(numRemovedElements, numElements);
+			numRemovedElements += numElements;
+		}
+		return numElements;
 	}
 
 	@Override
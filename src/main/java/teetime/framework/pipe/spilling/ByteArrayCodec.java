@@ -0,0 +1,52 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.spilling;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes a <code>byte[]</code> as it is.
+ *
+ * @since 3.1.1
+ */
+public final class ByteArrayCodec implements ElementCodec<byte[]> {
+
+	public static final ByteArrayCodec INSTANCE = new ByteArrayCodec();
+
+	private ByteArrayCodec() {
+		// singleton instance
+	}
+
+	@Override
+	public void encode(final byte[] element, final DataOutput output) throws IOException {
+		output.write(element);
+	}
+
+	@Override
+	public byte[] decode(final ByteBuffer input) {
+		byte[] element = new byte[input.remaining()];
+		input.get(element);
+		return element;
+	}
+
+	@Override
+	public int estimateSize(final byte[] element) {
+		return element.length;
+	}
+
+}
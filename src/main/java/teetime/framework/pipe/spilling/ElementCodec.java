@@ -0,0 +1,51 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.spilling;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts elements to bytes and back so that a {@link SpillingSynchedPipe} can write them to disk.
+ *
+ * @param <E>
+ *            the type of elements to convert
+ *
+ * @since 3.1.1
+ */
+public interface ElementCodec<E> {
+
+	/**
+	 * Writes the given element to the given output.
+	 */
+	void encode(E element, DataOutput output) throws IOException;
+
+	/**
+	 * Reads an element from the remaining bytes of the given input which were written by {@link #encode(Object, DataOutput)}.
+	 */
+	E decode(ByteBuffer input);
+
+	/**
+	 * Estimates the heap size of the given element. It is used to bound the bytes held in memory by a {@link SpillingSynchedPipe}. It must return the same
+	 * value for the same element each time.
+	 *
+	 * @return <code>0</code> by default, i.e., only the number of elements is bounded
+	 */
+	default int estimateSize(final E element) {
+		return 0;
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.spilling;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import teetime.util.io.TemporaryFiles;
+
+/**
+ * A memory-mapped file which is written sequentially by the producer and read back by the consumer of a {@link SpillingSynchedPipe}. Each record consists of
+ * an <code>int</code> length followed by the encoded element.
+ *
+ * @since 3.1.1
+ */
+final class Segment {
+
+	static final int HEADER_SIZE = Integer.BYTES;
+
+	private final File file;
+	private final FileChannel channel;
+	/** used by the producer only */
+	private final ByteBuffer writeView;
+	/** used by the consumer only */
+	private final ByteBuffer readView;
+
+	private volatile int writePosition;
+	private volatile boolean sealed;
+
+	private Segment(final File file, final FileChannel channel, final MappedByteBuffer buffer) {
+		this.file = file;
+		this.channel = channel;
+		this.writeView = buffer.duplicate();
+		this.readView = buffer.asReadOnlyBuffer();
+	}
+
+	static Segment create(final File directory, final int sizeInBytes) throws IOException {
+		File file = TemporaryFiles.create("teetime-spill-", ".segment", directory);
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			return new Segment(file, channel, channel.map(MapMode.READ_WRITE, 0, sizeInBytes));
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * May only be called by the producer.
+	 *
+	 * @return <code>true</code> iff the record was appended; <code>false</code> if the remaining space is not sufficient
+	 */
+	boolean append(final byte[] bytes, final int length) {
+		final int position = writePosition;
+		if (writeView.capacity() - position < HEADER_SIZE + length) {
+			return false;
+		}
+		writeView.putInt(position, length);
+		writeView.position(position + HEADER_SIZE);
+		writeView.put(bytes, 0, length);
+		writePosition = position + HEADER_SIZE + length; // publishes the record
+		return true;
+	}
+
+	/**
+	 * May only be called by the producer. Signals that no more records will be appended.
+	 */
+	void seal() {
+		sealed = true;
+	}
+
+	/**
+	 * May only be called by the consumer.
+	 *
+	 * @return a view on the record's bytes starting at the given position; its limit is the end of the record
+	 */
+	ByteBuffer readRecord(final int position) {
+		readView.clear();
+		final int length = readView.getInt(position);
+		readView.limit(position + HEADER_SIZE + length);
+		readView.position(position + HEADER_SIZE);
+		return readView;
+	}
+
+	boolean isSealed() {
+		return sealed;
+	}
+
+	int getWritePosition() {
+		return writePosition;
+	}
+
+	/**
+	 * Closes and deletes the underlying file. The mapping itself is released when this segment is garbage collected.
+	 */
+	void delete() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		TemporaryFiles.delete(file);
+	}
+
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.spilling;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.jctools.queues.SpscArrayQueue;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.AbstractSynchedPipe;
+
+/**
+ * An unbounded synched pipe which never blocks the producer and never exhausts the heap. It holds the elements in a bounded in-memory queue as long as the
+ * consumer keeps up. If the queue exceeds its element or byte budget, the producer encodes the overflowing elements with the given {@link ElementCodec} and
+ * appends them to memory-mapped segment files. The consumer reads them back in order and deletes each segment once it has read it completely. As soon as the
+ * consumer has caught up, the producer switches back to the in-memory queue.
+ *
+ * @see SpillingSynchedPipeFactory
+ *
+ * @since 3.1.1
+ */
+public final class SpillingSynchedPipe<T> extends AbstractSynchedPipe<T> {
+
+	private final SpscArrayQueue<Object> memoryQueue;
+	private final long maxBytesInMemory;
+	private final ElementCodec<Object> codec;
+	private final File directory;
+	private final int segmentSizeInBytes;
+	private final Queue<Segment> segments = new ConcurrentLinkedQueue<>();
+
+	// producer-local
+	private final ExposedByteArrayOutputStream encodingBuffer = new ExposedByteArrayOutputStream();
+	private final DataOutputStream encodingOutput = new DataOutputStream(encodingBuffer);
+	private Segment writeSegment;
+	private boolean spilling;
+
+	// consumer-local
+	private int readPosition;
+	private boolean terminateElementRemoved;
+
+	private volatile long numSpilledElements;
+	private volatile long numUnspilledElements;
+	private volatile long numBytesAddedToMemory;
+	private volatile long numBytesRemovedFromMemory;
+	private volatile Object terminateElement;
+
+	/**
+	 * @param maxElementsInMemory
+	 *            the element budget of the in-memory queue
+	 * @param maxBytesInMemory
+	 *            the byte budget of the in-memory queue according to {@link ElementCodec#estimateSize(Object)}; <code>0</code> to disable it
+	 * @param codec
+	 *            to encode and decode the spilled elements
+	 * @param directory
+	 *            in which the segment files are created
+	 * @param segmentSizeInBytes
+	 *            the size of each segment file
+	 */
+	@SuppressWarnings("unchecked")
+	public SpillingSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int maxElementsInMemory,
+			final long maxBytesInMemory, final ElementCodec<? super T> codec, final File directory, final int segmentSizeInBytes) {
+		super(sourcePort, targetPort);
+		if (maxBytesInMemory < 0) {
+			throw new IllegalArgumentException("maxBytesInMemory may not be negative, but was " + maxBytesInMemory);
+		}
+		if (segmentSizeInBytes <= Segment.HEADER_SIZE) {
+			throw new IllegalArgumentException("segmentSizeInBytes must be greater than " + Segment.HEADER_SIZE + ", but was " + segmentSizeInBytes);
+		}
+		this.memoryQueue = new SpscArrayQueue<>(maxElementsInMemory);
+		this.maxBytesInMemory = maxBytesInMemory;
+		this.codec = (ElementCodec<Object>) codec;
+		this.directory = directory;
+		this.segmentSizeInBytes = segmentSizeInBytes;
+	}
+
+	@Override
+	public void add(final Object element) {
+		if (isTerminateElement(element)) {
+			this.terminateElement = element; // published after all previously added elements
+		} else {
+			if (spilling && numSpilledElements == numUnspilledElements) {
+				spilling = false; // the consumer has read all spilled elements
+			}
+			if (spilling || !addToMemory(element)) {
+				spilling = true;
+				spill(element);
+			}
+		}
+		getScheduler().onElementAdded(this);
+	}
+
+	@Override
+	public boolean addNonBlocking(final Object element) {
+		add(element);
+		return true;
+	}
+
+	private boolean addToMemory(final Object element) {
+		final int size = (maxBytesInMemory > 0) ? codec.estimateSize(element) : 0;
+		if (maxBytesInMemory > 0 && !memoryQueue.isEmpty() && numBytesAddedToMemory + size - numBytesRemovedFromMemory > maxBytesInMemory) {
+			return false;
+		}
+		if (!memoryQueue.offer(element)) {
+			return false;
+		}
+		numBytesAddedToMemory += size; // NOPMD only written by the producer
+		return true;
+	}
+
+	private void spill(final Object element) {
+		encodingBuffer.reset();
+		try {
+			codec.encode(element, encodingOutput);
+			encodingOutput.flush();
+			final int length = encodingBuffer.size();
+			if (writeSegment == null || !writeSegment.append(encodingBuffer.getBuffer(), length)) {
+				if (writeSegment != null) {
+					writeSegment.seal();
+				}
+				writeSegment = Segment.create(directory, Math.max(segmentSizeInBytes, Segment.HEADER_SIZE + length));
+				segments.add(writeSegment);
+				writeSegment.append(encodingBuffer.getBuffer(), length);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		numSpilledElements++; // NOPMD only written by the producer
+	}
+
+	@Override
+	public Object removeLast() {
+		// read the terminate element before polling: if it is set and both the queue and the segments are empty, then all elements have been removed
+		final Object terminateElement = this.terminateElement;
+
+		Object element = memoryQueue.poll();
+		if (element != null) {
+			if (maxBytesInMemory > 0) {
+				numBytesRemovedFromMemory += codec.estimateSize(element); // NOPMD only written by the consumer
+			}
+			return element;
+		}
+
+		element = unspill();
+		if (element != null) {
+			return element;
+		}
+
+		if (terminateElement != null && !terminateElementRemoved) {
+			terminateElementRemoved = true;
+			deleteSegments();
+			return terminateElement;
+		}
+		return null;
+	}
+
+	private Object unspill() {
+		Segment segment = segments.peek();
+		while (segment != null) {
+			final boolean sealed = segment.isSealed(); // read before the write position
+			if (readPosition < segment.getWritePosition()) {
+				final ByteBuffer record = segment.readRecord(readPosition);
+				readPosition = record.limit();
+				final Object element = codec.decode(record);
+				numUnspilledElements++; // NOPMD only written by the consumer
+				return element;
+			}
+			if (!sealed) {
+				return null;
+			}
+			segments.poll();
+			segment.delete();
+			readPosition = 0;
+			segment = segments.peek();
+		}
+		return null;
+	}
+
+	private void deleteSegments() {
+		Segment segment;
+		while ((segment = segments.poll()) != null) { // NOPMD (assignment in operand)
+			segment.delete();
+		}
+	}
+
+	@Override
+	public void rearm() {
+		super.rearm(); // discards the remaining elements, including the spilled ones, and signals
+		deleteSegments();
+		writeSegment = null;
+		spilling = false;
+		readPosition = 0;
+		terminateElement = null;
+		terminateElementRemoved = false;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return memoryQueue.isEmpty() && numSpilledElements == numUnspilledElements && (terminateElement == null || terminateElementRemoved);
+	}
+
+	@Override
+	public int size() {
+		final long currentNumUnspilledElements = numUnspilledElements; // read first to never return a negative size
+		return memoryQueue.size() + (int) (numSpilledElements - currentNumUnspilledElements);
+	}
+
+	@Override
+	public int capacity() {
+		return -1;
+	}
+
+	/**
+	 * @return the number of elements which are currently spilled to disk
+	 */
+	public long getNumSpilledElements() {
+		final long currentNumUnspilledElements = numUnspilledElements;
+		return numSpilledElements - currentNumUnspilledElements;
+	}
+
+	/**
+	 * Gives access to the internal buffer to avoid copying it.
+	 */
+	private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+		byte[] getBuffer() {
+			return buf;
+		}
+	}
+
+}
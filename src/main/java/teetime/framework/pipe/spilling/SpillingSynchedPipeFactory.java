@@ -0,0 +1,71 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.spilling;
+
+import java.io.File;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.IPipe;
+import teetime.framework.pipe.IPipeFactory;
+
+/**
+ * Creates {@link SpillingSynchedPipe}s. The capacity is the element budget of the in-memory queue.
+ *
+ * @since 3.1.1
+ */
+public final class SpillingSynchedPipeFactory implements IPipeFactory {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+	private static final int DEFAULT_SEGMENT_SIZE_IN_BYTES = 64 * 1024 * 1024;
+
+	private final ElementCodec<?> codec;
+	private final File directory;
+	private final long maxBytesInMemory;
+	private final int segmentSizeInBytes;
+
+	/**
+	 * Creates a factory without a byte budget and with a segment size of {@value #DEFAULT_SEGMENT_SIZE_IN_BYTES} bytes.
+	 */
+	public SpillingSynchedPipeFactory(final ElementCodec<?> codec, final File directory) {
+		this(codec, directory, 0, DEFAULT_SEGMENT_SIZE_IN_BYTES);
+	}
+
+	/**
+	 * @see SpillingSynchedPipe#SpillingSynchedPipe(OutputPort, InputPort, int, long, ElementCodec, File, int)
+	 */
+	public SpillingSynchedPipeFactory(final ElementCodec<?> codec, final File directory, final long maxBytesInMemory, final int segmentSizeInBytes) {
+		this.codec = codec;
+		this.directory = directory;
+		this.maxBytesInMemory = maxBytesInMemory;
+		this.segmentSizeInBytes = segmentSizeInBytes;
+	}
+
+	/**
+	 * Uses a default capacity of {@value #DEFAULT_CAPACITY}.
+	 */
+	@Override
+	public <T> IPipe<T> newPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort) {
+		return newPipe(sourcePort, targetPort, DEFAULT_CAPACITY);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> IPipe<T> newPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int capacity) {
+		return new SpillingSynchedPipe<>(sourcePort, targetPort, capacity, maxBytesInMemory, (ElementCodec<? super T>) codec, directory, segmentSizeInBytes);
+	}
+
+}
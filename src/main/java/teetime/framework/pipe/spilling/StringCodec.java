@@ -0,0 +1,51 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.spilling;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes a {@link String} in UTF-8.
+ *
+ * @since 3.1.1
+ */
+public final class StringCodec implements ElementCodec<String> {
+
+	public static final StringCodec INSTANCE = new StringCodec();
+
+	private StringCodec() {
+		// singleton instance
+	}
+
+	@Override
+	public void encode(final String element, final DataOutput output) throws IOException {
+		output.write(element.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public String decode(final ByteBuffer input) {
+		return StandardCharsets.UTF_8.decode(input).toString();
+	}
+
+	@Override
+	public int estimateSize(final String element) {
+		return element.length() * Character.BYTES;
+	}
+
+}
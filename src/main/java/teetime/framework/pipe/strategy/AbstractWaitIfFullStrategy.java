@@ -0,0 +1,102 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.strategy;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import teetime.framework.StageState;
+import teetime.framework.exceptionHandling.TerminateException;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Base class for all insertion strategies which wait until the pipe has a free slot again. It records how often and how long the pushing stage has waited.
+ * Subclasses only need to define how to wait in each round.
+ * <p>
+ * The statistics are also exact if the strategy is shared by multiple producers, e.g., by those of a {@link teetime.framework.pipe.MpscSynchedPipe}.
+ *
+ * @since 3.1.1
+ */
+public abstract class AbstractWaitIfFullStrategy implements PipeElementInsertionStrategy {
+
+	// statistics (only updated if a producer needs to wait, and possibly by multiple producers)
+	private final LongAdder numWaits = new LongAdder();
+	private final LongAdder waitingTimeInNs = new LongAdder();
+
+	@Override
+	public final void add(final IPipe<?> pipe, final Object element) {
+		if (pipe.addNonBlocking(element)) {
+			return;
+		}
+
+		final long startTimestamp = System.nanoTime(); // only measured if we need to wait
+		try {
+			int round = 0;
+			do {
+				awaitOnce(pipe, round++);
+			} while (!pipe.addNonBlocking(element));
+		} finally {
+			waitingTimeInNs.add(System.nanoTime() - startTimestamp);
+		}
+	}
+
+	@Override
+	public final boolean awaitFreeSlot(final IPipe<?> pipe) {
+		final long startTimestamp = System.nanoTime();
+		try {
+			int round = 0;
+			while (pipe.size() >= pipe.capacity()) {
+				awaitOnce(pipe, round++);
+			}
+		} finally {
+			waitingTimeInNs.add(System.nanoTime() - startTimestamp);
+		}
+		return true;
+	}
+
+	private void awaitOnce(final IPipe<?> pipe, final int round) {
+		StageState targetStageState = pipe.getTargetPort().getOwningStage().getCurrentState();
+		if (targetStageState == StageState.TERMINATED ||
+				Thread.currentThread().isInterrupted()) {
+			throw TerminateException.INSTANCE;
+		}
+		numWaits.increment();
+		await(pipe, round);
+	}
+
+	/**
+	 * Waits once for the given full pipe to become non-full again. This method may return early; the caller then simply retries.
+	 *
+	 * @param pipe
+	 *            which is currently full
+	 * @param round
+	 *            the number of previous (unsuccessful) waiting rounds for the current element, starting at <code>0</code>
+	 *
+	 * @throws TerminateException
+	 *             if the waiting thread was interrupted
+	 */
+	protected abstract void await(IPipe<?> pipe, int round);
+
+	@Override
+	public int getNumWaits() {
+		return numWaits.intValue();
+	}
+
+	@Override
+	public long getWaitingTimeInNs() {
+		return waitingTimeInNs.sum();
+	}
+
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.strategy;
+
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Spins until the pipe has a free slot again. Provides the lowest latency, but burns one core per waiting producer. Hence, only use this strategy if each
+ * stage thread has got its own core.
+ *
+ * @since 3.1.1
+ */
+public class BusySpinIfFullStrategy extends AbstractWaitIfFullStrategy {
+
+	@Override
+	protected void await(final IPipe<?> pipe, final int round) {
+		Thread.onSpinWait();
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package teetime.framework.pipe.strategy;
 
+import teetime.framework.StageState;
+import teetime.framework.exceptionHandling.TerminateException;
 import teetime.framework.pipe.IPipe;
 
 public interface PipeElementInsertionStrategy {
@@ -30,4 +32,59 @@ public interface PipeElementInsertionStrategy {
 	 *            to be added
 	 */
 	void add(IPipe<?> pipe, Object element);
+
+	/**
+	 * Waits until the given pipe, which is currently full, has a free slot again, without adding any element. In this way, a producer which adds a
+	 * batch of elements is able to add the remaining elements in one go. By default, it yields until the pipe has a free slot.
+	 *
+	 * @param pipe
+	 *            which is currently full
+	 *
+	 * @return <code>true</code> if the pipe has a free slot, or <code>false</code> if the caller should drop the next element instead of adding it
+	 *
+	 * @throws TerminateException
+	 *             if the consumer has terminated or if the waiting thread was interrupted
+	 *
+	 * @since 3.1.1
+	 */
+	default boolean awaitFreeSlot(final IPipe<?> pipe) {
+		while (pipe.size() >= pipe.capacity()) {
+			if (pipe.getTargetPort().getOwningStage().getCurrentState() == StageState.TERMINATED || Thread.currentThread().isInterrupted()) {
+				throw TerminateException.INSTANCE;
+			}
+			Thread.yield();
+		}
+		return true;
+	}
+
+	/**
+	 * Is called by the consumer of the given pipe after it has removed one or more elements. Strategies that block the producer can use this callback to wake it
+	 * up again.
+	 *
+	 * @param pipe
+	 *            from which the elements were removed
+	 *
+	 * @since 3.1.1
+	 */
+	default void onElementRemoved(final IPipe<?> pipe) {
+		// do nothing by default
+	}
+
+	/**
+	 * @return the number of pauses of the pushing stage
+	 *
+	 * @since 3.1.1
+	 */
+	default int getNumWaits() {
+		return 0;
+	}
+
+	/**
+	 * @return the accumulated time in nanoseconds the pushing stage has waited for a free slot
+	 *
+	 * @since 3.1.1
+	 */
+	default long getWaitingTimeInNs() {
+		return 0;
+	}
 }
@@ -24,4 +24,9 @@ public class SkipIfFullStrategy implements PipeElementInsertionStrategy {
 		pipe.addNonBlocking(element);
 	}
 
+	@Override
+	public boolean awaitFreeSlot(final IPipe<?> pipe) {
+		return false;
+	}
+
 }
@@ -0,0 +1,51 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.strategy;
+
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Spins for a given number of rounds and then yields the processor until the pipe has a free slot again.
+ *
+ * @since 3.1.1
+ */
+public class SpinYieldIfFullStrategy extends AbstractWaitIfFullStrategy {
+
+	private static final int DEFAULT_NUM_SPINS = 100;
+
+	private final int numSpins;
+
+	public SpinYieldIfFullStrategy() {
+		this(DEFAULT_NUM_SPINS);
+	}
+
+	public SpinYieldIfFullStrategy(final int numSpins) {
+		if (numSpins < 0) {
+			throw new IllegalArgumentException("numSpins may not be negative, but was " + numSpins);
+		}
+		this.numSpins = numSpins;
+	}
+
+	@Override
+	protected void await(final IPipe<?> pipe, final int round) {
+		if (round < numSpins) {
+			Thread.onSpinWait();
+		} else {
+			Thread.yield();
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.strategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Spins, then yields, and finally parks the producer until the pipe has a free slot again. The consumer unparks the producer as soon as it has drained the
+ * pipe to its low-water mark. In this way, the producer does not wake up for each single free slot.
+ * <p>
+ * A parked producer wakes up by itself after at most the given maximum park time. This bounds the waiting time in the rare case that the consumer misses the
+ * parking producer.
+ *
+ * @since 3.1.1
+ */
+public class SpinYieldParkIfFullStrategy extends AbstractWaitIfFullStrategy {
+
+	private static final int DEFAULT_NUM_SPINS = 100;
+	private static final int DEFAULT_NUM_YIELDS = 100;
+	private static final long DEFAULT_MAX_PARK_TIME_IN_NS = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final double DEFAULT_LOW_WATER_MARK_RATIO = 0.5;
+
+	private final int numSpins;
+	private final int numSpinsAndYields;
+	private final long maxParkTimeInNs;
+	private final double lowWaterMarkRatio;
+
+	private volatile Thread parkedProducer;
+
+	public SpinYieldParkIfFullStrategy() {
+		this(DEFAULT_NUM_SPINS, DEFAULT_NUM_YIELDS, DEFAULT_MAX_PARK_TIME_IN_NS, DEFAULT_LOW_WATER_MARK_RATIO);
+	}
+
+	/**
+	 * @param numSpins
+	 *            the number of rounds to spin before yielding
+	 * @param numYields
+	 *            the number of rounds to yield before parking
+	 * @param maxParkTimeInNs
+	 *            the maximum time a producer is parked at a time
+	 * @param lowWaterMarkRatio
+	 *            the fill level (relative to the pipe's capacity) at which the consumer unparks the producer; must be within (0,1)
+	 */
+	public SpinYieldParkIfFullStrategy(final int numSpins, final int numYields, final long maxParkTimeInNs, final double lowWaterMarkRatio) {
+		if (numSpins < 0 || numYields < 0) {
+			throw new IllegalArgumentException("numSpins and numYields may not be negative, but were " + numSpins + " and " + numYields);
+		}
+		if (maxParkTimeInNs <= 0) {
+			throw new IllegalArgumentException("maxParkTimeInNs must be positive, but was " + maxParkTimeInNs);
+		}
+		if (lowWaterMarkRatio <= 0 || lowWaterMarkRatio >= 1) {
+			throw new IllegalArgumentException("lowWaterMarkRatio must be within (0,1), but was " + lowWaterMarkRatio);
+		}
+		this.numSpins = numSpins;
+		this.numSpinsAndYields = numSpins + numYields;
+		this.maxParkTimeInNs = maxParkTimeInNs;
+		this.lowWaterMarkRatio = lowWaterMarkRatio;
+	}
+
+	@Override
+	protected void await(final IPipe<?> pipe, final int round) {
+		if (round < numSpins) {
+			Thread.onSpinWait();
+		} else if (round < numSpinsAndYields) {
+			Thread.yield();
+		} else {
+			parkedProducer = Thread.currentThread();
+			if (pipe.size() >= pipe.capacity()) { // re-check since the consumer could have drained the pipe in the meantime
+				LockSupport.parkNanos(this, maxParkTimeInNs);
+			}
+			parkedProducer = null;
+		}
+	}
+
+	@Override
+	public void onElementRemoved(final IPipe<?> pipe) {
+		final Thread producer = parkedProducer;
+		if (producer != null && pipe.size() <= pipe.capacity() * lowWaterMarkRatio) {
+			parkedProducer = null;
+			LockSupport.unpark(producer);
+		}
+	}
+
+}
@@ -15,21 +15,30 @@
  */
 package teetime.framework.scheduling;
 
-public class CountDownAndUpLatch {
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
-	// private final Phaser phaser = new Phaser();
+/**
+ * A counter which can be increased and decreased by any thread and which lets threads wait for it to become non-positive.
+ * <p>
+ * This implementation is lock-free: counting and reading the counter are single atomic operations, so that worker threads can poll
+ * {@link #getCurrentCount()} in their main loop without contending for a monitor. Waiting threads are parked and unparked as soon as the counter
+ * becomes zero.
+ *
+ * @author Christian Wulf (chw)
+ */
+public class CountDownAndUpLatch {
 
-	private final Object lock = new Object();
-	private int counter;
+	private final AtomicInteger counter = new AtomicInteger();
+	private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
 
 	/**
 	 * Increases the counter by 1 in a thread-safe manner.
 	 */
 	public void countUp() {
-		// phaser.register();
-		synchronized (lock) {
-			counter++;
-		}
+		counter.incrementAndGet();
 	}
 
 	/**
@@ -38,11 +47,9 @@ public class CountDownAndUpLatch {
 	 * Notifies all waiting threads if the counter becomes zero.
 	 */
 	public void countDown() {
-		// phaser.arriveAndDeregister();
-		synchronized (lock) {
-			counter--;
-			if (counter == 0) {
-				lock.notifyAll();
+		if (counter.decrementAndGet() == 0) {
+			for (Thread waiter : waiters) {
+				LockSupport.unpark(waiter);
 			}
 		}
 	}
@@ -53,19 +60,27 @@ public class CountDownAndUpLatch {
 	 * @throws InterruptedException
 	 */
 	public void await() throws InterruptedException {
-		// phaser.arriveAndAwaitAdvance();
-		synchronized (lock) {
-			while (counter > 0) {
-				lock.wait();
+		if (counter.get() <= 0) { // fast path
+			return;
+		}
+
+		final Thread currentThread = Thread.currentThread();
+		// register before re-checking the counter so that a concurrent countDown() cannot miss this thread
+		waiters.add(currentThread);
+		try {
+			while (counter.get() > 0) {
+				LockSupport.park(this);
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
 			}
+		} finally {
+			waiters.remove(currentThread);
 		}
 	}
 
 	public int getCurrentCount() {
-		// return phaser.getUnarrivedParties();
-		synchronized (lock) {
-			return counter;
-		}
+		return counter.get();
 	}
 
 }
@@ -16,6 +16,7 @@
 package teetime.framework.scheduling.globaltaskpool;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -41,10 +42,15 @@ class A3PipeInstantiation implements ITraverserVisitor {
 
 	private final PipeScheduler scheduler;
 	private final int requestedCapcity;
+	private final boolean bufferOnFullPipe;
+	private final Map<AbstractStage, StageQuantum> stageQuanta;
 
-	public A3PipeInstantiation(final PipeScheduler scheduler, final int requestedCapcity) {
+	public A3PipeInstantiation(final PipeScheduler scheduler, final int requestedCapcity, final boolean bufferOnFullPipe,
+			final Map<AbstractStage, StageQuantum> stageQuanta) {
 		this.scheduler = scheduler;
 		this.requestedCapcity = requestedCapcity;
+		this.bufferOnFullPipe = bufferOnFullPipe;
+		this.stageQuanta = stageQuanta;
 	}
 
 	@Override
@@ -77,8 +83,19 @@ class A3PipeInstantiation implements ITraverserVisitor {
 			return;
 		}
 
-		BoundedMpMcSynchedPipe<T> synchedPipe = new BoundedMpMcSynchedPipe<>(pipe.getSourcePort(), pipe.getTargetPort(), requestedCapcity);
+		StageQuantum targetQuantum = stageQuanta.get(pipe.getTargetPort().getOwningStage());
+		// the pipe should be able to hold the elements of at least two tasks of the target stage
+		int capacity = Math.max(requestedCapcity, 2 * targetQuantum.getMaxNumOfExecutions());
+
+		BoundedMpMcSynchedPipe<T> synchedPipe;
+		if (bufferOnFullPipe) {
+			synchedPipe = new BufferingMpMcSynchedPipe<>(pipe.getSourcePort(), pipe.getTargetPort(), capacity);
+			LOGGER.debug("Connected (buffering MpMc) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
+		} else {
+			synchedPipe = new BoundedMpMcSynchedPipe<>(pipe.getSourcePort(), pipe.getTargetPort(), capacity);
+			LOGGER.debug("Connected (bounded MpMc) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
+		}
+		synchedPipe.setTargetQuantum(targetQuantum);
 		synchedPipe.setScheduler(scheduler);
-		LOGGER.debug("Connected (bounded MpMc) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
 	}
 }
@@ -15,12 +15,16 @@
  */
 package teetime.framework.scheduling.globaltaskpool;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.jctools.queues.MpmcArrayQueue;
 
 import teetime.framework.InputPort;
 import teetime.framework.OutputPort;
 import teetime.framework.pipe.AbstractSynchedPipe;
 import teetime.framework.pipe.IMonitorablePipe;
+import teetime.util.framework.concurrent.queue.ListSupplier;
 
 /**
  *
@@ -32,10 +36,13 @@ import teetime.framework.pipe.IMonitorablePipe;
  */
 class BoundedMpMcSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMonitorablePipe {
 
-	private final MpmcArrayQueue<Object> queue;
+	/* default */ final MpmcArrayQueue<Object> queue;
+	/** reused by the producer for each batch */
+	private final ListSupplier<Object> batchSupplier = new ListSupplier<>();
 
 	private transient long lastProducerIndex;
 	private transient long lastConsumerIndex;
+	private StageQuantum targetQuantum = new StageQuantum(1);
 
 	public BoundedMpMcSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort,
 			final int requestedCapacity) {
@@ -56,6 +63,21 @@ class BoundedMpMcSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMonit
 		return this.queue.offer(element);
 	}
 
+	@Override
+	public void addBatch(final List<?> elements) {
+		batchSupplier.reset(elements);
+		int numRemainingElements = elements.size();
+		while (numRemainingElements > 0) {
+			int numAddedElements = queue.fill(batchSupplier, numRemainingElements);
+			if (numAddedElements == 0) {
+				getScheduler().onElementNotAdded(this);
+			}
+			numRemainingElements -= numAddedElements;
+		}
+		batchSupplier.reset(null);
+		getScheduler().onElementAdded(this);
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return this.queue.isEmpty();
@@ -71,6 +93,11 @@ class BoundedMpMcSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMonit
 		return this.queue.poll();
 	}
 
+	@Override
+	public int removeBatch(final Consumer<Object> consumer, final int maxElements) {
+		return this.queue.drain(consumer::accept, maxElements);
+	}
+
 	@Override
 	public int capacity() {
 		return this.queue.capacity();
@@ -107,6 +134,17 @@ class BoundedMpMcSynchedPipe<T> extends AbstractSynchedPipe<T> implements IMonit
 		this.lastProducerIndex = lastProducerIndex;
 	}
 
+	/**
+	 * @return the quantum of the target stage, which defines after how many new elements the target stage is scheduled
+	 */
+	public StageQuantum getTargetQuantum() {
+		return targetQuantum;
+	}
+
+	public void setTargetQuantum(final StageQuantum targetQuantum) {
+		this.targetQuantum = targetQuantum;
+	}
+
 	@Override
 	public int getNumWaits() {
 		return 0;
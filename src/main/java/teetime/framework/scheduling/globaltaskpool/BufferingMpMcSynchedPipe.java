@@ -0,0 +1,132 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.globaltaskpool;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+
+/**
+ * A {@link BoundedMpMcSynchedPipe} which does not block its producer on a full pipe. If the pipe is full, the element is buffered within the pipe
+ * and the scheduler is notified via {@link teetime.framework.scheduling.PipeScheduler#onElementNotAdded(teetime.framework.pipe.AbstractSynchedPipe)}
+ * so that the producer's task returns control after its current execution. The buffered elements are moved into the pipe by
+ * {@link #flushPendingElements()} as soon as the consumer has made room.
+ * <p>
+ * The buffer is bounded by the number of elements emitted by a single execution of the source stage: the scheduler lets the source stage
+ * return control after the execution which has filled the buffer, and executes it again only after all of its buffered elements have been moved
+ * into the pipe. Hence, a single execution may buffer more than {@link #capacity()} elements, but the producer's thread never waits for room.
+ * <p>
+ * The pipe preserves the order of the elements, since an element is only added directly if there are no pending elements. Only the producer can
+ * increase the number of pending elements. Hence, it requires at most one thread at a time executing the source stage.
+ *
+ * @param <T> the permitted type of the elements
+ *
+ * @since 3.1.1
+ */
+class BufferingMpMcSynchedPipe<T> extends BoundedMpMcSynchedPipe<T> {
+
+	/** (synchronized by itself) */
+	private final ArrayDeque<Object> pendingElements;
+	/** is only written while holding the lock of {@link #pendingElements} */
+	private volatile int numPendingElements;
+
+	public BufferingMpMcSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int requestedCapacity) {
+		super(sourcePort, targetPort, requestedCapacity);
+		this.pendingElements = new ArrayDeque<>(capacity());
+	}
+
+	@Override
+	public void add(final Object element) {
+		if (numPendingElements == 0 && queue.offer(element)) {
+			getScheduler().onElementAdded(this);
+			return;
+		}
+
+		addPendingElement(element);
+
+		if (numPendingElements > 0) {
+			getScheduler().onElementNotAdded(this);
+		} else {
+			getScheduler().onElementAdded(this);
+		}
+	}
+
+	@Override
+	public boolean addNonBlocking(final Object element) {
+		return numPendingElements == 0 && queue.offer(element);
+	}
+
+	@Override
+	public void addBatch(final List<?> elements) {
+		int numAddedElements = 0;
+		if (numPendingElements == 0) {
+			while (numAddedElements < elements.size() && queue.offer(elements.get(numAddedElements))) {
+				numAddedElements++;
+			}
+		}
+
+		for (int i = numAddedElements; i < elements.size(); i++) {
+			addPendingElement(elements.get(i));
+		}
+
+		if (numPendingElements > 0) {
+			getScheduler().onElementNotAdded(this);
+		} else {
+			getScheduler().onElementAdded(this);
+		}
+	}
+
+	private void addPendingElement(final Object element) {
+		synchronized (pendingElements) {
+			pendingElements.add(element);
+			flushPendingElementsLocked();
+		}
+	}
+
+	/**
+	 * Moves as many pending elements into the pipe as possible. This method is thread-safe.
+	 *
+	 * @return <code>true</code> if there are no more pending elements, otherwise <code>false</code>.
+	 */
+	public boolean flushPendingElements() {
+		if (numPendingElements == 0) {
+			return true;
+		}
+		synchronized (pendingElements) {
+			flushPendingElementsLocked();
+		}
+		return numPendingElements == 0;
+	}
+
+	private void flushPendingElementsLocked() {
+		Object element;
+		while ((element = pendingElements.peek()) != null && queue.offer(element)) {
+			pendingElements.poll();
+		}
+		numPendingElements = pendingElements.size();
+	}
+
+	public boolean hasPendingElements() {
+		return numPendingElements > 0;
+	}
+
+	public int getNumPendingElements() {
+		return numPendingElements;
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,13 +33,18 @@ import teetime.framework.AbstractStage;
 import teetime.framework.BreadthFirstTraverser;
 import teetime.framework.Configuration;
 import teetime.framework.ConfigurationFacade;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
 import teetime.framework.StageFacade;
+import teetime.framework.StageState;
 import teetime.framework.TeeTimeScheduler;
+import teetime.framework.TerminationStrategy;
 import teetime.framework.Traverser;
 import teetime.framework.exceptionHandling.AbstractExceptionListener;
 import teetime.framework.exceptionHandling.AbstractExceptionListenerFactory;
 import teetime.framework.pipe.AbstractSynchedPipe;
 import teetime.framework.pipe.AbstractUnsynchedPipe;
+import teetime.framework.pipe.IPipe;
 import teetime.framework.scheduling.CountDownAndUpLatch;
 import teetime.framework.scheduling.PipeScheduler;
 import teetime.framework.signal.StartingSignal;
@@ -50,6 +56,13 @@ import teetime.framework.validation.AnalysisNotValidException;
  * Multiple threads access this task pool concurrently.
  * At each moment in time, a particular stage is executed only by at most one thread.
  * Thus, a stage in combination with the task data structure acts as a lock for executing that stage.
+ * <p>
+ * By default, a thread which cannot add an element to a full pipe is paused and a backup thread continues with the next stage.
+ * If constructed with <code>bufferOnFullPipe</code>, the element is buffered instead and the stage returns control to its thread.
+ * <p>
+ * Infinite producers are scheduled like finite ones, i.e., they are executed for <code>numOfExecutions</code> times per task and are then put
+ * back into the pool behind the consumers. They run until all finite producers have terminated or, if there are none, until the execution is
+ * aborted. Note that an infinite producer which blocks within its execution (e.g., on a socket) occupies a thread meanwhile.
  *
  * @author Christian Wulf (chw)
  *
@@ -65,6 +78,8 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 
 	/** (synchronized) */
 	private final List<AbstractStage> finiteProducerStages = Collections.synchronizedList(new LinkedList<>());
+	/** (synchronized) */
+	private final List<AbstractStage> infiniteProducerStages = Collections.synchronizedList(new LinkedList<>());
 	/** Contains all stages which have no predecessors or only terminated predecessors (synchronized) */
 	private final Set<AbstractStage> frontStages = ConcurrentHashMap.newKeySet();
 
@@ -78,12 +93,19 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 	/** the number of execution per scheduled stage (always a power of two) */
 	private final int actualNumOfExecutions;
 	private final int numOfExecutionsMask;
+	/** the quantum of each stage; contains only requested quanta before the initialization */
+	private final Map<AbstractStage, StageQuantum> stageQuanta = new ConcurrentHashMap<>();
+	/** the bounds of all stages without requested quanta (<code>null</code> if not adaptive) */
+	private StageQuantum defaultAdaptiveQuantum;
 	/** the configuration to execute/schedule */
 	private final Configuration configuration;
 	/** Holds all threads which are used to execute the stages */
 	private final List<TeeTimeTaskQueueThreadChw> regularThreads = new ArrayList<>();
 	private final CountDownAndUpLatch numRunningStages = new CountDownAndUpLatch();
+	private final CountDownAndUpLatch numRunningFiniteProducers = new CountDownAndUpLatch();
 	private final List<TeeTimeTaskQueueThreadChw> backupThreads = Collections.synchronizedList(new ArrayList<>());
+	/** whether a stage buffers its elements on a full pipe instead of pausing its thread */
+	private final boolean bufferOnFullPipe;
 	private Set<AbstractStage> allStages;
 
 	/**
@@ -105,8 +127,27 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 	 *            the number of execution per scheduled stage (task) for a thread. Is rounded up to the next power of 2, i.e., <code>1,2,4,16,...</code>
 	 */
 	public GlobalTaskPoolScheduling(final int numThreads, final Configuration configuration, final int numOfExecutions) {
+		this(numThreads, configuration, numOfExecutions, false);
+	}
+
+	/**
+	 * @param numThreads
+	 *            the number of threads to use for executing the given P&amp;F configuration
+	 * @param configuration
+	 *            the configuration to execute/schedule
+	 * @param numOfExecutions
+	 *            the number of execution per scheduled stage (task) for a thread. Is rounded up to the next power of 2, i.e., <code>1,2,4,16,...</code>
+	 * @param bufferOnFullPipe
+	 *            if <code>true</code>, a stage which cannot emit an element due to a full pipe buffers the element within the pipe and returns control
+	 *            to its thread. The stage is scheduled again as soon as its successor has drained the pipe. Hence, no backup threads are required.
+	 *            If <code>false</code>, the thread is paused and one of up to <code>#stages-1</code> backup threads continues instead.
+	 *
+	 * @since 3.1.1
+	 */
+	public GlobalTaskPoolScheduling(final int numThreads, final Configuration configuration, final int numOfExecutions, final boolean bufferOnFullPipe) {
 		this.numThreads = numThreads;
 		this.configuration = configuration;
+		this.bufferOnFullPipe = bufferOnFullPipe;
 		if (numOfExecutions <= 0) {
 			throw new IllegalArgumentException("numOfExecutions is " + numOfExecutions + ", but must have a positive value.");
 		}
@@ -127,6 +168,9 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 		initialize(startStages);
 
 		initializeThreads(numThreads, regularThreads, "regular");
+		if (bufferOnFullPipe) {
+			return; // stages never pause their thread
+		}
 		// We need at most n-1 backup threads.
 		// Consider the situation where all consumers are slower than their producers.
 		// Then, all stages but sinks are paused.
@@ -138,7 +182,7 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 		final AbstractExceptionListenerFactory<?> factory = ConfigurationFacade.INSTANCE.getFactory(configuration);
 
 		for (int i = 0; i < size; i++) {
-			TeeTimeTaskQueueThreadChw backupThread = new TeeTimeTaskQueueThreadChw(this, actualNumOfExecutions);
+			TeeTimeTaskQueueThreadChw backupThread = new TeeTimeTaskQueueThreadChw(this);
 			backupThread.setName(backupThread.getName() + "-" + threadNameSuffix);
 			AbstractExceptionListener listener = factory.createInstance(backupThread);
 			backupThread.setExceptionListener(listener);
@@ -166,9 +210,10 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 		for (AbstractStage stage : allStages) {
 			categorizeStage(stage);
 			setScheduler(stage);
+			initializeQuantum(stage);
 		}
 
-		if (finiteProducerStages.isEmpty()) {
+		if (finiteProducerStages.isEmpty() && infiniteProducerStages.isEmpty()) {
 			throw new IllegalStateException("1004 - No producer stages in this configuration.");
 		}
 
@@ -178,6 +223,9 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 		for (AbstractStage startStage : finiteProducerStages) {
 			traversor.traverse(startStage);
 		}
+		for (AbstractStage startStage : infiniteProducerStages) {
+			traversor.traverse(startStage);
+		}
 
 		final int capacity = numRunningStages.getCurrentCount();
 		taskPool = new PrioritizedTaskPool(levelIndexVisitor.getMaxLevelIndex() + 1, capacity);
@@ -185,21 +233,94 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 
 		// instantiate pipes
 		int requestPipeCapcity = actualNumOfExecutions * 128; // with additional buffer factor
-		A3PipeInstantiation pipeVisitor = new A3PipeInstantiation(this, requestPipeCapcity);
+		A3PipeInstantiation pipeVisitor = new A3PipeInstantiation(this, requestPipeCapcity, bufferOnFullPipe, stageQuanta);
 		traversor = new Traverser(pipeVisitor);
 		for (AbstractStage startStage : startStages) {
 			traversor.traverse(startStage);
 		}
 	}
 
+	private void initializeQuantum(final AbstractStage stage) {
+		if (stageQuanta.containsKey(stage)) {
+			return; // requested by the user
+		}
+
+		StageQuantum quantum;
+		if (defaultAdaptiveQuantum == null) {
+			quantum = new StageQuantum(actualNumOfExecutions);
+		} else {
+			quantum = new StageQuantum(defaultAdaptiveQuantum.getMinNumOfExecutions(), defaultAdaptiveQuantum.getMaxNumOfExecutions(),
+					defaultAdaptiveQuantum.getTargetTaskDurationInNs());
+		}
+		stageQuanta.put(stage, quantum);
+	}
+
+	/**
+	 * Lets each stage tune its number of executions per task (its quantum) within the given bounds such that a task takes about the given duration.
+	 * A stage's quantum also grows if its input pipes fill up. Must be called before the execution is created.
+	 *
+	 * @param minNumOfExecutions
+	 *            the lower bound of the quantum
+	 * @param maxNumOfExecutions
+	 *            the upper bound of the quantum, which bounds the latency
+	 * @param targetTaskDurationInNs
+	 *            how long a task should take
+	 *
+	 * @since 3.1.1
+	 */
+	public void enableAdaptiveQuantum(final int minNumOfExecutions, final int maxNumOfExecutions, final long targetTaskDurationInNs) {
+		checkNotInitialized();
+		defaultAdaptiveQuantum = new StageQuantum(minNumOfExecutions, maxNumOfExecutions, targetTaskDurationInNs);
+	}
+
+	/**
+	 * Sets the bounds of the quantum of the given stage. If both bounds are equal, the stage always uses this quantum.
+	 * Must be called before the execution is created.
+	 *
+	 * @param targetTaskDurationInNs
+	 *            how long a task of this stage should take (is ignored if both bounds are equal)
+	 *
+	 * @see #enableAdaptiveQuantum(int, int, long)
+	 *
+	 * @since 3.1.1
+	 */
+	public void setQuantumBounds(final AbstractStage stage, final int minNumOfExecutions, final int maxNumOfExecutions,
+			final long targetTaskDurationInNs) {
+		checkNotInitialized();
+		stageQuanta.put(stage, new StageQuantum(minNumOfExecutions, maxNumOfExecutions, targetTaskDurationInNs));
+	}
+
+	private void checkNotInitialized() {
+		if (taskPool != null) {
+			throw new IllegalStateException("The quantum can only be configured before the execution is created.");
+		}
+	}
+
+	/* default */ StageQuantum getStageQuantum(final AbstractStage stage) {
+		return stageQuanta.get(stage);
+	}
+
+	/**
+	 * @return the current number of executions per task of the given stage
+	 *
+	 * @since 3.1.1
+	 */
+	public int getNumOfExecutions(final AbstractStage stage) {
+		return stageQuanta.get(stage).getNumOfExecutions();
+	}
+
 	private void categorizeStage(final AbstractStage stage) {
 		switch (STAGE_FACADE.getTerminationStrategy(stage)) {
 		case BY_INTERRUPT:
-			throw new IllegalStateException("Infinite producers are not supported by this scheduling strategy.");
+			infiniteProducerStages.add(stage);
+			frontStages.add(stage);
+			numRunningStages.countUp();
+			break;
 		case BY_SELF_DECISION:
 			finiteProducerStages.add(stage);
 			frontStages.add(stage);
 			numRunningStages.countUp();
+			numRunningFiniteProducers.countUp();
 			break;
 		case BY_SIGNAL:
 			numRunningStages.countUp();
@@ -249,14 +370,43 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 	@Override
 	public void onTerminate() {
 		synchronized (frontStages) {
-			for (AbstractStage finiteProducerStage : frontStages) {
-				STAGE_FACADE.abort(finiteProducerStage);
+			for (AbstractStage frontStage : frontStages) {
+				abortStage(frontStage);
 			}
 		}
 	}
 
+	/**
+	 * Marks the given stage as terminating and interrupts its thread if the stage is currently being executed.
+	 * Afterwards, schedules the stage so that a thread performs its termination.
+	 */
+	private void abortStage(final AbstractStage stage) {
+		synchronized (stage) { // prevents interrupting a thread which has already switched to another stage
+			STAGE_FACADE.abort(stage);
+		}
+		if (!taskPool.scheduleStage(stage)) {
+			throw new IllegalStateException(String.format("(abortStage) Scheduling failed for %s", stage));
+		}
+	}
+
 	@Override
 	public void onFinish() {
+		// infinite producers run until all finite producers have terminated.
+		// If there are no finite producers, they run until the execution is aborted.
+		if (!finiteProducerStages.isEmpty() && !infiniteProducerStages.isEmpty()) {
+			try {
+				numRunningFiniteProducers.await();
+			} catch (InterruptedException e) {
+				LOGGER.warn("Interrupted execution.", e);
+			}
+			LOGGER.debug("Aborting infinite producers...");
+			synchronized (infiniteProducerStages) {
+				for (AbstractStage infiniteProducerStage : infiniteProducerStages) {
+					abortStage(infiniteProducerStage);
+				}
+			}
+		}
+
 		try {
 			numRunningStages.await();
 			LOGGER.debug("Finished execution.");
@@ -311,6 +461,15 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 		return finiteProducerStages;
 	}
 
+	/**
+	 * @return a thread-safe list
+	 *
+	 * @since 3.1.1
+	 */
+	public List<AbstractStage> getInfiniteProducerStages() {
+		return infiniteProducerStages;
+	}
+
 	/**
 	 * @return a thread-safe set
 	 */
@@ -330,6 +489,16 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 		return numRunningStages;
 	}
 
+	/**
+	 * Is called by a thread after it has terminated the given stage.
+	 */
+	/* default */ void onAfterTermination(final AbstractStage stage) {
+		if (STAGE_FACADE.getTerminationStrategy(stage) == TerminationStrategy.BY_SELF_DECISION) {
+			numRunningFiniteProducers.countDown();
+		}
+		numRunningStages.countDown();
+	}
+
 	@Override
 	public void onElementAdded(final AbstractUnsynchedPipe<?> pipe) {
 		String message = String.format("This scheduler does not allow unsynched pipes: %s", pipe);
@@ -343,11 +512,11 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 		long lastNumPushes = castedPipe.getLastProducerIndex();
 		// performance optimization: & represents % (modulo)
 		// if ((numPushes & numOfExecutionsMask) != 0) {
-		if (numPushes - lastNumPushes >= actualNumOfExecutions) {
+		if (numPushes - lastNumPushes >= castedPipe.getTargetQuantum().getNumOfExecutions()) {
 			castedPipe.setLastProducerIndex(numPushes);
 			AbstractStage targetStage = pipe.getCachedTargetStage();
 			// We do not schedule the target stage on each incoming element.
-			// Instead, we schedule it after adding 'actualNumOfExecutions' elements.
+			// Instead, we schedule it after adding as many elements as the target stage executes per task.
 			if (!taskPool.scheduleStage(targetStage)) {
 				String message = String.format("Could not schedule %s; pool=%s", targetStage, taskPool);
 				throw new IllegalStateException(message);
@@ -361,6 +530,11 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 			throw new IllegalStateException(String.format("onElementNotAdded: scheduling target stage failed for %s", pipe.getCachedTargetStage()));
 		}
 
+		if (bufferOnFullPipe) {
+			// the element has been buffered; the target stage reschedules the source stage after draining the pipe
+			return;
+		}
+
 		AbstractStage owningStage = pipe.getSourcePort().getOwningStage();
 		LoggerFactory.getLogger(owningStage.getClass()).debug("Yielding {} cause of the full pipe {}", owningStage, this);
 		this.yieldStage(owningStage);
@@ -394,6 +568,59 @@ public class GlobalTaskPoolScheduling implements TeeTimeScheduler, PipeScheduler
 		LOGGER.debug("Continue with {}", stage);
 	}
 
+	/* default */ boolean isBufferOnFullPipe() {
+		return bufferOnFullPipe;
+	}
+
+	/**
+	 * @return <code>true</code> if at least one output pipe of the given stage still holds buffered elements
+	 */
+	/* default */ boolean hasPendingOutput(final AbstractStage stage) {
+		for (OutputPort<?> outputPort : STAGE_FACADE.getOutputPorts(stage)) {
+			IPipe<?> pipe = outputPort.getPipe();
+			if (pipe instanceof BufferingMpMcSynchedPipe && ((BufferingMpMcSynchedPipe<?>) pipe).hasPendingElements()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves the buffered elements of all output pipes of the given stage into the pipes, as far as possible.
+	 *
+	 * @return <code>true</code> if no output pipe holds buffered elements anymore
+	 */
+	/* default */ boolean flushPendingOutput(final AbstractStage stage) {
+		boolean flushed = true;
+		for (OutputPort<?> outputPort : STAGE_FACADE.getOutputPorts(stage)) {
+			IPipe<?> pipe = outputPort.getPipe();
+			if (pipe instanceof BufferingMpMcSynchedPipe) {
+				flushed &= ((BufferingMpMcSynchedPipe<?>) pipe).flushPendingElements();
+			}
+		}
+		return flushed;
+	}
+
+	/**
+	 * Moves the buffered elements of all input pipes of the given stage into the pipes, as far as possible.
+	 * Schedules each source stage whose pipe has been completely drained so that it continues emitting elements. This includes a source stage
+	 * which is about to terminate, e.g., due to an abort, so that a thread performs its termination.
+	 */
+	/* default */ void flushPendingInput(final AbstractStage stage) {
+		for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(stage)) {
+			IPipe<?> pipe = inputPort.getPipe();
+			if (pipe instanceof BufferingMpMcSynchedPipe) {
+				BufferingMpMcSynchedPipe<?> bufferingPipe = (BufferingMpMcSynchedPipe<?>) pipe;
+				if (bufferingPipe.hasPendingElements() && bufferingPipe.flushPendingElements()) {
+					AbstractStage sourceStage = pipe.getSourcePort().getOwningStage();
+					if (sourceStage.getCurrentState() != StageState.TERMINATED && !taskPool.scheduleStage(sourceStage)) {
+						throw new IllegalStateException(String.format("(flushPendingInput) Scheduling source stage failed for %s", sourceStage));
+					}
+				}
+			}
+		}
+	}
+
 	private TeeTimeTaskQueueThreadChw getCurrentThread() {
 		return (TeeTimeTaskQueueThreadChw) Thread.currentThread();
 	}
@@ -15,12 +15,10 @@
  */
 package teetime.framework.scheduling.globaltaskpool;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Queue;
-import java.util.Set;
 
-import org.jctools.maps.NonBlockingHashSet;
 import org.jctools.queues.MpmcArrayQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +30,10 @@ import teetime.framework.StageFacade;
  * Represents a task pool whose tasks are stages and categorized into levels.
  * A thread searches for the next task in the task pool starting at the deepest level and traversing up to the highest level, i.e., the root.
  * A stage at the deepest level has no output ports.
+ * <p>
+ * Each stage carries an atomic <i>scheduled</i> flag which ensures that a stage is not added more than once.
+ * A bitmap marks all non-empty levels so that the next non-empty level is found in O(1) per 64 levels.
+ * Hence, both scheduling and removing a stage require only a constant number of CAS operations.
  */
 class PrioritizedTaskPool implements ScheduleQueue {
 
@@ -39,11 +41,12 @@ class PrioritizedTaskPool implements ScheduleQueue {
 	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
 	private static final int CAPACITY = 128;
 
+	private static final VarHandle BITMAP = MethodHandles.arrayElementVarHandle(long[].class);
+
 	/** contains the stages categorized by their levels */
-	private final List<Queue<AbstractStage>> levels;
-	/** ensures that each stage is not added more than once */
-	// private final Set<AbstractStage> addedStages = ConcurrentHashMap.newKeySet();
-	private final Set<AbstractStage> addedStages = new NonBlockingHashSet<>();
+	private final MpmcArrayQueue<AbstractStage>[] levels;
+	/** bit <code>i</code> is set if level <code>i</code> is potentially non-empty (accessed via {@link #BITMAP}) */
+	private final long[] nonEmptyLevels;
 
 	/**
 	 * Creates a task pool with a default capacity of {@value #CAPACITY} for each level.
@@ -62,25 +65,27 @@ class PrioritizedTaskPool implements ScheduleQueue {
 	 * @param capacity
 	 *            of each level
 	 */
+	@SuppressWarnings("unchecked")
 	public PrioritizedTaskPool(final int numLevels, final int capacity) {
-		levels = new ArrayList<>(numLevels);
+		levels = (MpmcArrayQueue<AbstractStage>[]) new MpmcArrayQueue<?>[numLevels];
 		for (int i = 0; i < numLevels; i++) {
-			levels.add(new MpmcArrayQueue<>(capacity)); // NOPMD (initialization)
+			levels[i] = new MpmcArrayQueue<>(capacity); // NOPMD (initialization)
 		}
+		nonEmptyLevels = new long[(numLevels + Long.SIZE - 1) / Long.SIZE];
 	}
 
 	@Override
 	public boolean scheduleStage(final AbstractStage stage) {
-		if (!addedStages.add(stage)) {
-			return true;
+		if (!stage.compareAndSetScheduled(true)) {
+			return true; // already contained
 		}
 
 		int levelIndex = STAGE_FACADE.getLevelIndex(stage);
-		Queue<AbstractStage> stages = levels.get(levelIndex);
+		Queue<AbstractStage> stages = levels[levelIndex];
 
 		boolean offered = stages.offer(stage);
 		if (!offered) {
-			addedStages.remove(stage);
+			stage.compareAndSetScheduled(false);
 
 			Object peekElement = stages.peek();
 			String message = String.format("(scheduleStage) Full level %s (size=%s/%s) with first element %s", levelIndex, stages.size(),
@@ -91,47 +96,65 @@ class PrioritizedTaskPool implements ScheduleQueue {
 			throw new IllegalStateException(message);
 		}
 
+		markNonEmpty(levelIndex);
+
 		return offered;
 	}
 
 	@Override
 	public AbstractStage removeNextStage() {
-		return removeNextStage(levels.size() - 1);
+		return removeNextStage(levels.length - 1);
 	}
 
 	public AbstractStage removeNextStage(final int deepestStartLevel) {
-		// TODO requires O(n) so far. Try to improve.
-		// => find non-empty lowest level in O(1)
-		// corresponding ticket: https://build.se.informatik.uni-kiel.de/teetime/teetime/issues/343
-		for (int i = deepestStartLevel; i >= 0; i--) {
-			Queue<AbstractStage> stages = levels.get(i);
-			AbstractStage stage = stages.poll();
-			// (only) read next stage with work
-			if (null != stage) {
-				// TODO possible alternative implementation: AbstractStage.getExecutingThread().compareAndSet()
-				// ensure no other thread is executing the stage at this moment (this is our lock condition)
-				// boolean notAlreadyContained = executingStages.add(stage);
-				// if (/* stage.isStateless() || */ notAlreadyContained) {
-				// return stages.poll(); // NOPMD (two returns in method)
-				// }
-
-				// AtomicInteger numSchedules = numSchedulesByStage.get(stage);
-				// numSchedules.decrementAndGet();
-
-				// the stage cannot be re-added to this pool until the following call 'remove' has finished
-				addedStages.remove(stage);
-
-				return stage;
+		for (int wordIndex = deepestStartLevel / Long.SIZE; wordIndex >= 0; wordIndex--) {
+			long word = (long) BITMAP.getVolatile(nonEmptyLevels, wordIndex);
+			if (wordIndex == deepestStartLevel / Long.SIZE) {
+				word &= -1L >>> (Long.SIZE - 1 - (deepestStartLevel % Long.SIZE)); // ignore deeper levels
+			}
+
+			while (word != 0) {
+				int bitIndex = Long.SIZE - 1 - Long.numberOfLeadingZeros(word);
+				int levelIndex = wordIndex * Long.SIZE + bitIndex;
+
+				AbstractStage stage = levels[levelIndex].poll();
+				// (only) read next stage with work
+				if (null != stage) {
+					// the stage cannot be re-added to this pool until its flag is reset
+					stage.compareAndSetScheduled(false);
+					return stage;
+				}
+
+				markEmpty(levelIndex);
+				word &= ~(1L << bitIndex);
 			}
 		}
 		return null;
 	}
 
+	private void markNonEmpty(final int levelIndex) {
+		final int wordIndex = levelIndex / Long.SIZE;
+		final long bit = 1L << (levelIndex % Long.SIZE);
+		if (((long) BITMAP.getVolatile(nonEmptyLevels, wordIndex) & bit) == 0) { // avoid the atomic operation if already set
+			BITMAP.getAndBitwiseOr(nonEmptyLevels, wordIndex, bit);
+		}
+	}
+
+	private void markEmpty(final int levelIndex) {
+		final int wordIndex = levelIndex / Long.SIZE;
+		final long bit = 1L << (levelIndex % Long.SIZE);
+		BITMAP.getAndBitwiseAnd(nonEmptyLevels, wordIndex, ~bit);
+		// a concurrent producer could have added a stage before we have cleared its bit
+		if (!levels[levelIndex].isEmpty()) {
+			markNonEmpty(levelIndex);
+		}
+	}
+
 	@Override
 	public String toString() { // IMPORTANT: do not manipulate the level queues in this method
 		int sumSizes = 0;
-		for (int i = levels.size() - 1; i >= 0; i--) {
-			Queue<AbstractStage> stages = levels.get(i);
+		for (int i = levels.length - 1; i >= 0; i--) {
+			Queue<AbstractStage> stages = levels[i];
 			sumSizes += stages.size();
 		}
 		return super.toString() + "[" + "size=" + sumSizes + "]";
@@ -0,0 +1,111 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.globaltaskpool;
+
+/**
+ * Holds the number of executions per task (the quantum) of a single stage.
+ * <p>
+ * If the lower and the upper bound differ, the quantum is tuned after each task such that a task takes about the target duration.
+ * For this purpose, it tracks the average execution time of the stage. Moreover, the quantum grows faster if the input pipes of the stage fill up.
+ * Hence, cheap stages get large quanta which reduces the scheduling overhead, while expensive stages get small quanta which bounds the latency.
+ * <p>
+ * The quantum is updated only by the thread which currently executes the stage, but it can be read by any thread.
+ *
+ * @since 3.1.1
+ */
+class StageQuantum {
+
+	/** the fill level in percent from which on the quantum is at least doubled */
+	private static final int HIGH_FILL_LEVEL = 75;
+
+	private final int minNumOfExecutions;
+	private final int maxNumOfExecutions;
+	private final long targetTaskDurationInNs;
+
+	private volatile int numOfExecutions;
+	/** exponentially weighted moving average (only accessed by the executing thread) */
+	private long avgExecutionTimeInNs;
+
+	/**
+	 * Creates a fixed quantum.
+	 */
+	public StageQuantum(final int numOfExecutions) {
+		this(numOfExecutions, numOfExecutions, 0);
+	}
+
+	public StageQuantum(final int minNumOfExecutions, final int maxNumOfExecutions, final long targetTaskDurationInNs) {
+		if (minNumOfExecutions <= 0 || maxNumOfExecutions < minNumOfExecutions) {
+			throw new IllegalArgumentException(
+					String.format("Invalid bounds: min=%d, max=%d. Expected 0 < min <= max.", minNumOfExecutions, maxNumOfExecutions));
+		}
+		this.minNumOfExecutions = minNumOfExecutions;
+		this.maxNumOfExecutions = maxNumOfExecutions;
+		this.targetTaskDurationInNs = targetTaskDurationInNs;
+		this.numOfExecutions = minNumOfExecutions;
+	}
+
+	public int getNumOfExecutions() {
+		return numOfExecutions;
+	}
+
+	public boolean isAdaptive() {
+		return minNumOfExecutions < maxNumOfExecutions;
+	}
+
+	/**
+	 * @param numExecutions
+	 *            the number of executions of the last task
+	 * @param durationInNs
+	 *            the duration of the last task
+	 * @param inputFillLevel
+	 *            the highest fill level of the stage's input pipes in percent
+	 */
+	public void update(final int numExecutions, final long durationInNs, final int inputFillLevel) {
+		if (!isAdaptive() || numExecutions <= 0) {
+			return;
+		}
+
+		final long sample = durationInNs / numExecutions;
+		if (avgExecutionTimeInNs == 0) {
+			avgExecutionTimeInNs = sample;
+		} else {
+			avgExecutionTimeInNs += (sample - avgExecutionTimeInNs) >> 2;
+		}
+
+		long newNumOfExecutions = targetTaskDurationInNs / Math.max(1, avgExecutionTimeInNs);
+		if (inputFillLevel >= HIGH_FILL_LEVEL) {
+			newNumOfExecutions = Math.max(newNumOfExecutions, 2L * numOfExecutions);
+		}
+		numOfExecutions = (int) Math.min(maxNumOfExecutions, Math.max(minNumOfExecutions, newNumOfExecutions));
+	}
+
+	public int getMinNumOfExecutions() {
+		return minNumOfExecutions;
+	}
+
+	public int getMaxNumOfExecutions() {
+		return maxNumOfExecutions;
+	}
+
+	public long getTargetTaskDurationInNs() {
+		return targetTaskDurationInNs;
+	}
+
+	long getAvgExecutionTimeInNs() {
+		return avgExecutionTimeInNs;
+	}
+
+}
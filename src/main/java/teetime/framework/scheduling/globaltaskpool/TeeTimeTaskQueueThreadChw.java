@@ -27,6 +27,7 @@ import teetime.framework.OutputPort;
 import teetime.framework.StageFacade;
 import teetime.framework.StageState;
 import teetime.framework.exceptionHandling.AbstractExceptionListener;
+import teetime.framework.pipe.IPipe;
 import teetime.framework.scheduling.CountDownAndUpLatch;
 import teetime.framework.signal.ISignal;
 import teetime.framework.signal.TerminatingSignal;
@@ -37,16 +38,14 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
 
 	private final GlobalTaskPoolScheduling scheduling;
-	private final int numOfExecutions;
 	private final Semaphore runtimePermission = new Semaphore(0);
 
 	private AbstractStage lastStage;
 	private AbstractExceptionListener listener;
 
-	public TeeTimeTaskQueueThreadChw(final GlobalTaskPoolScheduling scheduling, final int numOfExecutions) {
+	public TeeTimeTaskQueueThreadChw(final GlobalTaskPoolScheduling scheduling) {
 		super();
 		this.scheduling = scheduling;
-		this.numOfExecutions = numOfExecutions;
 	}
 
 	@Override
@@ -90,17 +89,19 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 				LOGGER.debug("{} is being executed. Trying another stage...", stage);
 			}
 
-			// process next stage (potentially across the current level index)
-			// without re-adding the current stage in order to prevent re-executing this
-			// stage again
-			processNextStage(taskPool); // recursive call
+			// process the next stage (potentially across the current level index) instead.
+			// Remove it before re-adding the busy stage in order to not get the busy stage again.
+			final AbstractStage busyStage = stage;
+			stage = taskPool.removeNextStage();
+			reAddStage(taskPool, busyStage);
 
-			// re-add stage
-			if (!taskPool.scheduleStage(stage)) {
-				throw new IllegalStateException(
-						String.format("(processNextStage) Re-scheduling failed for paused %s", stage));
+			if (stage == null) {
+				return;
+			}
+			if (!scheduling.setIsBeingExecuted(stage, true)) {
+				reAddStage(taskPool, stage);
+				return;
 			}
-			return;
 		}
 
 		if (lastStage != stage) { // NOPMD must test for identity, for debugging purposes only
@@ -115,8 +116,9 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 			scheduling.continueStage(stage);
 		} else {
 			try {
-				// do nothing if the stage is about to terminate or has already been terminated
-				if (stage.getCurrentState().isAfter(StageState.STARTED)) {
+				// do nothing if the stage has already been terminated.
+				// A stage which is about to terminate (e.g., due to an abort) is executed once more to perform its termination.
+				if (stage.getCurrentState() == StageState.TERMINATED) {
 					LOGGER.trace("Skipped execution since the stage is terminating: {}", stage);
 					// throw new IllegalStateException();
 					return;
@@ -127,6 +129,13 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 					String message = String.format("%s vs. %s", owningThread, Thread.currentThread());
 					throw new IllegalStateException(message);
 				}
+				// a terminating stage is executed nevertheless, since its terminate element is queued behind its pending output
+				if (scheduling.isBufferOnFullPipe() && !scheduling.flushPendingOutput(stage) && !STAGE_FACADE.shouldBeTerminated(stage)) {
+					// the stage can still not emit; its successor reschedules it after draining the pipe
+					LOGGER.trace("Skipped execution since the stage has pending output: {}", stage);
+					return;
+				}
+
 				scheduling.setOwningThreadSynced(stage, this);
 
 				try {
@@ -135,6 +144,8 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 					reschedule(stage);
 				} finally {
 					scheduling.setOwningThreadSynced(stage, null);
+					// clear a potential interrupt of an aborted stage so that it does not affect the next stage
+					Thread.interrupted(); // NOPMD
 				}
 			} finally {
 				scheduling.setIsBeingExecuted(stage, false);
@@ -143,13 +154,40 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 
 	}
 
+	private void reAddStage(final PrioritizedTaskPool taskPool, final AbstractStage stage) {
+		if (!taskPool.scheduleStage(stage)) {
+			throw new IllegalStateException(String.format("(processNextStage) Re-scheduling failed for busy %s", stage));
+		}
+	}
+
 	private void executeStage(final AbstractStage stage) {
 		if (LOGGER.isTraceEnabled()) {
 			LOGGER.trace("Executing {}", stage);
 		}
 
 		STAGE_FACADE.setExceptionHandler(stage, listener); // FIXME do not set it on each execution
-		STAGE_FACADE.runStage(stage, numOfExecutions);
+
+		final StageQuantum quantum = scheduling.getStageQuantum(stage);
+		final int numOfExecutions = quantum.getNumOfExecutions();
+		final long startTimeInNs = quantum.isAdaptive() ? System.nanoTime() : 0;
+
+		int numExecuted = numOfExecutions;
+		if (scheduling.isBufferOnFullPipe()) {
+			// return control as soon as the stage cannot emit anymore
+			for (numExecuted = 0; numExecuted < numOfExecutions;) {
+				STAGE_FACADE.runStage(stage, 1);
+				numExecuted++;
+				if (STAGE_FACADE.shouldBeTerminated(stage) || scheduling.hasPendingOutput(stage)) {
+					break;
+				}
+			}
+		} else {
+			STAGE_FACADE.runStage(stage, numOfExecutions);
+		}
+
+		if (quantum.isAdaptive()) {
+			quantum.update(numExecuted, System.nanoTime() - startTimeInNs, getInputFillLevel(stage));
+		}
 
 		if (STAGE_FACADE.shouldBeTerminated(stage)) {
 			// LOGGER.info("TERMINATING {}", stage);
@@ -168,7 +206,7 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 
 			scheduleSuccessorStages(stage);
 
-			scheduling.getNumRunningStages().countDown();
+			scheduling.onAfterTermination(stage);
 		}
 
 		if (LOGGER.isTraceEnabled()) {
@@ -176,6 +214,20 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 		}
 	}
 
+	/**
+	 * @return the highest fill level of the given stage's input pipes in percent
+	 */
+	private int getInputFillLevel(final AbstractStage stage) {
+		int fillLevel = 0;
+		for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(stage)) {
+			IPipe<?> pipe = inputPort.getPipe();
+			if (pipe.capacity() > 0) {
+				fillLevel = Math.max(fillLevel, (int) (100L * pipe.size() / pipe.capacity()));
+			}
+		}
+		return fillLevel;
+	}
+
 	private void sendTerminationSignal(final AbstractStage stage) {
 		if (stage.isProducer()) {
 			stage.onSignal(new TerminatingSignal(), null);
@@ -220,6 +272,14 @@ class TeeTimeTaskQueueThreadChw extends Thread {
 	}
 
 	private void reschedule(final AbstractStage stage) {
+		if (scheduling.isBufferOnFullPipe()) {
+			// the stage has made room in its input pipes, so let its predecessors continue
+			scheduling.flushPendingInput(stage);
+			if (scheduling.hasPendingOutput(stage)) {
+				return; // the successor reschedules this stage after draining the pipe
+			}
+		}
+
 		if (!STAGE_FACADE.shouldBeTerminated(stage)) {
 			boolean reschedule = stage.isProducer();
 
@@ -23,16 +23,19 @@ import org.slf4j.LoggerFactory;
 
 import teetime.framework.AbstractPort;
 import teetime.framework.AbstractStage;
+import teetime.framework.FusedPipe;
 import teetime.framework.ITraverserVisitor;
+import teetime.framework.InputPort;
 import teetime.framework.InstantiationPipe;
+import teetime.framework.OutputPort;
+import teetime.framework.StageFacade;
 import teetime.framework.Traverser.VisitorBehavior;
 import teetime.framework.pipe.AbstractSynchedPipe;
 import teetime.framework.pipe.AbstractUnsynchedPipe;
-import teetime.framework.pipe.BoundedSynchedPipe;
 import teetime.framework.pipe.DummyPipe;
 import teetime.framework.pipe.IPipe;
+import teetime.framework.pipe.PrimitivePipes;
 import teetime.framework.pipe.UnboundedSynchedPipe;
-import teetime.framework.pipe.UnsynchedPipe;
 import teetime.framework.scheduling.PipeScheduler;
 
 /**
@@ -43,6 +46,24 @@ class A3PipeInstantiation implements ITraverserVisitor, PipeScheduler {
 	private static final Logger LOGGER = LoggerFactory.getLogger(A3PipeInstantiation.class);
 
 	private final Set<IPipe<?>> visitedPipes = new HashSet<>();
+	private final boolean pipeFusionEnabled;
+
+	/**
+	 * Creates an instantiation which fuses pipes iff the system property {@value FusedPipe#ENABLED_PROPERTY} is <code>true</code>.
+	 */
+	A3PipeInstantiation() {
+		this(Boolean.getBoolean(FusedPipe.ENABLED_PROPERTY));
+	}
+
+	/**
+	 * @param pipeFusionEnabled
+	 *            whether pipes to passive consumer stages should be {@link FusedPipe fused}
+	 *
+	 * @since 3.1.1
+	 */
+	A3PipeInstantiation(final boolean pipeFusionEnabled) {
+		this.pipeFusionEnabled = pipeFusionEnabled;
+	}
 
 	@Override
 	public VisitorBehavior visit(final AbstractStage stage) {
@@ -57,7 +78,8 @@ class A3PipeInstantiation implements ITraverserVisitor, PipeScheduler {
 		}
 		visitedPipes.add(pipe);
 
-		instantiatePipe(pipe);
+		// the instantiated pipe replaces the visited one at its ports, so it must not be instantiated again when visited via another port
+		visitedPipes.add(instantiatePipe(pipe));
 
 		return VisitorBehavior.CONTINUE_BACK_AND_FORTH;
 	}
@@ -69,7 +91,11 @@ class A3PipeInstantiation implements ITraverserVisitor, PipeScheduler {
 		}
 	}
 
-	private <T> void instantiatePipe(final IPipe<T> pipe) {
+	/**
+	 * @return the instantiated pipe which is now connected to the ports of the given pipe, or the given pipe itself if it has been connected
+	 *         manually
+	 */
+	/* default */ <T> IPipe<T> instantiatePipe(final IPipe<T> pipe) {
 		IPipe<T> instantiatedPipe;
 
 		AbstractStage sourceStage = pipe.getSourcePort().getOwningStage();
@@ -79,19 +105,48 @@ class A3PipeInstantiation implements ITraverserVisitor, PipeScheduler {
 			instantiatedPipe = pipe;
 		} else if (!targetStage.isActive() || sourceStage == targetStage) { // NOPMD .equals() can't be used here
 			// normal or reflexive pipe => intra
-			instantiatedPipe = new UnsynchedPipe<>(pipe.getSourcePort(), pipe.getTargetPort());
-			LOGGER.debug("Connected (unsynch) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
+			instantiatedPipe = newUnsynchedPipe(pipe.getSourcePort(), pipe.getTargetPort());
 		} else if (pipe.capacity() == 0) {
 			// synchronized, unlimited capacity
 			instantiatedPipe = new UnboundedSynchedPipe<>(pipe.getSourcePort(), pipe.getTargetPort());
 			LOGGER.debug("Connected (unbounded) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
 		} else {
 			// synchronized, limited capacity
-			instantiatedPipe = new BoundedSynchedPipe<>(pipe.getSourcePort(), pipe.getTargetPort(), pipe.capacity());
+			instantiatedPipe = newBoundedSynchedPipe(pipe.getSourcePort(), pipe.getTargetPort(), pipe.capacity());
 			LOGGER.debug("Connected (bounded) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
 		}
 
-		instantiatedPipe.setScheduler(this);
+		instantiatedPipe.setScheduler(newPipeScheduler(instantiatedPipe));
+		return instantiatedPipe;
+	}
+
+	/**
+	 * @return a new scheduler for the given pipe if it is synched, since such a scheduler caches the idle strategy of the pipe's consumer thread;
+	 *         otherwise this instance
+	 *
+	 * @since 3.1.1
+	 */
+	/* default */ PipeScheduler newPipeScheduler(final IPipe<?> pipe) {
+		return (pipe instanceof AbstractSynchedPipe) ? new SynchedPipeScheduler() : this;
+	}
+
+	private <T> IPipe<T> newUnsynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort) {
+		if (pipeFusionEnabled && FusedPipe.isFusable(sourcePort, targetPort)) {
+			IPipe<T> fusedPipe = FusedPipe.newInstance(sourcePort, targetPort);
+			if (fusedPipe != null) {
+				LOGGER.debug("Connected (fused) {} and {}", sourcePort, targetPort);
+				return fusedPipe;
+			}
+		}
+		LOGGER.debug("Connected (unsynch) {} and {}", sourcePort, targetPort);
+		return PrimitivePipes.newUnsynchedPipe(sourcePort, targetPort);
+	}
+
+	/**
+	 * @since 3.1.1
+	 */
+	protected <T> IPipe<T> newBoundedSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int capacity) {
+		return PrimitivePipes.newBoundedSynchedPipe(sourcePort, targetPort, capacity);
 	}
 
 	@Override
@@ -101,7 +156,10 @@ class A3PipeInstantiation implements ITraverserVisitor, PipeScheduler {
 
 	@Override
 	public void onElementAdded(final AbstractSynchedPipe<?> pipe) {
-		// do nothing
+		IdleStrategy idleStrategy = getIdleStrategy(pipe.getCachedTargetStage());
+		if (idleStrategy != null) {
+			idleStrategy.wakeUp();
+		}
 	}
 
 	@Override
@@ -109,4 +167,52 @@ class A3PipeInstantiation implements ITraverserVisitor, PipeScheduler {
 		// do nothing
 	}
 
+	/**
+	 * @return the idle strategy of the thread which executes the given consumer stage, or <code>null</code> if the thread is not yet known
+	 *
+	 * @since 3.1.1
+	 */
+	protected IdleStrategy getIdleStrategy(final AbstractStage targetStage) {
+		Thread targetThread = StageFacade.INSTANCE.getOwningThread(targetStage);
+		return (targetThread instanceof TeeTimeThread) ? ((TeeTimeThread) targetThread).getIdleStrategy() : null;
+	}
+
+	/**
+	 * Wakes up the consumer thread of a single synched pipe. It resolves the consumer's idle strategy only once, namely when the first element is
+	 * added, since the consumer thread is not yet known while the pipes are instantiated. It does not wake up a consumer thread which never parks.
+	 */
+	private final class SynchedPipeScheduler implements PipeScheduler {
+
+		private boolean resolved;
+		/** <code>null</code> if the consumer thread never parks */
+		private IdleStrategy idleStrategy;
+
+		@Override
+		public void onElementAdded(final AbstractUnsynchedPipe<?> pipe) {
+			A3PipeInstantiation.this.onElementAdded(pipe);
+		}
+
+		@Override
+		public void onElementAdded(final AbstractSynchedPipe<?> pipe) {
+			if (!resolved) {
+				IdleStrategy targetIdleStrategy = getIdleStrategy(pipe.getCachedTargetStage());
+				if (targetIdleStrategy == null) {
+					return; // the consumer thread is not yet known, so it has not yet started idling
+				}
+				idleStrategy = (targetIdleStrategy instanceof BusyIdleStrategy) ? null : targetIdleStrategy;
+				resolved = true;
+			}
+
+			final IdleStrategy idleStrategy = this.idleStrategy;
+			if (idleStrategy != null) {
+				idleStrategy.wakeUp();
+			}
+		}
+
+		@Override
+		public void onElementNotAdded(final AbstractSynchedPipe<?> pipe) {
+			A3PipeInstantiation.this.onElementNotAdded(pipe);
+		}
+	}
+
 }
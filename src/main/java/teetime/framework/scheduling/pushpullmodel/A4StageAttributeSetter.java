@@ -16,13 +16,13 @@
 package teetime.framework.scheduling.pushpullmodel;
 
 import java.util.Set;
+import java.util.function.Supplier;
 
 import teetime.framework.AbstractStage;
 import teetime.framework.Configuration;
 import teetime.framework.ConfigurationFacade;
 import teetime.framework.StageFacade;
 import teetime.framework.TeeTimeScheduler;
-import teetime.framework.Traverser;
 import teetime.framework.exceptionHandling.AbstractExceptionListener;
 
 /**
@@ -35,32 +35,27 @@ class A4StageAttributeSetter {
 
 	// requires: factory and context
 	private final Configuration configuration;
-	private final Set<AbstractStage> threadableStages;
 	private final TeeTimeScheduler scheduler;
+	private final Supplier<? extends IdleStrategy> idleStrategySupplier;
 
-	public A4StageAttributeSetter(final Configuration configuration, final Set<AbstractStage> threadableStages, final TeeTimeScheduler scheduler) {
+	public A4StageAttributeSetter(final Configuration configuration, final TeeTimeScheduler scheduler) {
+		this(configuration, scheduler, BusyIdleStrategy::new);
+	}
+
+	public A4StageAttributeSetter(final Configuration configuration, final TeeTimeScheduler scheduler,
+			final Supplier<? extends IdleStrategy> idleStrategySupplier) {
 		super();
 		this.configuration = configuration;
-		this.threadableStages = threadableStages;
 		this.scheduler = scheduler;
+		this.idleStrategySupplier = idleStrategySupplier;
 	}
 
-	public void setAttributes() {
-		for (AbstractStage threadableStage : threadableStages) {
-			IntraStageCollector collector = new IntraStageCollector(threadableStage);
-			Traverser traverser = new Traverser(collector);
-			traverser.traverse(threadableStage);
-
-			setAttributes(threadableStage, collector.getIntraStages());
-		}
-	}
-
-	private void setAttributes(final AbstractStage threadableStage, final Set<AbstractStage> intraStages) {
+	/* default */ void setAttributes(final AbstractStage threadableStage, final Set<AbstractStage> intraStages) {
 		AbstractRunnableStage runnable;
 		if (threadableStage.isProducer()) {
 			runnable = new RunnableProducerStage(threadableStage);
 		} else {
-			runnable = new RunnableConsumerStage(threadableStage);
+			runnable = new RunnableConsumerStage(threadableStage, idleStrategySupplier.get());
 		}
 
 		Thread newThread = new TeeTimeThread(runnable, "Thread for " + threadableStage.getId());
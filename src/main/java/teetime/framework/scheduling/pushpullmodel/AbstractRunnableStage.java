@@ -15,6 +15,9 @@
  */
 package teetime.framework.scheduling.pushpullmodel;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +34,7 @@ abstract class AbstractRunnableStage implements Runnable { // NOPMD MoreThanOneL
 	protected final Logger logger;
 
 	private final StopWatch stopWatch = new StopWatch();
+	private final Queue<Runnable> quiescentTasks = new ConcurrentLinkedQueue<>();
 	private long durationsInNs;
 
 	protected AbstractRunnableStage(final AbstractStage stage) {
@@ -53,7 +57,7 @@ abstract class AbstractRunnableStage implements Runnable { // NOPMD MoreThanOneL
 			beforeStageExecution();
 			stopWatch.start();
 			try {
-				StageFacade.INSTANCE.runStage(stage);
+				executeStage();
 			} finally {
 				stopWatch.end();
 				durationsInNs = stopWatch.getDurationInNs();
@@ -82,8 +86,35 @@ abstract class AbstractRunnableStage implements Runnable { // NOPMD MoreThanOneL
 		return durationsInNs;
 	}
 
+	/**
+	 * Lets the executing thread run the given task after the current execution of its stage, i.e., at a point in time where none of the thread's
+	 * stages is being executed. Tasks which are still pending when the stage terminates are discarded. This method is thread-safe.
+	 *
+	 * @since 3.1.1
+	 */
+	/* default */ void executeAtQuiescentPoint(final Runnable task) {
+		quiescentTasks.add(task);
+	}
+
+	/**
+	 * @since 3.1.1
+	 */
+	protected final void runQuiescentTasks() {
+		if (quiescentTasks.isEmpty()) { // fast path
+			return;
+		}
+		Runnable task;
+		while ((task = quiescentTasks.poll()) != null) {
+			task.run();
+		}
+	}
+
 	protected abstract void beforeStageExecution() throws InterruptedException;
 
+	protected void executeStage() {
+		StageFacade.INSTANCE.runStage(stage, this::runQuiescentTasks);
+	}
+
 	protected abstract void afterStageExecution();
 
 }
@@ -0,0 +1,42 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Polls the input pipes again immediately. Provides the lowest latency, but lets each idle consumer thread occupy a whole core. This is the default strategy.
+ *
+ * @since 3.1.1
+ */
+public final class BusyIdleStrategy implements IdleStrategy {
+
+	@Override
+	public void idle(final int round, final BooleanSupplier inputAvailable) {
+		// poll again immediately
+	}
+
+	@Override
+	public void wakeUp() {
+		// nothing to wake up
+	}
+
+	@Override
+	public long getNumParks() {
+		return 0;
+	}
+
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Defines what a consumer thread does if its stage currently has no input. Each consumer thread has got its own instance.
+ *
+ * @since 3.1.1
+ */
+public interface IdleStrategy {
+
+	/**
+	 * Is called by the consumer thread each time its stage has found no input.
+	 *
+	 * @param round
+	 *            the number of previous consecutive idle rounds, starting at <code>0</code>
+	 * @param inputAvailable
+	 *            re-checks whether new input has arrived in the meantime
+	 */
+	void idle(int round, BooleanSupplier inputAvailable);
+
+	/**
+	 * Is called by a producer thread after it has added one or more elements to a pipe of this consumer thread. This method must be cheap since it is called for
+	 * each added element.
+	 */
+	void wakeUp();
+
+	/**
+	 * @return how often the consumer thread has parked
+	 */
+	long getNumParks();
+}
@@ -0,0 +1,258 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import teetime.framework.AbstractProducerStage;
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.ConfigurationFacade;
+import teetime.framework.DivideAndConquerStage;
+import teetime.framework.ExecutionException;
+import teetime.framework.InputPort;
+import teetime.framework.StageFacade;
+import teetime.framework.StageState;
+import teetime.framework.TeeTimeScheduler;
+import teetime.framework.exceptionHandling.AbstractExceptionListener;
+import teetime.framework.exceptionHandling.TerminateException;
+import teetime.framework.signal.StartingSignal;
+import teetime.framework.signal.TerminatingSignal;
+import teetime.framework.signal.ValidatingSignal;
+import teetime.framework.validation.AnalysisNotValidException;
+import teetime.stage.basic.distributor.dynamic.DynamicDistributor;
+
+/**
+ * Executes a configuration synchronously on the calling thread without any hand-off. All consumer stages must be passive, so that all stages
+ * are connected by unsynched pipes. It supports two modes which may also be combined:
+ * <ul>
+ * <li>The producers of the configuration are executed one after another by {@link teetime.framework.Execution#executeNonBlocking()}, which
+ * thus only returns after the producers have completed their work.</li>
+ * <li>If an entry port has been passed, each element passed to {@link #executeInline(Object)} is directly pushed through the stages. For
+ * this purpose, the execution must have been started by {@link teetime.framework.Execution#executeNonBlocking()} before. The stages are
+ * terminated by {@link teetime.framework.Execution#waitForTermination()}.</li>
+ * </ul>
+ * <p>
+ * Since the stages are not thread-safe, {@link #executeInline(Object)} may not be invoked concurrently. Use one configuration per thread instead.
+ * The stages are not owned by any thread.
+ * <p>
+ * Stages cannot be started at runtime, since such a stage is fed by a synched pipe and would require a thread of its own. Hence, a configuration
+ * which contains a {@link DivideAndConquerStage} or the {@link DynamicDistributor} of a {@link teetime.stage.taskfarm.DynamicTaskFarmStage} is
+ * rejected already on initialization.
+ *
+ * @param <I>
+ *            the type of the elements passed to the entry port
+ *
+ * @since 3.1.1
+ */
+public class InlineScheduling<I> implements TeeTimeScheduler {
+
+	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
+	private static final ConfigurationFacade CONFIG_FACADE = ConfigurationFacade.INSTANCE;
+
+	private final Configuration configuration;
+	/** <code>null</code> if there is no entry port */
+	private final EntryStage<I> entryStage;
+	private final List<AbstractStage> producers = new ArrayList<>();
+
+	private boolean terminationRequested;
+
+	/**
+	 * Creates a scheduler which executes the producers of the given configuration on the calling thread.
+	 */
+	public InlineScheduling(final Configuration configuration) {
+		this.configuration = configuration;
+		this.entryStage = null;
+	}
+
+	/**
+	 * Creates a scheduler which additionally allows to push elements to the given, not yet connected entry port by {@link #executeInline(Object)}.
+	 *
+	 * @param entryPort
+	 *            the input port of a passive stage in the given configuration
+	 */
+	public InlineScheduling(final Configuration configuration, final InputPort<I> entryPort) {
+		if (entryPort == null) {
+			throw new IllegalArgumentException("entryPort may not be null");
+		}
+		this.configuration = configuration;
+		this.entryStage = new EntryStage<>();
+		configuration.connectPorts(entryStage.getOutputPort(), entryPort, 1); // the capacity is irrelevant since the pipe is unsynched
+	}
+
+	@Override
+	public void onInitialize() {
+		Collection<AbstractStage> startStages = CONFIG_FACADE.getStartStages(configuration);
+		if (startStages.isEmpty()) {
+			throw new IllegalStateException("The start stage may not be null.");
+		}
+
+		TopologyAnalysis analysis = new TopologyAnalysis(startStages, new A3PipeInstantiation());
+		for (AbstractStage threadableStage : analysis.getThreadableStages()) {
+			if (!threadableStage.isProducer()) {
+				throw new IllegalStateException("1006 - " + getClass().getSimpleName() + " requires all consumer stages to be passive, but "
+						+ threadableStage.getId() + " is active.");
+			}
+			if (threadableStage != entryStage) { // NOPMD .equals() can't be used here
+				producers.add(threadableStage);
+			}
+		}
+		for (AbstractStage stage : analysis.getStages()) {
+			if (stage instanceof DivideAndConquerStage || stage instanceof DynamicDistributor) {
+				throw new IllegalStateException("1007 - " + getClass().getSimpleName() + " cannot start stages at runtime, but " + stage.getId()
+						+ " may start new stages at runtime.");
+			}
+		}
+
+		// only registers the initializing thread as key for the exceptions; the stages remain without owning thread,
+		// since aborting a stage would interrupt its owning thread, i.e., the caller
+		AbstractExceptionListener exceptionListener = CONFIG_FACADE.getFactory(configuration).createInstance(Thread.currentThread());
+		for (AbstractStage stage : analysis.getStages()) {
+			STAGE_FACADE.setExceptionHandler(stage, exceptionListener);
+			STAGE_FACADE.setScheduler(stage, this);
+		}
+	}
+
+	@Override
+	public void onValidate() {
+		List<AbstractStage> threadableStages = new ArrayList<>(producers);
+		if (entryStage != null) {
+			threadableStages.add(entryStage);
+		}
+		for (AbstractStage stage : threadableStages) {
+			final ValidatingSignal validatingSignal = new ValidatingSignal(); // NOPMD we need a new instance every iteration
+			stage.onSignal(validatingSignal, null);
+			if (validatingSignal.getInvalidPortConnections().size() > 0) {
+				throw new AnalysisNotValidException(validatingSignal.getInvalidPortConnections());
+			}
+		}
+	}
+
+	@Override
+	public void onExecute() {
+		if (entryStage != null) {
+			entryStage.onSignal(new StartingSignal(), null);
+		}
+
+		for (AbstractStage producer : producers) {
+			producer.onSignal(new StartingSignal(), null);
+			STAGE_FACADE.runStage(producer); // NOPMD (calls onTerminate() on exceptions)
+			producer.onSignal(new TerminatingSignal(), null);
+		}
+
+		if (terminationRequested) {
+			terminateEntryStage();
+		}
+	}
+
+	/**
+	 * Pushes the given element through the stages connected to the entry port. Returns after all of these stages have processed the element and its
+	 * derived elements.
+	 *
+	 * @throws IllegalStateException
+	 *             if this scheduler has no entry port, or if the execution has not been started, or if the execution has already been terminated
+	 * @throws ExecutionException
+	 *             if a stage has thrown an exception which terminates the execution
+	 */
+	public void executeInline(final I element) {
+		if (entryStage == null) {
+			throw new IllegalStateException("executeInline() requires an entry port");
+		}
+		StageState state = entryStage.getCurrentState();
+		if (state != StageState.STARTED) {
+			throw new IllegalStateException("executeInline() requires a started execution, but the execution is " + state);
+		}
+
+		try {
+			entryStage.getOutputPort().send(element);
+		} catch (TerminateException e) {
+			terminateEntryStage();
+			throw new ExecutionException(collectExceptions());
+		}
+
+		if (terminationRequested) {
+			terminateEntryStage();
+		}
+	}
+
+	private Map<Thread, List<Exception>> collectExceptions() {
+		Map<Thread, List<Exception>> threadExceptionsMap = new HashMap<>();
+		for (Entry<Thread, List<Exception>> entry : CONFIG_FACADE.getFactory(configuration).getThreadExceptionsMap().entrySet()) {
+			if (!entry.getValue().isEmpty()) {
+				threadExceptionsMap.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+			}
+		}
+		return threadExceptionsMap;
+	}
+
+	/**
+	 * Terminates the stages connected to the entry port. Is never invoked while a stage is being executed.
+	 */
+	private void terminateEntryStage() {
+		if (entryStage != null && entryStage.getCurrentState() == StageState.STARTED) {
+			entryStage.onSignal(new TerminatingSignal(), null);
+		}
+	}
+
+	/**
+	 * Aborts the producers which have not yet been executed. The stages connected to the entry port are terminated as soon as the current
+	 * execution of a stage has returned.
+	 */
+	@Override
+	public void onTerminate() {
+		terminationRequested = true;
+		for (AbstractStage producer : producers) {
+			if (producer.getCurrentState().isBefore(StageState.TERMINATING)) {
+				STAGE_FACADE.abort(producer);
+			}
+		}
+	}
+
+	@Override
+	public void onFinish() {
+		terminateEntryStage();
+	}
+
+	/**
+	 * Is not supported, since the given stage would require a thread of its own. Configurations with stages which start new stages at runtime are
+	 * rejected on initialization.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void startStageAtRuntime(final AbstractStage stage) {
+		throw new UnsupportedOperationException("Starting a stage at runtime is not supported by " + getClass().getSimpleName());
+	}
+
+	/**
+	 * Feeds the entry port. It is never executed, but only passes on the elements given to {@link InlineScheduling#executeInline(Object)}.
+	 */
+	private static final class EntryStage<I> extends AbstractProducerStage<I> {
+
+		@Override
+		protected void execute() {
+			workCompleted();
+		}
+
+	}
+
+}
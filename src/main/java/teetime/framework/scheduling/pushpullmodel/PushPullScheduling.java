@@ -15,25 +15,39 @@
  */
 package teetime.framework.scheduling.pushpullmodel;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import teetime.framework.AbstractPort;
 import teetime.framework.AbstractStage;
 import teetime.framework.Configuration;
 import teetime.framework.ConfigurationFacade;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
 import teetime.framework.StageFacade;
+import teetime.framework.StageState;
 import teetime.framework.TeeTimeScheduler;
 import teetime.framework.TerminationStrategy;
 import teetime.framework.Traverser;
+import teetime.framework.exceptionHandling.AbstractExceptionListener;
+import teetime.framework.pipe.AbstractSynchedPipe;
+import teetime.framework.pipe.AbstractUnsynchedPipe;
+import teetime.framework.pipe.IPipe;
+import teetime.framework.pipe.PrimitivePipes;
 import teetime.framework.scheduling.CountDownAndUpLatch;
+import teetime.framework.signal.ISignal;
 import teetime.framework.signal.ValidatingSignal;
 import teetime.framework.validation.AnalysisNotValidException;
 
@@ -47,17 +61,53 @@ public class PushPullScheduling implements TeeTimeScheduler, ThreadListener {
 	private final List<Thread> consumerThreads = Collections.synchronizedList(new LinkedList<>());
 	private final List<Thread> finiteProducerThreads = Collections.synchronizedList(new LinkedList<>());
 	private final List<Thread> infiniteProducerThreads = Collections.synchronizedList(new LinkedList<>());
+	/** the parks of the consumer threads which have been removed by declaring their stages passive at runtime (synchronized by consumerThreads) */
+	private long numParksOfRemovedThreads;
 
 	private final Set<AbstractStage> threadableStages = Collections.synchronizedSet(new HashSet<>());
 
+	/** the capacity of the synched pipes created when declaring a stage active at runtime */
+	private static final int RUNTIME_PIPE_CAPACITY = 512;
+
 	private final Configuration configuration;
+	/** used for the pipes created at runtime */
+	private final A3PipeInstantiation runtimePipeInstantiation = new A3PipeInstantiation();
+	private final Supplier<? extends IdleStrategy> idleStrategySupplier;
+	private final boolean parallelValidation;
+	private final boolean reusableThreads;
+	/** all stages which are executed by this scheduler; used to re-arm them */
+	private final Set<AbstractStage> stages = Collections.synchronizedSet(new HashSet<>());
 
 	private final CountDownAndUpLatch numRunningFiniteProducers = new CountDownAndUpLatch();
 	private final CountDownAndUpLatch numRunningConsumers = new CountDownAndUpLatch();
 
 	// requires: startstages, factory and context
 	public PushPullScheduling(final Configuration configuration) {
+		this(configuration, new PushPullSchedulingOptions());
+	}
+
+	/**
+	 * @param idleStrategySupplier
+	 *            is called once per consumer thread to define what the thread does if its stage has no input,
+	 *            e.g., <code>SpinYieldParkIdleStrategy::new</code>
+	 *
+	 * @since 3.1.1
+	 */
+	public PushPullScheduling(final Configuration configuration, final Supplier<? extends IdleStrategy> idleStrategySupplier) {
+		this(configuration, new PushPullSchedulingOptions().idleStrategy(idleStrategySupplier));
+	}
+
+	/**
+	 * @param options
+	 *            are read once by this constructor
+	 *
+	 * @since 3.1.1
+	 */
+	public PushPullScheduling(final Configuration configuration, final PushPullSchedulingOptions options) {
 		this.configuration = configuration;
+		this.idleStrategySupplier = options.getIdleStrategySupplier();
+		this.parallelValidation = options.isParallelValidation();
+		this.reusableThreads = options.isReusableThreads();
 	}
 
 	@Override
@@ -87,37 +137,219 @@ public class PushPullScheduling implements TeeTimeScheduler, ThreadListener {
 		}
 	}
 
+	/**
+	 * Splits the given passive stage off from the thread of its predecessor. As soon as the predecessor's thread has completed the current execution of
+	 * its stage, the pipes leading to the given stage are replaced by synched pipes and the stage (together with its passive successors) is executed by
+	 * a new thread. Afterwards, the stage is declared active.
+	 *
+	 * @throws IllegalStateException
+	 *             if one of the passive successors is also fed by a stage which would remain in the predecessor's thread
+	 *
+	 * @since 3.1.1
+	 */
+	@Override
+	public void declareActiveAtRuntime(final AbstractStage stage) {
+		Set<AbstractStage> intraStages = collectIntraStages(stage);
+		for (AbstractStage intraStage : intraStages) {
+			if (intraStage == stage) { // NOPMD .equals() can't be used here
+				continue;
+			}
+			for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(intraStage)) {
+				for (AbstractPort<?> sourcePort : inputPort.getPipe().getSourcePorts()) {
+					if (!intraStages.contains(sourcePort.getOwningStage())) {
+						throw new IllegalStateException("1001 - Crossing threads in " + intraStage.getId());
+					}
+				}
+			}
+		}
+
+		TeeTimeThread owningThread = (TeeTimeThread) STAGE_FACADE.getOwningThread(stage);
+		owningThread.executeAtQuiescentPoint(() -> splitOff(stage));
+	}
+
+	/**
+	 * Is executed by the thread which currently executes the given stage.
+	 */
+	private void splitOff(final AbstractStage stage) {
+		if (stage.isActive() || stage.getCurrentState() != StageState.STARTED) {
+			return;
+		}
+
+		for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(stage)) {
+			IPipe<?> pipe = inputPort.getPipe();
+			if (pipe instanceof AbstractUnsynchedPipe && pipe.getSourcePort().getOwningStage() != stage) { // NOPMD .equals() can't be used here
+				replacePipe(pipe, true);
+			}
+		}
+
+		Set<AbstractStage> newThreadableStages = new HashSet<>(Arrays.asList(stage));
+		A4StageAttributeSetter attributeSetter = new A4StageAttributeSetter(configuration, this, idleStrategySupplier);
+		attributeSetter.setAttributes(stage, collectIntraStages(stage));
+
+		threadableStages.add(stage);
+		categorizeThreadableStage(stage);
+		startThreads(newThreadableStages);
+
+		LOGGER.debug("Declared {} active at runtime", stage.getId());
+		STAGE_FACADE.setActive(stage, true); // serves as acknowledgement
+	}
+
+	/**
+	 * Folds the given active stage into the thread of its predecessors. As soon as the predecessors' thread has completed the current execution of its
+	 * stage, it stops the thread of the given stage, replaces the synched pipes leading to the stage by unsynched ones, and passes the elements
+	 * remaining in the synched pipes to the stage in their original order. Afterwards, the stage is declared passive.
+	 *
+	 * @throws IllegalStateException
+	 *             if the given stage is a producer, or if its predecessors are executed by different threads
+	 *
+	 * @since 3.1.1
+	 */
+	@Override
+	public void declarePassiveAtRuntime(final AbstractStage stage) {
+		if (stage.isProducer()) {
+			throw new IllegalStateException("A producer stage cannot be declared passive: " + stage.getId());
+		}
+
+		AbstractStage predecessor = null;
+		for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(stage)) {
+			IPipe<?> pipe = inputPort.getPipe();
+			if (pipe.getSourcePorts().size() != 1) {
+				throw new IllegalStateException("The stage " + stage.getId() + " cannot be declared passive since it is fed by a pipe with several producers.");
+			}
+			AbstractStage sourceStage = pipe.getSourcePort().getOwningStage();
+			if (sourceStage == stage) { // NOPMD .equals() can't be used here
+				continue;
+			}
+			if (predecessor == null) {
+				predecessor = sourceStage;
+			} else if (STAGE_FACADE.getOwningThread(predecessor) != STAGE_FACADE.getOwningThread(sourceStage)) {
+				throw new IllegalStateException("1001 - Crossing threads: the stage " + stage.getId()
+						+ " cannot be declared passive since its predecessors are executed by different threads.");
+			}
+		}
+		if (predecessor == null) {
+			throw new IllegalStateException("The stage " + stage.getId() + " cannot be declared passive since it has no predecessor.");
+		}
+
+		final AbstractStage predecessorStage = predecessor;
+		TeeTimeThread predecessorThread = (TeeTimeThread) STAGE_FACADE.getOwningThread(predecessorStage);
+		predecessorThread.executeAtQuiescentPoint(() -> foldInto(stage, predecessorStage));
+	}
+
+	/**
+	 * Is executed by the thread of the given predecessor.
+	 */
+	private void foldInto(final AbstractStage stage, final AbstractStage predecessor) {
+		if (!stage.isActive() || stage.getCurrentState() != StageState.STARTED) {
+			return;
+		}
+
+		TeeTimeThread stageThread = (TeeTimeThread) STAGE_FACADE.getOwningThread(stage);
+		stageThread.stopForMigration();
+		joinUninterruptibly(stageThread);
+		if (stage.getCurrentState() != StageState.STARTED) { // has terminated in the meantime
+			return;
+		}
+
+		Thread currentThread = Thread.currentThread();
+		AbstractExceptionListener exceptionListener = STAGE_FACADE.getExceptionListener(predecessor);
+		for (AbstractStage intraStage : collectIntraStages(stage)) {
+			STAGE_FACADE.setOwningThread(intraStage, currentThread);
+			STAGE_FACADE.setExceptionHandler(intraStage, exceptionListener);
+		}
+		threadableStages.remove(stage);
+		synchronized (consumerThreads) { // keeps the total number of parks monotonic
+			numParksOfRemovedThreads += stageThread.getNumParks();
+			consumerThreads.remove(stageThread);
+		}
+
+		for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(stage)) {
+			IPipe<?> pipe = inputPort.getPipe();
+			if (pipe instanceof AbstractSynchedPipe) {
+				replacePipe(pipe, false);
+			}
+		}
+
+		LOGGER.debug("Declared {} passive at runtime", stage.getId());
+		STAGE_FACADE.setActive(stage, false); // serves as acknowledgement
+	}
+
+	private static void joinUninterruptibly(final Thread thread) {
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Set<AbstractStage> collectIntraStages(final AbstractStage stage) {
+		IntraStageCollector collector = new IntraStageCollector(stage);
+		new Traverser(collector, startedStage -> false).traverse(stage); // the stages have already been started
+		return collector.getIntraStages();
+	}
+
+	/**
+	 * Replaces the given pipe by a new one connecting the same ports. Moves the remaining elements and signals to the new pipe in their original
+	 * order.
+	 */
+	private <T> void replacePipe(final IPipe<T> pipe, final boolean synched) {
+		OutputPort<? extends T> sourcePort = pipe.getSourcePort();
+		InputPort<T> targetPort = pipe.getTargetPort();
+
+		IPipe<T> newPipe;
+		if (synched) {
+			newPipe = PrimitivePipes.newBoundedSynchedPipe(sourcePort, targetPort, RUNTIME_PIPE_CAPACITY);
+		} else {
+			newPipe = PrimitivePipes.newUnsynchedPipe(sourcePort, targetPort);
+		}
+		if (!synched) {
+			newPipe.setScheduler(runtimePipeInstantiation.newPipeScheduler(newPipe));
+		}
+
+		Object element;
+		while ((element = pipe.removeLast()) != null) {
+			newPipe.add(element);
+		}
+		if (pipe instanceof AbstractSynchedPipe) {
+			ISignal signal;
+			while ((signal = ((AbstractSynchedPipe<?>) pipe).getSignal()) != null) {
+				newPipe.sendSignal(signal);
+			}
+		}
+		if (synched) {
+			// set not until now since the scheduler would otherwise resolve the thread which still executes the target stage
+			newPipe.setScheduler(runtimePipeInstantiation.newPipeScheduler(newPipe));
+		}
+	}
+
 	// extracted for runtime use
 	private Set<AbstractStage> initialize(final Collection<AbstractStage> startStages) {
 		if (startStages.isEmpty()) {
 			throw new IllegalStateException("The start stage may not be null.");
 		}
 
-		A1ThreadableStageCollector stageCollector = new A1ThreadableStageCollector();
-		Traverser traversor = new Traverser(stageCollector);
-		for (AbstractStage startStage : startStages) {
-			traversor.traverse(startStage);
-		}
+		A3PipeInstantiation pipeInstantiation = new A3PipeInstantiation();
+		TopologyAnalysis analysis = new TopologyAnalysis(startStages, pipeInstantiation);
 
-		Set<AbstractStage> newThreadableStages = stageCollector.getThreadableStages();
+		Set<AbstractStage> newThreadableStages = new HashSet<>(analysis.getThreadableStages());
+		stages.addAll(analysis.getStages());
 
 		threadableStages.addAll(newThreadableStages);
 		if (threadableStages.isEmpty()) {
 			throw new IllegalStateException("1004 - No threadable stages in this configuration.");
 		}
 
-		A2InvalidThreadAssignmentCheck checker = new A2InvalidThreadAssignmentCheck(newThreadableStages);
-		checker.check();
-
-		A3PipeInstantiation pipeVisitor = new A3PipeInstantiation();
-		traversor = new Traverser(pipeVisitor);
-		for (AbstractStage startStage : startStages) {
-			traversor.traverse(startStage);
+		A4StageAttributeSetter attributeSetter = new A4StageAttributeSetter(configuration, this, idleStrategySupplier);
+		for (AbstractStage stage : newThreadableStages) {
+			attributeSetter.setAttributes(stage, analysis.getIntraStages(stage));
 		}
 
-		A4StageAttributeSetter attributeSetter = new A4StageAttributeSetter(configuration, newThreadableStages, this);
-		attributeSetter.setAttributes();
-
 		for (AbstractStage stage : newThreadableStages) {
 			categorizeThreadableStage(stage);
 			// watchTerminationThread.addConsumerStage(stage);
@@ -155,6 +387,7 @@ public class PushPullScheduling implements TeeTimeScheduler, ThreadListener {
 		for (AbstractStage stage : threadableStages) {
 			TeeTimeThread thread = (TeeTimeThread) STAGE_FACADE.getOwningThread(stage);
 			thread.setListener(this);
+			thread.setReusable(reusableThreads);
 			thread.start();
 		}
 	}
@@ -170,7 +403,11 @@ public class PushPullScheduling implements TeeTimeScheduler, ThreadListener {
 
 	@Override
 	public void onValidate() {
-		// BETTER validate concurrently
+		if (parallelValidation) {
+			validateConcurrently();
+			return;
+		}
+
 		for (AbstractStage stage : threadableStages) {
 			final ValidatingSignal validatingSignal = new ValidatingSignal(); // NOPMD we need a new instance every iteration
 			stage.onSignal(validatingSignal, null);
@@ -180,6 +417,30 @@ public class PushPullScheduling implements TeeTimeScheduler, ThreadListener {
 		}
 	}
 
+	/**
+	 * Validates the stages of each thread in parallel. This is safe since each passive stage belongs to exactly one thread and since the validating
+	 * signal is only enqueued (but not processed) by synched pipes leading to other threads.
+	 */
+	private void validateConcurrently() {
+		List<AbstractStage> stages;
+		synchronized (threadableStages) {
+			stages = new ArrayList<>(threadableStages);
+		}
+
+		Optional<ValidatingSignal> invalidSignal = stages.parallelStream()
+				.map(stage -> {
+					ValidatingSignal validatingSignal = new ValidatingSignal();
+					stage.onSignal(validatingSignal, null);
+					return validatingSignal;
+				})
+				.filter(validatingSignal -> validatingSignal.getInvalidPortConnections().size() > 0)
+				.findAny();
+
+		if (invalidSignal.isPresent()) {
+			throw new AnalysisNotValidException(invalidSignal.get().getInvalidPortConnections());
+		}
+	}
+
 	@Override
 	public void onExecute() {
 		sendStartingSignal(threadableStages);
@@ -198,6 +459,67 @@ public class PushPullScheduling implements TeeTimeScheduler, ThreadListener {
 		}
 	}
 
+	/**
+	 * Waits until each thread has completed its run, resets all stages and pipes, and lets the threads wait for the starting signal of the next run.
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if this scheduler has not been created with reusable threads
+	 * @throws IllegalStateException
+	 *             if a thread has exited, e.g., due to an exception
+	 *
+	 * @since 3.1.1
+	 */
+	@Override
+	public void onRearm() {
+		if (!reusableThreads) {
+			throw new UnsupportedOperationException("Re-arming an execution requires a " + getClass().getSimpleName() + " with reusable threads.");
+		}
+
+		List<TeeTimeThread> threads = new ArrayList<>();
+		synchronized (threadableStages) {
+			for (AbstractStage stage : threadableStages) {
+				threads.add((TeeTimeThread) STAGE_FACADE.getOwningThread(stage));
+			}
+		}
+		for (TeeTimeThread thread : threads) {
+			if (!thread.awaitCompletedRun()) {
+				throw new IllegalStateException("3004 - The thread " + thread.getName() + " has exited and cannot be reused.");
+			}
+		}
+
+		Set<IPipe<?>> pipes = Collections.newSetFromMap(new IdentityHashMap<>());
+		synchronized (stages) {
+			for (AbstractStage stage : stages) {
+				STAGE_FACADE.rearm(stage);
+				for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(stage)) {
+					pipes.add(inputPort.getPipe());
+				}
+				for (OutputPort<?> outputPort : STAGE_FACADE.getOutputPorts(stage)) {
+					pipes.add(outputPort.getPipe());
+				}
+			}
+		}
+		for (IPipe<?> pipe : pipes) {
+			pipe.rearm();
+		}
+
+		for (TeeTimeThread thread : threads) {
+			thread.startNextRun();
+		}
+	}
+
+	@Override
+	public void onShutdown() {
+		if (!reusableThreads) {
+			return;
+		}
+		synchronized (threadableStages) {
+			for (AbstractStage stage : threadableStages) {
+				((TeeTimeThread) STAGE_FACADE.getOwningThread(stage)).shutdown();
+			}
+		}
+	}
+
 	@Override
 	public void onFinish() {
 		try {
@@ -262,6 +584,21 @@ public class PushPullScheduling implements TeeTimeScheduler, ThreadListener {
 		}
 	}
 
+	/**
+	 * @return how often all consumer threads have parked altogether while waiting for new input
+	 *
+	 * @since 3.1.1
+	 */
+	public long getNumParks() {
+		synchronized (consumerThreads) {
+			long numParks = numParksOfRemovedThreads;
+			for (Thread thread : consumerThreads) {
+				numParks += ((TeeTimeThread) thread).getNumParks();
+			}
+			return numParks;
+		}
+	}
+
 	// TODO impl throw exception... see line 175
 	// private List<Exception> collectExceptions() {
 	// // Collection<ThreadThrowableContainer> exceptions = new ConcurrentLinkedQueue<ThreadThrowableContainer>();
@@ -0,0 +1,84 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.function.Supplier;
+
+/**
+ * Represents the options of a {@link PushPullScheduling}. Each option is disabled by default, e.g.,
+ *
+ * <pre>
+ * new PushPullScheduling(configuration, new PushPullSchedulingOptions().idleStrategy(SpinYieldParkIdleStrategy::new).reusableThreads());
+ * </pre>
+ *
+ * @since 3.1.1
+ */
+public final class PushPullSchedulingOptions {
+
+	private Supplier<? extends IdleStrategy> idleStrategySupplier = BusyIdleStrategy::new;
+	private boolean parallelValidation;
+	private boolean reusableThreads;
+
+	/**
+	 * @param idleStrategySupplier
+	 *            is called once per consumer thread to define what the thread does if its stage has no input,
+	 *            e.g., <code>SpinYieldParkIdleStrategy::new</code>; defaults to <code>BusyIdleStrategy::new</code>
+	 *
+	 * @return this options object
+	 */
+	public PushPullSchedulingOptions idleStrategy(final Supplier<? extends IdleStrategy> idleStrategySupplier) {
+		if (idleStrategySupplier == null) {
+			throw new IllegalArgumentException("idleStrategySupplier may not be null");
+		}
+		this.idleStrategySupplier = idleStrategySupplier;
+		return this;
+	}
+
+	/**
+	 * Validates the stages of different threads in parallel, which speeds up the validation of very large configurations.
+	 *
+	 * @return this options object
+	 */
+	public PushPullSchedulingOptions parallelValidation() {
+		this.parallelValidation = true;
+		return this;
+	}
+
+	/**
+	 * Lets the threads park after each run instead of exiting, so that the {@link teetime.framework.Execution} can be
+	 * {@link teetime.framework.Execution#rearm() re-armed}. Reusable threads are daemon threads. They exit on
+	 * {@link teetime.framework.Execution#shutdown()}.
+	 *
+	 * @return this options object
+	 */
+	public PushPullSchedulingOptions reusableThreads() {
+		this.reusableThreads = true;
+		return this;
+	}
+
+	/* default */ Supplier<? extends IdleStrategy> getIdleStrategySupplier() {
+		return idleStrategySupplier;
+	}
+
+	/* default */ boolean isParallelValidation() {
+		return parallelValidation;
+	}
+
+	/* default */ boolean isReusableThreads() {
+		return reusableThreads;
+	}
+
+}
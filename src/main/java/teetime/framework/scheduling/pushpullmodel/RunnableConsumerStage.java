@@ -15,24 +15,49 @@
  */
 package teetime.framework.scheduling.pushpullmodel;
 
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
 import teetime.framework.AbstractStage;
 import teetime.framework.InputPort;
 import teetime.framework.StageFacade;
+import teetime.framework.StageState;
 import teetime.framework.signal.ISignal;
 import teetime.framework.signal.TerminatingSignal;
 
 final class RunnableConsumerStage extends AbstractRunnableStage {
 
+	private final IdleStrategy idleStrategy;
+	private final BooleanSupplier inputAvailable = this::isInputAvailable;
+	private List<InputPort<?>> inputPorts;
+	private int numIdleRounds;
+	/** whether the stage has been handed over to another thread; only accessed by the executing thread */
+	private boolean migrated;
+
 	/**
 	 * @param stage
 	 *            to execute within an own thread
 	 */
 	public RunnableConsumerStage(final AbstractStage stage) {
+		this(stage, new BusyIdleStrategy());
+	}
+
+	/**
+	 * @param stage
+	 *            to execute within an own thread
+	 * @param idleStrategy
+	 *            defines what the thread does if the stage has no input
+	 */
+	public RunnableConsumerStage(final AbstractStage stage, final IdleStrategy idleStrategy) {
 		super(stage);
+		this.idleStrategy = idleStrategy;
 	}
 
 	@Override
 	protected void beforeStageExecution() throws InterruptedException {
+		if (stage.getCurrentState() == StageState.STARTED) { // the stage has been declared active at runtime
+			return;
+		}
 		logger.trace("waitForStartingSignal");
 		// FIXME should getInputPorts() really be defined in Stage?
 		// Instead, consider to provide a method "AbstractStage.waitForStartSignal"
@@ -41,8 +66,66 @@ final class RunnableConsumerStage extends AbstractRunnableStage {
 		}
 	}
 
+	@Override
+	protected void executeStage() {
+		inputPorts = StageFacade.INSTANCE.getInputPorts(stage);
+		if (idleStrategy instanceof BusyIdleStrategy) {
+			StageFacade.INSTANCE.runStage(stage, this::runQuiescentTasks, this::isNotMigrated); // avoid the idle check
+		} else {
+			StageFacade.INSTANCE.runStage(stage, this::idleIfNoInput, this::isNotMigrated);
+		}
+	}
+
+	private void idleIfNoInput() {
+		if (isInputAvailable()) {
+			numIdleRounds = 0;
+		} else if (!StageFacade.INSTANCE.shouldBeTerminated(stage)) { // the last execution could have consumed the terminate element
+			idleStrategy.idle(numIdleRounds++, inputAvailable);
+		}
+		runQuiescentTasks();
+	}
+
+	private boolean isNotMigrated() {
+		return !migrated;
+	}
+
+	/**
+	 * Must be invoked by the executing thread.
+	 *
+	 * @return whether the stage has been handed over to another thread
+	 */
+	/* default */ boolean isMigrated() {
+		return migrated;
+	}
+
+	/**
+	 * Lets the executing thread return without terminating the stage. Must be invoked by the executing thread, e.g., as quiescent task.
+	 *
+	 * @since 3.1.1
+	 */
+	/* default */ void stopForMigration() {
+		migrated = true;
+	}
+
+	private boolean isInputAvailable() {
+		final List<InputPort<?>> inputPorts = this.inputPorts;
+		for (int i = 0; i < inputPorts.size(); i++) {
+			if (inputPorts.get(i).getPipe().hasMore()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	IdleStrategy getIdleStrategy() {
+		return idleStrategy;
+	}
+
 	@Override
 	protected void afterStageExecution() {
+		if (migrated && !StageFacade.INSTANCE.shouldBeTerminated(stage)) { // the stage is executed by another thread from now on
+			return;
+		}
 		final ISignal signal = new TerminatingSignal(); // NOPMD DU caused by loop
 		for (InputPort<?> inputPort : StageFacade.INSTANCE.getInputPorts(stage)) {
 			stage.onSignal(signal, inputPort);
@@ -0,0 +1,98 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spins, then yields, and finally parks the idle consumer thread. A producer unparks the consumer thread as soon as it adds a new element to one of its pipes.
+ * <p>
+ * A parked consumer thread wakes up by itself after at most the given maximum park time. This bounds the latency in the rare case that a producer misses the
+ * parking consumer, and lets the consumer react to signals that are not preceded by an element.
+ *
+ * @since 3.1.1
+ */
+public final class SpinYieldParkIdleStrategy implements IdleStrategy {
+
+	private static final int DEFAULT_NUM_SPINS = 100;
+	private static final int DEFAULT_NUM_YIELDS = 100;
+	private static final long DEFAULT_MAX_PARK_TIME_IN_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final int numSpins;
+	private final int numSpinsAndYields;
+	private final long maxParkTimeInNs;
+
+	private volatile Thread parkedThread;
+	// statistics: only written by the consumer thread, but read by any thread
+	private volatile long numParks;
+
+	public SpinYieldParkIdleStrategy() {
+		this(DEFAULT_NUM_SPINS, DEFAULT_NUM_YIELDS, DEFAULT_MAX_PARK_TIME_IN_NS);
+	}
+
+	/**
+	 * @param numSpins
+	 *            the number of idle rounds to spin before yielding
+	 * @param numYields
+	 *            the number of idle rounds to yield before parking
+	 * @param maxParkTimeInNs
+	 *            the maximum time the consumer thread is parked at a time
+	 */
+	public SpinYieldParkIdleStrategy(final int numSpins, final int numYields, final long maxParkTimeInNs) {
+		if (numSpins < 0 || numYields < 0) {
+			throw new IllegalArgumentException("numSpins and numYields may not be negative, but were " + numSpins + " and " + numYields);
+		}
+		if (maxParkTimeInNs <= 0) {
+			throw new IllegalArgumentException("maxParkTimeInNs must be positive, but was " + maxParkTimeInNs);
+		}
+		this.numSpins = numSpins;
+		this.numSpinsAndYields = numSpins + numYields;
+		this.maxParkTimeInNs = maxParkTimeInNs;
+	}
+
+	@Override
+	public void idle(final int round, final BooleanSupplier inputAvailable) {
+		if (round < numSpins) {
+			Thread.onSpinWait();
+		} else if (round < numSpinsAndYields) {
+			Thread.yield();
+		} else {
+			parkedThread = Thread.currentThread();
+			if (!inputAvailable.getAsBoolean()) { // re-check since a producer could have added an element in the meantime
+				numParks = numParks + 1; // NOPMD (single writer, so no atomic increment required)
+				LockSupport.parkNanos(this, maxParkTimeInNs);
+			}
+			parkedThread = null;
+		}
+	}
+
+	@Override
+	public void wakeUp() {
+		final Thread thread = parkedThread;
+		if (thread != null) {
+			parkedThread = null;
+			LockSupport.unpark(thread);
+		}
+	}
+
+	@Override
+	public long getNumParks() {
+		return numParks;
+	}
+
+}
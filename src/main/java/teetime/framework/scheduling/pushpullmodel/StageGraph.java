@@ -0,0 +1,150 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import teetime.framework.AbstractPort;
+import teetime.framework.AbstractStage;
+import teetime.framework.ITraverserVisitor;
+import teetime.framework.OutputPort;
+import teetime.framework.StageFacade;
+import teetime.framework.Traverser;
+import teetime.framework.Traverser.VisitorBehavior;
+import teetime.framework.pipe.DummyPipe;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Represents the stages of a configuration together with their pipe connections.
+ * <p>
+ * Each stage is assigned a key which is stable across several instances of the same configuration (e.g., <code>Counter-1</code> for the second
+ * {@link teetime.stage.Counter} created by the configuration). This way, a result computed for one instance can be applied to another one.
+ *
+ * @since 3.1.1
+ */
+class StageGraph {
+
+	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
+
+	private final List<AbstractStage> stages = new ArrayList<>();
+	private final Map<AbstractStage, List<AbstractStage>> successors = new HashMap<>();
+	private final Map<AbstractStage, List<AbstractStage>> predecessors = new HashMap<>();
+	private final Map<AbstractStage, String> keys = new HashMap<>();
+
+	public StageGraph(final Collection<AbstractStage> startStages) {
+		Traverser traverser = new Traverser(new StageCollector());
+		for (AbstractStage startStage : startStages) {
+			traverser.traverse(startStage);
+		}
+
+		for (AbstractStage stage : stages) {
+			for (OutputPort<?> outputPort : STAGE_FACADE.getOutputPorts(stage)) {
+				IPipe<?> pipe = outputPort.getPipe();
+				if (pipe instanceof DummyPipe) {
+					continue;
+				}
+				for (AbstractPort<?> targetPort : pipe.getTargetPorts()) {
+					AbstractStage targetStage = targetPort.getOwningStage();
+					successors.get(stage).add(targetStage);
+					predecessors.get(targetStage).add(stage);
+				}
+			}
+		}
+
+		computeKeys();
+	}
+
+	private void computeKeys() {
+		Map<String, List<AbstractStage>> stagesByType = new HashMap<>();
+		for (AbstractStage stage : stages) {
+			stagesByType.computeIfAbsent(stage.getClass().getSimpleName(), k -> new ArrayList<>()).add(stage);
+		}
+
+		// ids are numbered in the order of creation
+		Comparator<AbstractStage> creationOrder = Comparator.comparingInt(StageGraph::getInstanceNumber);
+		for (Map.Entry<String, List<AbstractStage>> entry : stagesByType.entrySet()) {
+			List<AbstractStage> stagesOfType = entry.getValue();
+			Collections.sort(stagesOfType, creationOrder);
+			for (int i = 0; i < stagesOfType.size(); i++) {
+				keys.put(stagesOfType.get(i), entry.getKey() + "-" + i);
+			}
+		}
+
+		Collections.sort(stages, Comparator.comparing(keys::get));
+	}
+
+	private static int getInstanceNumber(final AbstractStage stage) {
+		String id = stage.getId();
+		try {
+			return Integer.parseInt(id.substring(id.lastIndexOf('-') + 1));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * @return all stages sorted by their keys
+	 */
+	public List<AbstractStage> getStages() {
+		return stages;
+	}
+
+	/**
+	 * @return the target stage of each outgoing pipe (may contain duplicates)
+	 */
+	public List<AbstractStage> getSuccessors(final AbstractStage stage) {
+		return successors.get(stage);
+	}
+
+	/**
+	 * @return the source stage of each incoming pipe (may contain duplicates)
+	 */
+	public List<AbstractStage> getPredecessors(final AbstractStage stage) {
+		return predecessors.get(stage);
+	}
+
+	public String getKey(final AbstractStage stage) {
+		return keys.get(stage);
+	}
+
+	private class StageCollector implements ITraverserVisitor {
+
+		@Override
+		public VisitorBehavior visit(final AbstractStage stage) {
+			stages.add(stage);
+			successors.put(stage, new ArrayList<>());
+			predecessors.put(stage, new ArrayList<>());
+			return VisitorBehavior.CONTINUE_BACK_AND_FORTH;
+		}
+
+		@Override
+		public VisitorBehavior visit(final AbstractPort<?> port) {
+			return VisitorBehavior.CONTINUE_BACK_AND_FORTH;
+		}
+
+		@Override
+		public void visit(final DummyPipe pipe, final AbstractPort<?> port) {
+			// do nothing
+		}
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package teetime.framework.scheduling.pushpullmodel;
 
+import java.util.concurrent.Semaphore;
+
 class TeeTimeThread extends Thread {
 
 	// private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
@@ -22,6 +24,13 @@ class TeeTimeThread extends Thread {
 	private final AbstractRunnableStage runnable;
 	private ThreadListener listener;
 
+	/** whether this thread parks after each run to wait for the next one (instead of exiting) */
+	private boolean reusable;
+	private final Semaphore nextRunPermits = new Semaphore(0);
+	private final Semaphore completedRunPermits = new Semaphore(0);
+	private volatile boolean waitingForNextRun;
+	private volatile boolean shutdown;
+
 	public TeeTimeThread(final AbstractRunnableStage runnable, final String name) {
 		super(runnable, name);
 		this.runnable = runnable;
@@ -42,11 +51,124 @@ class TeeTimeThread extends Thread {
 
 	@Override
 	public void run() {
-		try {
-			super.run();
-		} finally {
-			getListener().onAfterTermination(runnable.stage);
+		boolean nextRun;
+		do {
+			nextRun = false;
+			try {
+				super.run();
+				nextRun = reusable && !isMigrated();
+			} finally {
+				getListener().onAfterTermination(runnable.stage);
+				waitingForNextRun = nextRun;
+				if (reusable) {
+					completedRunPermits.release();
+				}
+			}
+		} while (nextRun && awaitNextRun());
+	}
+
+	private boolean isMigrated() {
+		return runnable instanceof RunnableConsumerStage && ((RunnableConsumerStage) runnable).isMigrated();
+	}
+
+	private boolean awaitNextRun() {
+		nextRunPermits.acquireUninterruptibly();
+		interrupted(); // clears an interrupt which has been intended for the previous run, e.g., to abort it
+		waitingForNextRun = false;
+		return !shutdown;
+	}
+
+	/**
+	 * Lets this thread park after each run of its stage to wait for the next one, instead of exiting. Must be set before starting this thread.
+	 *
+	 * @since 3.1.1
+	 */
+	public void setReusable(final boolean reusable) {
+		this.reusable = reusable;
+		setDaemon(reusable); // a forgotten shutdown should not prevent the JVM from exiting
+	}
+
+	/**
+	 * Waits until this reusable thread has completed its current run.
+	 *
+	 * @return <code>true</code> if this thread waits for the next run, <code>false</code> if it has exited, e.g., due to an exception
+	 *
+	 * @since 3.1.1
+	 */
+	public boolean awaitCompletedRun() {
+		completedRunPermits.acquireUninterruptibly();
+		return waitingForNextRun;
+	}
+
+	/**
+	 * Lets this reusable thread execute its stage once more.
+	 *
+	 * @since 3.1.1
+	 */
+	public void startNextRun() {
+		getListener().onBeforeStart(runnable.stage);
+		nextRunPermits.release();
+	}
+
+	/**
+	 * Lets this reusable thread exit instead of waiting for the next run.
+	 *
+	 * @since 3.1.1
+	 */
+	public void shutdown() {
+		shutdown = true;
+		nextRunPermits.release();
+	}
+
+	/**
+	 * @return the idle strategy of this consumer thread, or <code>null</code> if this thread executes a producer
+	 *
+	 * @since 3.1.1
+	 */
+	/* default */ IdleStrategy getIdleStrategy() {
+		return (runnable instanceof RunnableConsumerStage) ? ((RunnableConsumerStage) runnable).getIdleStrategy() : null;
+	}
+
+	/**
+	 * Wakes up this thread if it idles while waiting for new input.
+	 */
+	public void wakeUp() {
+		if (runnable instanceof RunnableConsumerStage) {
+			((RunnableConsumerStage) runnable).getIdleStrategy().wakeUp();
+		}
+	}
+
+	/**
+	 * Lets this thread run the given task as soon as it has completed the current execution of its stage. This method is thread-safe.
+	 *
+	 * @since 3.1.1
+	 */
+	public void executeAtQuiescentPoint(final Runnable task) {
+		runnable.executeAtQuiescentPoint(task);
+		wakeUp();
+	}
+
+	/**
+	 * Lets this thread return as soon as it has completed the current execution of its stage, but without terminating its stage. This method is
+	 * thread-safe.
+	 *
+	 * @since 3.1.1
+	 */
+	public void stopForMigration() {
+		if (!(runnable instanceof RunnableConsumerStage)) {
+			throw new IllegalStateException("Only consumer threads can be stopped for migration, but was " + getName());
+		}
+		executeAtQuiescentPoint(((RunnableConsumerStage) runnable)::stopForMigration);
+	}
+
+	/**
+	 * @return how often this thread has parked while waiting for new input
+	 */
+	public long getNumParks() {
+		if (runnable instanceof RunnableConsumerStage) {
+			return ((RunnableConsumerStage) runnable).getIdleStrategy().getNumParks();
 		}
+		return 0;
 	}
 
 	public ThreadListener getListener() {
@@ -0,0 +1,361 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.ConfigurationFacade;
+import teetime.framework.Execution;
+import teetime.framework.StageFacade;
+
+/**
+ * Proposes which stages should be active, i.e., where the thread boundaries of a configuration should be placed.
+ * <p>
+ * For this purpose, the optimizer creates an instance of the configuration, declares each of its stages active, and executes it for a warm-up period.
+ * Meanwhile, it measures the CPU time of each stage's thread. Afterwards, it starts with the minimal assignment in which only the producers and the
+ * stages fed by several threads are active. It then repeatedly splits off a part of the most loaded thread as long as there are more cores than
+ * threads and the split noticeably reduces the load of that thread. In this way, CPU-heavy stages get an own thread while trivial stages stay passive
+ * and thus do not need a synched pipe.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * ThreadAssignmentOptimizer&lt;MyConfiguration&gt; optimizer = new ThreadAssignmentOptimizer&lt;&gt;(MyConfiguration::new);
+ * MyConfiguration configuration = optimizer.createOptimizedConfiguration(); // prints the plan
+ * new Execution&lt;&gt;(configuration).executeBlocking();
+ * </pre>
+ *
+ * Note that a stage waiting on a full pipe still consumes some CPU time while yielding. Hence, the measured CPU time of a producer is an upper bound.
+ *
+ * @since 3.1.1
+ */
+public class ThreadAssignmentOptimizer<T extends Configuration> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ThreadAssignmentOptimizer.class);
+
+	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
+
+	public static final long DEFAULT_WARM_UP_TIME_IN_MS = 2000;
+	/** a split must reduce the load of the most loaded thread by at least this percentage */
+	private static final int MIN_IMPROVEMENT_IN_PERCENT = 10;
+	private static final long SAMPLING_INTERVAL_IN_MS = 10;
+
+	private final Supplier<T> configurationSupplier;
+	private final int numCores;
+	private final long warmUpTimeInMs;
+
+	/**
+	 * Creates an optimizer which plans for all available processors.
+	 *
+	 * @param configurationSupplier
+	 *            creates a new instance of the configuration on each call
+	 */
+	public ThreadAssignmentOptimizer(final Supplier<T> configurationSupplier) {
+		this(configurationSupplier, Runtime.getRuntime().availableProcessors(), DEFAULT_WARM_UP_TIME_IN_MS);
+	}
+
+	/**
+	 * @param configurationSupplier
+	 *            creates a new instance of the configuration on each call
+	 * @param numCores
+	 *            the number of cores the load should be balanced on
+	 * @param warmUpTimeInMs
+	 *            how long the configuration is profiled at most
+	 */
+	public ThreadAssignmentOptimizer(final Supplier<T> configurationSupplier, final int numCores, final long warmUpTimeInMs) {
+		if (numCores < 1) {
+			throw new IllegalArgumentException("numCores must be positive, but was " + numCores);
+		}
+		if (warmUpTimeInMs < 1) {
+			throw new IllegalArgumentException("warmUpTimeInMs must be positive, but was " + warmUpTimeInMs);
+		}
+		this.configurationSupplier = configurationSupplier;
+		this.numCores = numCores;
+		this.warmUpTimeInMs = warmUpTimeInMs;
+	}
+
+	/**
+	 * Profiles a new instance of the configuration and computes a thread assignment from the measured CPU times.
+	 *
+	 * @return the proposed plan, which can be applied to further instances of the configuration
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if the JVM cannot measure the CPU time of threads
+	 */
+	public ThreadAssignmentPlan optimize() {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (!threadBean.isThreadCpuTimeSupported()) {
+			throw new UnsupportedOperationException("This JVM does not support measuring the CPU time of threads.");
+		}
+		if (!threadBean.isThreadCpuTimeEnabled()) {
+			threadBean.setThreadCpuTimeEnabled(true);
+		}
+
+		T configuration = configurationSupplier.get();
+		StageGraph graph = new StageGraph(ConfigurationFacade.INSTANCE.getStartStages(configuration));
+		for (AbstractStage stage : graph.getStages()) {
+			stage.declareActive();
+		}
+
+		// do not let idle threads spin; otherwise, the measured CPU time would not reflect the stage's work
+		PushPullScheduling scheduling = new PushPullScheduling(configuration, SpinYieldParkIdleStrategy::new);
+		Execution<T> execution = new Execution<>(configuration, true, scheduling);
+		Map<AbstractStage, Long> cpuTimes = profile(threadBean, graph, execution);
+
+		ThreadAssignmentPlan plan = computePlan(graph, cpuTimes, numCores);
+		LOGGER.info("{}", plan);
+		return plan;
+	}
+
+	/**
+	 * Profiles a new instance of the configuration and applies the resulting plan to another new instance.
+	 *
+	 * @return a new instance of the configuration whose stages are declared active or passive according to the computed plan
+	 */
+	public T createOptimizedConfiguration() {
+		ThreadAssignmentPlan plan = optimize();
+		T configuration = configurationSupplier.get();
+		plan.apply(configuration);
+		return configuration;
+	}
+
+	private Map<AbstractStage, Long> profile(final ThreadMXBean threadBean, final StageGraph graph, final Execution<T> execution) {
+		Map<AbstractStage, Long> cpuTimes = new HashMap<>();
+
+		execution.executeNonBlocking();
+
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmUpTimeInMs);
+		boolean anyThreadAlive = true;
+		while (anyThreadAlive && System.nanoTime() < deadline) {
+			anyThreadAlive = sampleCpuTimes(threadBean, graph, cpuTimes);
+			try {
+				Thread.sleep(SAMPLING_INTERVAL_IN_MS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		anyThreadAlive = sampleCpuTimes(threadBean, graph, cpuTimes);
+
+		if (anyThreadAlive) {
+			execution.abortEventually();
+		} else {
+			execution.waitForTermination();
+		}
+
+		return cpuTimes;
+	}
+
+	private boolean sampleCpuTimes(final ThreadMXBean threadBean, final StageGraph graph, final Map<AbstractStage, Long> cpuTimes) {
+		boolean anyThreadAlive = false;
+		for (AbstractStage stage : graph.getStages()) {
+			Thread thread = STAGE_FACADE.getOwningThread(stage);
+			if (thread == null) {
+				continue;
+			}
+			long cpuTime = threadBean.getThreadCpuTime(thread.getId());
+			if (cpuTime >= 0) { // -1 if the thread has already terminated
+				cpuTimes.put(stage, cpuTime);
+			}
+			anyThreadAlive |= thread.isAlive();
+		}
+		return anyThreadAlive;
+	}
+
+	/**
+	 * Computes the thread assignment for the given stages and their measured CPU times.
+	 */
+	/* default */ static ThreadAssignmentPlan computePlan(final StageGraph graph, final Map<AbstractStage, Long> cpuTimes, final int numCores) {
+		Set<AbstractStage> activeStages = new HashSet<>();
+		for (AbstractStage stage : graph.getStages()) {
+			if (graph.getPredecessors(stage).isEmpty()) {
+				activeStages.add(stage);
+			}
+		}
+		declareSharedStagesActive(graph, activeStages);
+
+		while (activeStages.size() < numCores) {
+			Map<AbstractStage, Set<AbstractStage>> stagesOfThread = computeStagesOfThread(graph, activeStages);
+
+			AbstractStage mostLoadedThread = null;
+			long maxLoad = -1;
+			for (Map.Entry<AbstractStage, Set<AbstractStage>> entry : stagesOfThread.entrySet()) {
+				long load = computeLoad(entry.getValue(), cpuTimes);
+				if (load > maxLoad) {
+					maxLoad = load;
+					mostLoadedThread = entry.getKey();
+				}
+			}
+
+			Set<AbstractStage> bestActiveStages = null;
+			long bestLoad = maxLoad - maxLoad * MIN_IMPROVEMENT_IN_PERCENT / 100;
+			for (AbstractStage candidate : stagesOfThread.get(mostLoadedThread)) {
+				if (candidate == mostLoadedThread) {
+					continue;
+				}
+				Set<AbstractStage> candidateActiveStages = new HashSet<>(activeStages);
+				candidateActiveStages.add(candidate);
+				declareSharedStagesActive(graph, candidateActiveStages);
+				if (candidateActiveStages.size() > numCores) {
+					continue;
+				}
+
+				// only the threads split off from the most loaded one have changed
+				Map<AbstractStage, Set<AbstractStage>> candidateStagesOfThread = computeStagesOfThread(graph, candidateActiveStages);
+				long load = 0;
+				for (AbstractStage stage : stagesOfThread.get(mostLoadedThread)) {
+					if (candidateActiveStages.contains(stage)) {
+						load = Math.max(load, computeLoad(candidateStagesOfThread.get(stage), cpuTimes));
+					}
+				}
+
+				if (load < bestLoad || (load == bestLoad && bestActiveStages != null && candidateActiveStages.size() < bestActiveStages.size())) {
+					bestLoad = load;
+					bestActiveStages = candidateActiveStages;
+				}
+			}
+
+			if (bestActiveStages == null) {
+				break;
+			}
+			activeStages = bestActiveStages;
+		}
+
+		return createPlan(graph, cpuTimes, numCores, activeStages);
+	}
+
+	/**
+	 * Declares each stage active which would otherwise be executed by more than one thread (or by none at all, e.g., within a cycle).
+	 */
+	private static void declareSharedStagesActive(final StageGraph graph, final Set<AbstractStage> activeStages) {
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			Map<AbstractStage, Set<AbstractStage>> threadsOfStage = new HashMap<>();
+			for (Map.Entry<AbstractStage, Set<AbstractStage>> entry : computeStagesOfThread(graph, activeStages).entrySet()) {
+				for (AbstractStage stage : entry.getValue()) {
+					threadsOfStage.computeIfAbsent(stage, k -> new HashSet<>()).add(entry.getKey());
+				}
+			}
+			Set<AbstractStage> sharedStages = new HashSet<>();
+			for (AbstractStage stage : graph.getStages()) {
+				Set<AbstractStage> threads = threadsOfStage.get(stage);
+				if (!activeStages.contains(stage) && (threads == null || threads.size() > 1)) {
+					sharedStages.add(stage);
+				}
+			}
+
+			// activate the first shared stages only since their successors may then be owned by a single thread again
+			for (AbstractStage stage : sharedStages) {
+				boolean hasSharedPredecessor = false;
+				for (AbstractStage predecessor : graph.getPredecessors(stage)) {
+					hasSharedPredecessor |= sharedStages.contains(predecessor);
+				}
+				if (!hasSharedPredecessor) {
+					activeStages.add(stage);
+					changed = true;
+				}
+			}
+			if (!changed && !sharedStages.isEmpty()) { // cycle of shared stages
+				activeStages.addAll(sharedStages);
+				changed = true;
+			}
+		}
+	}
+
+	/**
+	 * @return for each active stage, the stages executed by its thread (including itself)
+	 */
+	private static Map<AbstractStage, Set<AbstractStage>> computeStagesOfThread(final StageGraph graph, final Set<AbstractStage> activeStages) {
+		Map<AbstractStage, Set<AbstractStage>> stagesOfThread = new LinkedHashMap<>();
+		for (AbstractStage stage : graph.getStages()) {
+			if (!activeStages.contains(stage)) {
+				continue;
+			}
+
+			Set<AbstractStage> intraStages = new HashSet<>();
+			Deque<AbstractStage> stagesToVisit = new ArrayDeque<>();
+			intraStages.add(stage);
+			stagesToVisit.add(stage);
+			while (!stagesToVisit.isEmpty()) {
+				for (AbstractStage successor : graph.getSuccessors(stagesToVisit.poll())) {
+					if (!activeStages.contains(successor) && intraStages.add(successor)) {
+						stagesToVisit.add(successor);
+					}
+				}
+			}
+			stagesOfThread.put(stage, intraStages);
+		}
+		return stagesOfThread;
+	}
+
+	private static long computeLoad(final Set<AbstractStage> stages, final Map<AbstractStage, Long> cpuTimes) {
+		long load = 0;
+		for (AbstractStage stage : stages) {
+			Long cpuTime = cpuTimes.get(stage);
+			if (cpuTime != null) {
+				load += cpuTime;
+			}
+		}
+		return load;
+	}
+
+	private static ThreadAssignmentPlan createPlan(final StageGraph graph, final Map<AbstractStage, Long> cpuTimes, final int numCores,
+			final Set<AbstractStage> activeStages) {
+		Map<String, Long> cpuTimeOfStage = new LinkedHashMap<>();
+		int numSynchedPipes = 0;
+		for (AbstractStage stage : graph.getStages()) {
+			Long cpuTime = cpuTimes.get(stage);
+			cpuTimeOfStage.put(graph.getKey(stage), (cpuTime == null) ? 0 : cpuTime);
+			for (AbstractStage successor : graph.getSuccessors(stage)) {
+				if (activeStages.contains(successor)) {
+					numSynchedPipes++;
+				}
+			}
+		}
+
+		Map<String, List<String>> stagesOfThread = new LinkedHashMap<>();
+		for (Map.Entry<AbstractStage, Set<AbstractStage>> entry : computeStagesOfThread(graph, activeStages).entrySet()) {
+			List<String> stageKeys = new ArrayList<>();
+			for (AbstractStage stage : graph.getStages()) {
+				if (entry.getValue().contains(stage)) {
+					stageKeys.add(graph.getKey(stage));
+				}
+			}
+			stagesOfThread.put(graph.getKey(entry.getKey()), stageKeys);
+		}
+
+		return new ThreadAssignmentPlan(numCores, cpuTimeOfStage, stagesOfThread, numSynchedPipes);
+	}
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.ConfigurationFacade;
+
+/**
+ * Describes which stages should be active, i.e., which stages should be executed by an own thread. Stages are identified by keys which are stable
+ * across several instances of the same configuration, so that a plan computed from one instance can be {@link #apply(Configuration) applied} to
+ * another one.
+ *
+ * @since 3.1.1
+ *
+ * @see ThreadAssignmentOptimizer
+ */
+public final class ThreadAssignmentPlan {
+
+	private final int numCores;
+	private final Map<String, Long> cpuTimeOfStage;
+	private final Map<String, List<String>> stagesOfThread;
+	private final int numSynchedPipes;
+
+	/**
+	 * @param cpuTimeOfStage
+	 *            the measured CPU time of each stage
+	 * @param stagesOfThread
+	 *            the stages executed by each thread, keyed by the thread's active stage
+	 */
+	/* default */ ThreadAssignmentPlan(final int numCores, final Map<String, Long> cpuTimeOfStage, final Map<String, List<String>> stagesOfThread,
+			final int numSynchedPipes) {
+		this.numCores = numCores;
+		this.cpuTimeOfStage = Collections.unmodifiableMap(cpuTimeOfStage);
+		this.stagesOfThread = Collections.unmodifiableMap(stagesOfThread);
+		this.numSynchedPipes = numSynchedPipes;
+	}
+
+	/**
+	 * Declares the stages of the given configuration active or passive according to this plan. The configuration must be another instance of the
+	 * profiled configuration and must not be executed yet.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the configuration contains a stage which did not occur in the profiled configuration
+	 */
+	public void apply(final Configuration configuration) {
+		StageGraph graph = new StageGraph(ConfigurationFacade.INSTANCE.getStartStages(configuration));
+		for (AbstractStage stage : graph.getStages()) {
+			String key = graph.getKey(stage);
+			if (!cpuTimeOfStage.containsKey(key)) {
+				throw new IllegalArgumentException("The stage " + stage.getId() + " (key: " + key + ") did not occur in the profiled configuration.");
+			}
+			if (isActive(key)) {
+				stage.declareActive();
+			} else if (stage.isActive()) {
+				stage.declarePassive();
+			}
+		}
+	}
+
+	public boolean isActive(final String stageKey) {
+		return stagesOfThread.containsKey(stageKey);
+	}
+
+	public Set<String> getActiveStageKeys() {
+		return stagesOfThread.keySet();
+	}
+
+	/**
+	 * @return the keys of the stages executed by the thread of the given active stage
+	 */
+	public List<String> getStagesOfThread(final String activeStageKey) {
+		return stagesOfThread.get(activeStageKey);
+	}
+
+	public int getNumThreads() {
+		return stagesOfThread.size();
+	}
+
+	public int getNumCores() {
+		return numCores;
+	}
+
+	/**
+	 * @return the number of pipes crossing a thread boundary
+	 */
+	public int getNumSynchedPipes() {
+		return numSynchedPipes;
+	}
+
+	public long getCpuTimeInNs(final String stageKey) {
+		Long cpuTime = cpuTimeOfStage.get(stageKey);
+		return (cpuTime == null) ? 0 : cpuTime;
+	}
+
+	/**
+	 * @return the accumulated CPU time of all stages executed by the thread of the given active stage
+	 */
+	public long getLoadInNs(final String activeStageKey) {
+		long load = 0;
+		for (String stageKey : stagesOfThread.get(activeStageKey)) {
+			load += getCpuTimeInNs(stageKey);
+		}
+		return load;
+	}
+
+	@Override
+	public String toString() {
+		long totalLoad = 0;
+		for (String stageKey : cpuTimeOfStage.keySet()) {
+			totalLoad += getCpuTimeInNs(stageKey);
+		}
+
+		StringBuilder builder = new StringBuilder(256);
+		builder.append(String.format("Thread assignment plan: %d thread(s) on %d core(s), %d synched pipe(s)%n", getNumThreads(), numCores, numSynchedPipes));
+		for (Map.Entry<String, List<String>> entry : stagesOfThread.entrySet()) {
+			long load = getLoadInNs(entry.getKey());
+			double percentage = (totalLoad == 0) ? 0 : 100.0 * load / totalLoad;
+			builder.append(String.format("  %s: %5.1f%% %s%n", entry.getKey(), percentage, entry.getValue()));
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import teetime.framework.AbstractPort;
+import teetime.framework.AbstractStage;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.StageFacade;
+import teetime.framework.StageState;
+import teetime.framework.pipe.DummyPipe;
+import teetime.framework.pipe.IPipe;
+
+/**
+ * Analyzes the topology of a configuration for the {@link PushPullScheduling} with a single iterative pass over the stages and pipes instead of
+ * running several recursive {@link teetime.framework.Traverser traversals}. It replaces the following visitors:
+ * <ul>
+ * <li>the former threadable stage collector: declares each producer active and collects the active stages,</li>
+ * <li>the former invalid thread assignment check: checks that each passive stage is reached by exactly one thread,</li>
+ * <li>{@link A3PipeInstantiation}: instantiates each pipe, and</li>
+ * <li>{@link IntraStageCollector}: collects the passive stages executed by each thread.</li>
+ * </ul>
+ * Like the traversals, the analysis does not enter stages which have already been started so that it can be used for stages added at runtime.
+ * Since it does not recurse, even very long chains of stages do not exhaust the call stack.
+ *
+ * @since 3.1.1
+ */
+class TopologyAnalysis {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TopologyAnalysis.class);
+
+	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
+
+	private final List<AbstractStage> stages = new ArrayList<>();
+	private final Map<AbstractStage, Set<AbstractStage>> intraStagesOfThreadableStage = new LinkedHashMap<>();
+
+	/**
+	 * Analyzes all stages reachable from the given start stages and instantiates their pipes.
+	 *
+	 * @throws IllegalStateException
+	 *             if a port is not connected, or if a passive stage is reached by more than one thread
+	 */
+	public TopologyAnalysis(final Collection<AbstractStage> startStages, final A3PipeInstantiation pipeInstantiation) {
+		collectStagesAndInstantiatePipes(startStages, pipeInstantiation);
+		assignThreads();
+	}
+
+	private void collectStagesAndInstantiatePipes(final Collection<AbstractStage> startStages, final A3PipeInstantiation pipeInstantiation) {
+		Set<AbstractStage> visitedStages = new HashSet<>();
+		// contains both the visited pipes and the pipes instantiated for them, since the latter replace the former at the ports
+		Set<IPipe<?>> visitedPipes = new HashSet<>();
+		Deque<AbstractStage> stagesToVisit = new ArrayDeque<>();
+
+		for (AbstractStage startStage : startStages) {
+			if (!isStarted(startStage) && visitedStages.add(startStage)) {
+				stagesToVisit.push(startStage);
+			}
+		}
+
+		while (!stagesToVisit.isEmpty()) {
+			AbstractStage stage = stagesToVisit.pop();
+			stages.add(stage);
+			if (stage.isProducer()) {
+				stage.declareActive();
+			}
+
+			for (OutputPort<?> outputPort : STAGE_FACADE.getOutputPorts(stage)) {
+				IPipe<?> pipe = getPipe(outputPort);
+				if (pipe != null && visitedPipes.add(pipe)) {
+					visitNeighbors(pipe.getTargetPorts(), visitedStages, stagesToVisit);
+					visitNeighbors(pipe.getSourcePorts(), visitedStages, stagesToVisit);
+					visitedPipes.add(pipeInstantiation.instantiatePipe(pipe));
+				}
+			}
+			for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(stage)) {
+				IPipe<?> pipe = getPipe(inputPort);
+				if (pipe != null && visitedPipes.add(pipe)) {
+					visitNeighbors(pipe.getSourcePorts(), visitedStages, stagesToVisit);
+					visitedPipes.add(pipeInstantiation.instantiatePipe(pipe));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the pipe connected to the given port, or <code>null</code> if the port is intentionally not connected
+	 */
+	private static IPipe<?> getPipe(final AbstractPort<?> port) {
+		IPipe<?> pipe = port.getPipe();
+		if (pipe == null) {
+			throw new IllegalStateException("2003 - The port " + port + " of the stage " + port.getOwningStage() + " is not connected with another port.");
+		}
+		if (pipe instanceof DummyPipe) {
+			if (LOGGER.isInfoEnabled()) {
+				LOGGER.info("Unconnected port {} in stage {}", port, port.getOwningStage().getId());
+			}
+			return null;
+		}
+		return pipe;
+	}
+
+	private static void visitNeighbors(final List<? extends AbstractPort<?>> ports, final Set<AbstractStage> visitedStages,
+			final Deque<AbstractStage> stagesToVisit) {
+		for (AbstractPort<?> port : ports) {
+			AbstractStage neighbor = port.getOwningStage();
+			if (!isStarted(neighbor) && visitedStages.add(neighbor)) {
+				stagesToVisit.push(neighbor);
+			}
+		}
+	}
+
+	private void assignThreads() {
+		Map<AbstractStage, AbstractStage> threadableStageOfStage = new HashMap<>();
+		Deque<AbstractStage> stagesToVisit = new ArrayDeque<>();
+
+		for (AbstractStage threadableStage : stages) {
+			if (!threadableStage.isActive()) {
+				continue;
+			}
+
+			Set<AbstractStage> intraStages = new LinkedHashSet<>();
+			intraStages.add(threadableStage);
+			stagesToVisit.push(threadableStage);
+			while (!stagesToVisit.isEmpty()) {
+				for (OutputPort<?> outputPort : STAGE_FACADE.getOutputPorts(stagesToVisit.pop())) {
+					IPipe<?> pipe = outputPort.getPipe();
+					if (pipe instanceof DummyPipe) {
+						continue;
+					}
+					for (AbstractPort<?> targetPort : pipe.getTargetPorts()) {
+						AbstractStage targetStage = targetPort.getOwningStage();
+						if (targetStage.isActive() || isStarted(targetStage) || !intraStages.add(targetStage)) {
+							continue;
+						}
+						AbstractStage otherThreadableStage = threadableStageOfStage.put(targetStage, threadableStage);
+						if (otherThreadableStage != null) {
+							// one stage is connected to a stage of another thread (but not its "headstage")
+							throw new IllegalStateException("1001 - Crossing threads in " + targetStage.getId());
+						}
+						stagesToVisit.push(targetStage);
+					}
+				}
+			}
+
+			intraStagesOfThreadableStage.put(threadableStage, intraStages);
+		}
+	}
+
+	private static boolean isStarted(final AbstractStage stage) {
+		return stage.getCurrentState().compareTo(StageState.STARTED) >= 0;
+	}
+
+	/**
+	 * @return all analyzed stages
+	 */
+	public List<AbstractStage> getStages() {
+		return stages;
+	}
+
+	public Set<AbstractStage> getThreadableStages() {
+		return Collections.unmodifiableSet(intraStagesOfThreadableStage.keySet());
+	}
+
+	/**
+	 * @return the given threadable stage and all passive stages executed by its thread
+	 */
+	public Set<AbstractStage> getIntraStages(final AbstractStage threadableStage) {
+		return intraStagesOfThreadableStage.get(threadableStage);
+	}
+
+}
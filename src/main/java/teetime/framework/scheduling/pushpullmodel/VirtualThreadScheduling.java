@@ -0,0 +1,294 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.ConfigurationFacade;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.StageFacade;
+import teetime.framework.TeeTimeScheduler;
+import teetime.framework.TerminationStrategy;
+import teetime.framework.exceptionHandling.AbstractExceptionListener;
+import teetime.framework.exceptionHandling.AbstractExceptionListenerFactory;
+import teetime.framework.pipe.IPipe;
+import teetime.framework.pipe.PrimitivePipes;
+import teetime.framework.pipe.strategy.SpinYieldParkIfFullStrategy;
+import teetime.framework.scheduling.CountDownAndUpLatch;
+import teetime.framework.signal.ValidatingSignal;
+import teetime.framework.validation.AnalysisNotValidException;
+
+/**
+ * Executes each active stage on a virtual thread, but otherwise like the {@link PushPullScheduling}, i.e., each passive stage is executed by the
+ * thread of its active predecessor. It is intended for configurations with many active stages which mostly block, e.g., on I/O. Such stages occupy
+ * a carrier (platform) thread only while they are running.
+ * <p>
+ * For this purpose, threads never spin or yield. A consumer without input parks until a producer adds a new element to one of its pipes, and a
+ * producer parks on a full pipe until the consumer has drained the pipe to its half.
+ * <p>
+ * Virtual threads require Java 21 or later. On older JVMs, this scheduler falls back to platform threads and logs a warning.
+ *
+ * @since 3.1.1
+ */
+public class VirtualThreadScheduling implements TeeTimeScheduler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadScheduling.class);
+
+	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
+	private static final ConfigurationFacade CONFIG_FACADE = ConfigurationFacade.INSTANCE;
+
+	/** bounds the waiting time in the rare case that a thread misses its wake-up */
+	private static final long MAX_PARK_TIME_IN_NS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final double LOW_WATER_MARK_RATIO = 0.5;
+
+	private final Configuration configuration;
+	private final boolean virtualThreads;
+
+	/** thread-safe since stages can also be started at runtime */
+	private final List<AbstractStage> threadableStages = new CopyOnWriteArrayList<>();
+	private final List<RunnableProducerStage> producers = new CopyOnWriteArrayList<>();
+	private final List<Thread> finiteProducerThreads = new CopyOnWriteArrayList<>();
+	private final List<Thread> infiniteProducerThreads = new CopyOnWriteArrayList<>();
+	private final List<Thread> consumerThreads = new CopyOnWriteArrayList<>();
+	/** is only queried once per pipe */
+	private final Map<AbstractStage, IdleStrategy> idleStrategies = new ConcurrentHashMap<>();
+
+	private final CountDownAndUpLatch numRunningFiniteProducers = new CountDownAndUpLatch();
+	private final CountDownAndUpLatch numRunningConsumers = new CountDownAndUpLatch();
+
+	public VirtualThreadScheduling(final Configuration configuration) {
+		this.configuration = configuration;
+		this.virtualThreads = VirtualThreads.isSupported();
+		if (!virtualThreads) {
+			LOGGER.warn("Virtual threads are not supported by Java {}. Falling back to platform threads.", System.getProperty("java.version"));
+		}
+	}
+
+	@Override
+	public void onInitialize() {
+		Collection<AbstractStage> startStages = CONFIG_FACADE.getStartStages(configuration);
+		if (startStages.isEmpty()) {
+			throw new IllegalStateException("The start stage may not be null.");
+		}
+
+		initialize(startStages);
+		if (threadableStages.isEmpty()) {
+			throw new IllegalStateException("1004 - No threadable stages in this configuration.");
+		}
+	}
+
+	/**
+	 * Analyzes the not yet started stages reachable from the given start stages and starts a thread for each new active stage.
+	 *
+	 * @return the new threadable stages
+	 */
+	private Set<AbstractStage> initialize(final Collection<AbstractStage> startStages) {
+		TopologyAnalysis analysis = new TopologyAnalysis(startStages, new ParkingPipeInstantiation());
+		Set<AbstractStage> newThreadableStages = analysis.getThreadableStages();
+		threadableStages.addAll(newThreadableStages);
+
+		AbstractExceptionListenerFactory<?> exceptionListenerFactory = CONFIG_FACADE.getFactory(configuration);
+		List<Thread> threads = new ArrayList<>();
+		for (AbstractStage threadableStage : newThreadableStages) {
+			Thread thread = createThread(threadableStage);
+			AbstractExceptionListener exceptionListener = exceptionListenerFactory.createInstance(thread);
+			for (AbstractStage stage : analysis.getIntraStages(threadableStage)) {
+				STAGE_FACADE.setOwningThread(stage, thread);
+				STAGE_FACADE.setExceptionHandler(stage, exceptionListener);
+				STAGE_FACADE.setScheduler(stage, this);
+			}
+			threads.add(thread);
+		}
+
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		return newThreadableStages;
+	}
+
+	private Thread createThread(final AbstractStage threadableStage) {
+		AbstractRunnableStage runnable;
+		CountDownAndUpLatch numRunningStages;
+		List<Thread> threads;
+		if (threadableStage.isProducer()) {
+			RunnableProducerStage producer = new RunnableProducerStage(threadableStage);
+			producers.add(producer);
+			runnable = producer;
+			if (STAGE_FACADE.getTerminationStrategy(threadableStage) == TerminationStrategy.BY_INTERRUPT) {
+				numRunningStages = null;
+				threads = infiniteProducerThreads;
+			} else {
+				numRunningStages = numRunningFiniteProducers;
+				threads = finiteProducerThreads;
+			}
+		} else {
+			IdleStrategy idleStrategy = new SpinYieldParkIdleStrategy(0, 0, MAX_PARK_TIME_IN_NS);
+			idleStrategies.put(threadableStage, idleStrategy);
+			runnable = new RunnableConsumerStage(threadableStage, idleStrategy);
+			numRunningStages = numRunningConsumers;
+			threads = consumerThreads;
+		}
+
+		Runnable task;
+		if (numRunningStages == null) {
+			task = runnable;
+		} else {
+			numRunningStages.countUp();
+			task = () -> {
+				try {
+					runnable.run();
+				} finally {
+					numRunningStages.countDown();
+				}
+			};
+		}
+
+		String name = "Thread for " + threadableStage.getId();
+		Thread thread = virtualThreads ? VirtualThreads.newThread(task, name) : new Thread(task, name);
+		threads.add(thread);
+		return thread;
+	}
+
+	@Override
+	public void onValidate() {
+		validate(threadableStages);
+	}
+
+	private static void validate(final Collection<AbstractStage> stages) {
+		for (AbstractStage stage : stages) {
+			final ValidatingSignal validatingSignal = new ValidatingSignal(); // NOPMD we need a new instance every iteration
+			stage.onSignal(validatingSignal, null);
+			if (validatingSignal.getInvalidPortConnections().size() > 0) {
+				throw new AnalysisNotValidException(validatingSignal.getInvalidPortConnections());
+			}
+		}
+	}
+
+	@Override
+	public void onExecute() {
+		for (RunnableProducerStage producer : producers) {
+			producer.triggerStartingSignal();
+		}
+	}
+
+
+	@Override
+	public void onTerminate() {
+		for (AbstractStage stage : threadableStages) {
+			STAGE_FACADE.abort(stage);
+		}
+	}
+
+	@Override
+	public void onFinish() {
+		try {
+			numRunningFiniteProducers.await();
+		} catch (InterruptedException e) {
+			LOGGER.error("Execution has stopped unexpectedly", e);
+			for (Thread thread : finiteProducerThreads) {
+				thread.interrupt();
+			}
+		}
+
+		if (!infiniteProducerThreads.isEmpty()) {
+			LOGGER.debug("Interrupting infiniteProducerThreads...");
+			for (Thread thread : infiniteProducerThreads) {
+				thread.interrupt();
+			}
+		}
+
+		try {
+			numRunningConsumers.await();
+		} catch (InterruptedException e) {
+			LOGGER.error("Execution has stopped unexpectedly", e);
+			for (Thread thread : consumerThreads) {
+				thread.interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Executes the given stage (together with its passive successors) by a new thread, like the {@link PushPullScheduling}. The validating and the
+	 * starting signal must already be sent to a consumer via its input pipes. A producer is validated and started by this method.
+	 */
+	@Override
+	public void startStageAtRuntime(final AbstractStage newStage) {
+		newStage.declareActive();
+
+		Set<AbstractStage> newThreadableStages = initialize(Arrays.asList(newStage));
+
+		if (newStage.isProducer()) {
+			validate(newThreadableStages);
+			for (RunnableProducerStage producer : producers) {
+				if (newThreadableStages.contains(producer.stage)) {
+					producer.triggerStartingSignal();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the active stages are executed by virtual threads, <code>false</code> if by platform threads
+	 */
+	public boolean usesVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * @return how often all consumer threads have parked altogether while waiting for new input
+	 */
+	public long getNumParks() {
+		long numParks = 0;
+		for (IdleStrategy idleStrategy : idleStrategies.values()) {
+			numParks += idleStrategy.getNumParks();
+		}
+		return numParks;
+	}
+
+	/**
+	 * Lets producers park on full pipes and wakes up parked consumers.
+	 */
+	private class ParkingPipeInstantiation extends A3PipeInstantiation {
+
+		@Override
+		protected <T> IPipe<T> newBoundedSynchedPipe(final OutputPort<? extends T> sourcePort, final InputPort<T> targetPort, final int capacity) {
+			SpinYieldParkIfFullStrategy strategy = new SpinYieldParkIfFullStrategy(0, 0, MAX_PARK_TIME_IN_NS, LOW_WATER_MARK_RATIO);
+			return PrimitivePipes.newBoundedSynchedPipe(sourcePort, targetPort, capacity, strategy);
+		}
+
+		@Override
+		protected IdleStrategy getIdleStrategy(final AbstractStage targetStage) {
+			// the consumer threads are no TeeTimeThreads; the lookup is performed only once per pipe
+			return idleStrategies.get(targetStage);
+		}
+
+	}
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Creates virtual threads if the running JVM supports them (Java 21+). Since TeeTime is compiled for Java 11, the corresponding API is accessed by
+ * method handles.
+ *
+ * @since 3.1.1
+ */
+final class VirtualThreads {
+
+	/** <code>Thread.ofVirtual()</code>, or <code>null</code> if virtual threads are not supported */
+	private static final MethodHandle OF_VIRTUAL;
+	/** <code>Thread.Builder.name(String)</code> */
+	private static final MethodHandle NAME;
+	/** <code>Thread.Builder.unstarted(Runnable)</code> */
+	private static final MethodHandle UNSTARTED;
+
+	static {
+		MethodHandle ofVirtual = null;
+		MethodHandle name = null;
+		MethodHandle unstarted = null;
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+			name = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class));
+			unstarted = lookup.findVirtual(builderClass, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+			ofVirtual.invoke(); // fails on Java 19 and 20 if preview features are not enabled
+		} catch (Throwable e) { // NOPMD (the JVM does not provide (non-preview) virtual threads)
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		UNSTARTED = unstarted;
+	}
+
+	private VirtualThreads() {
+		// utility class
+	}
+
+	/**
+	 * @return <code>true</code> if the running JVM supports virtual threads, otherwise <code>false</code>
+	 */
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * @return a new, unstarted virtual thread which executes the given task
+	 *
+	 * @throws UnsupportedOperationException
+	 *             if the running JVM does not support virtual threads
+	 */
+	public static Thread newThread(final Runnable task, final String name) {
+		if (!isSupported()) {
+			throw new UnsupportedOperationException("Virtual threads require Java 21 or later, but the JVM is " + System.getProperty("java.version"));
+		}
+		try {
+			Object builder = OF_VIRTUAL.invoke();
+			builder = NAME.invoke(builder, name);
+			return (Thread) UNSTARTED.invoke(builder, task);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) { // NOPMD (MethodHandle.invoke declares Throwable)
+			throw new IllegalStateException("Could not create a virtual thread", e);
+		}
+	}
+
+}
@@ -13,7 +13,7 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package teetime.framework.scheduling.pushpullmodel;
+package teetime.framework.scheduling.workstealing;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -25,14 +25,14 @@ import teetime.framework.Traverser.VisitorBehavior;
 import teetime.framework.pipe.DummyPipe;
 
 /**
- * Searches for threadable stages
+ * Searches for active stages and declares all producers active
  */
-class A1ThreadableStageCollector implements ITraverserVisitor {
+class A1ActiveStageCollector implements ITraverserVisitor {
 
-	private final Set<AbstractStage> threadableStages = new HashSet<>();
+	private final Set<AbstractStage> activeStages = new HashSet<>();
 
-	public Set<AbstractStage> getThreadableStages() {
-		return threadableStages;
+	public Set<AbstractStage> getActiveStages() {
+		return activeStages;
 	}
 
 	@Override
@@ -41,8 +41,8 @@ class A1ThreadableStageCollector implements ITraverserVisitor {
 			stage.declareActive();
 		}
 
-		if (stage.isActive() && !threadableStages.contains(stage)) {
-			threadableStages.add(stage);
+		if (stage.isActive() && !activeStages.contains(stage)) {
+			activeStages.add(stage);
 		}
 
 		return VisitorBehavior.CONTINUE_BACK_AND_FORTH;
@@ -0,0 +1,117 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.workstealing;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import teetime.framework.AbstractPort;
+import teetime.framework.AbstractStage;
+import teetime.framework.ITraverserVisitor;
+import teetime.framework.InstantiationPipe;
+import teetime.framework.Traverser.VisitorBehavior;
+import teetime.framework.pipe.DummyPipe;
+import teetime.framework.pipe.IPipe;
+import teetime.framework.pipe.PrimitivePipes;
+import teetime.framework.pipe.UnboundedSynchedPipe;
+import teetime.framework.scheduling.PipeScheduler;
+
+/**
+ * Automatically instantiates the correct pipes.
+ * <p>
+ * All synched pipes respect the requested capacity. A pipe leaving a producer's thread may block the producer's own thread if it is full. In
+ * contrast, a full pipe between two stages executed by the worker pool makes the producing {@link StageTask} yield instead of blocking its worker.
+ *
+ * @since 3.1.1
+ */
+class A2PipeInstantiation implements ITraverserVisitor {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(A2PipeInstantiation.class);
+
+	private final Set<IPipe<?>> visitedPipes = new HashSet<>();
+	private final Set<AbstractStage> producerThreadStages;
+	private final PipeScheduler pipeScheduler;
+
+	/**
+	 * @param producerThreadStages
+	 *            all stages which are executed by the dedicated thread of a producer
+	 * @param pipeScheduler
+	 *            to notify about new elements
+	 */
+	public A2PipeInstantiation(final Set<AbstractStage> producerThreadStages, final PipeScheduler pipeScheduler) {
+		this.producerThreadStages = producerThreadStages;
+		this.pipeScheduler = pipeScheduler;
+	}
+
+	@Override
+	public VisitorBehavior visit(final AbstractStage stage) {
+		return VisitorBehavior.CONTINUE_BACK_AND_FORTH;
+	}
+
+	@Override
+	public VisitorBehavior visit(final AbstractPort<?> port) {
+		IPipe<?> pipe = port.getPipe();
+		if (visitedPipes.contains(pipe)) {
+			return VisitorBehavior.STOP; // NOPMD two returns are better
+		}
+		visitedPipes.add(pipe);
+
+		instantiatePipe(pipe);
+
+		return VisitorBehavior.CONTINUE_BACK_AND_FORTH;
+	}
+
+	@Override
+	public void visit(final DummyPipe pipe, final AbstractPort<?> port) {
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("Unconnected port {} in stage {}", port, port.getOwningStage().getId());
+		}
+	}
+
+	private <T> void instantiatePipe(final IPipe<T> pipe) {
+		IPipe<T> instantiatedPipe;
+
+		AbstractStage sourceStage = pipe.getSourcePort().getOwningStage();
+		AbstractStage targetStage = pipe.getTargetPort().getOwningStage();
+
+		if (!(pipe instanceof InstantiationPipe)) { // if manually connected
+			instantiatedPipe = pipe;
+		} else if (!targetStage.isActive() || sourceStage == targetStage) { // NOPMD .equals() can't be used here
+			// normal or reflexive pipe => intra
+			instantiatedPipe = PrimitivePipes.newUnsynchedPipe(pipe.getSourcePort(), pipe.getTargetPort());
+			LOGGER.debug("Connected (unsynch) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
+		} else if (pipe.capacity() <= 0) {
+			// no capacity requested => synchronized, unlimited capacity
+			instantiatedPipe = new UnboundedSynchedPipe<>(pipe.getSourcePort(), pipe.getTargetPort());
+			LOGGER.debug("Connected (unbounded) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
+		} else if (producerThreadStages.contains(sourceStage)) {
+			// the producer's own thread may block => synchronized, limited capacity
+			instantiatedPipe = PrimitivePipes.newBoundedSynchedPipe(pipe.getSourcePort(), pipe.getTargetPort(), pipe.capacity());
+			LOGGER.debug("Connected (bounded) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
+		} else {
+			// a worker may not block => synchronized, limited capacity, the producing task yields if the pipe is full
+			instantiatedPipe = PrimitivePipes.newBoundedSynchedPipe(pipe.getSourcePort(), pipe.getTargetPort(), pipe.capacity(),
+					new ManagedBlockIfFullStrategy());
+			LOGGER.debug("Connected (bounded, yielding) {} and {}", pipe.getSourcePort(), pipe.getTargetPort());
+		}
+
+		instantiatedPipe.setScheduler(pipeScheduler);
+	}
+
+}
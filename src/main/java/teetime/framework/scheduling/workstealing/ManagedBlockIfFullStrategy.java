@@ -0,0 +1,62 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.workstealing;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import teetime.framework.StageState;
+import teetime.framework.exceptionHandling.TerminateException;
+import teetime.framework.pipe.IPipe;
+import teetime.framework.pipe.strategy.AbstractWaitIfFullStrategy;
+
+/**
+ * Waits for a free slot in a pipe between two pool stages by means of {@link ForkJoinPool#managedBlock(ForkJoinPool.ManagedBlocker)}. In this way,
+ * the pool activates a spare worker while the producing worker waits, so that the consumer can still make progress.
+ * <p>
+ * This strategy is only the fallback for a single execution which emits more elements than there are free slots. Otherwise, the {@link StageTask} of
+ * the producing stage yields before its next execution as soon as one of its output pipes is full.
+ *
+ * @since 3.1.1
+ */
+class ManagedBlockIfFullStrategy extends AbstractWaitIfFullStrategy {
+
+	private static final long PARK_TIME_IN_NS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	@Override
+	protected void await(final IPipe<?> pipe, final int round) {
+		try {
+			ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+				@Override
+				public boolean isReleasable() {
+					return pipe.size() < pipe.capacity();
+				}
+
+				@Override
+				public boolean block() {
+					LockSupport.parkNanos(this, PARK_TIME_IN_NS);
+					// let the caller check for termination, too
+					return isReleasable() || Thread.currentThread().isInterrupted()
+							|| pipe.getTargetPort().getOwningStage().getCurrentState() == StageState.TERMINATED;
+				}
+			});
+		} catch (InterruptedException ignore) { // NOPMD the stage has been aborted
+			throw TerminateException.INSTANCE;
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.workstealing;
+
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.StageFacade;
+import teetime.framework.scheduling.CountDownAndUpLatch;
+import teetime.framework.signal.StartingSignal;
+import teetime.framework.signal.TerminatingSignal;
+
+/**
+ * Executes a producer within an own thread. In contrast to consumers, a producer cannot be divided into quanta, because it decides on its own when to stop.
+ *
+ * @since 3.1.1
+ */
+class ProducerThread extends Thread {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ProducerThread.class);
+
+	private final AbstractStage stage;
+	private final CountDownAndUpLatch numRunningProducers;
+	private final Semaphore startSemaphore = new Semaphore(0);
+
+	public ProducerThread(final AbstractStage stage, final CountDownAndUpLatch numRunningProducers) {
+		super("Thread for " + stage.getId());
+		this.stage = stage;
+		this.numRunningProducers = numRunningProducers;
+	}
+
+	@Override
+	public void run() {
+		try {
+			startSemaphore.acquire();
+			stage.onSignal(new StartingSignal(), null);
+			try {
+				StageFacade.INSTANCE.runStage(stage);
+			} finally {
+				stage.onSignal(new TerminatingSignal(), null);
+			}
+		} catch (RuntimeException e) {
+			LOGGER.error("Terminating thread due to the following exception: ", e);
+			throw e;
+		} catch (InterruptedException e) {
+			StageFacade.INSTANCE.getExceptionListener(stage).reportException(e, stage);
+		} finally {
+			numRunningProducers.countDown();
+		}
+	}
+
+	/**
+	 * This method is thread-safe.
+	 */
+	void sendStartingSignal() {
+		startSemaphore.release();
+	}
+
+	AbstractStage getStage() {
+		return stage;
+	}
+
+}
@@ -0,0 +1,290 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.workstealing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.StageFacade;
+import teetime.framework.StageState;
+import teetime.framework.TeeTimeScheduler;
+import teetime.framework.exceptionHandling.TerminateException;
+import teetime.framework.pipe.AbstractSynchedPipe;
+import teetime.framework.pipe.IPipe;
+import teetime.framework.scheduling.CountDownAndUpLatch;
+import teetime.framework.signal.ISignal;
+import teetime.framework.signal.StartingSignal;
+import teetime.framework.signal.TerminatingSignal;
+
+/**
+ * Executes an active consumer stage for one quantum on the worker which has taken this task from its deque (or has stolen it).
+ * <p>
+ * A task is submitted at most once at a time: {@link #schedule()} only submits if the task is not already scheduled. After a quantum, the task
+ * re-submits itself if its input pipes still have data. Since the flag is reset before the input is checked again, no wake-up is lost.
+ * <p>
+ * If one of the bounded output pipes to another pool stage is full, the task yields: it ends its quantum before the next execution and is not
+ * re-submitted until the consumer of the pipe has made room and resumes it. Hence, a full pipe does not block a worker.
+ *
+ * @since 3.1.1
+ */
+class StageTask implements Runnable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StageTask.class);
+	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
+
+	/** check the time only every n-th execution since {@link System#nanoTime()} is not for free */
+	private static final int TIME_CHECK_MASK = 0xF;
+
+	private final AbstractStage stage;
+	private final AbstractStage[] intraStages;
+	private final ForkJoinPool pool;
+	private final TeeTimeScheduler scheduler;
+	private final CountDownAndUpLatch numRunningStages;
+	private final int maxExecutionsPerQuantum;
+	private final long quantumInNs;
+
+	/** the bounded pipes to other pool stages; replaced as a whole if a pipe is added at runtime */
+	private volatile IPipe<?>[] boundedOutputPipes;
+
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	/** whether this task has yielded due to a full output pipe */
+	private volatile boolean yielded;
+	/** only accessed by the worker currently executing this task */
+	private Thread lastWorker;
+	private List<InputPort<?>> inputPorts;
+	/** the tasks of the pool stages which send elements to this stage; resolved on the first execution */
+	private StageTask[] sourceTasks;
+
+	public StageTask(final AbstractStage stage, final AbstractStage[] intraStages, final ForkJoinPool pool, final TeeTimeScheduler scheduler,
+			final CountDownAndUpLatch numRunningStages, final int maxExecutionsPerQuantum, final long quantumInNs) {
+		this.stage = stage;
+		this.intraStages = intraStages;
+		this.pool = pool;
+		this.scheduler = scheduler;
+		this.numRunningStages = numRunningStages;
+		this.maxExecutionsPerQuantum = maxExecutionsPerQuantum;
+		this.quantumInNs = quantumInNs;
+		this.boundedOutputPipes = collectBoundedOutputPipes(intraStages);
+	}
+
+	/**
+	 * Lets this task also yield if the given pipe, which has been connected at runtime, is full. This method is thread-safe.
+	 */
+	public synchronized void addBoundedOutputPipe(final IPipe<?> pipe) {
+		final IPipe<?>[] pipes = Arrays.copyOf(boundedOutputPipes, boundedOutputPipes.length + 1);
+		pipes[pipes.length - 1] = pipe;
+		boundedOutputPipes = pipes;
+	}
+
+	private static IPipe<?>[] collectBoundedOutputPipes(final AbstractStage[] intraStages) {
+		List<IPipe<?>> pipes = new ArrayList<>();
+		for (AbstractStage intraStage : intraStages) {
+			for (OutputPort<?> outputPort : STAGE_FACADE.getOutputPorts(intraStage)) {
+				IPipe<?> pipe = outputPort.getPipe();
+				if (pipe instanceof AbstractSynchedPipe && pipe.capacity() > 0) {
+					pipes.add(pipe);
+				}
+			}
+		}
+		return pipes.toArray(new IPipe<?>[pipes.size()]);
+	}
+
+	/**
+	 * Submits this task to the pool if it is not already scheduled. This method is thread-safe.
+	 */
+	public void schedule() {
+		if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+			// if invoked by a worker, the task is pushed onto the worker's own deque
+			pool.execute(this);
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			assignToCurrentWorker();
+			if (sourceTasks == null) {
+				inputPorts = STAGE_FACADE.getInputPorts(stage);
+				sourceTasks = resolveSourceTasks();
+			}
+
+			processSignals();
+			if (stage.getCurrentState() == StageState.STARTED) {
+				executeQuantum();
+			}
+
+			if (STAGE_FACADE.shouldBeTerminated(stage)) {
+				terminate();
+				return; // leave the flag set so that the task is never scheduled again
+			}
+		} catch (RuntimeException e) {
+			LOGGER.error("Terminating stage due to the following exception: ", e);
+			numRunningStages.countDown();
+			scheduler.onTerminate();
+			return;
+		}
+
+		scheduled.set(false);
+		// resume the sources only after resetting the flag so that they can re-check their output pipes in the meantime
+		resumeSourceTasks();
+
+		if (yielded) {
+			if (isOutputFull()) {
+				return; // the consumer of the full pipe resumes this task after making room
+			}
+			yielded = false;
+		}
+		if (isInputAvailable()) {
+			schedule();
+		}
+	}
+
+	/**
+	 * Resumes this task if it has yielded due to a full output pipe. This method is thread-safe.
+	 */
+	public void resume() {
+		if (yielded) {
+			yielded = false;
+			schedule();
+		}
+	}
+
+	private StageTask[] resolveSourceTasks() {
+		final StageTask[] tasks = new StageTask[inputPorts.size()];
+		for (int i = 0; i < tasks.length; i++) {
+			AbstractStage sourceStage = inputPorts.get(i).getPipe().getSourcePort().getOwningStage();
+			tasks[i] = (StageTask) STAGE_FACADE.getTask(sourceStage);
+		}
+		return tasks;
+	}
+
+	private void resumeSourceTasks() {
+		final StageTask[] sourceTasks = this.sourceTasks;
+		for (int i = 0; i < sourceTasks.length; i++) {
+			final StageTask sourceTask = sourceTasks[i];
+			if (sourceTask != null && sourceTask != this) { // NOPMD must test for identity
+				final IPipe<?> pipe = inputPorts.get(i).getPipe();
+				if (pipe.size() < pipe.capacity()) {
+					sourceTask.resume();
+				}
+			}
+		}
+	}
+
+	private void assignToCurrentWorker() {
+		final Thread currentThread = Thread.currentThread();
+		if (currentThread == lastWorker) {
+			return;
+		}
+		lastWorker = currentThread;
+
+		final WorkerThread worker = (WorkerThread) currentThread;
+		for (AbstractStage intraStage : intraStages) {
+			STAGE_FACADE.setOwningThread(intraStage, worker);
+			STAGE_FACADE.setExceptionHandler(intraStage, worker.getExceptionListener());
+		}
+	}
+
+	private void processSignals() {
+		final List<InputPort<?>> inputPorts = this.inputPorts;
+		for (int i = 0; i < inputPorts.size(); i++) {
+			final InputPort<?> inputPort = inputPorts.get(i);
+			final IPipe<?> pipe = inputPort.getPipe();
+			if (!(pipe instanceof AbstractSynchedPipe)) {
+				continue;
+			}
+
+			ISignal signal;
+			while ((signal = ((AbstractSynchedPipe<?>) pipe).getSignal()) != null) {
+				// validating signals have already been handled by the scheduler;
+				// terminating signals are handled by means of the terminate element
+				if (signal instanceof StartingSignal) {
+					stage.onSignal(signal, inputPort);
+				}
+			}
+		}
+	}
+
+	private void executeQuantum() {
+		final AbstractStage stage = this.stage;
+		final long deadline = System.nanoTime() + quantumInNs;
+
+		try {
+			for (int i = 0; i < maxExecutionsPerQuantum; i++) {
+				if (STAGE_FACADE.shouldBeTerminated(stage)) {
+					break;
+				}
+				if (isOutputFull()) {
+					yielded = true;
+					break;
+				}
+				stage.executeByFramework();
+				if (!isInputAvailable()) {
+					break;
+				}
+				if ((i & TIME_CHECK_MASK) == TIME_CHECK_MASK && System.nanoTime() - deadline > 0) {
+					break;
+				}
+			}
+		} catch (TerminateException e) {
+			STAGE_FACADE.abort(stage);
+			Thread.interrupted(); // abort() has interrupted the current worker
+			scheduler.onTerminate();
+		}
+	}
+
+	private void terminate() {
+		final ISignal signal = new TerminatingSignal(); // NOPMD DU caused by loop
+		for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(stage)) {
+			stage.onSignal(signal, inputPort);
+		}
+		numRunningStages.countDown();
+	}
+
+	private boolean isOutputFull() {
+		final IPipe<?>[] pipes = this.boundedOutputPipes;
+		for (int i = 0; i < pipes.length; i++) {
+			if (pipes[i].size() >= pipes[i].capacity()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isInputAvailable() {
+		final List<InputPort<?>> inputPorts = this.inputPorts;
+		for (int i = 0; i < inputPorts.size(); i++) {
+			if (inputPorts.get(i).getPipe().hasMore()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	AbstractStage getStage() {
+		return stage;
+	}
+
+}
@@ -0,0 +1,341 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.workstealing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.ConfigurationFacade;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.StageFacade;
+import teetime.framework.TeeTimeScheduler;
+import teetime.framework.TerminationStrategy;
+import teetime.framework.Traverser;
+import teetime.framework.exceptionHandling.AbstractExceptionListener;
+import teetime.framework.exceptionHandling.AbstractExceptionListenerFactory;
+import teetime.framework.pipe.AbstractSynchedPipe;
+import teetime.framework.pipe.AbstractUnsynchedPipe;
+import teetime.framework.pipe.IPipe;
+import teetime.framework.scheduling.CountDownAndUpLatch;
+import teetime.framework.scheduling.PipeScheduler;
+import teetime.framework.signal.ValidatingSignal;
+import teetime.framework.validation.AnalysisNotValidException;
+
+/**
+ * Executes any number of active stages on a fixed number of worker threads (M:N scheduling).
+ * <p>
+ * Each worker owns a deque of stage tasks and steals tasks from other workers if its own deque is empty. An active consumer stage is executed for
+ * at most one quantum, i.e., for a maximum number of executions or a maximum amount of time, whatever is reached first. Afterwards, it is
+ * rescheduled if its input pipes still have data. A stage is also scheduled whenever a new element is added to one of its synched input pipes.
+ * <p>
+ * Producers keep a dedicated thread each, since they decide on their own when to stop and thus cannot be divided into quanta. A producer's thread
+ * blocks if one of its output pipes is full. In contrast, a stage executed by the pool yields on a full output pipe so that its worker never blocks.
+ * <p>
+ * <b>Limitation:</b> only consumer stages are multiplexed onto the pool. Hence, the number of threads still grows with the number of producers,
+ * so that this scheduler does not help configurations with many (finite) producers.
+ *
+ * @since 3.1.1
+ */
+public class WorkStealingScheduling implements TeeTimeScheduler, PipeScheduler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(WorkStealingScheduling.class);
+
+	private static final StageFacade STAGE_FACADE = StageFacade.INSTANCE;
+	private static final ConfigurationFacade CONFIG_FACADE = ConfigurationFacade.INSTANCE;
+
+	public static final int DEFAULT_MAX_EXECUTIONS_PER_QUANTUM = 1024;
+	public static final long DEFAULT_QUANTUM_IN_NS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private final Configuration configuration;
+	private final int numThreads;
+	private final int maxExecutionsPerQuantum;
+	private final long quantumInNs;
+
+	private final Set<AbstractStage> activeStages = new HashSet<>();
+	/** thread-safe since producers can also be started at runtime */
+	private final List<ProducerThread> finiteProducerThreads = new CopyOnWriteArrayList<>();
+	private final List<ProducerThread> infiniteProducerThreads = new CopyOnWriteArrayList<>();
+
+	private final CountDownAndUpLatch numRunningFiniteProducers = new CountDownAndUpLatch();
+	private final CountDownAndUpLatch numRunningStages = new CountDownAndUpLatch();
+
+	private ForkJoinPool pool;
+	private AbstractExceptionListenerFactory<?> exceptionListenerFactory;
+
+	/**
+	 * Creates a scheduler with one worker per available processor.
+	 */
+	public WorkStealingScheduling(final Configuration configuration) {
+		this(configuration, Runtime.getRuntime().availableProcessors());
+	}
+
+	public WorkStealingScheduling(final Configuration configuration, final int numThreads) {
+		this(configuration, numThreads, DEFAULT_MAX_EXECUTIONS_PER_QUANTUM, DEFAULT_QUANTUM_IN_NS);
+	}
+
+	/**
+	 * @param numThreads
+	 *            the number of workers which execute the active consumer stages
+	 * @param maxExecutionsPerQuantum
+	 *            how often a stage is executed at most before it is rescheduled
+	 * @param quantumInNs
+	 *            how long a stage is executed at most before it is rescheduled
+	 */
+	public WorkStealingScheduling(final Configuration configuration, final int numThreads, final int maxExecutionsPerQuantum, final long quantumInNs) {
+		if (numThreads < 1) {
+			throw new IllegalArgumentException("numThreads must be positive, but was " + numThreads);
+		}
+		if (maxExecutionsPerQuantum < 1) {
+			throw new IllegalArgumentException("maxExecutionsPerQuantum must be positive, but was " + maxExecutionsPerQuantum);
+		}
+		if (quantumInNs < 1) {
+			throw new IllegalArgumentException("quantumInNs must be positive, but was " + quantumInNs);
+		}
+		this.configuration = configuration;
+		this.numThreads = numThreads;
+		this.maxExecutionsPerQuantum = maxExecutionsPerQuantum;
+		this.quantumInNs = quantumInNs;
+	}
+
+	@Override
+	public void onInitialize() {
+		Collection<AbstractStage> startStages = CONFIG_FACADE.getStartStages(configuration);
+		if (startStages.isEmpty()) {
+			throw new IllegalStateException("The start stage may not be null.");
+		}
+
+		A1ActiveStageCollector stageCollector = new A1ActiveStageCollector();
+		Traverser traversor = new Traverser(stageCollector);
+		for (AbstractStage startStage : startStages) {
+			traversor.traverse(startStage);
+		}
+
+		activeStages.addAll(stageCollector.getActiveStages());
+		if (activeStages.isEmpty()) {
+			throw new IllegalStateException("1004 - No threadable stages in this configuration.");
+		}
+
+		Map<AbstractStage, Set<AbstractStage>> intraStagesOfActiveStage = new HashMap<>();
+		Set<AbstractStage> producerThreadStages = new HashSet<>();
+		for (AbstractStage activeStage : activeStages) {
+			IntraStageCollector collector = new IntraStageCollector(activeStage);
+			new Traverser(collector).traverse(activeStage);
+
+			Set<AbstractStage> intraStages = collector.getIntraStages();
+			intraStagesOfActiveStage.put(activeStage, intraStages);
+			if (activeStage.isProducer()) {
+				producerThreadStages.addAll(intraStages);
+			}
+		}
+
+		A2PipeInstantiation pipeVisitor = new A2PipeInstantiation(producerThreadStages, this);
+		traversor = new Traverser(pipeVisitor);
+		for (AbstractStage startStage : startStages) {
+			traversor.traverse(startStage);
+		}
+
+		exceptionListenerFactory = CONFIG_FACADE.getFactory(configuration);
+		pool = new ForkJoinPool(numThreads, p -> new WorkerThread(p, exceptionListenerFactory), null, true);
+
+		for (AbstractStage activeStage : activeStages) {
+			Set<AbstractStage> intraStages = intraStagesOfActiveStage.get(activeStage);
+			if (activeStage.isProducer()) {
+				initProducer(activeStage, intraStages);
+			} else {
+				initConsumer(activeStage, intraStages);
+			}
+		}
+	}
+
+	private ProducerThread initProducer(final AbstractStage producer, final Set<AbstractStage> intraStages) {
+		ProducerThread thread;
+		if (STAGE_FACADE.getTerminationStrategy(producer) == TerminationStrategy.BY_INTERRUPT) {
+			thread = new ProducerThread(producer, numRunningStages);
+			infiniteProducerThreads.add(thread);
+			numRunningStages.countUp();
+		} else {
+			thread = new ProducerThread(producer, numRunningFiniteProducers);
+			finiteProducerThreads.add(thread);
+			numRunningFiniteProducers.countUp();
+		}
+
+		AbstractExceptionListener exceptionListener = exceptionListenerFactory.createInstance(thread);
+		for (AbstractStage stage : intraStages) {
+			STAGE_FACADE.setOwningThread(stage, thread);
+			STAGE_FACADE.setExceptionHandler(stage, exceptionListener);
+			STAGE_FACADE.setScheduler(stage, this);
+		}
+
+		thread.start();
+		return thread;
+	}
+
+	private StageTask initConsumer(final AbstractStage consumer, final Set<AbstractStage> intraStages) {
+		AbstractStage[] intraStageArray = intraStages.toArray(new AbstractStage[intraStages.size()]);
+		StageTask task = new StageTask(consumer, intraStageArray, pool, this, numRunningStages, maxExecutionsPerQuantum, quantumInNs);
+		for (AbstractStage stage : intraStages) {
+			STAGE_FACADE.setScheduler(stage, this);
+			// also cached on the passive stages so that a consumer can resume the task of its sending stage
+			STAGE_FACADE.setTask(stage, task);
+		}
+		numRunningStages.countUp();
+		return task;
+	}
+
+	@Override
+	public void onValidate() {
+		for (AbstractStage stage : activeStages) {
+			final ValidatingSignal validatingSignal = new ValidatingSignal(); // NOPMD we need a new instance every iteration
+			stage.onSignal(validatingSignal, null);
+			if (validatingSignal.getInvalidPortConnections().size() > 0) {
+				throw new AnalysisNotValidException(validatingSignal.getInvalidPortConnections());
+			}
+		}
+	}
+
+	@Override
+	public void onExecute() {
+		for (ProducerThread thread : finiteProducerThreads) {
+			thread.sendStartingSignal();
+		}
+		for (ProducerThread thread : infiniteProducerThreads) {
+			thread.sendStartingSignal();
+		}
+	}
+
+	@Override
+	public void onTerminate() {
+		// pool stages terminate as soon as they receive the terminate element of their aborted predecessors
+		for (ProducerThread thread : finiteProducerThreads) {
+			STAGE_FACADE.abort(thread.getStage());
+		}
+		for (ProducerThread thread : infiniteProducerThreads) {
+			STAGE_FACADE.abort(thread.getStage());
+		}
+	}
+
+	@Override
+	public void onFinish() {
+		try {
+			numRunningFiniteProducers.await();
+		} catch (InterruptedException e) {
+			LOGGER.error("Execution has stopped unexpectedly", e);
+			for (Thread thread : finiteProducerThreads) {
+				thread.interrupt();
+			}
+		}
+
+		if (!infiniteProducerThreads.isEmpty()) {
+			LOGGER.debug("Interrupting infiniteProducerThreads...");
+			for (Thread thread : infiniteProducerThreads) {
+				thread.interrupt();
+			}
+		}
+
+		try {
+			numRunningStages.await();
+		} catch (InterruptedException e) {
+			LOGGER.error("Execution has stopped unexpectedly", e);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Executes the given stage (together with its passive successors) by the worker pool or, if it is a producer, by a new thread. The pipes of
+	 * the given stage must already be connected. The validating and the starting signal must already be sent to a consumer via its input pipes.
+	 */
+	@Override
+	public void startStageAtRuntime(final AbstractStage stage) {
+		stage.declareActive();
+
+		IntraStageCollector collector = new IntraStageCollector(stage);
+		new Traverser(collector).traverse(stage);
+		Set<AbstractStage> intraStages = collector.getIntraStages();
+
+		// the pipes have been connected at runtime, so they do not know this scheduler yet
+		for (AbstractStage intraStage : intraStages) {
+			for (InputPort<?> inputPort : STAGE_FACADE.getInputPorts(intraStage)) {
+				IPipe<?> pipe = inputPort.getPipe();
+				pipe.setScheduler(this);
+				StageTask sourceTask = (StageTask) STAGE_FACADE.getTask(pipe.getSourcePort().getOwningStage());
+				if (sourceTask != null && pipe instanceof AbstractSynchedPipe && pipe.capacity() > 0) {
+					sourceTask.addBoundedOutputPipe(pipe); // so that the sending task yields instead of blocking on this pipe
+				}
+			}
+			for (OutputPort<?> outputPort : STAGE_FACADE.getOutputPorts(intraStage)) {
+				outputPort.getPipe().setScheduler(this);
+			}
+		}
+
+		if (stage.isProducer()) {
+			final ValidatingSignal validatingSignal = new ValidatingSignal();
+			stage.onSignal(validatingSignal, null);
+			if (validatingSignal.getInvalidPortConnections().size() > 0) {
+				throw new AnalysisNotValidException(validatingSignal.getInvalidPortConnections());
+			}
+			initProducer(stage, intraStages).sendStartingSignal();
+		} else {
+			// processes the signals already sent via the input pipes
+			initConsumer(stage, intraStages).schedule();
+		}
+	}
+
+	@Override
+	public void onElementAdded(final AbstractUnsynchedPipe<?> pipe) {
+		pipe.getCachedTargetStage().executeByFramework();
+	}
+
+	@Override
+	public void onElementAdded(final AbstractSynchedPipe<?> pipe) {
+		// the task is cached on the stage to avoid a map lookup per element
+		StageTask task = (StageTask) STAGE_FACADE.getTask(pipe.getCachedTargetStage());
+		if (task != null) {
+			task.schedule();
+		}
+	}
+
+	@Override
+	public void onElementNotAdded(final AbstractSynchedPipe<?> pipe) {
+		// do nothing
+	}
+
+	public int getNumThreads() {
+		return numThreads;
+	}
+
+	/**
+	 * @return an estimate of how many tasks the workers have stolen from each other so far
+	 */
+	public long getStealCount() {
+		return (pool == null) ? 0 : pool.getStealCount();
+	}
+
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.workstealing;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import teetime.framework.exceptionHandling.AbstractExceptionListener;
+import teetime.framework.exceptionHandling.AbstractExceptionListenerFactory;
+
+/**
+ * A worker of the {@link WorkStealingScheduling}. Since a worker executes many different stages, each worker owns its exception listener.
+ *
+ * @since 3.1.1
+ */
+class WorkerThread extends ForkJoinWorkerThread {
+
+	private final AbstractExceptionListener exceptionListener;
+
+	public WorkerThread(final ForkJoinPool pool, final AbstractExceptionListenerFactory<?> exceptionListenerFactory) {
+		super(pool);
+		this.exceptionListener = exceptionListenerFactory.createInstance(this);
+	}
+
+	public AbstractExceptionListener getExceptionListener() {
+		return exceptionListener;
+	}
+
+}
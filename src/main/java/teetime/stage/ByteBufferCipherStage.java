@@ -0,0 +1,60 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.stage;
+
+import java.nio.ByteBuffer;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.ShortBufferException;
+
+import teetime.stage.CipherStage.CipherMode;
+import teetime.stage.basic.AbstractFilter;
+import teetime.stage.util.ReusableByteBuffer;
+
+/**
+ * A {@link CipherStage} for {@link ByteBuffer} elements. It reuses its output buffer if the output pipe copies each element, e.g., an
+ * {@link teetime.framework.pipe.OffHeapRingBufferPipe}.
+ *
+ * @since 3.1.1
+ */
+public final class ByteBufferCipherStage extends AbstractFilter<ByteBuffer> {
+
+	private final Cipher cipher;
+	private final ReusableByteBuffer outputBuffer = new ReusableByteBuffer(outputPort);
+
+	public ByteBufferCipherStage(final String password, final CipherMode mode) {
+		this(password, mode, new byte[] { 't', 'e', 's', 't' });
+	}
+
+	public ByteBufferCipherStage(final String password, final CipherMode mode, final byte[] salt) {
+		this.cipher = CipherStage.createCipher(password, mode, salt);
+	}
+
+	@Override
+	protected void execute(final ByteBuffer element) {
+		ByteBuffer outputBytes = outputBuffer.get(cipher.getOutputSize(element.remaining()));
+		try {
+			cipher.doFinal(element, outputBytes);
+		} catch (BadPaddingException | IllegalBlockSizeException | ShortBufferException e) {
+			throw new IllegalStateException(e);
+		}
+		outputBytes.flip();
+		this.outputPort.send(outputBytes);
+	}
+
+}
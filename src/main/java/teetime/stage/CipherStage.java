@@ -44,6 +44,10 @@ public final class CipherStage extends AbstractFilter<byte[]> {
 	}
 
 	public CipherStage(final String password, final CipherMode mode, final byte[] salt) {
+		this.cipher = createCipher(password, mode, salt);
+	}
+
+	/* default */ static Cipher createCipher(final String password, final CipherMode mode, final byte[] salt) {
 		final KeySpec keySpec = new PBEKeySpec(password.toCharArray(),
 				salt,
 				1024, 128);
@@ -58,18 +62,20 @@ public final class CipherStage extends AbstractFilter<byte[]> {
 
 		final SecretKeySpec skeyspec = new SecretKeySpec(secretKey.getEncoded(), "AES");
 
+		final Cipher cipher;
 		try {
-			this.cipher = Cipher.getInstance(skeyspec.getAlgorithm());
+			cipher = Cipher.getInstance(skeyspec.getAlgorithm());
 		} catch (final NoSuchPaddingException | NoSuchAlgorithmException e) {
 			throw new IllegalStateException(e);
 		}
 
 		final int convertedMode = (mode == CipherMode.ENCRYPT) ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE;
 		try {
-			this.cipher.init(convertedMode, skeyspec);
+			cipher.init(convertedMode, skeyspec);
 		} catch (final InvalidKeyException e) {
 			throw new IllegalStateException(e);
 		}
+		return cipher;
 	}
 
 	@Override
@@ -15,7 +15,7 @@
  */
 package teetime.stage;
 
-import teetime.framework.AbstractProducerStage;
+import teetime.framework.AbstractLongProducerStage;
 import teetime.framework.termination.NextActiveStageShouldTerminate;
 import teetime.framework.termination.TerminationCondition;
 
@@ -40,7 +40,7 @@ import teetime.framework.termination.TerminationCondition;
  * @stage.output Current timestamp as long.
  *
  */
-public class Clock extends AbstractProducerStage<Long> { // NOPMD
+public class Clock extends AbstractLongProducerStage { // NOPMD
 
 	private boolean initialDelayExceeded;// = false;
 
@@ -81,7 +81,7 @@ public class Clock extends AbstractProducerStage<Long> { // NOPMD
 		}
 
 		// this.logger.debug("Emitting timestamp");
-		outputPort.send(this.getCurrentTimeInNs());
+		getLongOutputPort().sendLong(this.getCurrentTimeInNs());
 
 		if (terminationCondition.isMet()) {
 			workCompleted();
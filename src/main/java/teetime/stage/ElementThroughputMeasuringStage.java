@@ -18,13 +18,15 @@ package teetime.stage;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 
-import teetime.framework.InputPort;
+import teetime.framework.LongInputPort;
 import teetime.stage.basic.AbstractFilter;
 
 public final class ElementThroughputMeasuringStage<T> extends AbstractFilter<T> {
 
-	private final InputPort<Long> triggerInputPort = this.createInputPort();
+	private final LongInputPort triggerInputPort = this.createLongInputPort();
+	private final LongConsumer triggerReceiver = timestampInNs -> this.computeElementThroughput(System.nanoTime());
 
 	private long numPassedElements;
 	private long lastTimestampInNs;
@@ -33,10 +35,7 @@ public final class ElementThroughputMeasuringStage<T> extends AbstractFilter<T>
 
 	@Override
 	protected void execute(final T element) {
-		Long timestampInNs = this.triggerInputPort.receive();
-		if (timestampInNs != null) {
-			this.computeElementThroughput(System.nanoTime());
-		}
+		this.triggerInputPort.receiveLong(triggerReceiver);
 		this.numPassedElements++;
 
 		this.outputPort.send(element);
@@ -48,7 +47,7 @@ public final class ElementThroughputMeasuringStage<T> extends AbstractFilter<T>
 		this.resetTimestamp(System.nanoTime());
 	}
 
-	private void computeElementThroughput(final Long timestampInNs) {
+	private void computeElementThroughput(final long timestampInNs) {
 		long diffInNs = timestampInNs - this.lastTimestampInNs;
 		// the minimum time granularity of the clock is ms
 		long diffInMs = TimeUnit.NANOSECONDS.toMillis(diffInNs);
@@ -74,7 +73,7 @@ public final class ElementThroughputMeasuringStage<T> extends AbstractFilter<T>
 		this.resetTimestamp(timestampInNs);
 	}
 
-	private void resetTimestamp(final Long timestampInNs) {
+	private void resetTimestamp(final long timestampInNs) {
 		this.numPassedElements = 0;
 		this.lastTimestampInNs = timestampInNs;
 	}
@@ -83,7 +82,7 @@ public final class ElementThroughputMeasuringStage<T> extends AbstractFilter<T>
 		return this.throughputs;
 	}
 
-	public InputPort<Long> getTriggerInputPort() {
+	public LongInputPort getTriggerInputPort() {
 		return this.triggerInputPort;
 	}
 
@@ -17,9 +17,9 @@ package teetime.stage;
 
 import java.util.Random;
 
-import teetime.framework.AbstractProducerStage;
+import teetime.framework.AbstractIntProducerStage;
 
-public class RandomIntegerGenerator extends AbstractProducerStage<Integer> {
+public class RandomIntegerGenerator extends AbstractIntProducerStage {
 
 	private final int upperBound;
 	private final Random random = new Random();
@@ -30,6 +30,6 @@ public class RandomIntegerGenerator extends AbstractProducerStage<Integer> {
 
 	@Override
 	protected void execute() {
-		this.getOutputPort().send(random.nextInt(upperBound));
+		this.getIntOutputPort().sendInt(random.nextInt(upperBound));
 	}
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.stage;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import teetime.stage.ZipByteArray.ZipMode;
+import teetime.stage.basic.AbstractFilter;
+import teetime.stage.util.ReusableByteBuffer;
+
+/**
+ * A {@link ZipByteArray} for {@link ByteBuffer} elements. It reuses its (de)compressor for all elements and its output buffer if the output pipe copies each
+ * element, e.g., an {@link teetime.framework.pipe.OffHeapRingBufferPipe}.
+ *
+ * @since 3.1.1
+ */
+public final class ZipByteBuffer extends AbstractFilter<ByteBuffer> {
+
+	private final ZipMode mode;
+	private final ReusableByteBuffer outputBuffer = new ReusableByteBuffer(outputPort);
+
+	private Deflater deflater;
+	private Inflater inflater;
+
+	public ZipByteBuffer(final ZipMode mode) {
+		this.mode = mode;
+	}
+
+	@Override
+	protected void onStarting() {
+		super.onStarting();
+		if (mode == ZipMode.COMP) {
+			deflater = new Deflater();
+		} else {
+			inflater = new Inflater();
+		}
+	}
+
+	@Override
+	protected void execute(final ByteBuffer element) {
+		ByteBuffer processedElement = (mode == ZipMode.COMP) ? compress(element) : decompress(element);
+		processedElement.flip();
+		outputPort.send(processedElement);
+	}
+
+	private ByteBuffer compress(final ByteBuffer data) {
+		deflater.reset();
+		deflater.setInput(data);
+		deflater.finish();
+
+		ByteBuffer compressedBytes = outputBuffer.get(data.remaining() + 64);
+		while (!deflater.finished()) {
+			if (!compressedBytes.hasRemaining()) {
+				compressedBytes = outputBuffer.grow(compressedBytes);
+			}
+			deflater.deflate(compressedBytes);
+		}
+		return compressedBytes;
+	}
+
+	private ByteBuffer decompress(final ByteBuffer data) {
+		inflater.reset();
+		inflater.setInput(data);
+
+		ByteBuffer uncompressedBytes = outputBuffer.get(2 * data.remaining() + 64);
+		while (!inflater.finished()) {
+			if (!uncompressedBytes.hasRemaining()) {
+				uncompressedBytes = outputBuffer.grow(uncompressedBytes);
+			}
+			try {
+				if (inflater.inflate(uncompressedBytes) == 0 && inflater.needsInput()) {
+					throw new IllegalStateException("The compressed data of " + data + " ends unexpectedly");
+				}
+			} catch (DataFormatException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return uncompressedBytes;
+	}
+
+	@Override
+	protected void onTerminating() {
+		if (deflater != null) {
+			deflater.end();
+		}
+		if (inflater != null) {
+			inflater.end();
+		}
+		super.onTerminating();
+	}
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.stage.basic;
+
+import teetime.framework.AbstractListBatchConsumerStage;
+import teetime.framework.OutputPort;
+
+/**
+ * Represents a filter which receives its input elements in batches.
+ *
+ * @param <E>
+ *            the type of both the input port and the output port
+ *
+ * @since 3.1.1
+ */
+public abstract class AbstractBatchFilter<E> extends AbstractListBatchConsumerStage<E> implements ITransformation<E, E> {
+
+	protected final OutputPort<E> outputPort = createOutputPort();
+
+	protected AbstractBatchFilter() {
+		super();
+	}
+
+	/**
+	 * @param maxBatchSize
+	 *            the maximum number of elements passed to {@link #execute(java.util.List)} at once
+	 */
+	protected AbstractBatchFilter(final int maxBatchSize) {
+		super(maxBatchSize);
+	}
+
+	@Override
+	public final OutputPort<E> getOutputPort() {
+		return outputPort;
+	}
+
+}
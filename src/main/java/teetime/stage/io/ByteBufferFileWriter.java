@@ -0,0 +1,63 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.stage.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import teetime.framework.AbstractConsumerStage;
+
+/**
+ * A {@link ByteArrayFileWriter} for {@link ByteBuffer} elements. It writes the remaining bytes of each element.
+ *
+ * @since 3.1.1
+ */
+public final class ByteBufferFileWriter extends AbstractConsumerStage<ByteBuffer> {
+
+	private final FileChannel fileChannel;
+
+	public ByteBufferFileWriter(final File file) {
+		try {
+			fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	protected void execute(final ByteBuffer element) {
+		try {
+			while (element.hasRemaining()) {
+				fileChannel.write(element);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void onTerminating() {
+		try {
+			fileChannel.close();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		super.onTerminating();
+	}
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.stage.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import teetime.stage.basic.AbstractTransformation;
+import teetime.stage.util.ReusableByteBuffer;
+
+/**
+ * A {@link File2ByteArray} for {@link ByteBuffer} elements. It reuses its output buffer if the output pipe copies each element, e.g., an
+ * {@link teetime.framework.pipe.OffHeapRingBufferPipe}.
+ *
+ * @since 3.1.1
+ */
+public final class File2ByteBuffer extends AbstractTransformation<File, ByteBuffer> {
+
+	private final ReusableByteBuffer outputBuffer = new ReusableByteBuffer(outputPort);
+
+	@Override
+	protected void execute(final File element) {
+		try (FileChannel channel = FileChannel.open(element.toPath(), StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize > Integer.MAX_VALUE) {
+				throw new IllegalStateException("The file " + element + " is too large to be read into a single buffer");
+			}
+			ByteBuffer fileBytes = outputBuffer.get((int) fileSize);
+			while (fileBytes.position() < fileSize && channel.read(fileBytes) >= 0) { // NOPMD (empty loop body)
+			}
+			fileBytes.flip();
+			this.outputPort.send(fileBytes);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import teetime.framework.CompositeStage;
 import teetime.framework.InputPort;
 import teetime.framework.OutputPort;
+import teetime.stage.NoopFilter;
 import teetime.stage.basic.ITransformation;
 import teetime.stage.basic.distributor.Distributor;
 import teetime.stage.basic.merger.Merger;
@@ -71,7 +72,23 @@ public class StaticTaskFarmStage<I, O, T extends ITaskFarmDuplicable<I, O>> exte
 		this(workerStage, numberStages, pipeCapacity, new Distributor<>(), new Merger<>());
 	}
 
+	/**
+	 * @param workSharing
+	 *            if <code>true</code>, all worker stages pull their elements from a single shared pipe so that an idle worker immediately takes the next
+	 *            element; otherwise, the distributor pushes each element into the pipe of a fixed worker stage.
+	 *
+	 * @since 3.1.1
+	 */
+	public StaticTaskFarmStage(final T workerStage, final int numberStages, final int pipeCapacity, final boolean workSharing) {
+		this(workerStage, numberStages, pipeCapacity, new Distributor<>(), workSharing ? null : new Merger<>(), workSharing);
+	}
+
 	protected StaticTaskFarmStage(final T workerStage, final int numberStages, final int pipeCapacity, final Distributor<I> distributor, final Merger<O> merger) {
+		this(workerStage, numberStages, pipeCapacity, distributor, merger, false);
+	}
+
+	private StaticTaskFarmStage(final T workerStage, final int numberStages, final int pipeCapacity, final Distributor<I> distributor, final Merger<O> merger,
+			final boolean workSharing) {
 		super();
 		if (null == workerStage) {
 			throw new IllegalArgumentException("The constructor of a Task Farm may not be called with null as the worker stage.");
@@ -86,7 +103,35 @@ public class StaticTaskFarmStage<I, O, T extends ITaskFarmDuplicable<I, O>> exte
 		this.merger = merger;
 		this.workerStages = new ArrayList<>();
 
-		this.init(workerStage, numberStages, pipeCapacity);
+		if (workSharing) {
+			this.initWithWorkSharing(workerStage, numberStages, pipeCapacity);
+		} else {
+			this.init(workerStage, numberStages, pipeCapacity);
+		}
+	}
+
+	private void initWithWorkSharing(final T workerStage, final int numberStages, final int pipeCapacity) {
+		final List<InputPort<I>> stageInputPorts = new ArrayList<>(numberStages);
+		final List<OutputPort<O>> stageOutputPorts = new ArrayList<>(numberStages);
+		ITaskFarmDuplicable<I, O> currentWorkerStage = workerStage;
+		for (int i = 0; i < numberStages; i++) {
+			if (i > 0) {
+				currentWorkerStage = workerStage.duplicate();
+			}
+			stageInputPorts.add(currentWorkerStage.getInputPort());
+			stageOutputPorts.add(currentWorkerStage.getOutputPort());
+			this.workerStages.add(currentWorkerStage);
+		}
+		// the input port of this composite stage maps to a single inner input port. Hence, the passive distributor with its only output port is the entry
+		// stage: it is executed by the thread of the predecessor stage and just forwards each element into the shared pipe of the worker stages.
+		connectPorts(this.distributor.getNewOutputPort(), stageInputPorts, pipeCapacity); // declares the worker stages active
+
+		final NoopFilter<O> outputStage = new NoopFilter<>();
+		connectPorts(stageOutputPorts, outputStage.getInputPort(), pipeCapacity); // declares the output stage active
+
+		// map outer ports to inner ports
+		inputPort = createInputPort(this.distributor.getInputPort());
+		outputPort = createOutputPort(outputStage.getOutputPort());
 	}
 
 	private void init(final T workerStage, final int numberStages, final int pipeCapacity) {
@@ -156,6 +201,9 @@ public class StaticTaskFarmStage<I, O, T extends ITaskFarmDuplicable<I, O>> exte
 		return distributor;
 	}
 
+	/**
+	 * @return the merger of this task farm, or <code>null</code> if the worker stages share their pipes
+	 */
 	/* default */ Merger<O> getMerger() {
 		return merger;
 	}
@@ -0,0 +1,68 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.stage.util;
+
+import java.nio.ByteBuffer;
+
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.OffHeapRingBufferPipe;
+
+/**
+ * Provides the {@link ByteBuffer}s a stage sends to its output port. If the connected pipe copies each element, e.g., an {@link OffHeapRingBufferPipe}, the
+ * same buffer is reused for each element. Otherwise, a new buffer is allocated for each element since the consumer could still hold the previous one.
+ *
+ * @since 3.1.1
+ */
+public final class ReusableByteBuffer {
+
+	private final OutputPort<ByteBuffer> outputPort;
+
+	private ByteBuffer buffer;
+
+	public ReusableByteBuffer(final OutputPort<ByteBuffer> outputPort) {
+		this.outputPort = outputPort;
+	}
+
+	/**
+	 * @return an empty buffer with a capacity of at least <code>minCapacity</code> bytes
+	 */
+	public ByteBuffer get(final int minCapacity) {
+		if (buffer == null || buffer.capacity() < minCapacity || !isReusable()) {
+			buffer = ByteBuffer.allocate(minCapacity);
+		}
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * @param fullBuffer
+	 *            the buffer returned by the last call of {@link #get(int)} or of this method
+	 *
+	 * @return a buffer of double the capacity which contains the bytes written so far into the given buffer
+	 */
+	public ByteBuffer grow(final ByteBuffer fullBuffer) {
+		ByteBuffer largerBuffer = ByteBuffer.allocate(Math.max(1, 2 * fullBuffer.capacity()));
+		fullBuffer.flip();
+		largerBuffer.put(fullBuffer);
+		buffer = largerBuffer;
+		return largerBuffer;
+	}
+
+	private boolean isReusable() {
+		return outputPort.getPipe() instanceof OffHeapRingBufferPipe;
+	}
+
+}
@@ -0,0 +1,260 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.util.framework.concurrent.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+/**
+ * A bounded single-producer/single-consumer ring buffer for variable-length byte records. It stores the records in the given (usually off-heap) storage
+ * buffer, each with an <code>int</code> header containing its length and a user-defined flag. A record which does not fit into the remaining space before the
+ * end of the storage is written to its beginning instead.
+ * <p>
+ * The consumer receives read-only views on the stored records. The space of a polled record is recycled when the consumer polls the next record or calls
+ * {@link #release()}. Hence, a view is only valid until then.
+ * <p>
+ * Both {@link #size()} and {@link #capacity()} are given in bytes so that a caller can compare them to determine whether this buffer is full.
+ *
+ * @since 3.1.1
+ */
+public final class ByteRecordSpscRingBuffer {
+
+	private static final int HEADER_SIZE = Integer.BYTES;
+	private static final int ALIGNMENT = Integer.BYTES;
+	private static final int WRAP_MARKER = -1;
+	/** the header uses one bit for the flag */
+	private static final int MAX_LENGTH = (Integer.MAX_VALUE >> 1) - HEADER_SIZE - ALIGNMENT;
+
+	private static final VarHandle PRODUCER_POSITION;
+	private static final VarHandle CONSUMER_POSITION;
+	private static final VarHandle RELEASED_POSITION;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			PRODUCER_POSITION = lookup.findVarHandle(ByteRecordSpscRingBuffer.class, "producerPosition", long.class);
+			CONSUMER_POSITION = lookup.findVarHandle(ByteRecordSpscRingBuffer.class, "consumerPosition", long.class);
+			RELEASED_POSITION = lookup.findVarHandle(ByteRecordSpscRingBuffer.class, "releasedPosition", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final int capacity;
+	/** used by the producer only */
+	private final ByteBuffer producerView;
+	/** used by the consumer only */
+	private final ByteBuffer consumerView;
+
+	/** written by the producer only */
+	private volatile long producerPosition;
+	/** the producer position required by the last record which did not fit, or <code>0</code> if the last record has been added (written by the producer only) */
+	private volatile long blockedProducerPosition;
+	/** read by the producer only */
+	private long cachedReleasedPosition;
+	private long nextProducerPosition;
+
+	/** written by the consumer only */
+	private volatile long consumerPosition;
+	private volatile long releasedPosition;
+	/** read by the consumer only */
+	private long cachedProducerPosition;
+	private boolean lastPolledFlag;
+
+	/**
+	 * @param storage
+	 *            the memory to store the records in, e.g., a direct or memory-mapped buffer. Its capacity is rounded down to a multiple of
+	 *            {@value #ALIGNMENT}.
+	 */
+	public ByteRecordSpscRingBuffer(final ByteBuffer storage) {
+		this.capacity = storage.capacity() - storage.capacity() % ALIGNMENT;
+		if (capacity < HEADER_SIZE) {
+			throw new IllegalArgumentException("The storage's capacity must be at least " + HEADER_SIZE + " bytes, but was " + storage.capacity());
+		}
+		ByteBuffer view = storage.duplicate();
+		view.clear();
+		view.limit(capacity);
+		this.producerView = view.duplicate();
+		this.consumerView = view.asReadOnlyBuffer();
+	}
+
+	/**
+	 * May only be called by the producer. Copies the given bytes into this buffer.
+	 *
+	 * @return <code>true</code> iff the record was added; <code>false</code> if there is currently not enough free space.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the record can never fit into this buffer
+	 */
+	public boolean offer(final byte[] source, final boolean flag) {
+		final int offset = reserve(source.length, flag);
+		if (offset < 0) {
+			return false;
+		}
+		producerView.position(offset);
+		producerView.put(source);
+		publish();
+		return true;
+	}
+
+	/**
+	 * May only be called by the producer. Copies the remaining bytes of the given buffer into this buffer. The position of the given buffer is not changed.
+	 *
+	 * @return <code>true</code> iff the record was added; <code>false</code> if there is currently not enough free space.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the record can never fit into this buffer
+	 */
+	public boolean offer(final ByteBuffer source, final boolean flag) {
+		final int offset = reserve(source.remaining(), flag);
+		if (offset < 0) {
+			return false;
+		}
+		final int sourcePosition = source.position();
+		producerView.position(offset);
+		producerView.put(source);
+		source.position(sourcePosition);
+		publish();
+		return true;
+	}
+
+	/**
+	 * Writes the header of the new record.
+	 *
+	 * @return the offset of the record's payload, or <code>-1</code> if there is not enough free space
+	 */
+	private int reserve(final int length, final boolean flag) {
+		if (length > MAX_LENGTH || recordSize(length) > capacity) {
+			throw new IllegalArgumentException("A record of " + length + " bytes does not fit into a ring buffer of " + capacity + " bytes");
+		}
+
+		final int recordSize = recordSize(length);
+		final long currentProducerPosition = (long) PRODUCER_POSITION.getOpaque(this);
+		int offset = (int) (currentProducerPosition % capacity);
+		final int padding = (offset + recordSize > capacity) ? capacity - offset : 0;
+		final long nextProducerPosition = currentProducerPosition + padding + recordSize;
+
+		if (nextProducerPosition - cachedReleasedPosition > capacity) {
+			cachedReleasedPosition = (long) RELEASED_POSITION.getAcquire(this);
+			if (nextProducerPosition - cachedReleasedPosition > capacity) {
+				blockedProducerPosition = nextProducerPosition;
+				return -1;
+			}
+		}
+		if (blockedProducerPosition != 0) {
+			blockedProducerPosition = 0;
+		}
+
+		if (padding > 0) {
+			producerView.putInt(offset, WRAP_MARKER);
+			offset = 0;
+		}
+		producerView.putInt(offset, (length << 1) | (flag ? 1 : 0));
+		this.nextProducerPosition = nextProducerPosition;
+		return offset + HEADER_SIZE;
+	}
+
+	private void publish() {
+		PRODUCER_POSITION.setRelease(this, nextProducerPosition);
+	}
+
+	/**
+	 * May only be called by the consumer. Releases the previously polled record, if any.
+	 *
+	 * @return a read-only view on the next record, or <code>null</code> if this buffer is empty. The view is valid until the next call of this method or
+	 *         {@link #release()}.
+	 */
+	public ByteBuffer poll() {
+		release();
+
+		long currentConsumerPosition = (long) CONSUMER_POSITION.getOpaque(this);
+		if (currentConsumerPosition >= cachedProducerPosition) {
+			cachedProducerPosition = (long) PRODUCER_POSITION.getAcquire(this);
+			if (currentConsumerPosition >= cachedProducerPosition) {
+				return null;
+			}
+		}
+
+		int offset = (int) (currentConsumerPosition % capacity);
+		int header = consumerView.getInt(offset);
+		if (header == WRAP_MARKER) {
+			currentConsumerPosition += capacity - offset;
+			offset = 0;
+			header = consumerView.getInt(offset);
+		}
+		final int length = header >>> 1;
+		lastPolledFlag = (header & 1) != 0;
+
+		consumerView.limit(offset + HEADER_SIZE + length);
+		consumerView.position(offset + HEADER_SIZE);
+		final ByteBuffer record = consumerView.slice();
+		consumerView.limit(capacity);
+
+		CONSUMER_POSITION.setRelease(this, currentConsumerPosition + recordSize(length));
+		return record;
+	}
+
+	/**
+	 * May only be called by the consumer. Recycles the space of the previously polled record so that the producer can reuse it.
+	 */
+	public void release() {
+		final long currentConsumerPosition = (long) CONSUMER_POSITION.getOpaque(this);
+		if (releasedPosition != currentConsumerPosition) {
+			RELEASED_POSITION.setRelease(this, currentConsumerPosition);
+		}
+	}
+
+	/**
+	 * May only be called by the consumer.
+	 *
+	 * @return the flag of the previously polled record
+	 */
+	public boolean getLastPolledFlag() {
+		return lastPolledFlag;
+	}
+
+	public boolean isEmpty() {
+		return consumerPosition == producerPosition;
+	}
+
+	/**
+	 * @return the number of bytes occupied in this buffer, including the last polled record until it is released. If the last record of the producer did
+	 *         not fit, this buffer counts as full, i.e., the size equals the {@link #capacity()}, until there is enough free space for that record.
+	 */
+	public int size() {
+		final long currentReleasedPosition = releasedPosition;
+		final long currentBlockedProducerPosition = blockedProducerPosition;
+		if (currentBlockedProducerPosition != 0 && currentBlockedProducerPosition - currentReleasedPosition > capacity) {
+			return capacity;
+		}
+		// the positions are not read atomically, so bound the difference
+		final long usedBytes = producerPosition - currentReleasedPosition;
+		return (int) Math.max(0, Math.min(capacity, usedBytes));
+	}
+
+	/**
+	 * @return the capacity in bytes
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	private static int recordSize(final int length) {
+		return (HEADER_SIZE + length + ALIGNMENT - 1) & -ALIGNMENT;
+	}
+
+}
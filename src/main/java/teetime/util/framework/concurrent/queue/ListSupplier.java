@@ -0,0 +1,50 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.util.framework.concurrent.queue;
+
+import java.util.List;
+
+import org.jctools.queues.MessagePassingQueue;
+
+/**
+ * Supplies the elements of a list one after another to {@link MessagePassingQueue#fill(MessagePassingQueue.Supplier, int)}.
+ * An instance is meant to be reused by a single producer thread in order to avoid an allocation per batch.
+ *
+ * @param <E>
+ *            the type of the supplied elements
+ *
+ * @since 3.1.1
+ */
+public final class ListSupplier<E> implements MessagePassingQueue.Supplier<E> {
+
+	private List<? extends E> elements;
+	private int index;
+
+	/**
+	 * @param elements
+	 *            to supply from the beginning, or <code>null</code> to release the previous list
+	 */
+	public void reset(final List<? extends E> elements) {
+		this.elements = elements;
+		this.index = 0;
+	}
+
+	@Override
+	public E get() {
+		return elements.get(index++);
+	}
+
+}
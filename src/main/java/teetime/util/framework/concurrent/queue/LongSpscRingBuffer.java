@@ -0,0 +1,130 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.util.framework.concurrent.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.LongConsumer;
+
+/**
+ * A bounded single-producer/single-consumer ring buffer for <code>long</code> values. In contrast to a queue of {@link Long}s, it does not allocate any
+ * objects per element.
+ *
+ * @since 3.1.1
+ */
+public final class LongSpscRingBuffer {
+
+	private static final VarHandle PRODUCER_INDEX;
+	private static final VarHandle CONSUMER_INDEX;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			PRODUCER_INDEX = lookup.findVarHandle(LongSpscRingBuffer.class, "producerIndex", long.class);
+			CONSUMER_INDEX = lookup.findVarHandle(LongSpscRingBuffer.class, "consumerIndex", long.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final long[] buffer;
+	private final int mask;
+
+	/** written by the producer only */
+	private volatile long producerIndex;
+	/** read by the producer only */
+	private long cachedConsumerIndex;
+
+	/** written by the consumer only */
+	private volatile long consumerIndex;
+	/** read by the consumer only */
+	private long cachedProducerIndex;
+
+	/**
+	 * @param requestedCapacity
+	 *            is rounded up to the next power of two
+	 */
+	public LongSpscRingBuffer(final int requestedCapacity) {
+		if (requestedCapacity <= 0) {
+			throw new IllegalArgumentException("requestedCapacity must be positive, but was " + requestedCapacity);
+		}
+		int capacity = (requestedCapacity == 1) ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+		this.buffer = new long[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * May only be called by the producer.
+	 *
+	 * @return <code>true</code> iff the element was added; <code>false</code> if the buffer is full.
+	 */
+	public boolean offer(final long element) {
+		final long currentProducerIndex = (long) PRODUCER_INDEX.getOpaque(this);
+		if (currentProducerIndex - cachedConsumerIndex >= buffer.length) {
+			cachedConsumerIndex = (long) CONSUMER_INDEX.getAcquire(this);
+			if (currentProducerIndex - cachedConsumerIndex >= buffer.length) {
+				return false;
+			}
+		}
+		buffer[(int) currentProducerIndex & mask] = element;
+		PRODUCER_INDEX.setRelease(this, currentProducerIndex + 1);
+		return true;
+	}
+
+	/**
+	 * May only be called by the consumer.
+	 *
+	 * @param consumer
+	 *            receives the removed element, if any
+	 *
+	 * @return <code>true</code> iff an element was removed and passed to the <code>consumer</code>; <code>false</code> if the buffer is empty.
+	 */
+	public boolean poll(final LongConsumer consumer) {
+		final long currentConsumerIndex = (long) CONSUMER_INDEX.getOpaque(this);
+		if (currentConsumerIndex >= cachedProducerIndex) {
+			cachedProducerIndex = (long) PRODUCER_INDEX.getAcquire(this);
+			if (currentConsumerIndex >= cachedProducerIndex) {
+				return false;
+			}
+		}
+		final long element = buffer[(int) currentConsumerIndex & mask];
+		CONSUMER_INDEX.setRelease(this, currentConsumerIndex + 1);
+		consumer.accept(element);
+		return true;
+	}
+
+	public boolean isEmpty() {
+		return consumerIndex == producerIndex;
+	}
+
+	public int size() {
+		final long currentConsumerIndex = consumerIndex; // read the consumer index first to never return a negative size
+		return (int) (producerIndex - currentConsumerIndex);
+	}
+
+	public int capacity() {
+		return buffer.length;
+	}
+
+	public long currentProducerIndex() {
+		return producerIndex;
+	}
+
+	public long currentConsumerIndex() {
+		return consumerIndex;
+	}
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates temporary files which are deleted explicitly by their owner. All files which could not be deleted until then, e.g., since they are still
+ * memory-mapped on Windows, are deleted by a single shutdown hook. In contrast to {@link File#deleteOnExit()}, a file is only remembered as long as it
+ * exists.
+ *
+ * @since 3.1.1
+ */
+public final class TemporaryFiles {
+
+	/** the files which have not been deleted yet */
+	private static final Set<File> UNDELETED_FILES = ConcurrentHashMap.newKeySet();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(TemporaryFiles::deleteUndeletedFiles, "teetime-temporary-files-cleanup"));
+	}
+
+	private TemporaryFiles() {
+		// utility class
+	}
+
+	/**
+	 * @see File#createTempFile(String, String, File)
+	 */
+	public static File create(final String prefix, final String suffix, final File directory) throws IOException {
+		File file = File.createTempFile(prefix, suffix, directory);
+		UNDELETED_FILES.add(file);
+		return file;
+	}
+
+	/**
+	 * Deletes the given file, which must have been created by {@link #create(String, String, File)}. If it cannot be deleted now, it is deleted on shutdown.
+	 */
+	public static void delete(final File file) {
+		if (file.delete() || !file.exists()) {
+			UNDELETED_FILES.remove(file);
+		}
+	}
+
+	private static void deleteUndeletedFiles() {
+		for (File file : UNDELETED_FILES) {
+			file.delete(); // NOPMD (best effort)
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.examples.cipher;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+import teetime.framework.Configuration;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.IPipeFactory;
+import teetime.stage.ByteBufferCipherStage;
+import teetime.stage.CipherStage.CipherMode;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.ZipByteArray.ZipMode;
+import teetime.stage.ZipByteBuffer;
+import teetime.stage.io.ByteBufferFileWriter;
+import teetime.stage.io.File2ByteBuffer;
+
+public class ByteBufferCipherConfiguration extends Configuration {
+
+	private final IPipeFactory pipeFactory;
+
+	/**
+	 * @param pipeFactory
+	 *            creates the pipes between the byte buffer stages, each of which is then executed by its own thread; <code>null</code> to use the
+	 *            default pipes
+	 */
+	public ByteBufferCipherConfiguration(final String inputFile, final String outputFile, final String password, final IPipeFactory pipeFactory) {
+		this.pipeFactory = pipeFactory;
+
+		final File input = new File(inputFile);
+		final File output = new File(outputFile);
+
+		final InitialElementProducer<File> init = new InitialElementProducer<File>(input);
+		final File2ByteBuffer f2b = new File2ByteBuffer();
+		final ByteBufferCipherStage enc = new ByteBufferCipherStage(password, CipherMode.ENCRYPT);
+		final ZipByteBuffer comp = new ZipByteBuffer(ZipMode.COMP);
+		final ZipByteBuffer decomp = new ZipByteBuffer(ZipMode.DECOMP);
+		final ByteBufferCipherStage decrypt = new ByteBufferCipherStage(password, CipherMode.DECRYPT);
+		final ByteBufferFileWriter writer = new ByteBufferFileWriter(output);
+
+		connectPorts(init.getOutputPort(), f2b.getInputPort());
+		connectByteBufferPorts(f2b.getOutputPort(), enc.getInputPort());
+		connectByteBufferPorts(enc.getOutputPort(), comp.getInputPort());
+		connectByteBufferPorts(comp.getOutputPort(), decomp.getInputPort());
+		connectByteBufferPorts(decomp.getOutputPort(), decrypt.getInputPort());
+		connectByteBufferPorts(decrypt.getOutputPort(), writer.getInputPort());
+	}
+
+	private void connectByteBufferPorts(final OutputPort<ByteBuffer> sourcePort, final InputPort<ByteBuffer> targetPort) {
+		if (pipeFactory == null) {
+			connectPorts(sourcePort, targetPort);
+		} else {
+			targetPort.getOwningStage().declareActive();
+			connectPorts(sourcePort, targetPort, 64 * 1024, pipeFactory);
+		}
+	}
+}
@@ -26,6 +26,7 @@ import com.google.common.io.Files;
 import teetime.framework.Configuration;
 import teetime.framework.ConfigurationBuilder;
 import teetime.framework.Execution;
+import teetime.framework.pipe.OffHeapRingBufferPipeFactory;
 import teetime.stage.CipherStage;
 import teetime.stage.CipherStage.CipherMode;
 import teetime.stage.InitialElementProducer;
@@ -84,6 +85,25 @@ public class CipherTest {
 		Assert.assertTrue(Files.equal(new File(INPUT_FILE), new File(OUTPUT_FILE)));
 	}
 
+	@Test
+	public void executeTestWithByteBuffers() throws IOException {
+		final ByteBufferCipherConfiguration configuration = new ByteBufferCipherConfiguration(INPUT_FILE, OUTPUT_FILE, PASSWORD, null);
+		final Execution<ByteBufferCipherConfiguration> execution = new Execution<ByteBufferCipherConfiguration>(configuration);
+		execution.executeBlocking();
+
+		Assert.assertTrue(Files.equal(new File(INPUT_FILE), new File(OUTPUT_FILE)));
+	}
+
+	@Test
+	public void executeTestWithByteBuffersOnOffHeapPipes() throws IOException {
+		final ByteBufferCipherConfiguration configuration = new ByteBufferCipherConfiguration(INPUT_FILE, OUTPUT_FILE, PASSWORD,
+				OffHeapRingBufferPipeFactory.DIRECT);
+		final Execution<ByteBufferCipherConfiguration> execution = new Execution<ByteBufferCipherConfiguration>(configuration);
+		execution.executeBlocking();
+
+		Assert.assertTrue(Files.equal(new File(INPUT_FILE), new File(OUTPUT_FILE)));
+	}
+
 	public static void main(final String[] args) {
 		final CipherConfiguration configuration = new CipherConfiguration(INPUT_FILE, OUTPUT_FILE, PASSWORD);
 		final Execution<CipherConfiguration> execution = new Execution<CipherConfiguration>(configuration);
@@ -0,0 +1,123 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.stage.InitialElementProducer;
+
+public class AbstractBatchConsumerStageTest {
+
+	private static final int NUM_ELEMENTS = 10_000;
+	private static final int MAX_BATCH_SIZE = 64;
+
+	@Test
+	public void activeStageReceivesBatches() {
+		BatchRecorder recorder = new BatchRecorder(MAX_BATCH_SIZE);
+		recorder.declareActive();
+		recorder.delayFirstBatch = true;
+		new Execution<>(new BatchConfig(recorder), true).executeBlocking();
+
+		assertThat(recorder.elements, is(expectedElements()));
+		assertThat(recorder.batchSizes, everyItem(is(lessThanOrEqualTo(MAX_BATCH_SIZE))));
+		assertThat(recorder.batchSizes.contains(MAX_BATCH_SIZE), is(true)); // the pipe has filled up while the first batch was delayed
+		assertThat(recorder.getCurrentState(), is(StageState.TERMINATED));
+	}
+
+	@Test
+	public void passiveStageReceivesSingleElements() {
+		BatchRecorder recorder = new BatchRecorder(MAX_BATCH_SIZE);
+		new Execution<>(new BatchConfig(recorder), true).executeBlocking();
+
+		assertThat(recorder.elements, is(expectedElements()));
+		assertThat(recorder.batchSizes, everyItem(is(1)));
+	}
+
+	@Test
+	public void activeStageReceivesArrayBatches() {
+		ArrayBatchRecorder recorder = new ArrayBatchRecorder(MAX_BATCH_SIZE);
+		recorder.declareActive();
+		new Execution<>(new BatchConfig(recorder), true).executeBlocking();
+
+		assertThat(recorder.elements, is(expectedElements()));
+		assertThat(recorder.batchSizes, everyItem(is(lessThanOrEqualTo(MAX_BATCH_SIZE))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void nonPositiveMaxBatchSize() {
+		new BatchRecorder(0);
+	}
+
+	private static List<Integer> expectedElements() {
+		List<Integer> elements = new ArrayList<>();
+		for (int i = 0; i < NUM_ELEMENTS; i++) {
+			elements.add(i);
+		}
+		return elements;
+	}
+
+	private static class BatchConfig extends Configuration {
+		BatchConfig(final AbstractBatchConsumerStage<Integer> recorder) {
+			InitialElementProducer<Integer> producer = new InitialElementProducer<>(expectedElements());
+			connectPorts(producer.getOutputPort(), recorder.getInputPort());
+		}
+	}
+
+	private static class BatchRecorder extends AbstractListBatchConsumerStage<Integer> {
+		final List<Integer> elements = new ArrayList<>();
+		final List<Integer> batchSizes = new ArrayList<>();
+		boolean delayFirstBatch;
+
+		BatchRecorder(final int maxBatchSize) {
+			super(maxBatchSize);
+		}
+
+		@Override
+		protected void execute(final List<Integer> batch) throws InterruptedException {
+			if (delayFirstBatch) {
+				delayFirstBatch = false;
+				Thread.sleep(50);
+			}
+			batchSizes.add(batch.size());
+			elements.addAll(batch);
+		}
+	}
+
+	private static class ArrayBatchRecorder extends AbstractBatchConsumerStage<Integer> {
+		final List<Integer> elements = new ArrayList<>();
+		final List<Integer> batchSizes = new ArrayList<>();
+
+		ArrayBatchRecorder(final int maxBatchSize) {
+			super(Integer.class, maxBatchSize);
+		}
+
+		@Override
+		protected void execute(final Integer[] batch, final int n) {
+			batchSizes.add(n);
+			for (int i = 0; i < n; i++) {
+				elements.add(batch[i]);
+			}
+		}
+	}
+}
@@ -86,6 +86,20 @@ public class AbstractStageTest {
 		assertFalse(config.delay.isActive());
 	}
 
+	@Test
+	public void declarePassiveBeforeExecution() {
+		TestConfig config = new TestConfig();
+		config.delay.declareActive();
+		config.delay.declarePassive();
+		assertFalse(config.delay.isActive());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void declarePassiveProducer() {
+		TestConfig config = new TestConfig();
+		config.init.declarePassive();
+	}
+
 	private static class TestConfig extends Configuration {
 		public final DelayAndTerminate delay;
 		public final InitialElementProducer<String> init;
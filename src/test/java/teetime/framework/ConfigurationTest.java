@@ -21,6 +21,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -85,4 +86,27 @@ public class ConfigurationTest {
 		assertThat(configuration.collectorSink.inputPort.pipe, is(instanceOf(BoundedSynchedPipe.class)));
 		assertThat(configuration.collectorSink.inputPort.pipe.capacity(), is(CUSTOM_PIPE_CAPACITY));
 	}
+
+	private static class FanInConfiguration extends Configuration {
+
+		FanInConfiguration(final List<OutputPort<Integer>> sourcePorts) {
+			connectPorts(sourcePorts, new CollectorSink<Integer>().getInputPort(), CUSTOM_PIPE_CAPACITY);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void fanInWithNullSourcePortIsForbidden() {
+		List<OutputPort<Integer>> sourcePorts = new ArrayList<OutputPort<Integer>>();
+		sourcePorts.add(new InitialElementProducer<Integer>(INPUT_ELEMENTS).getOutputPort());
+		sourcePorts.add(null);
+		new FanInConfiguration(sourcePorts);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void fanInWithConnectedSourcePortIsForbidden() {
+		InitialElementProducer<Integer> producer = new InitialElementProducer<Integer>(INPUT_ELEMENTS);
+		List<OutputPort<Integer>> sourcePorts = Arrays.asList(producer.getOutputPort());
+		new FanInConfiguration(sourcePorts);
+		new FanInConfiguration(sourcePorts);
+	}
 }
@@ -0,0 +1,139 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import teetime.framework.pipe.UnsynchedPipe;
+import teetime.framework.scheduling.pushpullmodel.PushPullScheduling;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+
+public class FusedPipeTest {
+
+	@Before
+	public void enablePipeFusion() {
+		assumeFalse("performance logging disables pipe fusion", AbstractStage.isPerformanceLoggingEnabled());
+		System.setProperty(FusedPipe.ENABLED_PROPERTY, "true");
+	}
+
+	@After
+	public void disablePipeFusion() {
+		System.clearProperty(FusedPipe.ENABLED_PROPERTY);
+	}
+
+	@Test
+	public void passElementsDirectly() {
+		ChainConfig config = new ChainConfig(1, 2, 3);
+		new Execution<>(config, true, new PushPullScheduling(config)).executeBlocking();
+
+		assertThat(config.sink.getElements(), contains(1, 2, 3));
+		assertThat(config.sink.getCurrentState(), is(StageState.TERMINATED));
+		assertThat(config.first.getInputPort().getPipe(), is(instanceOf(FusedPipe.class)));
+		assertThat(config.sink.getInputPort().getPipe(), is(instanceOf(FusedPipe.class)));
+	}
+
+	@Test
+	public void reuseGeneratedClassPerStageClass() {
+		ChainConfig config = new ChainConfig(1);
+		new Execution<>(config, true, new PushPullScheduling(config)).executeBlocking();
+
+		Class<?> firstPipeClass = config.first.getInputPort().getPipe().getClass();
+		Class<?> secondPipeClass = config.second.getInputPort().getPipe().getClass();
+		Class<?> sinkPipeClass = config.sink.getInputPort().getPipe().getClass();
+		assertThat(secondPipeClass, is(sameInstance(firstPipeClass)));
+		assertThat(sinkPipeClass, is(not(sameInstance(firstPipeClass))));
+	}
+
+	@Test
+	public void reportExceptionsToListener() {
+		ChainConfig config = new ChainConfig(1, FailingFilter.FAILING_ELEMENT, 3);
+		try {
+			new Execution<>(config, true, new PushPullScheduling(config)).executeBlocking();
+			fail("ExecutionException expected");
+		} catch (ExecutionException e) {
+			assertThat(e.getThrownExceptions().size(), is(1));
+		}
+		assertThat(config.sink.getElements(), contains(1));
+	}
+
+	@Test
+	public void disabledByDefault() {
+		System.clearProperty(FusedPipe.ENABLED_PROPERTY);
+
+		ChainConfig config = new ChainConfig(1);
+		new Execution<>(config, true, new PushPullScheduling(config)).executeBlocking();
+
+		assertThat(config.first.getInputPort().getPipe(), is(instanceOf(UnsynchedPipe.class)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectReflexivePipe() {
+		ReflexiveFilter filter = new ReflexiveFilter();
+
+		FusedPipe.newInstance(filter.outputPort, filter.getInputPort());
+	}
+
+	private static class ChainConfig extends Configuration {
+		final FailingFilter first = new FailingFilter();
+		final FailingFilter second = new FailingFilter();
+		final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		ChainConfig(final Integer... elements) {
+			InitialElementProducer<Integer> producer = new InitialElementProducer<>(elements);
+			NoopFilter<Integer> noopFilter = new NoopFilter<>();
+			connectPorts(producer.getOutputPort(), first.getInputPort());
+			connectPorts(first.outputPort, second.getInputPort());
+			connectPorts(second.outputPort, noopFilter.getInputPort());
+			connectPorts(noopFilter.getOutputPort(), sink.getInputPort());
+		}
+	}
+
+	private static class FailingFilter extends AbstractConsumerStage<Integer> {
+		static final int FAILING_ELEMENT = -1;
+
+		final OutputPort<Integer> outputPort = createOutputPort();
+
+		@Override
+		protected void execute(final Integer element) {
+			if (element == FAILING_ELEMENT) {
+				throw new IllegalArgumentException("failing element");
+			}
+			outputPort.send(element);
+		}
+	}
+
+	private static class ReflexiveFilter extends AbstractConsumerStage<Integer> {
+		final OutputPort<Integer> outputPort = createOutputPort();
+
+		@Override
+		protected void execute(final Integer element) {
+			outputPort.send(element);
+		}
+	}
+}
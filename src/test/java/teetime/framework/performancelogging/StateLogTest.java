@@ -0,0 +1,180 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.performancelogging;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import teetime.framework.performancelogging.StateChange.StageActivationState;
+import teetime.framework.performancelogging.formatstrategy.CumulativeActivePassivTime;
+
+public class StateLogTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void addStateChanges() {
+		StateLog stateLog = new StateLog("Stage", 4);
+		assertThat(stateLog.getLastState(), is(StageActivationState.INITIALIZED));
+
+		stateLog.add(StageActivationState.ACTIVE, 10);
+		stateLog.add(StageActivationState.BLOCKED, 20);
+
+		assertThat(stateLog.size(), is(2));
+		assertThat(stateLog.getLastState(), is(StageActivationState.BLOCKED));
+		assertThat(stateLog.getState(0), is(StageActivationState.ACTIVE));
+		assertThat(stateLog.getTimestamp(0), is(10L));
+		assertThat(stateLog.getState(1), is(StageActivationState.BLOCKED));
+		assertThat(stateLog.getTimestamp(1), is(20L));
+	}
+
+	@Test
+	public void overwriteOldestStateChanges() {
+		StateLog stateLog = new StateLog("Stage", 3);
+		assertThat(stateLog.capacity(), is(4));
+
+		for (int i = 0; i < 6; i++) {
+			stateLog.add((i % 2 == 0) ? StageActivationState.ACTIVE : StageActivationState.BLOCKED, i);
+		}
+
+		assertThat(stateLog.size(), is(4));
+		assertThat(stateLog.getNumDropped(), is(2L));
+		for (int i = 0; i < 4; i++) {
+			assertThat(stateLog.getTimestamp(i), is(i + 2L));
+		}
+		assertThat(stateLog.toStateChanges().get(0).getStageActivationState(), is(StageActivationState.ACTIVE));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void readBeyondSize() {
+		new StateLog("Stage", 4).getTimestamp(0);
+	}
+
+	@Test
+	public void writeAndReadBack() throws IOException {
+		StateLog stateLog = new StateLog("Stage", 2);
+		stateLog.add(StageActivationState.ACTIVE, 1);
+		stateLog.add(StageActivationState.BLOCKED, 2);
+		stateLog.add(StageActivationState.TERMINATED, 3);
+		stateLog.addActiveWaitingTime(42);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		stateLog.writeTo(new DataOutputStream(bytes));
+		StateLog readStateLog = StateLog.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+		assertThat(readStateLog.getStageName(), is("Stage"));
+		assertThat(readStateLog.getActiveWaitingTime(), is(42L));
+		assertThat(readStateLog.getNumDropped(), is(1L));
+		assertThat(readStateLog.size(), is(2));
+		assertThat(readStateLog.getState(0), is(StageActivationState.BLOCKED));
+		assertThat(readStateLog.getTimestamp(1), is(3L));
+		assertThat(readStateLog.getLastState(), is(StageActivationState.TERMINATED));
+	}
+
+	@Test
+	public void flushFullSegmentsInsteadOfOverwriting() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		StateLog stateLog = new StateLog("Stage", 2);
+		stateLog.setSegmentSink(fullStateLog -> {
+			try {
+				fullStateLog.flushTo(output);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		for (int i = 0; i < 5; i++) {
+			stateLog.add((i % 2 == 0) ? StageActivationState.ACTIVE : StageActivationState.BLOCKED, i);
+		}
+		assertThat(stateLog.size(), is(1));
+		assertThat(stateLog.getNumDropped(), is(0L));
+		stateLog.writeTo(output);
+
+		DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		List<StateLog> segments = Arrays.asList(StateLog.readSegmentFrom(input), StateLog.readSegmentFrom(input));
+		StateLog readStateLog = StateLog.readFrom(input, segments);
+
+		assertThat(readStateLog.getStageName(), is("Stage"));
+		assertThat(readStateLog.size(), is(5));
+		for (int i = 0; i < 5; i++) {
+			assertThat(readStateLog.getTimestamp(i), is((long) i));
+		}
+		assertThat(readStateLog.getState(4), is(StageActivationState.ACTIVE));
+	}
+
+	@Test
+	public void swapFullBufferWithSpareSegment() {
+		StateLog stateLog = new StateLog("Stage", 2);
+		StateLog segment = new StateLog("Stage", 2);
+		stateLog.setSegmentSink(fullStateLog -> fullStateLog.swapBuffers(segment));
+
+		for (int i = 0; i < 3; i++) {
+			stateLog.add(StageActivationState.ACTIVE, i);
+		}
+
+		assertThat(segment.size(), is(2));
+		assertThat(segment.getTimestamp(0), is(0L));
+		assertThat(segment.getTimestamp(1), is(1L));
+		assertThat(stateLog.size(), is(1));
+		assertThat(stateLog.getTimestamp(0), is(2L));
+		assertThat(stateLog.getNumDropped(), is(0L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void swapBuffersOfDifferentCapacity() {
+		new StateLog("Stage", 2).swapBuffers(new StateLog("Stage", 4));
+	}
+
+	@Test
+	public void dumpAndReadRegisteredStages() throws IOException {
+		File file = folder.newFile("dump.bin");
+		ActivationStateLogger stateLogger = ActivationStateLogger.getInstance();
+		stateLogger.dumpToFile(file);
+
+		List<StateLog> stateLogs = ActivationStateLogger.readDump(file);
+		assertThat(stateLogs.size(), is(stateLogger.getStages().size()));
+	}
+
+	@Test
+	public void formatReadStateLogs() {
+		StateLog stateLog = new StateLog("Stage", 4);
+		stateLog.add(StageActivationState.ACTIVE, 100);
+		stateLog.add(StageActivationState.BLOCKED, 150);
+		stateLog.add(StageActivationState.TERMINATED, 400);
+		List<StateLog> stateLogs = Collections.singletonList(stateLog);
+
+		String formattedData = new CumulativeActivePassivTime(() -> stateLogs).formatData();
+
+		assertThat(formattedData, containsString("Stage;300;250;0;50"));
+	}
+}
@@ -17,14 +17,18 @@ package teetime.framework.pipe;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
 
 import teetime.framework.InputPort;
 import teetime.framework.OutputPort;
+import teetime.framework.pipe.strategy.SkipIfFullStrategy;
+import teetime.framework.pipe.strategy.SpinYieldIfFullStrategy;
 import teetime.framework.signal.ISignal;
 import teetime.framework.signal.StartingSignal;
 import teetime.framework.signal.TerminatingSignal;
@@ -75,4 +79,118 @@ public class BoundedSynchedPipeTest {
 		BoundedSynchedPipe<?> pipe = new BoundedSynchedPipe<Object>(null, null, 4);
 		assertFalse(pipe.addNonBlocking(null));
 	}
+
+	@Test
+	public void testAddBatchAndRemoveBatch() throws Exception {
+		Merger<Integer> portSource = new Merger<Integer>();
+		BoundedSynchedPipe<Integer> pipe = new BoundedSynchedPipe<Integer>(portSource.getOutputPort(), portSource.getNewInputPort(), 8);
+
+		pipe.addBatch(Arrays.asList(0, 1, 2, 3, 4));
+		assertEquals(5, pipe.size());
+
+		List<Object> elements = new ArrayList<Object>();
+		assertEquals(3, pipe.removeBatch(elements::add, 3));
+		assertEquals(Arrays.<Object> asList(0, 1, 2), elements);
+
+		assertEquals(2, pipe.removeBatch(elements::add, 10));
+		assertEquals(Arrays.<Object> asList(0, 1, 2, 3, 4), elements);
+		assertTrue(pipe.isEmpty());
+	}
+
+	@Test
+	public void testSendBatchAndReceiveBatch() throws Exception {
+		Merger<Integer> portSource = new Merger<Integer>();
+		OutputPort<Integer> sourcePort = portSource.getOutputPort();
+		InputPort<Integer> targetPort = portSource.getNewInputPort();
+		BoundedSynchedPipe<Integer> pipe = new BoundedSynchedPipe<Integer>(sourcePort, targetPort, 4);
+
+		sourcePort.sendBatch(Arrays.asList(0, 1, 2));
+		sourcePort.sendSignal(new TerminatingSignal());
+
+		List<Integer> elements = new ArrayList<Integer>();
+		assertEquals(3, targetPort.receiveBatch(10, elements::add));
+		assertEquals(Arrays.asList(0, 1, 2), elements);
+		assertTrue(pipe.isClosed());
+		assertEquals(0, targetPort.receiveBatch(10, elements::add));
+	}
+
+	@Test
+	public void testSendArrayBatch() throws Exception {
+		Merger<Integer> portSource = new Merger<Integer>();
+		OutputPort<Integer> sourcePort = portSource.getOutputPort();
+		InputPort<Integer> targetPort = portSource.getNewInputPort();
+		new BoundedSynchedPipe<Integer>(sourcePort, targetPort, 4);
+
+		sourcePort.sendBatch(new Integer[] { 0, 1, 2, null }, 3);
+
+		List<Integer> elements = new ArrayList<Integer>();
+		assertEquals(3, targetPort.receiveBatch(10, elements::add));
+		assertEquals(Arrays.asList(0, 1, 2), elements);
+	}
+
+	@Test
+	public void testSendBatchLargerThanCapacity() throws Exception {
+		Merger<Integer> portSource = new Merger<Integer>();
+		OutputPort<Integer> sourcePort = portSource.getOutputPort();
+		InputPort<Integer> targetPort = portSource.getNewInputPort();
+		BoundedSynchedPipe<Integer> pipe = new BoundedSynchedPipe<Integer>(sourcePort, targetPort, 4, new SpinYieldIfFullStrategy());
+
+		List<Integer> batch = new ArrayList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			batch.add(i);
+		}
+		List<Integer> elements = new ArrayList<Integer>();
+		Thread consumer = new Thread(() -> {
+			while (elements.size() < batch.size()) {
+				targetPort.receiveBatch(10, elements::add);
+			}
+		});
+		consumer.start();
+
+		sourcePort.sendBatch(batch);
+		consumer.join();
+
+		assertEquals(batch, elements);
+		assertTrue(pipe.getNumWaits() > 0);
+	}
+
+	@Test
+	public void testSendBatchLargerThanCapacityDropsRemainingElements() throws Exception {
+		Merger<Integer> portSource = new Merger<Integer>();
+		OutputPort<Integer> sourcePort = portSource.getOutputPort();
+		InputPort<Integer> targetPort = portSource.getNewInputPort();
+		new BoundedSynchedPipe<Integer>(sourcePort, targetPort, 4, new SkipIfFullStrategy());
+
+		sourcePort.sendBatch(Arrays.asList(0, 1, 2, 3, 4, 5));
+
+		List<Integer> elements = new ArrayList<Integer>();
+		assertEquals(4, targetPort.receiveBatch(10, elements::add));
+		assertEquals(Arrays.asList(0, 1, 2, 3), elements);
+	}
+
+	@Test
+	public void testQueueingDelaySampling() throws Exception {
+		Merger<Integer> portSource = new Merger<Integer>();
+		BoundedSynchedPipe<Integer> pipe = new BoundedSynchedPipe<Integer>(portSource.getOutputPort(), portSource.getNewInputPort(), 8);
+		assertEquals(null, pipe.getQueueingDelayHistogram());
+		pipe.enableQueueingDelaySampling(2);
+
+		for (int i = 0; i < 10; i++) {
+			pipe.addNonBlocking(i);
+		}
+		Thread.sleep(2);
+		List<Object> elements = new ArrayList<Object>();
+		for (int i = 0; i < 20; i++) { // wraps around the queue and the sample slots
+			pipe.removeBatch(elements::add, 3);
+			pipe.addBatch(Arrays.asList(0, 1, 2));
+		}
+		while (pipe.removeLast() != null) {
+			// drain
+		}
+
+		LatencyHistogram histogram = pipe.getQueueingDelayHistogram();
+		assertEquals((8 + 20 * 3) / 2, histogram.getTotalCount());
+		assertTrue(histogram.getMaxValue() >= 2000000);
+		assertTrue(histogram.getP50() <= histogram.getP99());
+	}
 }
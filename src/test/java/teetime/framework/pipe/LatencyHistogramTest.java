@@ -0,0 +1,69 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBucketBoundaries() throws Exception {
+		for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 33, 1000, 123456789, Long.MAX_VALUE }) {
+			int index = LatencyHistogram.indexOf(value);
+			assertTrue(value <= LatencyHistogram.highestValueOf(index));
+			assertTrue(index == 0 || value > LatencyHistogram.highestValueOf(index - 1));
+		}
+	}
+
+	@Test
+	public void testRelativeError() throws Exception {
+		for (long value = 1; value < 1000000; value = value * 3 + 1) {
+			long highestValue = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+			assertTrue((highestValue - value) * 16 <= value);
+		}
+	}
+
+	@Test
+	public void testPercentiles() throws Exception {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getP99());
+
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		histogram.record(-5);
+
+		assertEquals(1001, histogram.getTotalCount());
+		assertEquals(1000000, histogram.getMaxValue());
+		assertEquals(1000000, histogram.getValueAtPercentile(100));
+		assertEquals(0, histogram.getValueAtPercentile(0));
+		assertWithinRelativeError(500000, histogram.getP50());
+		assertWithinRelativeError(990000, histogram.getP99());
+		assertWithinRelativeError(999000, histogram.getP999());
+	}
+
+	private static void assertWithinRelativeError(final long expected, final long actual) {
+		assertTrue("expected " + expected + " but was " + actual, actual >= expected && actual <= expected + expected / 16);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPercentile() throws Exception {
+		new LatencyHistogram().getValueAtPercentile(100.1);
+	}
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.signal.TerminatingSignal;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.basic.merger.Merger;
+
+public class MpscSynchedPipeTest {
+
+	@Test
+	public void testTerminateAfterLastProducer() throws Exception {
+		Merger<Integer> firstSource = new Merger<Integer>();
+		Merger<Integer> secondSource = new Merger<Integer>();
+		OutputPort<Integer> firstPort = firstSource.getOutputPort();
+		OutputPort<Integer> secondPort = secondSource.getOutputPort();
+		InputPort<Integer> targetPort = new Merger<Integer>().getNewInputPort();
+
+		MpscSynchedPipe<Integer> pipe = new MpscSynchedPipe<Integer>(Arrays.asList(firstPort, secondPort), targetPort, 16);
+		assertThat(firstPort.getPipe(), is((Object) pipe));
+		assertThat(secondPort.getPipe(), is((Object) pipe));
+		assertEquals(2, pipe.getSourcePorts().size());
+
+		firstPort.send(1);
+		firstPort.sendSignal(new TerminatingSignal());
+		secondPort.send(2);
+
+		assertEquals(Integer.valueOf(1), targetPort.receive());
+		assertEquals(Integer.valueOf(2), targetPort.receive());
+		assertThat(targetPort.receive(), is(nullValue()));
+		assertFalse(pipe.isClosed());
+		assertThat(pipe.getSignal(), is(nullValue())); // not yet forwarded
+
+		secondPort.sendSignal(new TerminatingSignal());
+		assertThat(targetPort.receive(), is(nullValue()));
+		assertTrue(pipe.isClosed());
+		assertThat(pipe.getSignal(), is(instanceOf(TerminatingSignal.class)));
+		assertThat(pipe.getSignal(), is(nullValue()));
+	}
+
+	@Test
+	public void testOneNotificationPerElement() throws Exception {
+		OutputPort<Integer> firstPort = new Merger<Integer>().getOutputPort();
+		OutputPort<Integer> secondPort = new Merger<Integer>().getOutputPort();
+		MpscSynchedPipe<Integer> pipe = new MpscSynchedPipe<Integer>(Arrays.asList(firstPort, secondPort), new Merger<Integer>().getNewInputPort(), 16);
+		CountingPipeScheduler scheduler = new CountingPipeScheduler();
+		pipe.setScheduler(scheduler);
+
+		firstPort.send(1);
+		secondPort.send(2);
+		assertEquals(2, scheduler.numAdded);
+
+		firstPort.sendSignal(new TerminatingSignal());
+		assertEquals(2, scheduler.numAdded); // not yet forwarded
+		secondPort.sendSignal(new TerminatingSignal());
+		assertEquals(3, scheduler.numAdded);
+	}
+
+	private static class FanInConfig extends Configuration {
+		private final CollectorSink<Integer> sink = new CollectorSink<Integer>();
+
+		public FanInConfig(final int numProducers, final int numElementsPerProducer) {
+			List<OutputPort<Integer>> sourcePorts = new ArrayList<OutputPort<Integer>>();
+			for (int p = 0; p < numProducers; p++) {
+				List<Integer> elements = new ArrayList<Integer>();
+				for (int i = 0; i < numElementsPerProducer; i++) {
+					elements.add(p * numElementsPerProducer + i);
+				}
+				InitialElementProducer<Integer> producer = new InitialElementProducer<Integer>(elements);
+				producer.declareActive();
+				sourcePorts.add(producer.getOutputPort());
+			}
+			connectPorts(sourcePorts, sink.getInputPort(), 1024);
+		}
+	}
+
+	@Test
+	public void testExecution() throws Exception {
+		FanInConfig configuration = new FanInConfig(4, 1000);
+		new Execution<FanInConfig>(configuration).executeBlocking();
+
+		assertThat(configuration.sink.getInputPort().getPipe(), is(instanceOf(MpscSynchedPipe.class)));
+		List<Integer> expectedElements = new ArrayList<Integer>();
+		for (int i = 0; i < 4 * 1000; i++) {
+			expectedElements.add(i);
+		}
+		List<Integer> receivedElements = new ArrayList<Integer>(configuration.sink.getElements());
+		Collections.sort(receivedElements);
+		assertEquals(expectedElements, receivedElements);
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.signal.TerminatingSignal;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.basic.merger.Merger;
+
+public class OffHeapRingBufferPipeTest {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static byte[] newBytes(final int length, final int seed) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) (seed + i);
+		}
+		return bytes;
+	}
+
+	@Test
+	public void testWrapAroundAndRecycling() throws Exception {
+		Merger<byte[]> portSource = new Merger<byte[]>();
+		OffHeapRingBufferPipe<byte[]> pipe = new OffHeapRingBufferPipe<byte[]>(portSource.getOutputPort(), portSource.getNewInputPort(),
+				ByteBuffer.allocateDirect(64));
+
+		for (int i = 0; i < 100; i++) {
+			byte[] first = newBytes(i % 20, i);
+			byte[] second = newBytes(7, -i);
+			assertTrue(pipe.addNonBlocking(first));
+			assertTrue(pipe.addNonBlocking(second));
+			assertFalse(pipe.isEmpty());
+
+			assertArrayEquals(first, (byte[]) pipe.removeLast());
+			assertArrayEquals(second, (byte[]) pipe.removeLast());
+			assertTrue(pipe.isEmpty());
+		}
+	}
+
+	@Test
+	public void testSizeAndCapacityInBytes() throws Exception {
+		Merger<byte[]> portSource = new Merger<byte[]>();
+		OffHeapRingBufferPipe<byte[]> pipe = new OffHeapRingBufferPipe<byte[]>(portSource.getOutputPort(), portSource.getNewInputPort(),
+				ByteBuffer.allocateDirect(64));
+
+		assertEquals(64, pipe.capacity());
+		assertTrue(pipe.addNonBlocking(new byte[20])); // occupies 24 bytes including the header
+		assertTrue(pipe.addNonBlocking(new byte[20]));
+		assertEquals(48, pipe.size());
+
+		assertFalse(pipe.addNonBlocking(new byte[20]));
+		assertEquals(pipe.capacity(), pipe.size()); // full until there is room for the rejected element
+
+		pipe.removeLast();
+		assertEquals(24, pipe.size());
+		assertTrue(pipe.addNonBlocking(new byte[20])); // wraps around and leaves 16 unused bytes at the end
+		assertEquals(64, pipe.size());
+	}
+
+	@Test
+	public void testByteBufferViews() throws Exception {
+		Merger<ByteBuffer> portSource = new Merger<ByteBuffer>();
+		OutputPort<ByteBuffer> sourcePort = portSource.getOutputPort();
+		InputPort<ByteBuffer> targetPort = portSource.getNewInputPort();
+		OffHeapRingBufferPipe<ByteBuffer> pipe = new OffHeapRingBufferPipe<ByteBuffer>(sourcePort, targetPort, ByteBuffer.allocateDirect(64));
+
+		ByteBuffer element = ByteBuffer.wrap(newBytes(10, 0));
+		element.position(2);
+		sourcePort.send(element);
+		assertEquals(2, element.position()); // not consumed by the pipe
+		sourcePort.sendSignal(new TerminatingSignal());
+
+		ByteBuffer view = targetPort.receive();
+		assertTrue(view.isReadOnly());
+		assertEquals(8, view.remaining());
+		assertEquals(2, view.get(0));
+		assertEquals(null, targetPort.receive());
+		assertTrue(pipe.isClosed());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooLargeElement() throws Exception {
+		Merger<byte[]> portSource = new Merger<byte[]>();
+		OffHeapRingBufferPipe<byte[]> pipe = new OffHeapRingBufferPipe<byte[]>(portSource.getOutputPort(), portSource.getNewInputPort(),
+				ByteBuffer.allocateDirect(64));
+
+		pipe.addNonBlocking(new byte[61]);
+	}
+
+	private static class ByteArrayConfig extends Configuration {
+		private final CollectorSink<byte[]> sink = new CollectorSink<byte[]>();
+
+		public ByteArrayConfig(final List<byte[]> elements, final IPipeFactory pipeFactory) {
+			InitialElementProducer<byte[]> producer = new InitialElementProducer<byte[]>(elements);
+			sink.declareActive();
+			connectPorts(producer.getOutputPort(), sink.getInputPort(), 1024, pipeFactory);
+		}
+	}
+
+	@Test
+	public void testMemoryMappedExecution() throws Exception {
+		List<byte[]> elements = new ArrayList<byte[]>();
+		for (int i = 0; i < 1000; i++) {
+			elements.add(newBytes(i % 300, i));
+		}
+
+		OffHeapRingBufferPipeFactory pipeFactory = new OffHeapRingBufferPipeFactory(temporaryFolder.getRoot());
+		ByteArrayConfig configuration = new ByteArrayConfig(elements, pipeFactory);
+		new Execution<ByteArrayConfig>(configuration).executeBlocking();
+
+		assertThat(configuration.sink.getInputPort().getPipe(), is(instanceOf(OffHeapRingBufferPipe.class)));
+		List<byte[]> receivedElements = configuration.sink.getElements();
+		assertEquals(elements.size(), receivedElements.size());
+		for (int i = 0; i < elements.size(); i++) {
+			assertTrue(Arrays.equals(elements.get(i), receivedElements.get(i)));
+		}
+		assertThat(temporaryFolder.getRoot().list(), is(emptyArray())); // the mapped file has been deleted
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractIntConsumerStage;
+import teetime.framework.AbstractIntProducerStage;
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.IntInputPort;
+import teetime.framework.IntOutputPort;
+import teetime.framework.pipe.strategy.SkipIfFullStrategy;
+import teetime.framework.signal.TerminatingSignal;
+import teetime.stage.CollectorSink;
+
+public class PrimitivePipesTest {
+
+	private static final int NUM_ELEMENTS = 10_000;
+
+	private static class IntProducer extends AbstractIntProducerStage {
+		@Override
+		protected void execute() {
+			for (int i = 0; i < NUM_ELEMENTS; i++) {
+				getIntOutputPort().sendInt(i);
+			}
+			terminateStage();
+		}
+	}
+
+	private static class IntSumSink extends AbstractIntConsumerStage {
+		private long sum;
+		private int numElements;
+
+		@Override
+		protected void execute(final int element) {
+			sum += element;
+			numElements++;
+		}
+	}
+
+	private static class IntConfig extends Configuration {
+		private final IntProducer producer = new IntProducer();
+		private final IntSumSink sink = new IntSumSink();
+
+		public IntConfig(final boolean activeSink) {
+			if (activeSink) {
+				sink.declareActive();
+			}
+			connectPorts(producer.getOutputPort(), sink.getInputPort());
+		}
+	}
+
+	@Test
+	public void testBoundedSynchedPipe() throws Exception {
+		IntProducer producer = new IntProducer();
+		IntSumSink sink = new IntSumSink();
+		IntOutputPort sourcePort = producer.getIntOutputPort();
+		IntInputPort targetPort = sink.getInputPort();
+		IntBoundedSynchedPipe pipe = new IntBoundedSynchedPipe(sourcePort, targetPort, 3);
+		assertEquals(4, pipe.capacity());
+
+		sourcePort.sendInt(1);
+		sourcePort.sendInt(2);
+		sourcePort.send(3); // boxed, but stored as primitive
+		assertEquals(3, pipe.size());
+		sourcePort.sendSignal(new TerminatingSignal());
+		assertFalse(pipe.isEmpty());
+
+		List<Integer> elements = new ArrayList<Integer>();
+		while (targetPort.receiveInt(elements::add)) {
+			// receive all
+		}
+		assertThat(elements, contains(1, 2, 3));
+		assertTrue(pipe.isClosed());
+		assertTrue(pipe.isEmpty());
+	}
+
+	@Test
+	public void testOneNotificationPerElement() throws Exception {
+		IntProducer producer = new IntProducer();
+		IntSumSink sink = new IntSumSink();
+		IntOutputPort sourcePort = producer.getIntOutputPort();
+		IntBoundedSynchedPipe pipe = new IntBoundedSynchedPipe(sourcePort, sink.getInputPort(), 2, new SkipIfFullStrategy());
+		CountingPipeScheduler scheduler = new CountingPipeScheduler();
+		pipe.setScheduler(scheduler);
+
+		sourcePort.sendInt(1);
+		sourcePort.sendInt(2);
+		assertEquals(2, scheduler.numAdded);
+		assertEquals(0, scheduler.numNotAdded);
+
+		sourcePort.sendInt(3); // full
+		assertEquals(2, scheduler.numAdded);
+		assertEquals(1, scheduler.numNotAdded);
+
+		sourcePort.sendSignal(new TerminatingSignal());
+		assertEquals(3, scheduler.numAdded);
+	}
+
+	@Test
+	public void testFallbackToBoxingPipe() throws Exception {
+		IntProducer producer = new IntProducer();
+		CollectorSink<Integer> sink = new CollectorSink<Integer>();
+		IPipe<Integer> pipe = PrimitivePipes.newUnsynchedPipe(producer.getOutputPort(), sink.getInputPort());
+
+		assertThat(pipe, is(instanceOf(UnsynchedPipe.class)));
+	}
+
+	@Test
+	public void testUnsynchedExecution() throws Exception {
+		IntConfig configuration = new IntConfig(false);
+		new Execution<IntConfig>(configuration).executeBlocking();
+
+		assertThat(configuration.sink.getInputPort().getPipe(), is(instanceOf(IntUnsynchedPipe.class)));
+		assertEquals(NUM_ELEMENTS, configuration.sink.numElements);
+		assertEquals((long) NUM_ELEMENTS * (NUM_ELEMENTS - 1) / 2, configuration.sink.sum);
+	}
+
+	@Test
+	public void testSynchedExecution() throws Exception {
+		IntConfig configuration = new IntConfig(true);
+		new Execution<IntConfig>(configuration).executeBlocking();
+
+		assertThat(configuration.sink.getInputPort().getPipe(), is(instanceOf(IntBoundedSynchedPipe.class)));
+		assertEquals(NUM_ELEMENTS, configuration.sink.numElements);
+		assertEquals((long) NUM_ELEMENTS * (NUM_ELEMENTS - 1) / 2, configuration.sink.sum);
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+import teetime.framework.signal.ISignal;
+import teetime.framework.signal.StartingSignal;
+import teetime.framework.signal.TerminatingSignal;
+
+public class SignalChannelTest {
+
+	@Test
+	public void testFifoOrder() throws Exception {
+		SignalChannel channel = new SignalChannel();
+		assertThat(channel.poll(), is(nullValue()));
+
+		ISignal startingSignal = new StartingSignal();
+		ISignal terminatingSignal = new TerminatingSignal();
+		channel.offer(startingSignal);
+		channel.offer(terminatingSignal);
+
+		assertThat(channel.poll(), is(sameInstance(startingSignal)));
+		assertThat(channel.take(), is(sameInstance(terminatingSignal)));
+		assertThat(channel.poll(), is(nullValue()));
+	}
+
+	@Test(timeout = 5000)
+	public void testTakeWaitsForOffer() throws Exception {
+		final SignalChannel channel = new SignalChannel();
+		final ISignal signal = new StartingSignal();
+
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+				channel.offer(signal);
+			}
+		});
+		producer.start();
+
+		assertThat(channel.take(), is(sameInstance(signal)));
+		producer.join();
+	}
+
+	@Test(timeout = 30000)
+	public void testInterleavedOfferAndTake() throws Exception {
+		final int numSignals = 200_000;
+		final SignalChannel channel = new SignalChannel();
+		final ISignal[] signals = new ISignal[numSignals];
+		for (int i = 0; i < numSignals; i++) {
+			signals[i] = (i % 2 == 0) ? new StartingSignal() : new TerminatingSignal();
+		}
+
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < numSignals; i++) {
+					channel.offer(signals[i]);
+					if (i % 64 == 0) {
+						Thread.yield(); // lets the consumer park frequently
+					}
+				}
+			}
+		});
+		producer.start();
+
+		for (int i = 0; i < numSignals; i++) {
+			assertThat(channel.take(), is(sameInstance(signals[i])));
+		}
+		producer.join();
+	}
+
+	@Test(expected = InterruptedException.class, timeout = 5000)
+	public void testTakeIsInterruptible() throws Exception {
+		Thread.currentThread().interrupt();
+		new SignalChannel().take();
+	}
+}
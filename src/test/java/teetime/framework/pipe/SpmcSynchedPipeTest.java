@@ -0,0 +1,94 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.signal.StartingSignal;
+import teetime.framework.signal.TerminatingSignal;
+import teetime.stage.basic.merger.Merger;
+
+public class SpmcSynchedPipeTest {
+
+	@Test
+	public void testWorkSharingAndTermination() throws Exception {
+		OutputPort<Integer> sourcePort = new Merger<Integer>().getOutputPort();
+		InputPort<Integer> firstPort = new Merger<Integer>().getNewInputPort();
+		InputPort<Integer> secondPort = new Merger<Integer>().getNewInputPort();
+
+		SpmcSynchedPipe<Integer> pipe = new SpmcSynchedPipe<Integer>(sourcePort, Arrays.asList(firstPort, secondPort), 16);
+		assertThat(sourcePort.getPipe(), is((Object) pipe));
+		assertThat(firstPort.getPipe(), is((Object) pipe));
+		assertThat(secondPort.getPipe(), is(instanceOf(AbstractSynchedPipe.class)));
+		assertEquals(pipe.getTargetPorts(), Arrays.asList(firstPort, secondPort));
+
+		sourcePort.sendSignal(new StartingSignal());
+		sourcePort.send(1);
+		sourcePort.send(2);
+		sourcePort.send(3);
+		sourcePort.sendSignal(new TerminatingSignal());
+
+		assertEquals(Integer.valueOf(1), firstPort.receive());
+		assertEquals(Integer.valueOf(2), secondPort.receive());
+		assertEquals(Integer.valueOf(3), secondPort.receive());
+		assertThat(secondPort.receive(), is(nullValue())); // terminate element
+		assertTrue(secondPort.getPipe().isClosed());
+		assertFalse(pipe.isClosed());
+
+		assertThat(firstPort.receive(), is(nullValue())); // terminate element
+		assertTrue(pipe.isClosed());
+
+		// signals are broadcast
+		AbstractSynchedPipe<?> secondPipe = (AbstractSynchedPipe<?>) secondPort.getPipe();
+		assertThat(pipe.getSignal(), is(instanceOf(StartingSignal.class)));
+		assertThat(secondPipe.getSignal(), is(instanceOf(StartingSignal.class)));
+		assertThat(pipe.getSignal(), is(instanceOf(TerminatingSignal.class)));
+		assertThat(secondPipe.getSignal(), is(instanceOf(TerminatingSignal.class)));
+	}
+
+	@Test
+	public void testOneNotificationPerElementAndConsumer() throws Exception {
+		OutputPort<Integer> sourcePort = new Merger<Integer>().getOutputPort();
+		InputPort<Integer> firstPort = new Merger<Integer>().getNewInputPort();
+		InputPort<Integer> secondPort = new Merger<Integer>().getNewInputPort();
+		SpmcSynchedPipe<Integer> pipe = new SpmcSynchedPipe<Integer>(sourcePort, Arrays.asList(firstPort, secondPort), 16);
+		CountingPipeScheduler firstScheduler = new CountingPipeScheduler();
+		CountingPipeScheduler secondScheduler = new CountingPipeScheduler();
+		pipe.setScheduler(firstScheduler);
+		secondPort.getPipe().setScheduler(secondScheduler);
+
+		sourcePort.send(1);
+		sourcePort.send(2);
+		assertEquals(2, firstScheduler.numAdded);
+		assertEquals(2, secondScheduler.numAdded);
+
+		sourcePort.sendSignal(new TerminatingSignal());
+		assertEquals(3, firstScheduler.numAdded);
+		assertEquals(3, secondScheduler.numAdded);
+	}
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.spilling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.signal.TerminatingSignal;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.basic.merger.Merger;
+
+public class SpillingSynchedPipeTest {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testOrderAcrossMemoryAndSegments() throws Exception {
+		Merger<String> portSource = new Merger<String>();
+		OutputPort<String> sourcePort = portSource.getOutputPort();
+		InputPort<String> targetPort = portSource.getNewInputPort();
+		SpillingSynchedPipe<String> pipe = new SpillingSynchedPipe<String>(sourcePort, targetPort, 4, 0, StringCodec.INSTANCE,
+				temporaryFolder.getRoot(), 64);
+
+		for (int i = 0; i < 100; i++) {
+			sourcePort.send("element " + i);
+		}
+		assertEquals(100, pipe.size());
+		assertEquals(96, pipe.getNumSpilledElements());
+		assertTrue(temporaryFolder.getRoot().list().length > 1);
+
+		for (int i = 0; i < 50; i++) {
+			assertEquals("element " + i, targetPort.receive());
+		}
+		// still spilling since the consumer has not caught up yet
+		for (int i = 100; i < 110; i++) {
+			sourcePort.send("element " + i);
+		}
+		for (int i = 50; i < 110; i++) {
+			assertEquals("element " + i, targetPort.receive());
+		}
+		assertEquals(0, pipe.getNumSpilledElements());
+
+		// back to memory
+		sourcePort.send("last");
+		assertEquals(0, pipe.getNumSpilledElements());
+		sourcePort.sendSignal(new TerminatingSignal());
+
+		assertEquals("last", targetPort.receive());
+		assertNull(targetPort.receive());
+		assertTrue(pipe.isEmpty());
+		assertTrue(pipe.isClosed());
+		assertThat(temporaryFolder.getRoot().list(), is(emptyArray()));
+	}
+
+	@Test
+	public void testByteBudget() throws Exception {
+		Merger<String> portSource = new Merger<String>();
+		SpillingSynchedPipe<String> pipe = new SpillingSynchedPipe<String>(portSource.getOutputPort(), portSource.getNewInputPort(), 1024, 20,
+				StringCodec.INSTANCE, temporaryFolder.getRoot(), 64);
+
+		pipe.add("12345"); // 10 bytes
+		pipe.add("12345"); // 20 bytes
+		assertEquals(0, pipe.getNumSpilledElements());
+		pipe.add("1");
+		assertEquals(1, pipe.getNumSpilledElements());
+		assertFalse(pipe.isEmpty());
+	}
+
+	@Test
+	public void testElementLargerThanSegment() throws Exception {
+		Merger<byte[]> portSource = new Merger<byte[]>();
+		SpillingSynchedPipe<byte[]> pipe = new SpillingSynchedPipe<byte[]>(portSource.getOutputPort(), portSource.getNewInputPort(), 1, 0,
+				ByteArrayCodec.INSTANCE, temporaryFolder.getRoot(), 16);
+
+		pipe.add(new byte[0]);
+		pipe.add(new byte[100]);
+		pipe.add(new byte[3]);
+		assertEquals(0, ((byte[]) pipe.removeLast()).length);
+		assertEquals(100, ((byte[]) pipe.removeLast()).length);
+		assertEquals(3, ((byte[]) pipe.removeLast()).length);
+		assertNull(pipe.removeLast());
+	}
+
+	private static class StringConfig extends Configuration {
+		private final CollectorSink<String> sink = new CollectorSink<String>();
+
+		public StringConfig(final List<String> elements, final SpillingSynchedPipeFactory pipeFactory) {
+			InitialElementProducer<String> producer = new InitialElementProducer<String>(elements);
+			sink.declareActive();
+			connectPorts(producer.getOutputPort(), sink.getInputPort(), 8, pipeFactory);
+		}
+	}
+
+	@Test
+	public void testExecution() throws Exception {
+		List<String> elements = new ArrayList<String>();
+		for (int i = 0; i < 10000; i++) {
+			elements.add(String.valueOf(i));
+		}
+
+		SpillingSynchedPipeFactory pipeFactory = new SpillingSynchedPipeFactory(StringCodec.INSTANCE, temporaryFolder.getRoot(), 0, 1024);
+		StringConfig configuration = new StringConfig(elements, pipeFactory);
+		new Execution<StringConfig>(configuration).executeBlocking();
+
+		assertThat(configuration.sink.getInputPort().getPipe(), is(instanceOf(SpillingSynchedPipe.class)));
+		assertEquals(elements, configuration.sink.getElements());
+		assertThat(temporaryFolder.getRoot().list(), is(emptyArray()));
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.pipe.strategy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import teetime.framework.pipe.BoundedSynchedPipe;
+import teetime.stage.basic.merger.Merger;
+
+public class SpinYieldParkIfFullStrategyTest {
+
+	private static final int NUM_ELEMENTS = 10_000;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidLowWaterMark() throws Exception {
+		new SpinYieldParkIfFullStrategy(1, 1, 1000, 1.0);
+	}
+
+	@Test
+	public void testProducerIsUnparkedByConsumer() throws Exception {
+		Merger<Integer> portSource = new Merger<Integer>();
+		SpinYieldParkIfFullStrategy strategy = new SpinYieldParkIfFullStrategy(0, 0, TimeUnit.MILLISECONDS.toNanos(10), 0.5);
+		final BoundedSynchedPipe<Integer> pipe = new BoundedSynchedPipe<Integer>(portSource.getOutputPort(), portSource.getNewInputPort(), 4,
+				strategy);
+
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < NUM_ELEMENTS; i++) {
+					pipe.add(i);
+				}
+			}
+		});
+		producer.start();
+		Thread.sleep(50); // let the producer fill the pipe
+
+		List<Object> elements = new ArrayList<Object>();
+		while (elements.size() < NUM_ELEMENTS) {
+			Object element = pipe.removeLast();
+			if (element != null) {
+				elements.add(element);
+			}
+		}
+		producer.join(10_000);
+
+		for (int i = 0; i < NUM_ELEMENTS; i++) {
+			assertEquals(i, elements.get(i));
+		}
+		assertThat(strategy.getNumWaits(), greaterThan(0));
+		assertThat(pipe.getWaitingTimeInNs(), greaterThan(0L));
+	}
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import teetime.framework.Configuration;
+import teetime.framework.OutputPort;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+
+/**
+ * This configuration is used by several scheduler tests and passes the given elements from a producer through a chain of filters to a sink. All
+ * consumer stages are passive, so that each test declares those stages active which it requires.
+ *
+ * @since 3.1.1
+ */
+public class ChainConfig extends Configuration {
+
+	public final InitialElementProducer<Integer> producer;
+	public final List<NoopFilter<Integer>> filters = new ArrayList<>();
+	public final CollectorSink<Integer> sink = new CollectorSink<>();
+
+	public ChainConfig(final List<Integer> elements, final int numFilters) {
+		producer = new InitialElementProducer<>(elements);
+
+		OutputPort<Integer> lastOutputPort = producer.getOutputPort();
+		for (int i = 0; i < numFilters; i++) {
+			NoopFilter<Integer> filter = new NoopFilter<>();
+			connectPorts(lastOutputPort, filter.getInputPort());
+			lastOutputPort = filter.getOutputPort();
+			filters.add(filter);
+		}
+		connectPorts(lastOutputPort, sink.getInputPort());
+	}
+
+	/**
+	 * @return a new list of the integers from <code>0</code> to <code>numElements - 1</code>
+	 */
+	public static List<Integer> createElements(final int numElements) {
+		return IntStream.range(0, numElements).boxed().collect(Collectors.toList());
+	}
+
+}
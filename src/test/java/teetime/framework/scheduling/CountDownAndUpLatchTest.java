@@ -0,0 +1,119 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class CountDownAndUpLatchTest {
+
+	@Test(timeout = 1000)
+	public void awaitReturnsImmediatelyIfZero() throws Exception {
+		CountDownAndUpLatch latch = new CountDownAndUpLatch();
+		latch.await();
+
+		latch.countUp();
+		latch.countDown();
+		latch.await();
+	}
+
+	@Test(timeout = 5000)
+	public void awaitWaitsUntilZero() throws Exception {
+		CountDownAndUpLatch latch = new CountDownAndUpLatch();
+		latch.countUp();
+		latch.countUp();
+
+		Thread waiter = startWaiter(latch, new AtomicBoolean());
+		latch.countDown();
+		waiter.join(50);
+		assertTrue(waiter.isAlive());
+
+		latch.countDown();
+		waiter.join();
+		assertThat(latch.getCurrentCount(), is(0));
+	}
+
+	@Test(timeout = 5000)
+	public void awaitIsInterruptible() throws Exception {
+		CountDownAndUpLatch latch = new CountDownAndUpLatch();
+		latch.countUp();
+
+		AtomicBoolean interrupted = new AtomicBoolean();
+		Thread waiter = startWaiter(latch, interrupted);
+		waiter.interrupt();
+		waiter.join();
+
+		assertTrue(interrupted.get());
+		assertThat(latch.getCurrentCount(), is(1));
+	}
+
+	@Test(timeout = 10_000)
+	public void countConcurrently() throws Exception {
+		CountDownAndUpLatch latch = new CountDownAndUpLatch();
+		latch.countUp(); // keeps the waiters waiting until all counting threads have finished
+
+		AtomicBoolean interrupted = new AtomicBoolean();
+		List<Thread> waiters = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			waiters.add(startWaiter(latch, interrupted));
+		}
+
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < 100_000; j++) {
+					latch.countUp();
+					latch.countDown();
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(latch.getCurrentCount(), is(1));
+
+		latch.countDown();
+		for (Thread waiter : waiters) {
+			waiter.join();
+		}
+		assertFalse(interrupted.get());
+	}
+
+	private static Thread startWaiter(final CountDownAndUpLatch latch, final AtomicBoolean interrupted) throws InterruptedException {
+		Thread waiter = new Thread(() -> {
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				interrupted.set(true);
+			}
+		});
+		waiter.start();
+		TimeUnit.MILLISECONDS.sleep(10); // let the waiter park
+		return waiter;
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.globaltaskpool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import teetime.framework.InputPort;
+import teetime.framework.OutputPort;
+import teetime.framework.pipe.AbstractSynchedPipe;
+import teetime.framework.pipe.AbstractUnsynchedPipe;
+import teetime.framework.scheduling.PipeScheduler;
+import teetime.stage.basic.merger.Merger;
+
+public class BufferingMpMcSynchedPipeTest {
+
+	private BufferingMpMcSynchedPipe<Object> pipe;
+	private int numElementsNotAdded;
+
+	@Before
+	public void before() {
+		Merger<Object> portSource = new Merger<Object>();
+		OutputPort<Object> sourcePort = portSource.getOutputPort();
+		InputPort<Object> targetPort = portSource.getNewInputPort();
+		pipe = new BufferingMpMcSynchedPipe<Object>(sourcePort, targetPort, 2);
+		pipe.setScheduler(new PipeScheduler() {
+			@Override
+			public void onElementAdded(final AbstractUnsynchedPipe<?> pipe) {
+				// do nothing
+			}
+
+			@Override
+			public void onElementAdded(final AbstractSynchedPipe<?> pipe) {
+				// do nothing
+			}
+
+			@Override
+			public void onElementNotAdded(final AbstractSynchedPipe<?> pipe) {
+				numElementsNotAdded++;
+			}
+		});
+	}
+
+	@Test
+	public void testAddDoesNotBlockOnFullPipe() throws Exception {
+		for (int i = 0; i < 4; i++) {
+			pipe.add(i);
+		}
+
+		assertThat(pipe.size(), is(2));
+		assertThat(pipe.getNumPendingElements(), is(2));
+		assertThat(numElementsNotAdded, is(2));
+		assertThat(pipe.addNonBlocking(4), is(false));
+		assertThat(pipe.flushPendingElements(), is(false));
+	}
+
+	@Test(timeout = 10000)
+	public void testOneExecutionMayBufferMoreThanTwiceTheCapacity() throws Exception {
+		// the producer's thread must neither block nor execute other stages, but buffers all elements of its current execution
+		for (int i = 0; i < 5 * pipe.capacity(); i++) {
+			pipe.add(i);
+		}
+
+		assertThat(pipe.size(), is(pipe.capacity()));
+		assertThat(pipe.getNumPendingElements(), is(4 * pipe.capacity()));
+
+		List<Object> elements = new ArrayList<>();
+		while (!pipe.flushPendingElements() || !pipe.isEmpty()) {
+			elements.add(pipe.removeLast());
+		}
+
+		assertThat(elements, is(Arrays.<Object> asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+	}
+
+	@Test
+	public void testOrderIsPreserved() throws Exception {
+		pipe.addBatch(Arrays.asList(0, 1, 2));
+		pipe.add(3);
+
+		List<Object> elements = new ArrayList<>();
+		while (!pipe.flushPendingElements() || !pipe.isEmpty()) {
+			elements.add(pipe.removeLast());
+		}
+
+		assertThat(elements, is(Arrays.<Object> asList(0, 1, 2, 3)));
+		assertThat(pipe.hasPendingElements(), is(false));
+	}
+
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.globaltaskpool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractProducerStage;
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.TerminationStrategy;
+import teetime.framework.scheduling.ChainConfig;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.basic.AbstractFilter;
+import teetime.stage.basic.merger.Merger;
+
+public class GlobalTaskPoolSchedulingTest {
+
+	// the producer emits all elements in one execution, so that it fills its output pipe (capacity 128)
+	private static final int NUM_ELEMENTS = 10_000;
+
+	private static class InfiniteProducer extends AbstractProducerStage<Integer> {
+		private final int numElementsPerExecution;
+		private int counter;
+
+		public InfiniteProducer(final int numElementsPerExecution) {
+			this.numElementsPerExecution = numElementsPerExecution;
+		}
+
+		@Override
+		protected void execute() {
+			for (int i = 0; i < numElementsPerExecution; i++) {
+				outputPort.send(counter++);
+			}
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				// the stage is about to be aborted
+			}
+		}
+
+		@Override
+		public TerminationStrategy getTerminationStrategy() {
+			return TerminationStrategy.BY_INTERRUPT;
+		}
+	}
+
+	private static class InfiniteProducerConfig extends Configuration {
+		private final CollectorSink<Integer> collectorSink = new CollectorSink<>();
+
+		public InfiniteProducerConfig(final List<Integer> finiteElements) {
+			this(finiteElements, 1);
+		}
+
+		public InfiniteProducerConfig(final List<Integer> finiteElements, final int numElementsPerExecution) {
+			InfiniteProducer infiniteProducer = new InfiniteProducer(numElementsPerExecution);
+			Merger<Integer> merger = new Merger<>();
+
+			connectPorts(infiniteProducer.getOutputPort(), merger.getNewInputPort());
+			if (!finiteElements.isEmpty()) {
+				InitialElementProducer<Integer> finiteProducer = new InitialElementProducer<>(finiteElements);
+				connectPorts(finiteProducer.getOutputPort(), merger.getNewInputPort());
+			}
+			connectPorts(merger.getOutputPort(), collectorSink.getInputPort());
+		}
+	}
+
+	private static class DelayingFilter extends AbstractFilter<Integer> {
+		@Override
+		protected void execute(final Integer element) {
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				// the stage is about to be aborted
+			}
+			outputPort.send(element);
+		}
+	}
+
+	private static class DelayedInfiniteProducerConfig extends Configuration {
+		private final CollectorSink<Integer> collectorSink = new CollectorSink<>();
+
+		public DelayedInfiniteProducerConfig(final int numElementsPerExecution) {
+			InfiniteProducer infiniteProducer = new InfiniteProducer(numElementsPerExecution);
+			DelayingFilter delayingFilter = new DelayingFilter();
+
+			connectPorts(infiniteProducer.getOutputPort(), delayingFilter.getInputPort());
+			connectPorts(delayingFilter.getOutputPort(), collectorSink.getInputPort());
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testBufferOnFullPipeWithOneThread() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(NUM_ELEMENTS);
+		ChainConfig configuration = new ChainConfig(elements, 2);
+		GlobalTaskPoolScheduling scheduling = new GlobalTaskPoolScheduling(1, configuration, 1, true);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.sink.getElements(), is(elements));
+	}
+
+	@Test(timeout = 10000)
+	public void testBufferOnFullPipeWithTwoThreads() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(NUM_ELEMENTS);
+		ChainConfig configuration = new ChainConfig(elements, 2);
+		GlobalTaskPoolScheduling scheduling = new GlobalTaskPoolScheduling(2, configuration, 4, true);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.sink.getElements(), is(elements));
+	}
+
+	@Test(timeout = 10000)
+	public void testAdaptiveQuantum() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(NUM_ELEMENTS);
+		ChainConfig configuration = new ChainConfig(elements, 2);
+		GlobalTaskPoolScheduling scheduling = new GlobalTaskPoolScheduling(2, configuration, 1, true);
+		scheduling.enableAdaptiveQuantum(1, 256, 100_000);
+		scheduling.setQuantumBounds(configuration.sink, 8, 8, 0);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.sink.getElements(), is(elements));
+		assertThat(scheduling.getNumOfExecutions(configuration.sink), is(8));
+	}
+
+	@Test(timeout = 10000)
+	public void testInfiniteProducerIsAbortedAfterFiniteProducers() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(NUM_ELEMENTS);
+		InfiniteProducerConfig configuration = new InfiniteProducerConfig(elements);
+		GlobalTaskPoolScheduling scheduling = new GlobalTaskPoolScheduling(2, configuration, 1);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.collectorSink.getElements().size(), greaterThanOrEqualTo(elements.size()));
+	}
+
+	@Test(timeout = 10000)
+	public void testInfiniteProducerRunsUntilAbort() throws Exception {
+		InfiniteProducerConfig configuration = new InfiniteProducerConfig(Collections.<Integer> emptyList());
+		GlobalTaskPoolScheduling scheduling = new GlobalTaskPoolScheduling(1, configuration, 1);
+
+		Execution<InfiniteProducerConfig> execution = new Execution<>(configuration, true, scheduling);
+		execution.executeNonBlocking();
+		while (configuration.collectorSink.getElements().size() < 10) {
+			Thread.sleep(1);
+		}
+		execution.abortEventually();
+
+		assertThat(configuration.collectorSink.getElements().size(), greaterThanOrEqualTo(10));
+	}
+
+	@Test(timeout = 10000)
+	public void testInfiniteProducerWithPendingOutputIsAbortedAfterFiniteProducers() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(NUM_ELEMENTS);
+		// each execution of the infinite producer overfills its output pipe (capacity 128)
+		InfiniteProducerConfig configuration = new InfiniteProducerConfig(elements, 1000);
+		GlobalTaskPoolScheduling scheduling = new GlobalTaskPoolScheduling(2, configuration, 1, true);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.collectorSink.getElements().size(), greaterThanOrEqualTo(elements.size()));
+	}
+
+	@Test(timeout = 10000)
+	public void testInfiniteProducerWithPendingOutputRunsUntilAbort() throws Exception {
+		// each execution of the infinite producer fills its pending buffer (capacity 128) behind its full output pipe.
+		// Due to the slow consumer, the producer waits with pending output most of the time, also when it is aborted.
+		DelayedInfiniteProducerConfig configuration = new DelayedInfiniteProducerConfig(128);
+		GlobalTaskPoolScheduling scheduling = new GlobalTaskPoolScheduling(2, configuration, 1, true);
+
+		Execution<DelayedInfiniteProducerConfig> execution = new Execution<>(configuration, true, scheduling);
+		execution.executeNonBlocking();
+		while (configuration.collectorSink.getElements().size() < 100) {
+			Thread.sleep(1);
+		}
+		execution.abortEventually();
+
+		assertThat(configuration.collectorSink.getElements().size(), greaterThanOrEqualTo(100));
+	}
+
+}
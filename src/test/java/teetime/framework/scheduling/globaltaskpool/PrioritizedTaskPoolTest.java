@@ -17,8 +17,11 @@ package teetime.framework.scheduling.globaltaskpool;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -173,4 +176,57 @@ public class PrioritizedTaskPoolTest {
 		assertThat(nextStage, is(nullValue()));
 	}
 
+
+	@Test
+	public void removeAcrossMoreThan64Levels() throws Exception {
+		PrioritizedTaskPool pool = new PrioritizedTaskPool(130);
+		Counter<Object> deepCounter = new Counter<>();
+		StageFacade.INSTANCE.setLevelIndex(deepCounter, 129);
+		Counter<Object> middleCounter = new Counter<>();
+		StageFacade.INSTANCE.setLevelIndex(middleCounter, 64);
+
+		pool.scheduleStage(producer);
+		pool.scheduleStage(middleCounter);
+		pool.scheduleStage(deepCounter);
+
+		assertThat(pool.removeNextStage(128), is(middleCounter));
+		assertThat(pool.removeNextStage(), is(deepCounter));
+		assertThat(pool.removeNextStage(), is(producer));
+		assertThat(pool.removeNextStage(), is(nullValue()));
+	}
+
+	@Test
+	public void scheduleAndRemoveConcurrently() throws Exception {
+		final int numThreads = 4;
+		final int numIterations = 10_000;
+		final PrioritizedTaskPool pool = new PrioritizedTaskPool(5);
+		final AbstractStage[] stages = { producer, counter1, counter2, counter3, counter4 };
+		final AtomicInteger numRemoved = new AtomicInteger();
+
+		Thread[] threads = new Thread[numThreads];
+		for (int t = 0; t < numThreads; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < numIterations; i++) {
+					pool.scheduleStage(stages[i % stages.length]);
+					if (pool.removeNextStage() != null) {
+						numRemoved.incrementAndGet();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		while (pool.removeNextStage() != null) {
+			numRemoved.incrementAndGet();
+		}
+
+		// no stage may remain scheduled after the pool has been drained
+		assertThat(numRemoved.get(), is(lessThanOrEqualTo(numThreads * numIterations)));
+		for (AbstractStage stage : stages) {
+			assertThat(stage.isScheduled(), is(false));
+		}
+	}
 }
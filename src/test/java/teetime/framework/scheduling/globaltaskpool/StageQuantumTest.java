@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.globaltaskpool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+public class StageQuantumTest {
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidBounds() throws Exception {
+		new StageQuantum(8, 4, 1000);
+	}
+
+	@Test
+	public void testFixedQuantumIsNotUpdated() throws Exception {
+		StageQuantum quantum = new StageQuantum(4);
+		quantum.update(4, 1_000_000, 100);
+
+		assertThat(quantum.isAdaptive(), is(false));
+		assertThat(quantum.getNumOfExecutions(), is(4));
+	}
+
+	@Test
+	public void testCheapStageGetsLargeQuantum() throws Exception {
+		StageQuantum quantum = new StageQuantum(1, 1024, 10_000);
+		quantum.update(1, 100, 0); // 100 ns per execution
+
+		assertThat(quantum.getNumOfExecutions(), is(100));
+	}
+
+	@Test
+	public void testExpensiveStageGetsSmallQuantum() throws Exception {
+		StageQuantum quantum = new StageQuantum(2, 1024, 10_000);
+		quantum.update(1, 100, 0);
+		for (int i = 0; i < 20; i++) {
+			quantum.update(10, 1_000_000, 0); // 100 us per execution
+		}
+
+		assertThat(quantum.getNumOfExecutions(), is(2));
+	}
+
+	@Test
+	public void testQuantumGrowsOnHighFillLevel() throws Exception {
+		StageQuantum quantum = new StageQuantum(1, 16, 10_000);
+		quantum.update(1, 10_000, 0);
+		assertThat(quantum.getNumOfExecutions(), is(1));
+
+		quantum.update(1, 10_000, 80);
+		assertThat(quantum.getNumOfExecutions(), is(2));
+		quantum.update(2, 20_000, 80);
+		assertThat(quantum.getNumOfExecutions(), is(4));
+	}
+
+	@Test
+	public void testQuantumIsBounded() throws Exception {
+		StageQuantum quantum = new StageQuantum(1, 16, 10_000);
+		quantum.update(1, 1, 100);
+
+		assertThat(quantum.getNumOfExecutions(), is(16));
+	}
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.function.BooleanSupplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.InstantiationPipe;
+import teetime.framework.pipe.IPipe;
+import teetime.stage.CollectorSink;
+import teetime.stage.NoopFilter;
+
+public class A3PipeInstantiationTest {
+
+	private NoopFilter<Integer> source;
+	private CollectorSink<Integer> sink;
+
+	private static class CountingIdleStrategy implements IdleStrategy {
+		private int numWakeUps;
+
+		@Override
+		public void idle(final int round, final BooleanSupplier inputAvailable) {
+			// do nothing
+		}
+
+		@Override
+		public void wakeUp() {
+			numWakeUps++;
+		}
+
+		@Override
+		public long getNumParks() {
+			return 0;
+		}
+	}
+
+	private static class ResolutionCountingInstantiation extends A3PipeInstantiation {
+		private final IdleStrategy idleStrategy;
+		private int numResolutions;
+
+		ResolutionCountingInstantiation(final IdleStrategy idleStrategy) {
+			super(false);
+			this.idleStrategy = idleStrategy;
+		}
+
+		@Override
+		protected IdleStrategy getIdleStrategy(final AbstractStage targetStage) {
+			numResolutions++;
+			return idleStrategy;
+		}
+	}
+
+	@Before
+	public void before() {
+		source = new NoopFilter<>();
+		sink = new CollectorSink<>();
+		sink.declareActive();
+		new InstantiationPipe<>(source.getOutputPort(), sink.getInputPort(), 4);
+	}
+
+	@Test
+	public void testIdleStrategyIsResolvedOncePerPipe() {
+		CountingIdleStrategy idleStrategy = new CountingIdleStrategy();
+		ResolutionCountingInstantiation instantiation = new ResolutionCountingInstantiation(idleStrategy);
+
+		IPipe<?> pipe = instantiate(instantiation);
+		for (int i = 0; i < 3; i++) {
+			pipe.addNonBlocking(i);
+		}
+
+		assertThat(instantiation.numResolutions, is(1));
+		assertThat(idleStrategy.numWakeUps, is(3));
+	}
+
+	@Test
+	public void testUnknownIdleStrategyIsResolvedAgain() {
+		ResolutionCountingInstantiation instantiation = new ResolutionCountingInstantiation(null);
+
+		IPipe<?> pipe = instantiate(instantiation);
+		pipe.addNonBlocking(0);
+		pipe.addNonBlocking(1);
+
+		assertThat(instantiation.numResolutions, is(2));
+	}
+
+	@Test
+	public void testBusyIdleStrategyIsResolvedOnce() {
+		ResolutionCountingInstantiation instantiation = new ResolutionCountingInstantiation(new BusyIdleStrategy());
+
+		IPipe<?> pipe = instantiate(instantiation);
+		pipe.addNonBlocking(0);
+		pipe.addNonBlocking(1);
+
+		assertThat(instantiation.numResolutions, is(1));
+	}
+
+	private IPipe<?> instantiate(final A3PipeInstantiation instantiation) {
+		instantiation.instantiatePipe(sink.getInputPort().getPipe());
+		return sink.getInputPort().getPipe();
+	}
+
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractConsumerStage;
+import teetime.framework.Configuration;
+import teetime.framework.DivideAndConquerStage;
+import teetime.framework.Execution;
+import teetime.framework.ExecutionException;
+import teetime.framework.OutputPort;
+import teetime.framework.StageState;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+import teetime.stage.quicksort.QuicksortProblem;
+import teetime.stage.quicksort.QuicksortSolution;
+
+public class InlineSchedulingTest {
+
+	@Test
+	public void executeInline() {
+		EntryConfig config = new EntryConfig();
+		InlineScheduling<Integer> scheduling = new InlineScheduling<>(config, config.threadRecorder.getInputPort());
+		Execution<EntryConfig> execution = new Execution<>(config, true, scheduling);
+		execution.executeNonBlocking();
+
+		for (int i = 0; i < 3; i++) {
+			scheduling.executeInline(i);
+			assertThat(config.sink.getElements().size(), is(i + 1)); // processed synchronously
+		}
+		execution.waitForTermination();
+
+		assertThat(config.sink.getElements(), contains(0, 1, 2));
+		assertThat(config.threadRecorder.threads, everyItem(is(sameInstance(Thread.currentThread()))));
+		assertThat(config.sink.getCurrentState(), is(StageState.TERMINATED));
+	}
+
+	@Test
+	public void executeProducersOnCallingThread() {
+		ProducerConfig config = new ProducerConfig();
+		new Execution<>(config, true, new InlineScheduling<>(config)).executeBlocking();
+
+		assertThat(config.sink.getElements(), contains(1, 2, 3));
+		assertThat(config.threadRecorder.threads, everyItem(is(sameInstance(Thread.currentThread()))));
+	}
+
+	@Test
+	public void activeConsumerIsRejected() {
+		EntryConfig config = new EntryConfig();
+		config.sink.declareActive();
+
+		try {
+			new Execution<>(config, true, new InlineScheduling<>(config, config.threadRecorder.getInputPort()));
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage().startsWith("1006"), is(true));
+		}
+	}
+
+	@Test
+	public void stageStartingStagesAtRuntimeIsRejected() {
+		DivideAndConquerConfig config = new DivideAndConquerConfig();
+
+		try {
+			new Execution<>(config, true, new InlineScheduling<>(config));
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage().startsWith("1007"), is(true));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void executeInlineBeforeStart() {
+		EntryConfig config = new EntryConfig();
+		InlineScheduling<Integer> scheduling = new InlineScheduling<>(config, config.threadRecorder.getInputPort());
+		new Execution<>(config, true, scheduling);
+
+		scheduling.executeInline(0);
+	}
+
+	@Test
+	public void exceptionTerminatesExecution() {
+		EntryConfig config = new EntryConfig();
+		InlineScheduling<Integer> scheduling = new InlineScheduling<>(config, config.threadRecorder.getInputPort());
+		Execution<EntryConfig> execution = new Execution<>(config, true, scheduling);
+		execution.executeNonBlocking();
+
+		scheduling.executeInline(1);
+		try {
+			scheduling.executeInline(ThreadRecorder.FAILING_ELEMENT);
+			fail("ExecutionException expected");
+		} catch (ExecutionException e) {
+			assertThat(e.getThrownExceptions().size(), is(1));
+		}
+		assertThat(config.sink.getCurrentState(), is(StageState.TERMINATED));
+	}
+
+	private static class ThreadRecorder extends AbstractConsumerStage<Integer> {
+		static final int FAILING_ELEMENT = -1;
+
+		final List<Thread> threads = new ArrayList<>();
+		final OutputPort<Integer> outputPort = createOutputPort();
+
+		@Override
+		protected void execute(final Integer element) {
+			if (element == FAILING_ELEMENT) {
+				throw new IllegalArgumentException("failing element");
+			}
+			threads.add(Thread.currentThread());
+			outputPort.send(element);
+		}
+	}
+
+	private static class EntryConfig extends Configuration {
+		final ThreadRecorder threadRecorder = new ThreadRecorder();
+		final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		EntryConfig() {
+			NoopFilter<Integer> filter = new NoopFilter<>();
+			connectPorts(threadRecorder.outputPort, filter.getInputPort());
+			connectPorts(filter.getOutputPort(), sink.getInputPort());
+		}
+	}
+
+	private static class ProducerConfig extends Configuration {
+		final ThreadRecorder threadRecorder = new ThreadRecorder();
+		final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		ProducerConfig() {
+			connectPorts(new InitialElementProducer<>(1, 2, 3).getOutputPort(), threadRecorder.getInputPort());
+			connectPorts(threadRecorder.outputPort, sink.getInputPort());
+		}
+	}
+
+	private static class DivideAndConquerConfig extends Configuration {
+		DivideAndConquerConfig() {
+			DivideAndConquerStage<QuicksortProblem, QuicksortSolution> quicksortStage = new DivideAndConquerStage<>();
+			connectPorts(new InitialElementProducer<>(Collections.<QuicksortProblem> emptyList()).getOutputPort(), quicksortStage.getInputPort());
+			connectPorts(quicksortStage.getOutputPort(), new CollectorSink<QuicksortSolution>().getInputPort());
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractProducerStage;
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.StageFacade;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+import teetime.stage.basic.merger.Merger;
+
+public class PushPullSchedulingMigrationTest {
+
+	private static final int NUM_ELEMENTS = 10_000;
+
+	@Test(timeout = 10_000)
+	public void declareActiveAtRuntime() throws Exception {
+		PipelineConfig config = new PipelineConfig();
+		Execution<PipelineConfig> execution = new Execution<>(config);
+		execution.executeNonBlocking();
+
+		config.producer.paused.await();
+		config.filter.declareActive();
+		awaitActive(config.filter, true);
+		assertThat(ownerOf(config.filter), is(not(sameInstance(ownerOf(config.producer)))));
+		assertThat(ownerOf(config.sink), is(sameInstance(ownerOf(config.filter))));
+
+		config.producer.resume = true;
+		execution.waitForTermination();
+
+		assertThat(config.sink.getElements(), is(config.producer.sentElements));
+	}
+
+	@Test(timeout = 10_000)
+	public void declarePassiveAtRuntime() throws Exception {
+		PipelineConfig config = new PipelineConfig();
+		config.filter.declareActive();
+		Execution<PipelineConfig> execution = new Execution<>(config);
+		execution.executeNonBlocking();
+
+		config.producer.paused.await();
+		config.filter.declarePassive();
+		awaitActive(config.filter, false);
+		assertThat(ownerOf(config.filter), is(sameInstance(ownerOf(config.producer))));
+		assertThat(ownerOf(config.sink), is(sameInstance(ownerOf(config.producer))));
+
+		config.producer.resume = true;
+		execution.waitForTermination();
+
+		assertThat(config.sink.getElements(), is(config.producer.sentElements));
+	}
+
+	@Test(timeout = 10_000)
+	public void declarePassiveAtRuntimeKeepsNumParks() throws Exception {
+		PipelineConfig config = new PipelineConfig();
+		config.filter.declareActive();
+		PushPullScheduling scheduling = new PushPullScheduling(config, () -> new SpinYieldParkIdleStrategy(0, 0, TimeUnit.MILLISECONDS.toNanos(1)));
+		Execution<PipelineConfig> execution = new Execution<>(config, true, scheduling);
+		execution.executeNonBlocking();
+
+		config.producer.paused.await();
+		while (scheduling.getNumParks() == 0) { // the filter's thread parks while the producer pauses
+			TimeUnit.MILLISECONDS.sleep(1);
+		}
+		long numParks = scheduling.getNumParks();
+		config.filter.declarePassive();
+		awaitActive(config.filter, false);
+		assertThat(scheduling.getNumParks(), is(greaterThanOrEqualTo(numParks)));
+
+		config.producer.resume = true;
+		execution.waitForTermination();
+
+		assertThat(config.sink.getElements(), is(config.producer.sentElements));
+	}
+
+	@Test
+	public void declareMergerPassiveAtRuntime() {
+		MergerConfig config = new MergerConfig();
+		PushPullScheduling scheduling = new PushPullScheduling(config);
+		Execution<MergerConfig> execution = new Execution<>(config, true, scheduling);
+
+		try {
+			scheduling.declarePassiveAtRuntime(config.merger);
+			fail("expected an IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected since the merger is fed by two threads
+		}
+
+		execution.executeBlocking();
+		assertThat(config.sink.getElements().size(), is(2));
+	}
+
+	private static Thread ownerOf(final AbstractStage stage) {
+		return StageFacade.INSTANCE.getOwningThread(stage);
+	}
+
+	private static void awaitActive(final AbstractStage stage, final boolean active) throws InterruptedException {
+		while (stage.isActive() != active) {
+			TimeUnit.MILLISECONDS.sleep(1);
+		}
+	}
+
+	/**
+	 * Sends one element per execution and pauses after half of the elements until {@link #resume} is set.
+	 */
+	private static class PausingProducer extends AbstractProducerStage<Integer> {
+
+		private final CountDownLatch paused = new CountDownLatch(1);
+		private final List<Integer> sentElements = new ArrayList<>();
+		private volatile boolean resume;
+		private int next;
+
+		@Override
+		protected void execute() throws Exception {
+			if (next == NUM_ELEMENTS / 2 && !resume) {
+				paused.countDown();
+				Thread.yield();
+				return;
+			}
+			if (next == NUM_ELEMENTS) {
+				workCompleted();
+				return;
+			}
+			sentElements.add(next);
+			outputPort.send(next++);
+		}
+	}
+
+	private static class PipelineConfig extends Configuration {
+		private final PausingProducer producer = new PausingProducer();
+		private final NoopFilter<Integer> filter = new NoopFilter<>();
+		private final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		public PipelineConfig() {
+			connectPorts(producer.getOutputPort(), filter.getInputPort());
+			connectPorts(filter.getOutputPort(), sink.getInputPort());
+		}
+	}
+
+	private static class MergerConfig extends Configuration {
+		private final Merger<Integer> merger = new Merger<>();
+		private final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		public MergerConfig() {
+			connectPorts(new InitialElementProducer<>(0).getOutputPort(), merger.getNewInputPort());
+			connectPorts(new InitialElementProducer<>(1).getOutputPort(), merger.getNewInputPort());
+			connectPorts(merger.getOutputPort(), sink.getInputPort());
+			merger.declareActive();
+		}
+	}
+
+}
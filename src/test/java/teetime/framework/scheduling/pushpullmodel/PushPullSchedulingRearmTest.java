@@ -0,0 +1,217 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractIntConsumerStage;
+import teetime.framework.AbstractIntProducerStage;
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.StageFacade;
+import teetime.framework.StageState;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+
+public class PushPullSchedulingRearmTest {
+
+	@Test(timeout = 10_000)
+	public void rearmReusesThreads() throws Exception {
+		PipelineConfig config = new PipelineConfig();
+		Execution<PipelineConfig> execution = newRearmableExecution(config);
+		try {
+			config.input.addAll(Arrays.asList(1, 2, 3));
+			execution.executeBlocking();
+			assertThat(config.sink.getElements(), contains(1, 2, 3));
+			Thread producerThread = ownerOf(config.producer);
+			Thread filterThread = ownerOf(config.filter);
+
+			for (int job = 0; job < 10; job++) {
+				execution.rearm();
+				assertThat(config.filter.getCurrentState(), is(StageState.VALIDATED));
+
+				config.input.clear();
+				config.input.addAll(Arrays.asList(job, job + 1));
+				config.sink.getElements().clear();
+				execution.executeBlocking();
+
+				assertThat(config.sink.getElements(), contains(job, job + 1));
+				assertThat(ownerOf(config.producer), is(sameInstance(producerThread)));
+				assertThat(ownerOf(config.filter), is(sameInstance(filterThread)));
+			}
+		} finally {
+			execution.shutdown();
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void rearmResetsPrimitivePipe() throws Exception {
+		IntPipelineConfig config = new IntPipelineConfig();
+		Execution<IntPipelineConfig> execution = newRearmableExecution(config);
+		try {
+			config.producer.numElements = 3;
+			execution.executeBlocking();
+			assertThat(config.sink.elements, contains(0, 1, 2));
+
+			for (int job = 0; job < 3; job++) {
+				execution.rearm();
+
+				config.producer.numElements = 2;
+				config.sink.elements.clear();
+				execution.executeBlocking();
+
+				assertThat(config.sink.elements, contains(0, 1));
+			}
+		} finally {
+			execution.shutdown();
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void rearmResetsFanInPipe() throws Exception {
+		FanInConfig config = new FanInConfig();
+		Execution<FanInConfig> execution = newRearmableExecution(config);
+		try {
+			config.firstInput.addAll(Arrays.asList(1, 2));
+			config.secondInput.addAll(Arrays.asList(3, 4));
+			execution.executeBlocking();
+			assertThat(config.sink.getElements(), containsInAnyOrder(1, 2, 3, 4));
+
+			for (int job = 0; job < 3; job++) {
+				execution.rearm();
+
+				config.firstInput.clear();
+				config.firstInput.add(job);
+				config.secondInput.clear();
+				config.secondInput.add(job + 10);
+				config.sink.getElements().clear();
+				execution.executeBlocking();
+
+				assertThat(config.sink.getElements(), containsInAnyOrder(job, job + 10));
+			}
+		} finally {
+			execution.shutdown();
+		}
+	}
+
+	@Test(timeout = 10_000)
+	public void shutdownLetsThreadsExit() throws Exception {
+		PipelineConfig config = new PipelineConfig();
+		Execution<PipelineConfig> execution = newRearmableExecution(config);
+		execution.executeBlocking();
+		Thread filterThread = ownerOf(config.filter);
+		assertThat(filterThread.isAlive(), is(true));
+
+		execution.shutdown();
+		filterThread.join();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rearmBeforeTermination() {
+		PipelineConfig config = new PipelineConfig();
+		Execution<PipelineConfig> execution = newRearmableExecution(config);
+		try {
+			execution.rearm();
+		} finally {
+			execution.shutdown();
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void rearmWithoutReusableThreads() {
+		PipelineConfig config = new PipelineConfig();
+		Execution<PipelineConfig> execution = new Execution<>(config);
+		execution.executeBlocking();
+		execution.rearm();
+	}
+
+	private static <C extends Configuration> Execution<C> newRearmableExecution(final C config) {
+		PushPullScheduling scheduling = new PushPullScheduling(config, new PushPullSchedulingOptions().idleStrategy(SpinYieldParkIdleStrategy::new).reusableThreads());
+		return new Execution<>(config, true, scheduling);
+	}
+
+	private static Thread ownerOf(final AbstractStage stage) {
+		return StageFacade.INSTANCE.getOwningThread(stage);
+	}
+
+	private static class PipelineConfig extends Configuration {
+		final List<Integer> input = new ArrayList<>();
+		final InitialElementProducer<Integer> producer = new InitialElementProducer<>(input);
+		final NoopFilter<Integer> filter = new NoopFilter<>();
+		final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		PipelineConfig() {
+			connectPorts(producer.getOutputPort(), filter.getInputPort());
+			connectPorts(filter.getOutputPort(), sink.getInputPort());
+			filter.declareActive();
+		}
+	}
+
+	private static class IntRangeProducer extends AbstractIntProducerStage {
+		int numElements;
+
+		@Override
+		protected void execute() {
+			for (int i = 0; i < numElements; i++) {
+				getIntOutputPort().sendInt(i);
+			}
+			terminateStage();
+		}
+	}
+
+	private static class IntCollectorSink extends AbstractIntConsumerStage {
+		final List<Integer> elements = new ArrayList<>();
+
+		@Override
+		protected void execute(final int element) {
+			elements.add(element);
+		}
+	}
+
+	private static class IntPipelineConfig extends Configuration {
+		final IntRangeProducer producer = new IntRangeProducer();
+		final IntCollectorSink sink = new IntCollectorSink();
+
+		IntPipelineConfig() {
+			connectPorts(producer.getOutputPort(), sink.getInputPort());
+			sink.declareActive();
+		}
+	}
+
+	private static class FanInConfig extends Configuration {
+		final List<Integer> firstInput = new ArrayList<>();
+		final List<Integer> secondInput = new ArrayList<>();
+		final CollectorSink<Integer> sink = new CollectorSink<>();
+
+		FanInConfig() {
+			InitialElementProducer<Integer> firstProducer = new InitialElementProducer<>(firstInput);
+			InitialElementProducer<Integer> secondProducer = new InitialElementProducer<>(secondInput);
+			connectPorts(Arrays.asList(firstProducer.getOutputPort(), secondProducer.getOutputPort()), sink.getInputPort(), 16);
+		}
+	}
+}
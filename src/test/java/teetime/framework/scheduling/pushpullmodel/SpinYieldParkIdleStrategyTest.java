@@ -0,0 +1,68 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractProducerStage;
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.stage.CollectorSink;
+
+public class SpinYieldParkIdleStrategyTest {
+
+	private static class SlowProducer extends AbstractProducerStage<Integer> {
+		@Override
+		protected void execute() throws InterruptedException {
+			outputPort.send(0);
+			Thread.sleep(100); // let the consumer idle
+			outputPort.send(1);
+			terminateStage();
+		}
+	}
+
+	private static class SlowProducerConfig extends Configuration {
+		private final CollectorSink<Integer> collectorSink = new CollectorSink<Integer>();
+
+		public SlowProducerConfig() {
+			collectorSink.declareActive();
+			connectPorts(new SlowProducer().getOutputPort(), collectorSink.getInputPort());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidParkTime() throws Exception {
+		new SpinYieldParkIdleStrategy(1, 1, 0);
+	}
+
+	@Test(timeout = 5000)
+	public void testConsumerParksAndIsUnparked() throws Exception {
+		SlowProducerConfig configuration = new SlowProducerConfig();
+		PushPullScheduling scheduling = new PushPullScheduling(configuration,
+				() -> new SpinYieldParkIdleStrategy(0, 0, TimeUnit.SECONDS.toNanos(1)));
+
+		new Execution<SlowProducerConfig>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.collectorSink.getElements(), contains(0, 1));
+		assertThat(scheduling.getNumParks(), greaterThan(0L));
+	}
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import teetime.framework.AbstractConsumerStage;
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.ConfigurationFacade;
+import teetime.framework.Execution;
+import teetime.framework.OutputPort;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.basic.merger.Merger;
+
+public class ThreadAssignmentOptimizerTest {
+
+	private PipelineConfig config;
+	private StageGraph graph;
+	private Map<AbstractStage, Long> cpuTimes;
+
+	@Before
+	public void before() {
+		config = new PipelineConfig(1);
+		graph = new StageGraph(ConfigurationFacade.INSTANCE.getStartStages(config));
+
+		cpuTimes = new HashMap<>();
+		cpuTimes.put(config.producer, 10L);
+		cpuTimes.put(config.first, 100L);
+		cpuTimes.put(config.second, 1L);
+		cpuTimes.put(config.third, 100L);
+		cpuTimes.put(config.sink, 1L);
+	}
+
+	@Test
+	public void singleCore() {
+		ThreadAssignmentPlan plan = ThreadAssignmentOptimizer.computePlan(graph, cpuTimes, 1);
+
+		assertThat(plan.getNumThreads(), is(1));
+		assertThat(plan.getNumSynchedPipes(), is(0));
+		assertThat(plan.getStagesOfThread(graph.getKey(config.producer)), hasSize(5));
+	}
+
+	@Test
+	public void splitInTheMiddle() {
+		ThreadAssignmentPlan plan = ThreadAssignmentOptimizer.computePlan(graph, cpuTimes, 2);
+
+		assertThat(plan.getActiveStageKeys(), contains(graph.getKey(config.producer), graph.getKey(config.second)));
+		assertThat(plan.getNumSynchedPipes(), is(1));
+		assertThat(plan.getLoadInNs(graph.getKey(config.producer)), is(110L));
+		assertThat(plan.getLoadInNs(graph.getKey(config.second)), is(102L));
+	}
+
+	@Test
+	public void doNotSplitOffTrivialStages() {
+		ThreadAssignmentPlan plan = ThreadAssignmentOptimizer.computePlan(graph, cpuTimes, 8);
+
+		// splitting off any further stage would not reduce the load of the most loaded thread noticeably
+		assertThat(plan.getNumThreads(), is(2));
+	}
+
+	@Test
+	public void mergerOfTwoThreadsIsActive() {
+		MergerConfig mergerConfig = new MergerConfig();
+		StageGraph mergerGraph = new StageGraph(ConfigurationFacade.INSTANCE.getStartStages(mergerConfig));
+
+		ThreadAssignmentPlan plan = ThreadAssignmentOptimizer.computePlan(mergerGraph, new HashMap<>(), 1);
+
+		assertThat(plan.getNumThreads(), is(3));
+		assertTrue(plan.isActive(mergerGraph.getKey(mergerConfig.merger)));
+		assertFalse(plan.isActive(mergerGraph.getKey(mergerConfig.sink)));
+	}
+
+	@Test
+	public void applyToAnotherInstance() {
+		ThreadAssignmentPlan plan = ThreadAssignmentOptimizer.computePlan(graph, cpuTimes, 2);
+
+		PipelineConfig otherConfig = new PipelineConfig(1);
+		otherConfig.third.declareActive();
+		plan.apply(otherConfig);
+
+		assertTrue(otherConfig.second.isActive());
+		assertFalse(otherConfig.first.isActive());
+		assertFalse(otherConfig.third.isActive());
+	}
+
+	@Test
+	public void optimizeAndExecute() {
+		ThreadAssignmentOptimizer<PipelineConfig> optimizer = new ThreadAssignmentOptimizer<>(() -> new PipelineConfig(10_000), 2, 500);
+
+		PipelineConfig optimizedConfig = optimizer.createOptimizedConfiguration();
+		new Execution<>(optimizedConfig).executeBlocking();
+
+		assertThat(optimizedConfig.sink.getElements(), hasSize(10_000));
+	}
+
+	private static class PipelineConfig extends Configuration {
+		private final InitialElementProducer<Integer> producer;
+		private final Work first;
+		private final Work second;
+		private final Work third;
+		private final CollectorSink<Integer> sink;
+
+		public PipelineConfig(final int numElements) {
+			List<Integer> elements = new ArrayList<>();
+			for (int i = 0; i < numElements; i++) {
+				elements.add(i);
+			}
+			producer = new InitialElementProducer<>(elements);
+			first = new Work(1000);
+			second = new Work(1);
+			third = new Work(1000);
+			sink = new CollectorSink<>();
+
+			connectPorts(producer.getOutputPort(), first.getInputPort());
+			connectPorts(first.getOutputPort(), second.getInputPort());
+			connectPorts(second.getOutputPort(), third.getInputPort());
+			connectPorts(third.getOutputPort(), sink.getInputPort());
+		}
+	}
+
+	private static class MergerConfig extends Configuration {
+		private final Merger<Integer> merger;
+		private final CollectorSink<Integer> sink;
+
+		public MergerConfig() {
+			InitialElementProducer<Integer> producer0 = new InitialElementProducer<>(0);
+			InitialElementProducer<Integer> producer1 = new InitialElementProducer<>(1);
+			merger = new Merger<>();
+			sink = new CollectorSink<>();
+
+			connectPorts(producer0.getOutputPort(), merger.getNewInputPort());
+			connectPorts(producer1.getOutputPort(), merger.getNewInputPort());
+			connectPorts(merger.getOutputPort(), sink.getInputPort());
+		}
+	}
+
+	private static class Work extends AbstractConsumerStage<Integer> {
+
+		private final OutputPort<Integer> outputPort = createOutputPort();
+		private final int numIterations;
+
+		public Work(final int numIterations) {
+			this.numIterations = numIterations;
+		}
+
+		@Override
+		protected void execute(final Integer element) throws Exception {
+			int value = element;
+			for (int i = 0; i < numIterations; i++) {
+				value = value * 31 + i;
+			}
+			outputPort.send(value == Integer.MIN_VALUE ? value : element);
+		}
+
+		public OutputPort<Integer> getOutputPort() {
+			return outputPort;
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractStage;
+import teetime.framework.Configuration;
+import teetime.framework.ConfigurationFacade;
+import teetime.framework.Execution;
+import teetime.framework.TestConfiguration;
+import teetime.framework.pipe.AbstractSynchedPipe;
+import teetime.framework.pipe.AbstractUnsynchedPipe;
+import teetime.framework.pipe.IPipe;
+import teetime.framework.scheduling.ChainConfig;
+import teetime.framework.scheduling.PipeScheduler;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.basic.merger.Merger;
+
+public class TopologyAnalysisTest {
+
+	@Test
+	public void threadableAndIntraStages() {
+		TestConfiguration config = new TestConfiguration();
+
+		TopologyAnalysis analysis = analyze(config);
+
+		assertThat(analysis.getThreadableStages(), hasSize(4));
+		assertThat(analysis.getIntraStages(config.init), containsInAnyOrder(config.init, config.f2b, config.distributor));
+	}
+
+	@Test
+	public void pipeInstantiation() {
+		TestConfiguration config = new TestConfiguration();
+
+		analyze(config);
+
+		assertThat(config.init.getOutputPort().getPipe(), is(instanceOf(AbstractUnsynchedPipe.class)));
+		assertThat(config.distributor.getOutputPorts().get(0).getPipe(), is(instanceOf(AbstractSynchedPipe.class)));
+	}
+
+	@Test
+	public void instantiateEachPipeOnce() {
+		ChainConfig config = newChainConfig(Arrays.asList(1, 2, 3), 10, 2);
+		List<IPipe<?>> instantiatedPipes = new ArrayList<>();
+
+		Collection<AbstractStage> startStages = ConfigurationFacade.INSTANCE.getStartStages(config);
+		new TopologyAnalysis(startStages, new A3PipeInstantiation() {
+			@Override
+			PipeScheduler newPipeScheduler(final IPipe<?> pipe) {
+				instantiatedPipes.add(pipe);
+				return super.newPipeScheduler(pipe);
+			}
+		});
+
+		// the producer, 10 filters and the sink are connected by 11 pipes
+		assertThat(instantiatedPipes, hasSize(11));
+		assertThat(new HashSet<>(instantiatedPipes), hasSize(11));
+	}
+
+	@Test
+	public void crossingThreads() {
+		CrossingThreadsConfig config = new CrossingThreadsConfig();
+
+		try {
+			analyze(config);
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage().startsWith("1001"), is(true));
+		}
+	}
+
+	@Test
+	public void veryLongChain() {
+		ChainConfig config = new ChainConfig(Arrays.asList(0), 20_000);
+
+		TopologyAnalysis analysis = analyze(config);
+
+		assertThat(analysis.getStages(), hasSize(20_000 + 2));
+		assertThat(analysis.getIntraStages(config.producer), hasSize(20_000 + 2));
+	}
+
+	@Test
+	public void parallelValidation() {
+		List<Integer> elements = Arrays.asList(1, 2, 3);
+		ChainConfig config = newChainConfig(elements, 100, 10);
+
+		PushPullScheduling scheduling = new PushPullScheduling(config, new PushPullSchedulingOptions().parallelValidation());
+		new Execution<>(config, true, scheduling).executeBlocking();
+
+		assertThat(config.sink.getElements(), is(elements));
+	}
+
+	private static TopologyAnalysis analyze(final Configuration config) {
+		Collection<AbstractStage> startStages = ConfigurationFacade.INSTANCE.getStartStages(config);
+		return new TopologyAnalysis(startStages, new A3PipeInstantiation());
+	}
+
+	private static class CrossingThreadsConfig extends Configuration {
+		CrossingThreadsConfig() {
+			Merger<Integer> merger = new Merger<>();
+			connectPorts(new InitialElementProducer<>(1).getOutputPort(), merger.getNewInputPort());
+			connectPorts(new InitialElementProducer<>(2).getOutputPort(), merger.getNewInputPort());
+		}
+	}
+
+	/**
+	 * @param activeDistance
+	 *            declares every <code>activeDistance</code>-th filter (except for the first one) active, or none if 0
+	 */
+	private static ChainConfig newChainConfig(final List<Integer> elements, final int numFilters, final int activeDistance) {
+		ChainConfig config = new ChainConfig(elements, numFilters);
+		for (int i = 1; i < numFilters; i++) {
+			if (activeDistance > 0 && i % activeDistance == 0) {
+				config.filters.get(i).declareActive();
+			}
+		}
+		return config;
+	}
+}
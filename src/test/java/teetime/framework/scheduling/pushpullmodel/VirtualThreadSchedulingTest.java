@@ -0,0 +1,127 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.pushpullmodel;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractConsumerStage;
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.OutputPort;
+import teetime.framework.RuntimeServiceFacade;
+import teetime.framework.scheduling.ChainConfig;
+import teetime.framework.signal.StartingSignal;
+import teetime.framework.signal.ValidatingSignal;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.NoopFilter;
+
+public class VirtualThreadSchedulingTest {
+
+	@Test
+	public void usesVirtualThreadsIfSupported() {
+		VirtualThreadScheduling scheduling = new VirtualThreadScheduling(new Configuration());
+
+		boolean supported = Runtime.version().feature() >= 21;
+		assertThat(scheduling.usesVirtualThreads(), is(supported));
+	}
+
+	@Test(timeout = 30_000)
+	public void manyActiveStages() {
+		ManyPipelinesConfig config = new ManyPipelinesConfig(200, 1_000, 1024);
+
+		VirtualThreadScheduling scheduling = new VirtualThreadScheduling(config);
+		new Execution<>(config, true, scheduling).executeBlocking();
+
+		for (CollectorSink<Integer> sink : config.sinks) {
+			assertThat(sink.getElements(), is(config.elements));
+		}
+	}
+
+	@Test(timeout = 30_000)
+	public void producerParksOnFullPipe() {
+		ManyPipelinesConfig config = new ManyPipelinesConfig(2, 100_000, 4);
+
+		VirtualThreadScheduling scheduling = new VirtualThreadScheduling(config);
+		new Execution<>(config, true, scheduling).executeBlocking();
+
+		for (CollectorSink<Integer> sink : config.sinks) {
+			assertThat(sink.getElements(), is(config.elements));
+		}
+	}
+
+	@Test(timeout = 30_000)
+	public void startStageAtRuntime() {
+		SpawningConfig config = new SpawningConfig(10_000);
+
+		VirtualThreadScheduling scheduling = new VirtualThreadScheduling(config);
+		new Execution<>(config, true, scheduling).executeBlocking();
+
+		assertThat(config.filter.spawnedSink.getElements(), is(config.elements));
+	}
+
+	/** forwards all elements to a sink which is started at runtime on the first element */
+	private static class SpawningFilter extends AbstractConsumerStage<Integer> {
+		private final OutputPort<Integer> outputPort = createOutputPort();
+		private final CollectorSink<Integer> spawnedSink = new CollectorSink<>();
+
+		@Override
+		protected void execute(final Integer element) throws Exception {
+			if (!spawnedSink.isActive()) {
+				RuntimeServiceFacade.INSTANCE.connectPorts(outputPort, spawnedSink.getInputPort(), 1024);
+				outputPort.sendSignal(new ValidatingSignal());
+				outputPort.sendSignal(new StartingSignal());
+				RuntimeServiceFacade.INSTANCE.startWithinNewThread(this, spawnedSink);
+			}
+			outputPort.send(element);
+		}
+	}
+
+	private static class SpawningConfig extends Configuration {
+		final List<Integer> elements;
+		final SpawningFilter filter = new SpawningFilter();
+
+		SpawningConfig(final int numElements) {
+			elements = ChainConfig.createElements(numElements);
+			connectPorts(new InitialElementProducer<>(elements).getOutputPort(), filter.getInputPort());
+			filter.declareActive();
+		}
+	}
+
+	private static class ManyPipelinesConfig extends Configuration {
+		final List<Integer> elements;
+		final List<CollectorSink<Integer>> sinks = new ArrayList<>();
+
+		ManyPipelinesConfig(final int numPipelines, final int numElements, final int capacity) {
+			elements = ChainConfig.createElements(numElements);
+			for (int p = 0; p < numPipelines; p++) {
+				InitialElementProducer<Integer> producer = new InitialElementProducer<>(elements);
+				NoopFilter<Integer> filter = new NoopFilter<>();
+				CollectorSink<Integer> sink = new CollectorSink<>();
+				connectPorts(producer.getOutputPort(), filter.getInputPort(), capacity);
+				connectPorts(filter.getOutputPort(), sink.getInputPort());
+				filter.declareActive();
+				sinks.add(sink);
+			}
+		}
+	}
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.framework.scheduling.workstealing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.Test;
+
+import teetime.framework.AbstractConsumerStage;
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.framework.ExecutionException;
+import teetime.framework.OutputPort;
+import teetime.framework.RuntimeServiceFacade;
+import teetime.framework.scheduling.ChainConfig;
+import teetime.framework.signal.StartingSignal;
+import teetime.framework.signal.ValidatingSignal;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+import teetime.stage.basic.AbstractFilter;
+
+public class WorkStealingSchedulingTest {
+
+	private static final int NUM_ELEMENTS = 10_000;
+
+	/**
+	 * @return a chain with the given number of active filters, followed by a passive filter and an active sink
+	 */
+	private static ChainConfig newChainConfig(final List<Integer> elements, final int numActiveFilters) {
+		ChainConfig configuration = new ChainConfig(elements, numActiveFilters + 1);
+		for (int i = 0; i < numActiveFilters; i++) {
+			configuration.filters.get(i).declareActive();
+		}
+		configuration.sink.declareActive();
+		return configuration;
+	}
+
+	private static class FailingFilter extends AbstractFilter<Integer> {
+		@Override
+		protected void execute(final Integer element) throws Exception {
+			if (element == NUM_ELEMENTS / 2) {
+				throw new IllegalStateException("Test exception");
+			}
+			outputPort.send(element);
+		}
+	}
+
+	private static class FailingConfig extends Configuration {
+		public FailingConfig(final List<Integer> elements) {
+			InitialElementProducer<Integer> producer = new InitialElementProducer<>(elements);
+			FailingFilter filter = new FailingFilter();
+			CollectorSink<Integer> collectorSink = new CollectorSink<>();
+
+			connectPorts(producer.getOutputPort(), filter.getInputPort());
+			connectPorts(filter.getOutputPort(), collectorSink.getInputPort());
+			filter.declareActive();
+			collectorSink.declareActive();
+		}
+	}
+
+	/** emits each element twice */
+	private static class DuplicatingFilter extends AbstractFilter<Integer> {
+		@Override
+		protected void execute(final Integer element) throws Exception {
+			outputPort.send(element);
+			outputPort.send(element);
+		}
+	}
+
+	private static class SlowSink extends AbstractConsumerStage<Integer> {
+		private final List<Integer> elements = new ArrayList<>();
+		private int maxPipeSize;
+
+		@Override
+		protected void execute(final Integer element) throws Exception {
+			maxPipeSize = Math.max(maxPipeSize, getInputPort().getPipe().size());
+			LockSupport.parkNanos(10_000);
+			elements.add(element);
+		}
+	}
+
+	private static class FastProducerSlowConsumerConfig extends Configuration {
+		private static final int CAPACITY = 4;
+
+		private final SlowSink slowSink = new SlowSink();
+
+		public FastProducerSlowConsumerConfig(final List<Integer> elements) {
+			InitialElementProducer<Integer> producer = new InitialElementProducer<>(elements);
+			DuplicatingFilter filter = new DuplicatingFilter();
+
+			connectPorts(producer.getOutputPort(), filter.getInputPort());
+			connectPorts(filter.getOutputPort(), slowSink.getInputPort(), CAPACITY);
+			filter.declareActive();
+			slowSink.declareActive();
+		}
+	}
+
+	/** forwards all elements to a sink which is started at runtime on the first element */
+	private static class SpawningFilter extends AbstractConsumerStage<Integer> {
+		private final OutputPort<Integer> outputPort = createOutputPort();
+		private final CollectorSink<Integer> spawnedSink = new CollectorSink<>();
+
+		@Override
+		protected void execute(final Integer element) throws Exception {
+			if (!spawnedSink.isActive()) {
+				RuntimeServiceFacade.INSTANCE.connectPorts(outputPort, spawnedSink.getInputPort(), 16);
+				outputPort.sendSignal(new ValidatingSignal());
+				outputPort.sendSignal(new StartingSignal());
+				RuntimeServiceFacade.INSTANCE.startWithinNewThread(this, spawnedSink);
+			}
+			outputPort.send(element);
+		}
+	}
+
+	private static class SpawningConfig extends Configuration {
+		private final SpawningFilter filter = new SpawningFilter();
+
+		public SpawningConfig(final List<Integer> elements) {
+			InitialElementProducer<Integer> producer = new InitialElementProducer<>(elements);
+			connectPorts(producer.getOutputPort(), filter.getInputPort());
+			filter.declareActive();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidNumThreads() throws Exception {
+		new WorkStealingScheduling(newChainConfig(new ArrayList<>(), 1), 0);
+	}
+
+	@Test(timeout = 10000)
+	public void testChainOnTwoWorkers() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(NUM_ELEMENTS);
+		ChainConfig configuration = newChainConfig(elements, 3);
+		WorkStealingScheduling scheduling = new WorkStealingScheduling(configuration, 2);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.sink.getElements(), is(elements));
+	}
+
+	@Test(timeout = 10000)
+	public void testMoreActiveStagesThanWorkers() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(NUM_ELEMENTS);
+		ChainConfig configuration = newChainConfig(elements, 8);
+		// a tiny quantum forces each stage to be rescheduled many times
+		WorkStealingScheduling scheduling = new WorkStealingScheduling(configuration, 1, 16, 1_000);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.sink.getElements(), is(elements));
+	}
+
+	@Test(timeout = 10000)
+	public void testFullPipeBetweenPoolStagesIsBounded() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(1000);
+		FastProducerSlowConsumerConfig configuration = new FastProducerSlowConsumerConfig(elements);
+		// a single worker must not be blocked by the full pipe
+		WorkStealingScheduling scheduling = new WorkStealingScheduling(configuration, 1);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		List<Integer> expectedElements = new ArrayList<>();
+		for (Integer element : elements) {
+			expectedElements.add(element);
+			expectedElements.add(element);
+		}
+		assertThat(configuration.slowSink.elements, is(expectedElements));
+		assertThat(configuration.slowSink.maxPipeSize, is(lessThanOrEqualTo(FastProducerSlowConsumerConfig.CAPACITY)));
+	}
+
+	@Test(timeout = 10000)
+	public void testStartStageAtRuntime() throws Exception {
+		List<Integer> elements = ChainConfig.createElements(NUM_ELEMENTS);
+		SpawningConfig configuration = new SpawningConfig(elements);
+		WorkStealingScheduling scheduling = new WorkStealingScheduling(configuration, 2);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+
+		assertThat(configuration.filter.spawnedSink.getElements(), is(elements));
+	}
+
+	@Test(timeout = 10000, expected = ExecutionException.class)
+	public void testExceptionInPoolStageTerminatesExecution() throws Exception {
+		FailingConfig configuration = new FailingConfig(ChainConfig.createElements(NUM_ELEMENTS));
+		WorkStealingScheduling scheduling = new WorkStealingScheduling(configuration, 2);
+
+		new Execution<>(configuration, true, scheduling).executeBlocking();
+	}
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2015 Christian Wulf, Nelson Tavares de Sousa (http://teetime-framework.github.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package teetime.stage.basic;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import teetime.framework.Configuration;
+import teetime.framework.Execution;
+import teetime.stage.CollectorSink;
+import teetime.stage.InitialElementProducer;
+
+public class AbstractBatchFilterTest {
+
+	@Test
+	public void forwardBatches() {
+		EvenNumberFilter filter = new EvenNumberFilter();
+		filter.declareActive();
+		CollectorSink<Integer> sink = new CollectorSink<>();
+
+		Configuration config = new Configuration();
+		config.connectPorts(new InitialElementProducer<>(1, 2, 3, 4, 5, 6).getOutputPort(), filter.getInputPort(), 16);
+		config.connectPorts(filter.getOutputPort(), sink.getInputPort(), 16);
+		new Execution<>(config, true).executeBlocking();
+
+		assertThat(sink.getElements(), contains(2, 4, 6));
+	}
+
+	private static class EvenNumberFilter extends AbstractBatchFilter<Integer> {
+		private final List<Integer> evenNumbers = new ArrayList<>();
+
+		@Override
+		protected void execute(final List<Integer> batch) {
+			for (Integer element : batch) {
+				if (element % 2 == 0) {
+					evenNumbers.add(element);
+				}
+			}
+			outputPort.sendBatch(evenNumbers);
+			evenNumbers.clear();
+		}
+	}
+}
@@ -16,6 +16,9 @@
 package teetime.stage.taskfarm;
 
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static teetime.framework.test.StageTester.test;
 
@@ -25,6 +28,8 @@ import java.util.List;
 
 import org.junit.Test;
 
+import teetime.framework.pipe.MpscSynchedPipe;
+import teetime.framework.pipe.SpmcSynchedPipe;
 import teetime.stage.Counter;
 import teetime.stage.basic.distributor.strategy.BlockingBusyWaitingRoundRobinDistributorStrategy;
 import teetime.stage.basic.merger.strategy.BlockingBusyWaitingRoundRobinMergerStrategy;
@@ -139,6 +144,24 @@ public class StaticTaskFarmStageTest {
 		}
 	}
 
+	@Test
+	public void testStaticTaskFarmStageWithWorkSharing() throws Exception {
+		ArrayCreator creator = new ArrayCreator(SEED);
+		List<Integer> randomNumbers = creator.createFilledList(1024);
+
+		StaticTaskFarmStage<Integer, Integer, Counter<Integer>> taskFarmStage = new StaticTaskFarmStage<Integer, Integer, Counter<Integer>>(
+				new Counter<Integer>(), 3, 16, true);
+		assertThat(taskFarmStage.getWorkerStages().get(0).getInputPort().getPipe(), is(instanceOf(SpmcSynchedPipe.class)));
+		assertThat(taskFarmStage.getWorkerStages().get(0).getOutputPort().getPipe(), is(instanceOf(MpscSynchedPipe.class)));
+
+		List<Integer> outputElements = new ArrayList<Integer>();
+
+		test(taskFarmStage).and().send(randomNumbers).to(taskFarmStage.getInputPort()).and()
+				.receive(outputElements).from(taskFarmStage.getOutputPort()).start();
+
+		assertThat(outputElements, containsInAnyOrder(randomNumbers.toArray()));
+	}
+
 	private StaticTaskFarmStage<Integer, Integer, Counter<Integer>> createTaskFarm(final int numWorkerStages) {
 		Counter<Integer> workerStage = new Counter<Integer>();
 		StaticTaskFarmStage<Integer, Integer, Counter<Integer>> taskFarmStage = new StaticTaskFarmStage<Integer, Integer, Counter<Integer>>(